@@ -0,0 +1,113 @@
+# Load test for the login endpoints (patient, doctor and admin)
+# Drives a fixed request rate (default 1000 logins/sec) and reports throughput and latency percentiles.
+# Requires PowerShell 7+ (uses ForEach-Object -Parallel) and a running backend.
+# All requests come from one IP and one account, so start the backend with
+# mediway.rate-limit.enabled=false when measuring raw login throughput.
+#
+# Example:
+#   ./load-test-logins.ps1 -Endpoint doctor-login -Email dr.smith@hospital.com -Password doctor123
+#   ./load-test-logins.ps1 -Rate 1000 -DurationSeconds 60 -Workers 64
+
+param(
+    [string]$BaseUrl = "http://localhost:8080",
+    [ValidateSet("login", "doctor-login", "admin-login")]
+    [string]$Endpoint = "login",
+    [string]$Email = "patient@mediway.com",
+    [string]$Password = "password123",
+    [int]$Rate = 1000,
+    [int]$DurationSeconds = 30,
+    [int]$Workers = 50
+)
+
+if ($PSVersionTable.PSVersion.Major -lt 7) {
+    Write-Host "Error: PowerShell 7 or newer is required" -ForegroundColor Red
+    exit 1
+}
+
+$url = "$BaseUrl/auth/$Endpoint"
+$body = @{ email = $Email; password = $Password } | ConvertTo-Json -Compress
+$perWorkerRate = [math]::Max(1.0, $Rate / $Workers)
+
+Write-Host "Login load test" -ForegroundColor Cyan
+Write-Host "  Target   : $url"
+Write-Host "  Rate     : $Rate req/s ($Workers workers x $([math]::Round($perWorkerRate, 1)) req/s)"
+Write-Host "  Duration : $DurationSeconds s"
+Write-Host ""
+
+# Warm-up so connection setup and JIT do not skew the measurement
+try {
+    Invoke-WebRequest -Uri $url -Method POST -Body $body -ContentType "application/json" -ErrorAction Stop | Out-Null
+} catch {
+    if (-not $_.Exception.Response) {
+        Write-Host "Error: backend is not reachable at $BaseUrl" -ForegroundColor Red
+        exit 1
+    }
+}
+
+$wall = [System.Diagnostics.Stopwatch]::StartNew()
+
+$results = 1..$Workers | ForEach-Object -ThrottleLimit $Workers -Parallel {
+    $url = $using:url
+    $body = $using:body
+    $interval = [TimeSpan]::FromSeconds(1.0 / $using:perWorkerRate)
+    $duration = [TimeSpan]::FromSeconds($using:DurationSeconds)
+
+    $client = [System.Net.Http.HttpClient]::new()
+    $latencies = [System.Collections.Generic.List[double]]::new()
+    $ok = 0; $rejected = 0; $failed = 0
+
+    $clock = [System.Diagnostics.Stopwatch]::StartNew()
+    $next = [TimeSpan]::Zero
+    while ($clock.Elapsed -lt $duration) {
+        # Open-loop pacing: requests are scheduled on a fixed timeline, so slow responses show up as latency
+        $wait = $next - $clock.Elapsed
+        if ($wait -gt [TimeSpan]::Zero) { Start-Sleep -Milliseconds ([math]::Ceiling($wait.TotalMilliseconds)) }
+        $next = $next + $interval
+
+        $content = [System.Net.Http.StringContent]::new($body, [System.Text.Encoding]::UTF8, "application/json")
+        $start = $clock.Elapsed
+        try {
+            $response = $client.PostAsync($url, $content).GetAwaiter().GetResult()
+            $latencies.Add(($clock.Elapsed - $start).TotalMilliseconds)
+            $code = [int]$response.StatusCode
+            if ($code -eq 200) { $ok++ } elseif ($code -eq 401 -or $code -eq 429) { $rejected++ } else { $failed++ }
+            $response.Dispose()
+        } catch {
+            $failed++
+        }
+    }
+    $client.Dispose()
+
+    [pscustomobject]@{ Ok = $ok; Rejected = $rejected; Failed = $failed; Latencies = $latencies.ToArray() }
+}
+
+$wall.Stop()
+
+$ok = ($results | Measure-Object -Property Ok -Sum).Sum
+$rejected = ($results | Measure-Object -Property Rejected -Sum).Sum
+$failed = ($results | Measure-Object -Property Failed -Sum).Sum
+$latencies = $results | ForEach-Object { $_.Latencies } | Sort-Object
+$total = $ok + $rejected + $failed
+
+function Get-Percentile($sorted, $p) {
+    if ($sorted.Count -eq 0) { return 0 }
+    $index = [math]::Min($sorted.Count - 1, [math]::Ceiling($p / 100 * $sorted.Count) - 1)
+    return [math]::Round($sorted[$index], 1)
+}
+
+$throughput = [math]::Round($total / $wall.Elapsed.TotalSeconds, 1)
+
+Write-Host "Results" -ForegroundColor Cyan
+Write-Host "  Requests   : $total (200: $ok, 401/429: $rejected, errors: $failed)"
+Write-Host "  Throughput : $throughput req/s (target $Rate)"
+Write-Host "  Latency ms : p50 $(Get-Percentile $latencies 50)  p95 $(Get-Percentile $latencies 95)  p99 $(Get-Percentile $latencies 99)  max $(Get-Percentile $latencies 100)"
+
+if ($throughput -lt $Rate * 0.95) {
+    Write-Host "Target rate NOT reached" -ForegroundColor Yellow
+    exit 2
+}
+if ($failed -gt 0) {
+    Write-Host "Completed with errors" -ForegroundColor Yellow
+    exit 3
+}
+Write-Host "Target rate reached" -ForegroundColor Green
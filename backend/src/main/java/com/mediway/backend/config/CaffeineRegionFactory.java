@@ -0,0 +1,123 @@
+package com.mediway.backend.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Hibernate second-level cache regions kept in Caffeine caches.
+ *
+ * Each entity and query results region is bounded and expires entries after a TTL taken from
+ * {@code settings} by region name; hit/miss counts are exported as the "cache.*" meters with
+ * cache=&lt;region&gt;. The update timestamps region is never bounded or expired: a query result
+ * must not outlive the record of when its tables last changed.
+ */
+public class CaffeineRegionFactory extends RegionFactoryTemplate {
+
+    /**
+     * Size and TTL of a region
+     */
+    public record RegionSettings(long maxSize, Duration ttl) {
+    }
+
+    private final Function<String, RegionSettings> settings;
+    private final MeterRegistry meterRegistry;
+
+    public CaffeineRegionFactory(Function<String, RegionSettings> settings, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions options, Map<String, Object> configValues) {
+        // Nothing to start: regions are created as Hibernate asks for them
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        // Caffeine caches hold no resources beyond the heap
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+            DomainDataRegionBuildingContext buildingContext) {
+        return new CaffeineStorageAccess(bounded(regionConfig.getRegionName()));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+            SessionFactoryImplementor sessionFactory) {
+        return new CaffeineStorageAccess(bounded(qualify(regionName)));
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+            SessionFactoryImplementor sessionFactory) {
+        // One entry per table
+        return new CaffeineStorageAccess(Caffeine.newBuilder().build());
+    }
+
+    private Cache<Object, Object> bounded(String regionName) {
+        RegionSettings region = settings.apply(regionName);
+        Cache<Object, Object> cache = Caffeine.newBuilder()
+                .maximumSize(region.maxSize())
+                .expireAfterWrite(region.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, regionName);
+        return cache;
+    }
+
+    private static final class CaffeineStorageAccess implements DomainDataStorageAccess {
+        private final Cache<Object, Object> cache;
+
+        CaffeineStorageAccess(Cache<Object, Object> cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return cache.getIfPresent(key);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            cache.put(key, value);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return cache.asMap().containsKey(key);
+        }
+
+        @Override
+        public void evictData() {
+            cache.invalidateAll();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            cache.invalidate(key);
+        }
+
+        @Override
+        public void release() {
+            cache.invalidateAll();
+        }
+    }
+}
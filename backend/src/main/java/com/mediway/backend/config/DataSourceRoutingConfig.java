@@ -0,0 +1,67 @@
+package com.mediway.backend.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Two connection pools: "write" (spring.datasource.*) for everything by default, and "read"
+ * (mediway.datasource.read.*, a replica or a second pool on the same database) for read-only
+ * transactions the application declares, such as reports, exports and admin lists. Each pool
+ * has its own size and its own hikaricp.* meters tagged pool=write or pool=read, so a burst of
+ * reports can use up the read pool without taking connections from bookings and checkout.
+ *
+ * Against a replica, declared read-only transactions may not see writes that have not been
+ * replicated yet.
+ */
+@Configuration
+@ConditionalOnProperty(name = "mediway.datasource.read.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource writeDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("write");
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+
+    @Bean
+    @ConfigurationProperties("mediway.datasource.read.hikari")
+    public HikariDataSource readDataSource(MeterRegistry meterRegistry,
+            @Value("${mediway.datasource.read.url:${spring.datasource.url}}") String url,
+            @Value("${mediway.datasource.read.username:${spring.datasource.username:}}") String username,
+            @Value("${mediway.datasource.read.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        pool.setPoolName("read");
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+                                 @Qualifier("readDataSource") DataSource readDataSource) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(writeDataSource, readDataSource));
+    }
+}
@@ -0,0 +1,87 @@
+package com.mediway.backend.config;
+
+import java.time.Duration;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mediway.backend.entity.Admin;
+import com.mediway.backend.entity.Doctor;
+import com.mediway.backend.entity.User;
+import com.mediway.backend.event.AccountChangedEvent;
+import com.mediway.backend.security.AccountType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hibernate second-level cache for the account entities (regions "doctors", "admins" and
+ * "users") and query cache for the doctor queries marked cacheable ("doctor-queries").
+ *
+ * Regions are sized by mediway.cache.hibernate.regions.&lt;region&gt;.max-size and .ttl, falling
+ * back to mediway.cache.hibernate.default.*. Writes through JPA keep the regions current;
+ * accounts written with plain JDBC (CSV imports) announce it with an {@link AccountChangedEvent}
+ * without an id, which evicts the whole region and the cached queries after the commit.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "mediway.cache.hibernate.enabled", havingValue = "true", matchIfMissing = true)
+public class HibernateCacheConfig {
+
+    static final String PREFIX = "mediway.cache.hibernate.";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Lazy: the customizer below is needed to build the EntityManagerFactory
+    public HibernateCacheConfig(@Lazy EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(Environment environment, MeterRegistry meterRegistry) {
+        CaffeineRegionFactory regionFactory = new CaffeineRegionFactory(
+                region -> regionSettings(environment, region), meterRegistry);
+        return properties -> {
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, regionFactory);
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+        };
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (event.id() != null) {
+            // Saved through JPA, which already updated the region
+            return;
+        }
+        Class<?> entity = switch (event.type()) {
+            case USER -> User.class;
+            case DOCTOR -> Doctor.class;
+            case ADMIN -> Admin.class;
+        };
+        log.debug("Evicting second-level cache for {} after a bulk change", entity.getSimpleName());
+        entityManagerFactory.getCache().evict(entity);
+        if (event.type() == AccountType.DOCTOR) {
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        }
+    }
+
+    static CaffeineRegionFactory.RegionSettings regionSettings(Environment environment, String region) {
+        return new CaffeineRegionFactory.RegionSettings(
+                setting(environment, region, "max-size", Long.class, 1000L),
+                setting(environment, region, "ttl", Duration.class, Duration.ofMinutes(10)));
+    }
+
+    private static <T> T setting(Environment environment, String region, String name, Class<T> type, T fallback) {
+        return environment.getProperty(PREFIX + "regions." + region + "." + name, type,
+                environment.getProperty(PREFIX + "default." + name, type, fallback));
+    }
+}
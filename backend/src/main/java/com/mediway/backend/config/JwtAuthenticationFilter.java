@@ -1,13 +1,18 @@
 package com.mediway.backend.config;
 
+import com.mediway.backend.security.JwtPrincipal;
 import com.mediway.backend.security.JwtUtil;
+import com.mediway.backend.security.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,6 +21,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -23,6 +29,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+
+    // When enabled, principals are always loaded from the database instead of the token claims
+    @Value("${jwt.db-backed-principals:false}")
+    private boolean dbBackedPrincipals;
 
     @Override
     protected void doFilterInternal(
@@ -45,36 +56,52 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Extract JWT token (remove "Bearer " prefix)
         jwt = authHeader.substring(7);
         
-        // Skip JWT validation for simple tokens
+        // Legacy simple tokens (issued before logins returned signed JWTs) are not validated
         if (jwt.startsWith("simple-token-")) {
             filterChain.doFilter(request, response);
             return;
         }
 
         try {
-            // Extract user email from JWT
-            userEmail = jwtUtil.extractUsername(jwt);
+            // Parse once: verifies signature and expiry and gives us every claim
+            Claims claims = jwtUtil.extractAllClaims(jwt);
+            userEmail = claims.getSubject();
 
             // If user email is present and user is not already authenticated
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Load user details
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                UsernamePasswordAuthenticationToken authToken = null;
+                String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
 
-                // Validate token
-                if (jwtUtil.validateToken(jwt, userDetails)) {
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
+                if (tokenRevocationService.isRevoked(claims)) {
+                    logger.warn("Revoked JWT used for user " + userEmail + " on request " + request.getRequestURI());
+                } else if (role != null && !dbBackedPrincipals) {
+                    // Stateless: role and principal ID are signed claims, no user lookup needed
+                    JwtPrincipal principal = new JwtPrincipal(
+                            userEmail, claims.get(JwtUtil.PRINCIPAL_ID_CLAIM, Long.class), role);
+                    authToken = new UsernamePasswordAuthenticationToken(
+                            principal,
                             null,
-                            userDetails.getAuthorities()
+                            List.of(new SimpleGrantedAuthority("ROLE_" + role))
                     );
-                    
+                } else {
+                    // Tokens without a role claim (or DB-backed mode) still resolve the user
+                    UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                    if (userEmail.equals(userDetails.getUsername())) {
+                        authToken = new UsernamePasswordAuthenticationToken(
+                                userDetails,
+                                null,
+                                userDetails.getAuthorities()
+                        );
+                    } else {
+                        logger.warn("JWT validation failed for user " + userEmail + " on request " + request.getRequestURI());
+                    }
+                }
+
+                if (authToken != null) {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    
+
                     // Set authentication in security context
                     SecurityContextHolder.getContext().setAuthentication(authToken);
-                } else {
-                    logger.warn("JWT validation failed for user " + userEmail + " on request " + request.getRequestURI());
                 }
             }
         } catch (Exception e) {
@@ -0,0 +1,259 @@
+package com.mediway.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediway.backend.security.ratelimit.BucketPolicy;
+import com.mediway.backend.security.ratelimit.RateLimitDecision;
+import com.mediway.backend.security.ratelimit.RateLimitStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Throttles login and registration before any controller code runs.
+ *
+ * Every request to a limited endpoint takes a token from a bucket keyed by client IP and,
+ * if the JSON body contains an email, from a second bucket keyed by that email. The IP
+ * bucket slows down a single client; the email bucket slows down credential stuffing against
+ * one account from many IPs. Rejected requests get 429 with a Retry-After header.
+ */
+@Component
+@ConditionalOnProperty(name = "mediway.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final Set<String> LIMITED_PATHS = Set.of(
+            "/auth/login",
+            "/auth/register",
+            "/auth/doctor-login",
+            "/auth/admin-login",
+            "/patients/login",
+            "/patients/register",
+            "/doctors/login",
+            "/admin/login"
+    );
+
+    // Login bodies are tiny; anything bigger is passed through without looking for an email
+    private static final int MAX_INSPECTED_BODY = 8 * 1024;
+
+    private final RateLimitStore rateLimitStore;
+    private final ObjectMapper objectMapper;
+    private final BucketPolicy ipPolicy;
+    private final BucketPolicy emailPolicy;
+    private final boolean trustForwardedFor;
+    private final Counter rejectedByIp;
+    private final Counter rejectedByEmail;
+
+    public RateLimitFilter(
+            RateLimitStore rateLimitStore,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${mediway.rate-limit.ip.capacity:30}") long ipCapacity,
+            @Value("${mediway.rate-limit.ip.refill-period:1m}") Duration ipRefillPeriod,
+            @Value("${mediway.rate-limit.email.capacity:5}") long emailCapacity,
+            @Value("${mediway.rate-limit.email.refill-period:1m}") Duration emailRefillPeriod,
+            @Value("${mediway.rate-limit.trust-forwarded-for:false}") boolean trustForwardedFor) {
+        this.rateLimitStore = rateLimitStore;
+        this.objectMapper = objectMapper;
+        this.ipPolicy = new BucketPolicy(ipCapacity, ipRefillPeriod);
+        this.emailPolicy = new BucketPolicy(emailCapacity, emailRefillPeriod);
+        this.trustForwardedFor = trustForwardedFor;
+        this.rejectedByIp = Counter.builder("ratelimit.rejected").tag("key", "ip")
+                .description("Login/registration requests rejected by the rate limiter")
+                .register(meterRegistry);
+        this.rejectedByEmail = Counter.builder("ratelimit.rejected").tag("key", "email")
+                .description("Login/registration requests rejected by the rate limiter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!"POST".equalsIgnoreCase(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !LIMITED_PATHS.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RateLimitDecision decision = rateLimitStore.tryConsume("ip:" + clientIp(request), ipPolicy);
+        if (!decision.allowed()) {
+            rejectedByIp.increment();
+            reject(response, decision);
+            return;
+        }
+
+        BufferedBodyRequest bufferedRequest = new BufferedBodyRequest(request);
+        String email = extractEmail(bufferedRequest.prefix());
+        if (email != null) {
+            decision = rateLimitStore.tryConsume("email:" + email, emailPolicy);
+            if (!decision.allowed()) {
+                rejectedByEmail.increment();
+                reject(response, decision);
+                return;
+            }
+        }
+
+        filterChain.doFilter(bufferedRequest, response);
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                // First entry is the original client; later ones are proxies
+                return forwarded.split(",")[0].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private String extractEmail(byte[] body) {
+        if (body.length == 0 || body.length > MAX_INSPECTED_BODY) {
+            return null;
+        }
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            if (email == null || !email.isTextual() || email.asText().isBlank()) {
+                return null;
+            }
+            return email.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (IOException e) {
+            // Not JSON; the controller will reject it anyway
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, RateLimitDecision decision) throws IOException {
+        long retryAfterSeconds = Math.max(1, (decision.retryAfter().toMillis() + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of(
+                "success", false,
+                "message", "Too many attempts. Please try again later."
+        ));
+    }
+
+    /**
+     * Reads the start of the body once so the email can be inspected, then replays it
+     * (followed by anything not yet read) to the rest of the chain.
+     */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] prefix;
+        private final InputStream replay;
+        // The whole body fit in the prefix, so the original stream is already at its end
+        private final boolean complete;
+        private long replayed;
+        private boolean finished;
+
+        BufferedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            InputStream original = request.getInputStream();
+            this.prefix = original.readNBytes(MAX_INSPECTED_BODY + 1);
+            this.complete = prefix.length <= MAX_INSPECTED_BODY;
+            this.replay = complete
+                    ? new ByteArrayInputStream(prefix)
+                    : new SequenceInputStream(new ByteArrayInputStream(prefix), original);
+        }
+
+        byte[] prefix() {
+            return prefix;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    int b = replay.read();
+                    if (b < 0) {
+                        finished = true;
+                    } else {
+                        replayed++;
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int n = replay.read(b, off, len);
+                    if (n < 0) {
+                        finished = true;
+                    } else {
+                        replayed += n;
+                    }
+                    return n;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished || (complete && replayed >= prefix.length);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The filter already read the body in blocking mode, so the stream never turns
+                // non-blocking: the listener runs right away and reads to the end (the tail of
+                // a body longer than the prefix blocks like any other read), then is told so.
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null
+                    ? Charset.forName(getCharacterEncoding())
+                    : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
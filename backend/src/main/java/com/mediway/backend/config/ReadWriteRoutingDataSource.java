@@ -0,0 +1,50 @@
+package com.mediway.backend.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out connections from the read pool inside read-only transactions the application
+ * declares (@Transactional(readOnly = true) on a service or controller method), and from
+ * the write pool otherwise.
+ *
+ * Spring Data wraps every repository call made outside a transaction in a read-only
+ * transaction of its own; those stay on the write pool, so a lookup in the middle of a
+ * booking or checkout never queues behind reports and always sees the latest writes.
+ *
+ * The lookup happens when a connection is fetched, so this must sit behind a
+ * LazyConnectionDataSourceProxy: JPA asks for a connection before the transaction's
+ * read-only flag is published, the proxy only fetches one at the first statement.
+ */
+class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Pool { WRITE, READ }
+
+    // Transactions Spring Data opens itself are named after SimpleJpaRepository methods
+    private static final String REPOSITORY_TRANSACTION = SimpleJpaRepository.class.getName() + ".";
+
+    ReadWriteRoutingDataSource(DataSource writeDataSource, DataSource readDataSource) {
+        setTargetDataSources(Map.of(Pool.WRITE, writeDataSource, Pool.READ, readDataSource));
+        setDefaultTargetDataSource(writeDataSource);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return current();
+    }
+
+    static Pool current() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Pool.WRITE;
+        }
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        return name != null && name.startsWith(REPOSITORY_TRANSACTION) ? Pool.WRITE : Pool.READ;
+    }
+}
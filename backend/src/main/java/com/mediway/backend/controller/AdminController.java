@@ -1,6 +1,8 @@
 
 package com.mediway.backend.controller;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +22,11 @@ import com.mediway.backend.entity.Appointment;
 import com.mediway.backend.entity.Doctor;
 import com.mediway.backend.entity.User;
 import com.mediway.backend.service.AdminService;
+import com.mediway.backend.service.archive.ArchivalResult;
+import com.mediway.backend.service.archive.RecordArchivalJob;
+import com.mediway.backend.service.compression.CompressionStats;
+import com.mediway.backend.service.compression.MedicalRecordCompressionJob;
+import com.mediway.backend.service.compression.TextCompressor;
 
 @RestController
 @RequestMapping("")
@@ -28,6 +35,15 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private TextCompressor textCompressor;
+
+    @Autowired
+    private MedicalRecordCompressionJob compressionJob;
+
+    @Autowired
+    private RecordArchivalJob archivalJob;
+
     // --- USER MANAGEMENT ---
     @GetMapping("/admin/users")
     public ResponseEntity<List<User>> getAllUsers() {
@@ -115,4 +131,46 @@ public class AdminController {
         Appointment updatedAppointment = adminService.updateAppointmentStatus(id, status, reason);
         return ResponseEntity.ok(updatedAppointment);
     }
-}
\ No newline at end of file
+
+    // --- MEDICAL RECORD STORAGE ---
+    @GetMapping("/admin/medical-records/compression")
+    public ResponseEntity<Map<String, Object>> getCompressionReport() {
+        return ResponseEntity.ok(compressionReport(compressionJob.getLastRun()));
+    }
+
+    // Compress existing records now; returns the report including this run
+    @PostMapping("/admin/medical-records/compression")
+    public ResponseEntity<Map<String, Object>> runCompression() {
+        return ResponseEntity.ok(compressionReport(compressionJob.run()));
+    }
+
+    @GetMapping("/admin/archive")
+    public ResponseEntity<Map<String, Object>> getArchivalReport() {
+        return ResponseEntity.ok(archivalReport(archivalJob.getLastRun()));
+    }
+
+    // Archive everything older than the horizon now, even if scheduled runs are disabled
+    @PostMapping("/admin/archive")
+    public ResponseEntity<Map<String, Object>> runArchival() {
+        return ResponseEntity.ok(archivalReport(archivalJob.run()));
+    }
+
+    private Map<String, Object> archivalReport(ArchivalResult lastRun) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", archivalJob.isEnabled());
+        report.put("horizon", archivalJob.getHorizon().toString());
+        report.put("lastRun", lastRun);
+        return report;
+    }
+
+    private Map<String, Object> compressionReport(CompressionStats migrated) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", textCompressor.isEnabled());
+        report.put("threshold", textCompressor.getThreshold());
+        // Since startup: storage saved on writes, transfer saved on reads
+        report.put("written", textCompressor.written());
+        report.put("read", textCompressor.read());
+        report.put("lastMigration", migrated);
+        return report;
+    }
+}
@@ -1,12 +1,22 @@
 package com.mediway.backend.controller;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,16 +25,27 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.mediway.backend.dto.projection.DoctorPhotoVersions;
+import com.mediway.backend.dto.projection.DoctorSummary;
 import com.mediway.backend.dto.request.LoginRequest;
 import com.mediway.backend.dto.response.LoginResponse;
 import com.mediway.backend.entity.Doctor;
+import com.mediway.backend.event.AccountChangedEvent;
 import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.security.AccountType;
+import com.mediway.backend.security.PasswordHashingService;
+import com.mediway.backend.service.DoctorDirectory;
+import com.mediway.backend.service.DoctorPhotoService;
 import com.mediway.backend.service.DoctorService;
+import com.mediway.backend.service.SpecializationCatalog;
+import com.mediway.backend.service.photo.PhotoSize;
 
 @RestController
 @RequestMapping("")
@@ -36,52 +57,129 @@ public class DoctorController {
     @Autowired
     private DoctorService doctorService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private DoctorPhotoService doctorPhotoService;
+
+    @Autowired
+    private DoctorDirectory doctorDirectory;
+
+    @Autowired
+    private SpecializationCatalog specializationCatalog;
+
     // Helper method to convert Doctor to frontend format
     private Map<String, Object> doctorToMap(Doctor doctor) {
+        return doctorToMap(DoctorSummary.of(doctor));
+    }
+
+    private Map<String, Object> doctorToMap(DoctorSummary doctor) {
         Map<String, Object> map = new HashMap<>();
-        map.put("doctorId", doctor.getId()); // Frontend expects "doctorId"
-        map.put("id", doctor.getId());
-        map.put("name", doctor.getName());
-        map.put("specialization", doctor.getSpecialization());
-        map.put("email", doctor.getEmail());
-        map.put("phone", doctor.getPhone());
-        map.put("available", doctor.getAvailable());
+        map.put("doctorId", doctor.id()); // Frontend expects "doctorId"
+        map.put("id", doctor.id());
+        map.put("name", doctor.name());
+        map.put("specialization", doctor.specialization());
+        map.put("email", doctor.email());
+        map.put("phone", doctor.phone());
+        map.put("available", doctor.available());
         map.put("consultationFee", 500.00); // Default fee for prototype
         map.put("experience", 5); // Default experience for prototype
-        if (doctor.getPhoto() != null) {
-            map.put("photo", "data:" + doctor.getPhotoContentType() + ";base64," + java.util.Base64.getEncoder().encodeToString(doctor.getPhoto()));
+        if (doctor.photoVersion() != null) {
+            // Links instead of inline bytes; the version makes the URL change whenever the photo does
+            map.put("photo", photoUrl(doctor, PhotoSize.CARD));
+            map.put("photoThumbnail", photoUrl(doctor, PhotoSize.THUMBNAIL));
         }
         return map;
     }
 
-    @GetMapping("/doctors")
-    public ResponseEntity<?> getAllDoctors() {
-        List<Doctor> doctors = doctorRepository.findAll();
-        List<Map<String, Object>> doctorMaps = doctors.stream()
+    private String photoUrl(DoctorSummary doctor, PhotoSize size) {
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/doctors/{id}/photo")
+                .queryParam("v", doctor.photoVersion())
+                .queryParam("size", size.name().toLowerCase(Locale.ROOT))
+                .buildAndExpand(doctor.id())
+                .toUriString();
+    }
+
+    /**
+     * Serve a listing from the doctor directory, tagged with the directory version so
+     * clients can revalidate with If-None-Match instead of downloading the list again
+     */
+    private ResponseEntity<?> directoryListing(String ifNoneMatch,
+            Function<DoctorDirectory.Snapshot, List<DoctorSummary>> select) {
+        DoctorDirectory.Snapshot snapshot = doctorDirectory.snapshot();
+        String etag = "\"" + snapshot.version() + "\"";
+        if (etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        List<Map<String, Object>> doctorMaps = select.apply(snapshot).stream()
                 .map(this::doctorToMap)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(doctorMaps);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(doctorMaps);
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        return ifNoneMatch != null && (ifNoneMatch.trim().equals("*") || ifNoneMatch.contains(etag));
+    }
+
+    @GetMapping("/doctors")
+    public ResponseEntity<?> getAllDoctors(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "specialization", required = false) String specialization,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (query != null && !query.isBlank()) {
+            Page<Doctor> matches = doctorService.search(query, page, size);
+            return ResponseEntity.ok()
+                    .header("X-Total-Count", String.valueOf(matches.getTotalElements()))
+                    .body(matches.getContent().stream().map(this::doctorToMap).collect(Collectors.toList()));
+        }
+        if (specialization != null && !specialization.isBlank()) {
+            return directoryListing(ifNoneMatch, snapshot -> snapshot.bySpecialization(specialization));
+        }
+        return directoryListing(ifNoneMatch, DoctorDirectory.Snapshot::all);
+    }
+
+    // Filter options for doctor discovery, from the precomputed catalog counts
+    @GetMapping("/doctors/specializations")
+    public ResponseEntity<?> getSpecializationFacets(
+            @RequestParam(value = "includeEmpty", defaultValue = "false") boolean includeEmpty) {
+        List<Map<String, Object>> facets = specializationCatalog.facets(includeEmpty).stream()
+                .map(specialization -> {
+                    Map<String, Object> facet = new HashMap<>();
+                    facet.put("slug", specialization.getSlug());
+                    facet.put("name", specialization.getName());
+                    facet.put("doctorCount", specialization.getDoctorCount());
+                    facet.put("availableCount", specialization.getAvailableCount());
+                    return facet;
+                })
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(facets);
     }
 
     @GetMapping("/doctors/{id}")
     public ResponseEntity<?> getDoctorById(@PathVariable Long id) {
-        return doctorRepository.findById(id)
+        return doctorDirectory.snapshot().findById(id)
                 .map(doctor -> ResponseEntity.ok(doctorToMap(doctor)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/doctors/available")
-    public ResponseEntity<?> getAvailableDoctors() {
-        List<Doctor> doctors = doctorRepository.findByAvailableTrue();
-        List<Map<String, Object>> doctorMaps = doctors.stream()
-                .map(this::doctorToMap)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(doctorMaps);
+    public ResponseEntity<?> getAvailableDoctors(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return directoryListing(ifNoneMatch, DoctorDirectory.Snapshot::available);
     }
 
     @PostMapping("/doctors")
     public ResponseEntity<Doctor> createDoctor(@RequestBody Doctor doctor) {
+        doctor.setPassword(passwordHashingService.hashIfNeeded(doctor.getPassword()));
         Doctor savedDoctor = doctorRepository.save(doctor);
+        eventPublisher.publishEvent(new AccountChangedEvent(AccountType.DOCTOR, savedDoctor.getId(), savedDoctor.getEmail()));
         return ResponseEntity.ok(savedDoctor);
     }
 
@@ -96,15 +194,14 @@ public class DoctorController {
         Doctor doctor = new Doctor();
         doctor.setName(name);
         doctor.setEmail(email);
-        doctor.setPassword(password);
+        doctor.setPassword(passwordHashingService.hash(password));
         doctor.setSpecialization(specialization);
         doctor.setPhone(phone);
         doctor.setAvailable(true);
-        if (photo != null && !photo.isEmpty()) {
-            doctor.setPhoto(photo.getBytes());
-            doctor.setPhotoContentType(photo.getContentType());
-        }
-        Doctor savedDoctor = doctorRepository.save(doctor);
+        Doctor savedDoctor = photo != null && !photo.isEmpty()
+                ? doctorPhotoService.create(doctor, photo)
+                : doctorRepository.save(doctor);
+        eventPublisher.publishEvent(new AccountChangedEvent(AccountType.DOCTOR, savedDoctor.getId(), savedDoctor.getEmail()));
         return ResponseEntity.ok(savedDoctor);
     }
 
@@ -112,42 +209,69 @@ public class DoctorController {
     public ResponseEntity<Doctor> updateDoctor(@PathVariable Long id, @RequestBody Doctor doctorDetails) {
         return doctorRepository.findById(id)
                 .map(doctor -> {
+                    String previousEmail = doctor.getEmail();
                     doctor.setName(doctorDetails.getName());
                     doctor.setEmail(doctorDetails.getEmail());
                     doctor.setSpecialization(doctorDetails.getSpecialization());
                     doctor.setPhone(doctorDetails.getPhone());
                     doctor.setAvailable(doctorDetails.getAvailable());
-                    return ResponseEntity.ok(doctorRepository.save(doctor));
+                    Doctor saved = doctorRepository.save(doctor);
+                    eventPublisher.publishEvent(new AccountChangedEvent(AccountType.DOCTOR, id, previousEmail));
+                    return ResponseEntity.ok(saved);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping(value = "/doctors/{id}/photo", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<Doctor> updateDoctorPhoto(@PathVariable Long id, @RequestParam("photo") MultipartFile photo) {
+        Optional<Doctor> doctor = doctorRepository.findById(id);
+        if (doctor.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
         try {
-            return doctorRepository.findById(id)
-                    .map(doctor -> {
-                        try {
-                            doctor.setPhoto(photo.getBytes());
-                            doctor.setPhotoContentType(photo.getContentType());
-                            return ResponseEntity.ok(doctorRepository.save(doctor));
-                        } catch (IOException e) {
-                            throw new RuntimeException(e);
-                        }
-                    })
-                    .orElse(ResponseEntity.notFound().build());
-        } catch (RuntimeException e) {
-            if (e.getCause() instanceof IOException) {
-                throw new RuntimeException("Failed to process photo", e);
-            }
-            throw e;
+            return ResponseEntity.ok(doctorPhotoService.store(doctor.get(), photo));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to process photo", e);
+        }
+    }
+
+    @GetMapping("/doctors/{id}/photo")
+    public ResponseEntity<byte[]> getDoctorPhoto(
+            @PathVariable Long id,
+            @RequestParam(value = "v", required = false) String version,
+            @RequestParam(value = "size", required = false) String size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        PhotoSize photoSize = size != null ? PhotoSize.parse(size) : null;
+        Optional<DoctorPhotoVersions> versions = doctorPhotoService.findVersions(id);
+        if (versions.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String variantHash = versions.get().variantHash(photoSize);
+        String etag = variantHash != null ? variantHash : versions.get().etag();
+        // Versioned URLs from the listings never change content, unless the original is
+        // standing in for a variant that is still being generated
+        boolean immutable = versions.get().etag().equals(version) && (photoSize == null || variantHash != null);
+        CacheControl cacheControl = immutable
+                ? CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()
+                : CacheControl.noCache().cachePublic();
+        if (etagMatches(ifNoneMatch, "\"" + etag + "\"")) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("\"" + etag + "\"").cacheControl(cacheControl).build();
         }
+        return doctorPhotoService.load(id, versions.get(), photoSize)
+                .map(photo -> ResponseEntity.ok()
+                        .eTag("\"" + photo.hash() + "\"")
+                        .cacheControl(cacheControl)
+                        .contentType(MediaType.parseMediaType(photo.contentType()))
+                        .body(photo.data()))
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/doctors/{id}")
     public ResponseEntity<Void> deleteDoctor(@PathVariable Long id) {
         if (doctorRepository.existsById(id)) {
             doctorRepository.deleteById(id);
+            doctorPhotoService.delete(id);
+            eventPublisher.publishEvent(new AccountChangedEvent(AccountType.DOCTOR, id, null));
             return ResponseEntity.ok().build();
         }
         return ResponseEntity.notFound().build();
@@ -167,11 +291,8 @@ public class DoctorController {
 
     // Frontend expects doctors at /api/appointments/doctors
     @GetMapping("/appointments/doctors")
-    public ResponseEntity<?> getDoctorsForAppointments() {
-        List<Doctor> doctors = doctorRepository.findAll();
-        List<Map<String, Object>> doctorMaps = doctors.stream()
-                .map(this::doctorToMap)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(doctorMaps);
+    public ResponseEntity<?> getDoctorsForAppointments(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return directoryListing(ifNoneMatch, DoctorDirectory.Snapshot::all);
     }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.mediway.backend.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mediway.backend.entity.ImportJob;
+import com.mediway.backend.entity.ImportRowError;
+import com.mediway.backend.repository.ImportJobRepository;
+import com.mediway.backend.repository.ImportRowErrorRepository;
+import com.mediway.backend.service.importer.CsvImportService;
+
+@RestController
+@RequestMapping("/admin/imports")
+public class ImportController {
+
+    @Autowired
+    private CsvImportService importService;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private ImportRowErrorRepository importRowErrorRepository;
+
+    // CSV file as the request body (text/csv), streamed to disk and imported in the background
+    @PostMapping("/{kind}")
+    public ResponseEntity<?> submit(@PathVariable String kind,
+                                    @RequestParam(required = false) String fileName,
+                                    InputStream body) throws IOException {
+        ImportJob.Kind importKind;
+        try {
+            importKind = ImportJob.Kind.valueOf(kind.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", "Unknown import kind: " + kind + " (patients, doctors or appointments)"
+            ));
+        }
+        ImportJob job = importService.submit(importKind, fileName, body);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ImportJob>> getImports() {
+        return ResponseEntity.ok(importJobRepository.findTop50ByOrderByIdDesc());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJob> getImport(@PathVariable Long id) {
+        return importJobRepository.findById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Rejected rows in file order
+    @GetMapping("/{id}/errors")
+    public ResponseEntity<PagedModel<ImportRowError>> getErrors(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        if (!importJobRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        PageRequest pageable = PageRequest.of(Math.max(0, page), Math.min(Math.max(1, size), 1000));
+        return ResponseEntity.ok(new PagedModel<>(importRowErrorRepository.findByJobIdOrderByLine(id, pageable)));
+    }
+
+    // Continue a failed import after its last committed chunk
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<?> resume(@PathVariable Long id) {
+        try {
+            Optional<ImportJob> job = importService.resume(id);
+            return job.<ResponseEntity<?>>map(j -> ResponseEntity.status(HttpStatus.ACCEPTED).body(j))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.mediway.backend.controller;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,23 +23,48 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.mediway.backend.dto.projection.MedicalRecordSummary;
+import com.mediway.backend.entity.ArchivedMedicalRecord;
 import com.mediway.backend.entity.MedicalRecord;
 import com.mediway.backend.entity.User;
+import com.mediway.backend.event.MedicalRecordChangedEvent;
+import com.mediway.backend.repository.ArchivedMedicalRecordRepository;
 import com.mediway.backend.repository.MedicalRecordRepository;
 import com.mediway.backend.repository.UserRepository;
+import com.mediway.backend.service.search.ClinicalField;
+import com.mediway.backend.service.search.ClinicalSearchIndex;
 
 @RestController
 @RequestMapping("/api/medical-records")
 public class MedicalRecordController {
 
+    static final int DEFAULT_TIMELINE_SIZE = 20;
+    static final int MAX_TIMELINE_SIZE = 100;
+    static final int DIAGNOSIS_PREVIEW_LENGTH = 160;
+
+    // Newest first, ties broken by id like the timeline queries
+    private static final Comparator<MedicalRecordSummary> TIMELINE_ORDER = Comparator
+            .comparing(MedicalRecordSummary::recordDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(MedicalRecordSummary::id, Comparator.reverseOrder());
+
     @Autowired
     private MedicalRecordRepository medicalRecordRepository;
 
+    @Autowired
+    private ArchivedMedicalRecordRepository archivedMedicalRecordRepository;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ClinicalSearchIndex clinicalSearchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Create medical record (Doctor/Admin only)
     @PostMapping
     public ResponseEntity<?> createMedicalRecord(
@@ -87,6 +119,7 @@ public class MedicalRecordController {
 
             medicalRecord.setRecordDate(LocalDateTime.now());
             MedicalRecord savedRecord = medicalRecordRepository.save(medicalRecord);
+            eventPublisher.publishEvent(new MedicalRecordChangedEvent(savedRecord.getId()));
 
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -131,7 +164,9 @@ public class MedicalRecordController {
                 ));
             }
 
-            List<MedicalRecord> records = medicalRecordRepository.findByPatientIdOrderByRecordDateDesc(patientId);
+            List<MedicalRecord> records = newestFirst(
+                    medicalRecordRepository.findByPatientIdOrderByRecordDateDesc(patientId),
+                    archivedMedicalRecordRepository.findByPatientIdOrderByRecordDateDesc(patientId));
             return ResponseEntity.ok(records);
 
         } catch (Exception e) {
@@ -142,6 +177,200 @@ public class MedicalRecordController {
         }
     }
 
+    // Get one page of a patient's timeline, newest first (Doctor/Admin/Patient can view their own).
+    // Pass the nextBeforeDate/nextBeforeId of a page to get the page after it; full text is at /{recordId}
+    @GetMapping("/patient/{patientId}/timeline")
+    public ResponseEntity<?> getPatientTimeline(
+            @PathVariable Long patientId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeDate,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "" + DEFAULT_TIMELINE_SIZE) int size,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        try {
+            if (userId == null) {
+                userId = 1L; // Default for testing
+            }
+
+            if ((beforeDate == null) != (beforeId == null)) {
+                return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "beforeDate and beforeId must be given together"
+                ));
+            }
+
+            // Check access permissions
+            Optional<User> userOpt = userRepository.findById(userId);
+            if (userOpt.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(
+                    "success", false,
+                    "message", "User not found"
+                ));
+            }
+
+            User user = userOpt.get();
+
+            // Admin can view all, Doctor can view all, Patient can view only their own
+            if (user.getRole().equals(User.Role.PATIENT) && !userId.equals(patientId)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
+                    "success", false,
+                    "message", "Access denied. Patients can only view their own medical records."
+                ));
+            }
+
+            int pageSize = Math.max(1, Math.min(size, MAX_TIMELINE_SIZE));
+            // One extra row tells whether another page follows; one extra character whether the diagnosis was cut
+            PageRequest limit = PageRequest.of(0, pageSize + 1);
+            List<MedicalRecordSummary> rows = new ArrayList<>(beforeDate == null
+                    ? medicalRecordRepository.findTimeline(patientId, DIAGNOSIS_PREVIEW_LENGTH + 1, limit)
+                    : medicalRecordRepository.findTimelineBefore(patientId, beforeDate, beforeId,
+                            DIAGNOSIS_PREVIEW_LENGTH + 1, limit));
+            // Same page from the archive; the cursor works across both since ids are never reused
+            rows.addAll(beforeDate == null
+                    ? archivedMedicalRecordRepository.findTimeline(patientId, DIAGNOSIS_PREVIEW_LENGTH + 1, limit)
+                    : archivedMedicalRecordRepository.findTimelineBefore(patientId, beforeDate, beforeId,
+                            DIAGNOSIS_PREVIEW_LENGTH + 1, limit));
+            rows.sort(TIMELINE_ORDER);
+
+            boolean hasMore = rows.size() > pageSize;
+            List<MedicalRecordSummary> page = hasMore ? rows.subList(0, pageSize) : rows;
+            List<Map<String, Object>> records = new ArrayList<>();
+            for (MedicalRecordSummary summary : page) {
+                records.add(summaryEntry(summary));
+            }
+
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("success", true);
+            body.put("records", records);
+            body.put("hasMore", hasMore);
+            if (hasMore) {
+                MedicalRecordSummary last = page.get(page.size() - 1);
+                body.put("nextBeforeDate", last.recordDate());
+                body.put("nextBeforeId", last.id());
+            }
+            return ResponseEntity.ok(body);
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
+                "success", false,
+                "message", "Error fetching medical records: " + e.getMessage()
+            ));
+        }
+    }
+
+    // Search diagnosis, treatment and prescription text (Doctor/Admin only). Doctors only see
+    // matches in their own records; admins see all, or one doctor's with doctorId
+    @GetMapping("/search")
+    public ResponseEntity<?> searchMedicalRecords(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String field,
+            @RequestParam(required = false) Long patientId,
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        try {
+            if (userId == null) {
+                userId = 1L; // Default for testing
+            }
+
+            // Check access permissions
+            Optional<User> userOpt = userRepository.findById(userId);
+            if (userOpt.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(
+                    "success", false,
+                    "message", "User not found"
+                ));
+            }
+
+            User user = userOpt.get();
+            if (user.getRole().equals(User.Role.PATIENT)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
+                    "success", false,
+                    "message", "Access denied. Only doctors and admins can search medical records."
+                ));
+            }
+
+            Optional<ClinicalField> clinicalField = ClinicalField.parse(field);
+            if (field != null && clinicalField.isEmpty()) {
+                return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "field must be one of diagnosis, treatment or prescription"
+                ));
+            }
+
+            if (!clinicalSearchIndex.isReady()) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                    "success", false,
+                    "message", "Medical record search is still loading, please try again shortly"
+                ));
+            }
+
+            Long doctorScope = user.getRole().equals(User.Role.DOCTOR) ? userId : doctorId;
+            Page<Long> ids = clinicalSearchIndex.search(
+                    query, clinicalField.orElse(null), doctorScope, patientId, page, size);
+
+            // Summaries come back unordered; put them in ranking order
+            Map<Long, MedicalRecordSummary> summaries = new LinkedHashMap<>();
+            if (ids.hasContent()) {
+                for (MedicalRecordSummary summary : medicalRecordRepository.findSummariesByIdIn(
+                        ids.getContent(), DIAGNOSIS_PREVIEW_LENGTH + 1)) {
+                    summaries.put(summary.id(), summary);
+                }
+            }
+            List<Map<String, Object>> records = new ArrayList<>();
+            for (Long id : ids.getContent()) {
+                MedicalRecordSummary summary = summaries.get(id);
+                if (summary != null) {
+                    records.add(summaryEntry(summary));
+                }
+            }
+
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("success", true);
+            body.put("records", records);
+            body.put("page", ids.getNumber());
+            body.put("size", ids.getSize());
+            body.put("totalElements", ids.getTotalElements());
+            body.put("totalPages", ids.getTotalPages());
+            return ResponseEntity.ok(body);
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
+                "success", false,
+                "message", "Error searching medical records: " + e.getMessage()
+            ));
+        }
+    }
+
+    // Reload the search index from the database in the background (Admin only)
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<?> rebuildSearchIndex(
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        if (userId == null) {
+            userId = 1L; // Default for testing
+        }
+
+        Optional<User> userOpt = userRepository.findById(userId);
+        if (userOpt.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(
+                "success", false,
+                "message", "User not found"
+            ));
+        }
+        if (!userOpt.get().getRole().equals(User.Role.ADMIN)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
+                "success", false,
+                "message", "Access denied. Only admins can rebuild the search index."
+            ));
+        }
+
+        clinicalSearchIndex.loadInBackground();
+        return ResponseEntity.accepted().body(Map.of(
+            "success", true,
+            "message", "Search index rebuild started"
+        ));
+    }
+
     // Get medical records created by a doctor (Doctor/Admin only)
     @GetMapping("/doctor/{doctorId}")
     public ResponseEntity<?> getDoctorMedicalRecords(
@@ -172,7 +401,9 @@ public class MedicalRecordController {
                 ));
             }
 
-            List<MedicalRecord> records = medicalRecordRepository.findByDoctorIdOrderByRecordDateDesc(doctorId);
+            List<MedicalRecord> records = newestFirst(
+                    medicalRecordRepository.findByDoctorIdOrderByRecordDateDesc(doctorId),
+                    archivedMedicalRecordRepository.findByDoctorIdOrderByRecordDateDesc(doctorId));
             return ResponseEntity.ok(records);
 
         } catch (Exception e) {
@@ -209,7 +440,10 @@ public class MedicalRecordController {
                 ));
             }
 
-            List<MedicalRecord> records = medicalRecordRepository.findAll();
+            List<MedicalRecord> records = new ArrayList<>(medicalRecordRepository.findAll());
+            for (ArchivedMedicalRecord archived : archivedMedicalRecordRepository.findAll()) {
+                records.add(archived.toMedicalRecord());
+            }
             return ResponseEntity.ok(records);
 
         } catch (Exception e) {
@@ -230,7 +464,8 @@ public class MedicalRecordController {
                 userId = 1L; // Default for testing
             }
 
-            Optional<MedicalRecord> recordOpt = medicalRecordRepository.findById(recordId);
+            Optional<MedicalRecord> recordOpt = medicalRecordRepository.findById(recordId)
+                    .or(() -> archivedMedicalRecordRepository.findById(recordId).map(ArchivedMedicalRecord::toMedicalRecord));
             if (recordOpt.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
@@ -279,7 +514,9 @@ public class MedicalRecordController {
 
             Optional<MedicalRecord> existingRecordOpt = medicalRecordRepository.findById(recordId);
             if (existingRecordOpt.isEmpty()) {
-                return ResponseEntity.notFound().build();
+                return archivedMedicalRecordRepository.existsById(recordId)
+                        ? archivedConflict()
+                        : ResponseEntity.notFound().build();
             }
 
             MedicalRecord existingRecord = existingRecordOpt.get();
@@ -317,6 +554,7 @@ public class MedicalRecordController {
             existingRecord.setNotes(medicalRecord.getNotes());
 
             MedicalRecord updatedRecord = medicalRecordRepository.save(existingRecord);
+            eventPublisher.publishEvent(new MedicalRecordChangedEvent(recordId));
 
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -361,10 +599,13 @@ public class MedicalRecordController {
 
             Optional<MedicalRecord> recordOpt = medicalRecordRepository.findById(recordId);
             if (recordOpt.isEmpty()) {
-                return ResponseEntity.notFound().build();
+                return archivedMedicalRecordRepository.existsById(recordId)
+                        ? archivedConflict()
+                        : ResponseEntity.notFound().build();
             }
 
             medicalRecordRepository.deleteById(recordId);
+            eventPublisher.publishEvent(new MedicalRecordChangedEvent(recordId));
 
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -378,4 +619,38 @@ public class MedicalRecordController {
             ));
         }
     }
+
+    // Archived records are older than hot ones unless their date was set by hand, so sort the union
+    private static List<MedicalRecord> newestFirst(List<MedicalRecord> records, List<ArchivedMedicalRecord> archived) {
+        if (archived.isEmpty()) {
+            return records;
+        }
+        List<MedicalRecord> all = new ArrayList<>(records);
+        for (ArchivedMedicalRecord record : archived) {
+            all.add(record.toMedicalRecord());
+        }
+        all.sort(Comparator.comparing(MedicalRecord::getRecordDate, Comparator.nullsLast(Comparator.reverseOrder())));
+        return all;
+    }
+
+    private static ResponseEntity<?> archivedConflict() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+            "success", false,
+            "message", "Archived medical records are read-only."
+        ));
+    }
+
+    private static Map<String, Object> summaryEntry(MedicalRecordSummary summary) {
+        String diagnosis = summary.diagnosis();
+        boolean truncated = diagnosis != null && diagnosis.length() > DIAGNOSIS_PREVIEW_LENGTH;
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("id", summary.id());
+        entry.put("patientId", summary.patientId());
+        entry.put("recordDate", summary.recordDate());
+        entry.put("doctorId", summary.doctorId());
+        entry.put("appointmentId", summary.appointmentId());
+        entry.put("diagnosis", truncated ? diagnosis.substring(0, DIAGNOSIS_PREVIEW_LENGTH) : diagnosis);
+        entry.put("diagnosisTruncated", truncated);
+        return entry;
+    }
 }
\ No newline at end of file
@@ -2,9 +2,11 @@ package com.mediway.backend.controller;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,14 +18,21 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.mediway.backend.dto.projection.PatientSummary;
 import com.mediway.backend.dto.request.LoginRequest;
+import com.mediway.backend.dto.request.PatientFilterRequest;
 import com.mediway.backend.dto.request.RegisterRequest;
 import com.mediway.backend.dto.response.LoginResponse;
 import com.mediway.backend.dto.response.RegisterResponse;
 import com.mediway.backend.entity.User;
+import com.mediway.backend.event.AccountChangedEvent;
 import com.mediway.backend.repository.UserRepository;
+import com.mediway.backend.security.AccountType;
+import com.mediway.backend.security.PasswordHashingService;
 import com.mediway.backend.service.PatientService;
 
+import jakarta.validation.Valid;
+
 @RestController
 @RequestMapping("")
 public class PatientController {
@@ -34,6 +43,12 @@ public class PatientController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
     @PostMapping("/patients/register")
     public ResponseEntity<RegisterResponse> register(@RequestBody RegisterRequest request) {
         RegisterResponse response = patientService.register(request);
@@ -62,7 +77,9 @@ public class PatientController {
     @PostMapping("/patients")
     public ResponseEntity<User> createPatient(@RequestBody User patient) {
         patient.setRole(User.Role.PATIENT);
+        patient.setPassword(passwordHashingService.hashIfNeeded(patient.getPassword()));
         User saved = userRepository.save(patient);
+        eventPublisher.publishEvent(new AccountChangedEvent(AccountType.USER, saved.getId(), saved.getEmail()));
         return ResponseEntity.ok(saved);
     }
 
@@ -74,6 +91,7 @@ public class PatientController {
         }
         
         User patient = existingPatient.get();
+        String previousEmail = patient.getEmail();
         if (patientDetails.getName() != null) patient.setName(patientDetails.getName());
         if (patientDetails.getEmail() != null) patient.setEmail(patientDetails.getEmail());
         if (patientDetails.getPhone() != null) patient.setPhone(patientDetails.getPhone());
@@ -83,6 +101,7 @@ public class PatientController {
         if (patientDetails.getBloodType() != null) patient.setBloodType(patientDetails.getBloodType());
         
         User updated = userRepository.save(patient);
+        eventPublisher.publishEvent(new AccountChangedEvent(AccountType.USER, id, previousEmail));
         return ResponseEntity.ok(updated);
     }
 
@@ -92,25 +111,42 @@ public class PatientController {
             return ResponseEntity.notFound().build();
         }
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new AccountChangedEvent(AccountType.USER, id, null));
         return ResponseEntity.ok().build();
     }
 
     @GetMapping("/patients/search")
-    public ResponseEntity<List<User>> searchPatientsByName(@RequestParam String name) {
-        List<User> allPatients = userRepository.findAll();
-        List<User> matchingPatients = allPatients.stream()
-                .filter(p -> p.getName() != null && p.getName().toLowerCase().contains(name.toLowerCase()))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(matchingPatients);
+    public ResponseEntity<List<User>> searchPatientsByName(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<User> matchingPatients = patientService.searchPatients(name, page, size);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(matchingPatients.getTotalElements()))
+                .body(matchingPatients.getContent());
     }
 
     @GetMapping("/patients/gender/{gender}")
-    public ResponseEntity<List<User>> getPatientsByGender(@PathVariable String gender) {
-        List<User> allPatients = userRepository.findAll();
-        List<User> matchingPatients = allPatients.stream()
-                .filter(p -> gender.equalsIgnoreCase(p.getGender()))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(matchingPatients);
+    public ResponseEntity<PagedModel<PatientSummary>> getPatientsByGender(
+            @PathVariable String gender,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort) {
+        // Same paged projection as /patients/filter, with only the gender filter set
+        PatientFilterRequest filter = new PatientFilterRequest();
+        filter.setGender(gender);
+        Page<PatientSummary> patients = patientService.filterPatients(filter, page, size, sort);
+        return ResponseEntity.ok(new PagedModel<>(patients));
+    }
+
+    @GetMapping("/patients/filter")
+    public ResponseEntity<PagedModel<PatientSummary>> filterPatients(
+            @Valid PatientFilterRequest filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort) {
+        Page<PatientSummary> patients = patientService.filterPatients(filter, page, size, sort);
+        return ResponseEntity.ok(new PagedModel<>(patients));
     }
 
     // Legacy endpoints (keep for backward compatibility)
@@ -121,8 +157,8 @@ public class PatientController {
     }
 
     @GetMapping("/api/patients/batch")
-    public ResponseEntity<List<User>> getPatientsByIds(@RequestParam("ids") List<Long> ids) {
-        List<User> patients = patientService.findByIds(ids);
+    public ResponseEntity<List<PatientSummary>> getPatientsByIds(@RequestParam("ids") List<Long> ids) {
+        List<PatientSummary> patients = patientService.findByIds(ids);
         return ResponseEntity.ok(patients);
     }
 
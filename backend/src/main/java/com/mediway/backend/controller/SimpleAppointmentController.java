@@ -2,6 +2,7 @@ package com.mediway.backend.controller;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,7 +21,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.mediway.backend.entity.Appointment;
+import com.mediway.backend.entity.ArchivedAppointment;
 import com.mediway.backend.repository.AppointmentRepository;
+import com.mediway.backend.repository.ArchivedAppointmentRepository;
 import com.mediway.backend.repository.DoctorRepository;
 import com.mediway.backend.repository.UserRepository;
 
@@ -31,6 +34,9 @@ public class SimpleAppointmentController {
     @Autowired
     private AppointmentRepository appointmentRepository;
 
+    @Autowired
+    private ArchivedAppointmentRepository archivedAppointmentRepository;
+
     @Autowired
     private DoctorRepository doctorRepository;
 
@@ -98,8 +104,10 @@ public class SimpleAppointmentController {
                 appointments = appointmentRepository.findAll().stream()
                         .filter(app -> app.getPatientId().equals(userId))
                         .collect(Collectors.toList());
+                appointments = withArchived(appointments,
+                        archivedAppointmentRepository.findByPatientIdOrderByAppointmentDateDesc(userId));
             } else {
-                appointments = appointmentRepository.findAll();
+                appointments = withArchived(appointmentRepository.findAll(), archivedAppointmentRepository.findAll());
             }
             
             List<Map<String, Object>> detailedAppointments = appointments.stream()
@@ -116,7 +124,7 @@ public class SimpleAppointmentController {
 
     @GetMapping
     public ResponseEntity<?> getAllAppointments() {
-        List<Appointment> appointments = appointmentRepository.findAll();
+        List<Appointment> appointments = withArchived(appointmentRepository.findAll(), archivedAppointmentRepository.findAll());
         List<Map<String, Object>> detailedAppointments = appointments.stream()
                 .map(this::appointmentToMap)
                 .collect(Collectors.toList());
@@ -126,6 +134,7 @@ public class SimpleAppointmentController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getAppointmentById(@PathVariable Long id) {
         return appointmentRepository.findById(id)
+                .or(() -> archivedAppointmentRepository.findById(id).map(ArchivedAppointment::toAppointment))
                 .map(appointment -> ResponseEntity.ok(appointmentToMap(appointment)))
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -172,23 +181,45 @@ public class SimpleAppointmentController {
     @PutMapping("/{id}")
     public ResponseEntity<?> updateAppointment(@PathVariable Long id, @RequestBody Appointment appointmentDetails) {
         return appointmentRepository.findById(id)
-                .map(appointment -> {
+                .<ResponseEntity<?>>map(appointment -> {
                     appointment.setAppointmentDate(appointmentDetails.getAppointmentDate());
                     appointment.setStatus(appointmentDetails.getStatus());
                     appointment.setNotes(appointmentDetails.getNotes());
                     Appointment updated = appointmentRepository.save(appointment);
                     return ResponseEntity.ok(appointmentToMap(updated));
                 })
-                .orElse(ResponseEntity.notFound().build());
+                .orElseGet(() -> notFoundOrArchived(id));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteAppointment(@PathVariable Long id) {
         return appointmentRepository.findById(id)
-                .map(appointment -> {
+                .<ResponseEntity<?>>map(appointment -> {
                     appointmentRepository.delete(appointment);
                     return ResponseEntity.ok().build();
                 })
-                .orElse(ResponseEntity.notFound().build());
+                .orElseGet(() -> notFoundOrArchived(id));
+    }
+
+    // Archived appointments (moved out by RecordArchivalJob) are listed with the rest but read-only
+    private static List<Appointment> withArchived(List<Appointment> appointments, List<ArchivedAppointment> archived) {
+        if (archived.isEmpty()) {
+            return appointments;
+        }
+        List<Appointment> all = new ArrayList<>(appointments);
+        for (ArchivedAppointment appointment : archived) {
+            all.add(appointment.toAppointment());
+        }
+        return all;
+    }
+
+    private ResponseEntity<?> notFoundOrArchived(Long id) {
+        if (archivedAppointmentRepository.existsById(id)) {
+            return ResponseEntity.status(409).body(Map.of(
+                "success", false,
+                "message", "Archived appointments are read-only"
+            ));
+        }
+        return ResponseEntity.notFound().build();
     }
 }
\ No newline at end of file
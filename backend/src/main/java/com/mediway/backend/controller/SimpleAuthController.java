@@ -5,19 +5,28 @@ import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.mediway.backend.entity.Admin;
-import com.mediway.backend.entity.Doctor;
 import com.mediway.backend.entity.User;
-import com.mediway.backend.repository.AdminRepository;
-import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.event.AccountChangedEvent;
+import com.mediway.backend.exception.ServiceBusyException;
 import com.mediway.backend.repository.UserRepository;
+import com.mediway.backend.security.AccountCredentials;
+import com.mediway.backend.security.AccountType;
+import com.mediway.backend.security.CredentialLookupService;
+import com.mediway.backend.security.JwtPrincipal;
+import com.mediway.backend.security.JwtUtil;
+import com.mediway.backend.security.PasswordHashingService;
+import com.mediway.backend.security.TokenRevocationService;
 
 @RestController
 @RequestMapping("/auth")
@@ -26,9 +35,15 @@ public class SimpleAuthController {
     @Autowired
     private UserRepository userRepository;
     @Autowired
-    private DoctorRepository doctorRepository;
+    private JwtUtil jwtUtil;
     @Autowired
-    private AdminRepository adminRepository;
+    private TokenRevocationService tokenRevocationService;
+    @Autowired
+    private CredentialLookupService credentialLookupService;
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody Map<String, String> request) {
@@ -55,11 +70,12 @@ public class SimpleAuthController {
             User user = new User();
             user.setName(name);
             user.setEmail(email);
-            user.setPassword(password); // In production, you should hash this!
+            user.setPassword(passwordHashingService.hash(password));
             user.setPhone(phone);
             user.setRole(User.Role.PATIENT);
 
             User savedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new AccountChangedEvent(AccountType.USER, savedUser.getId(), savedUser.getEmail()));
 
             // Return success response with fields frontend expects
             Map<String, Object> response = new HashMap<>();
@@ -77,6 +93,8 @@ public class SimpleAuthController {
             ));
 
             return ResponseEntity.ok(response);
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -91,8 +109,7 @@ public class SimpleAuthController {
             String email = request.get("email");
             String password = request.get("password");
 
-            // Find user by email
-            Optional<User> userOpt = userRepository.findByEmail(email);
+            Optional<AccountCredentials> userOpt = credentialLookupService.authenticate(AccountType.USER, email, password);
             if (userOpt.isEmpty()) {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
@@ -100,28 +117,22 @@ public class SimpleAuthController {
                 return ResponseEntity.status(401).body(error);
             }
 
-            User user = userOpt.get();
-
-            // Simple password check (in production, use proper password hashing!)
-            if (!user.getPassword().equals(password)) {
-                Map<String, Object> error = new HashMap<>();
-                error.put("success", false);
-                error.put("message", "Invalid email or password");
-                return ResponseEntity.status(401).body(error);
-            }
+            AccountCredentials user = userOpt.get();
 
             // Return success response with user data
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Login successful");
-            response.put("token", "simple-token-" + user.getId());
-            response.put("userId", user.getId());
-            response.put("fullName", user.getName()); // Use getName() instead of getFullName()
-            response.put("email", user.getEmail());
-            response.put("role", user.getRole().toString());
+            response.put("token", jwtUtil.generateToken(user.email(), user.role(), user.id()));
+            response.put("userId", user.id());
+            response.put("fullName", user.name());
+            response.put("email", user.email());
+            response.put("role", user.role());
             response.put("tokenType", "Bearer");
 
             return ResponseEntity.ok(response);
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -135,10 +146,9 @@ public class SimpleAuthController {
         try {
             String email = request.get("email");
             String password = request.get("password");
-            Doctor doctor = doctorRepository.findAll().stream()
-                .filter(d -> d.getEmail().equals(email))
-                .findFirst().orElse(null);
-            if (doctor == null || !doctor.getPassword().equals(password)) {
+            AccountCredentials doctor = credentialLookupService.authenticate(AccountType.DOCTOR, email, password)
+                .orElse(null);
+            if (doctor == null) {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "Invalid email or password");
@@ -147,13 +157,15 @@ public class SimpleAuthController {
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Login successful");
-            response.put("token", "simple-token-doctor-" + doctor.getId());
-            response.put("userId", doctor.getId());
-            response.put("fullName", doctor.getName());
-            response.put("email", doctor.getEmail());
+            response.put("token", jwtUtil.generateToken(doctor.email(), "DOCTOR", doctor.id()));
+            response.put("userId", doctor.id());
+            response.put("fullName", doctor.name());
+            response.put("email", doctor.email());
             response.put("role", "DOCTOR");
             response.put("tokenType", "Bearer");
             return ResponseEntity.ok(response);
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -167,24 +179,26 @@ public class SimpleAuthController {
         try {
             String email = request.get("email");
             String password = request.get("password");
-            Optional<Admin> adminOpt = adminRepository.findByEmail(email);
-            if (adminOpt.isEmpty() || !adminOpt.get().getPassword().equals(password)) {
+            Optional<AccountCredentials> adminOpt = credentialLookupService.authenticate(AccountType.ADMIN, email, password);
+            if (adminOpt.isEmpty()) {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "Invalid email or password");
                 return ResponseEntity.status(401).body(error);
             }
-            Admin admin = adminOpt.get();
+            AccountCredentials admin = adminOpt.get();
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Login successful");
-            response.put("token", "simple-token-admin-" + admin.getId());
-            response.put("userId", admin.getId());
-            response.put("fullName", admin.getName());
-            response.put("email", admin.getEmail());
+            response.put("token", jwtUtil.generateToken(admin.email(), "ADMIN", admin.id()));
+            response.put("userId", admin.id());
+            response.put("fullName", admin.name());
+            response.put("email", admin.email());
             response.put("role", "ADMIN");
             response.put("tokenType", "Bearer");
             return ResponseEntity.ok(response);
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -193,6 +207,43 @@ public class SimpleAuthController {
         }
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        // Legacy simple tokens carry no state to revoke; signed JWTs go on the denylist until they expire
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+            if (!token.startsWith("simple-token-")) {
+                try {
+                    tokenRevocationService.revokeToken(jwtUtil.extractAllClaims(token));
+                } catch (Exception e) {
+                    // Invalid or expired tokens cannot be used anyway
+                }
+            }
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Logout successful");
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<?> me() {
+        // Filled in by JwtAuthenticationFilter from a valid, unrevoked signed token
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof JwtPrincipal principal)) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", "Not authenticated");
+            return ResponseEntity.status(401).body(error);
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("userId", principal.id());
+        response.put("email", principal.email());
+        response.put("role", principal.role());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/health")
     public ResponseEntity<?> health() {
         Map<String, Object> response = new HashMap<>();
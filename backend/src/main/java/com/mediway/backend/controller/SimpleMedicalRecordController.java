@@ -1,10 +1,9 @@
 package com.mediway.backend.controller;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,7 +14,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.mediway.backend.dto.projection.MedicalRecordSummary;
 import com.mediway.backend.entity.MedicalRecord;
+import com.mediway.backend.event.MedicalRecordChangedEvent;
 import com.mediway.backend.repository.MedicalRecordRepository;
 
 @RestController
@@ -25,6 +26,9 @@ public class SimpleMedicalRecordController {
     @Autowired
     private MedicalRecordRepository medicalRecordRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @GetMapping
     public ResponseEntity<List<MedicalRecord>> getAllMedicalRecords() {
         List<MedicalRecord> records = medicalRecordRepository.findAll();
@@ -38,30 +42,17 @@ public class SimpleMedicalRecordController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Listings carry summaries only; the full text of a record is at /medical-records/{id}
     @GetMapping("/patient/{patientId}")
-    public ResponseEntity<List<Map<String, Object>>> getPatientMedicalRecords(@PathVariable Long patientId) {
-        List<?> rawList = medicalRecordRepository.findByPatientIdOrderByRecordDateDesc(patientId);
-        // Convert to List<Map<String, Object>>
-        List<Map<String, Object>> result = new ArrayList<>();
-        for (Object obj : rawList) {
-            if (obj instanceof Map) {
-                result.add((Map<String, Object>) obj);
-            }
-        }
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<MedicalRecordSummary>> getPatientMedicalRecords(@PathVariable Long patientId) {
+        return ResponseEntity.ok(medicalRecordRepository.findSummariesByPatientId(
+                patientId, MedicalRecordController.DIAGNOSIS_PREVIEW_LENGTH));
     }
 
     @GetMapping("/doctor/{doctorId}")
-    public ResponseEntity<List<Map<String, Object>>> getDoctorMedicalRecords(@PathVariable Long doctorId) {
-        List<?> rawList = medicalRecordRepository.findByDoctorIdOrderByRecordDateDesc(doctorId);
-        // Convert to List<Map<String, Object>>
-        List<Map<String, Object>> result = new ArrayList<>();
-        for (Object obj : rawList) {
-            if (obj instanceof Map) {
-                result.add((Map<String, Object>) obj);
-            }
-        }
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<MedicalRecordSummary>> getDoctorMedicalRecords(@PathVariable Long doctorId) {
+        return ResponseEntity.ok(medicalRecordRepository.findSummariesByDoctorId(
+                doctorId, MedicalRecordController.DIAGNOSIS_PREVIEW_LENGTH));
     }
 
     @PostMapping
@@ -72,6 +63,7 @@ public class SimpleMedicalRecordController {
             record.setDoctorId(userId);
         }
         MedicalRecord savedRecord = medicalRecordRepository.save(record);
+        eventPublisher.publishEvent(new MedicalRecordChangedEvent(savedRecord.getId()));
         return ResponseEntity.ok(java.util.Map.of(
             "success", true,
             "message", "Medical record created successfully!",
@@ -89,6 +81,7 @@ public class SimpleMedicalRecordController {
                     record.setPrescription(recordDetails.getPrescription());
                     record.setNotes(recordDetails.getNotes());
                     MedicalRecord savedRecord = medicalRecordRepository.save(record);
+                    eventPublisher.publishEvent(new MedicalRecordChangedEvent(id));
                     return ResponseEntity.ok(java.util.Map.of(
                         "success", true,
                         "message", "Medical record updated successfully",
@@ -111,6 +104,7 @@ public class SimpleMedicalRecordController {
             ));
         }
         medicalRecordRepository.deleteById(id);
+        eventPublisher.publishEvent(new MedicalRecordChangedEvent(id));
         return ResponseEntity.ok(java.util.Map.of(
             "success", true,
             "message", "Medical record deleted successfully"
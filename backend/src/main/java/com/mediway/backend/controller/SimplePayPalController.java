@@ -236,9 +236,7 @@ public class SimplePayPalController {
                         .orElse(null);
             } catch (NumberFormatException nfe) {
                 // Not a number, try to find by PayPal payment ID
-                payment = paymentRepository.findAll().stream()
-                        .filter(p -> paymentIdRaw.equals(p.getPaypalPaymentId()))
-                        .findFirst()
+                payment = paymentRepository.findFirstByPaypalPaymentId(paymentIdRaw)
                         .orElse(null);
             }
             if (payment == null) {
@@ -361,13 +359,7 @@ public class SimplePayPalController {
 
             logger.info("Searching for payment with PayPal payment ID: {}", extractedPaypalPaymentId);
             final String finalPaypalPaymentId = extractedPaypalPaymentId;
-            Payment payment = paymentRepository.findAll().stream()
-                .filter(p -> {
-                    String storedId = p.getPaypalPaymentId();
-                    logger.debug("Checking payment ID {} against stored ID {}", finalPaypalPaymentId, storedId);
-                    return finalPaypalPaymentId.equals(storedId);
-                })
-                .findFirst()
+            Payment payment = paymentRepository.findFirstByPaypalPaymentId(finalPaypalPaymentId)
                 .orElseThrow(() -> new Exception("Payment not found for token: " + token));
 
             logger.info("Found payment: ID={}, Status={}, Amount={}",
@@ -12,8 +12,8 @@ import java.util.Optional;
 import javax.imageio.ImageIO;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -28,7 +28,12 @@ import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
 import com.mediway.backend.entity.User;
+import com.mediway.backend.event.AccountChangedEvent;
+import com.mediway.backend.exception.ServiceBusyException;
 import com.mediway.backend.repository.UserRepository;
+import com.mediway.backend.security.AccountType;
+import com.mediway.backend.security.PasswordHashingService;
+import com.mediway.backend.security.TokenRevocationService;
 
 @RestController
 @RequestMapping("/profile")
@@ -38,7 +43,13 @@ public class SimpleProfileController {
     private UserRepository userRepository;
     
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @GetMapping
     public ResponseEntity<?> getProfile(@RequestHeader(value = "X-User-Id", required = false) Long userId) {
@@ -140,6 +151,7 @@ public class SimpleProfileController {
             }
 
             User updatedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new AccountChangedEvent(AccountType.USER, updatedUser.getId(), updatedUser.getEmail()));
 
             Map<String, Object> response = new HashMap<>();
             response.put("id", updatedUser.getId());
@@ -188,18 +200,25 @@ public class SimpleProfileController {
             User user = userOpt.get();
             
             // Verify current password
-            if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+            if (!passwordHashingService.matches(currentPassword, user.getPassword())) {
                 return ResponseEntity.status(400).body(Map.of("message", "Current password is incorrect"));
             }
             
             // Update password
-            user.setPassword(passwordEncoder.encode(newPassword));
+            user.setPassword(passwordHashingService.hash(newPassword));
             userRepository.save(user);
+
+            // Tokens issued with the old password must stop working
+            tokenRevocationService.revokeAllFor(user.getEmail());
+            eventPublisher.publishEvent(new AccountChangedEvent(AccountType.USER, user.getId(), user.getEmail()));
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Password changed successfully"
             ));
+        } catch (ServiceBusyException e) {
+            // Let the global handler answer 429 with Retry-After
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("message", "Error changing password: " + e.getMessage()));
         }
@@ -7,13 +7,14 @@ import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.mediway.backend.dto.projection.DoctorSummary;
 import com.mediway.backend.entity.Appointment;
-import com.mediway.backend.entity.Doctor;
 import com.mediway.backend.entity.MedicalRecord;
 import com.mediway.backend.entity.Payment;
 import com.mediway.backend.repository.AppointmentRepository;
@@ -21,9 +22,12 @@ import com.mediway.backend.repository.DoctorRepository;
 import com.mediway.backend.repository.MedicalRecordRepository;
 import com.mediway.backend.repository.PaymentRepository;
 import com.mediway.backend.repository.UserRepository;
+import com.mediway.backend.service.DoctorDirectory;
 
 @RestController
 @RequestMapping("/reports")
+// Reports only read, so they run on the read pool and cannot starve bookings and payments
+@Transactional(readOnly = true)
 public class SimpleReportsController {
 
     @Autowired
@@ -41,6 +45,9 @@ public class SimpleReportsController {
     @Autowired
     private DoctorRepository doctorRepository;
 
+    @Autowired
+    private DoctorDirectory doctorDirectory;
+
     @GetMapping("/dashboard")
     public ResponseEntity<Map<String, Object>> getDashboardStats() {
         Map<String, Object> stats = new HashMap<>();
@@ -62,9 +69,8 @@ public class SimpleReportsController {
 
         // Appointments by department/specialization
         List<Appointment> allAppointments = appointmentRepository.findAll();
-        List<Doctor> allDoctors = doctorRepository.findAll();
         Map<Long, String> doctorIdToSpec = new HashMap<>();
-        for (Doctor d : allDoctors) doctorIdToSpec.put(d.getId(), d.getSpecialization());
+        for (DoctorSummary d : doctorDirectory.snapshot().all()) doctorIdToSpec.put(d.id(), d.specialization());
         Map<String, Integer> apptByDept = new HashMap<>();
         for (Appointment appt : allAppointments) {
             String spec = doctorIdToSpec.getOrDefault(appt.getDoctorId(), "Unknown");
@@ -110,7 +116,9 @@ public class SimpleReportsController {
         // Daily appointments trend (count per day for last 30 days)
         Map<String, Integer> apptByDay = new HashMap<>();
         java.time.LocalDate today = java.time.LocalDate.now();
-        for (Appointment appt : allAppointments) {
+        java.time.LocalDateTime trendStart = today.minusDays(29).atStartOfDay();
+        java.time.LocalDateTime trendEnd = today.plusDays(1).atStartOfDay();
+        for (Appointment appt : appointmentRepository.findByAppointmentDateBetween(trendStart, trendEnd)) {
             if (appt.getAppointmentDate() != null) {
                 String day = appt.getAppointmentDate().toLocalDate().toString();
                 apptByDay.put(day, apptByDay.getOrDefault(day, 0) + 1);
@@ -169,8 +177,8 @@ public class SimpleReportsController {
 
         // Pending payments over time (count of pending payments per day for last 30 days)
         Map<String, Integer> pendingByDay = new HashMap<>();
-        for (Payment p : allPayments) {
-            if (p.getStatus() == Payment.Status.PENDING && p.getPaymentDate() != null) {
+        for (Payment p : paymentRepository.findByStatusAndPaymentDateBetween(Payment.Status.PENDING, trendStart, trendEnd)) {
+            if (p.getPaymentDate() != null) {
                 String day = p.getPaymentDate().toLocalDate().toString();
                 pendingByDay.put(day, pendingByDay.getOrDefault(day, 0) + 1);
             }
@@ -280,9 +288,8 @@ public class SimpleReportsController {
             // 3. Appointments by Department
             document.add(new com.itextpdf.layout.element.Paragraph("Appointments by Department").setBold());
             java.util.List<Appointment> allAppointments = appointmentRepository.findAll();
-            java.util.List<Doctor> allDoctors = doctorRepository.findAll();
             java.util.Map<Long, String> doctorIdToSpec = new java.util.HashMap<>();
-            for (Doctor d : allDoctors) doctorIdToSpec.put(d.getId(), d.getSpecialization());
+            for (DoctorSummary d : doctorDirectory.snapshot().all()) doctorIdToSpec.put(d.id(), d.specialization());
             java.util.Map<String, Integer> apptByDept = new java.util.HashMap<>();
             for (Appointment appt : allAppointments) {
                 String spec = doctorIdToSpec.getOrDefault(appt.getDoctorId(), "Unknown");
@@ -0,0 +1,13 @@
+package com.mediway.backend.dto.projection;
+
+/**
+ * Searchable clinical text of a medical record, with the ids that scope a search.
+ */
+public record ClinicalTextView(
+        Long id,
+        Long patientId,
+        Long doctorId,
+        String diagnosis,
+        String treatment,
+        String prescription) {
+}
@@ -0,0 +1,8 @@
+package com.mediway.backend.dto.projection;
+
+/**
+ * Columns needed to check a doctor or admin login. Selecting only these keeps
+ * photos and other large columns out of the authentication path.
+ */
+public record CredentialView(Long id, String name, String email, String password) {
+}
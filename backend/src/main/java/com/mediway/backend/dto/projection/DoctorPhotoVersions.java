@@ -0,0 +1,24 @@
+package com.mediway.backend.dto.projection;
+
+import com.mediway.backend.service.photo.PhotoSize;
+
+/**
+ * Hashes of a doctor's original photo and its resized variants, without the image bytes.
+ * Variant hashes are null until the variants have been generated.
+ */
+public record DoctorPhotoVersions(String etag, String thumbnailHash, String cardHash, String fullHash) {
+
+    /**
+     * Hash of the variant for the size, or null if it is not available yet
+     */
+    public String variantHash(PhotoSize size) {
+        if (size == null) {
+            return null;
+        }
+        return switch (size) {
+            case THUMBNAIL -> thumbnailHash;
+            case CARD -> cardHash;
+            case FULL -> fullHash;
+        };
+    }
+}
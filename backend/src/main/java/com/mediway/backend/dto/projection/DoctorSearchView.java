@@ -0,0 +1,7 @@
+package com.mediway.backend.dto.projection;
+
+/**
+ * Columns indexed by the doctor search index
+ */
+public record DoctorSearchView(Long id, String name, String specialization, String email) {
+}
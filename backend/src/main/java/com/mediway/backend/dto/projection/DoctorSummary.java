@@ -0,0 +1,22 @@
+package com.mediway.backend.dto.projection;
+
+import com.mediway.backend.entity.Doctor;
+
+/**
+ * Doctor columns shown in listings, without the password. The photo is represented by
+ * its version only, so listings can link to it.
+ */
+public record DoctorSummary(
+        Long id,
+        String name,
+        String specialization,
+        String email,
+        String phone,
+        Boolean available,
+        String photoVersion) {
+
+    public static DoctorSummary of(Doctor doctor) {
+        return new DoctorSummary(doctor.getId(), doctor.getName(), doctor.getSpecialization(), doctor.getEmail(),
+                doctor.getPhone(), doctor.getAvailable(), doctor.getPhotoVersion());
+    }
+}
@@ -0,0 +1,16 @@
+package com.mediway.backend.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Listing columns of a medical record: who and when, with the start of the diagnosis.
+ * The full diagnosis, treatment, prescription and notes are loaded per record.
+ */
+public record MedicalRecordSummary(
+        Long id,
+        Long patientId,
+        LocalDateTime recordDate,
+        Long doctorId,
+        Long appointmentId,
+        String diagnosis) {
+}
@@ -0,0 +1,7 @@
+package com.mediway.backend.dto.projection;
+
+/**
+ * Columns indexed by the patient search index
+ */
+public record PatientSearchView(Long id, String name, String email, String phone) {
+}
@@ -0,0 +1,19 @@
+package com.mediway.backend.dto.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Demographic columns of a patient for filtered listings and population reports,
+ * without the password and TEXT columns of the users table.
+ */
+public record PatientSummary(
+        Long id,
+        String name,
+        String email,
+        String phone,
+        String gender,
+        String bloodType,
+        LocalDate dateOfBirth,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,7 @@
+package com.mediway.backend.dto.projection;
+
+/**
+ * Number of doctors, and of available doctors, per specialization as spelled in the doctors table
+ */
+public record SpecializationCount(String specialization, Long doctors, Long available) {
+}
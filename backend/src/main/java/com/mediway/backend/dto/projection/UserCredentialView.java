@@ -0,0 +1,10 @@
+package com.mediway.backend.dto.projection;
+
+import com.mediway.backend.entity.User;
+
+/**
+ * Columns needed to check a user login, without the TEXT columns
+ * (allergies, medications, QR code) of the users table.
+ */
+public record UserCredentialView(Long id, String name, String email, String password, User.Role role) {
+}
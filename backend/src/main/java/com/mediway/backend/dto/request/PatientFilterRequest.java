@@ -0,0 +1,38 @@
+package com.mediway.backend.dto.request;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional patient filters; unset fields do not restrict the result
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PatientFilterRequest {
+
+    private String gender;
+
+    private String bloodType;
+
+    @Min(value = 0, message = "Minimum age cannot be negative")
+    private Integer minAge;
+
+    @Min(value = 0, message = "Maximum age cannot be negative")
+    private Integer maxAge;
+
+    // Registration date range, inclusive
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdTo;
+}
@@ -4,11 +4,20 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        // Finders in AppointmentRepository: per patient/doctor newest first, by status, by date range
+        @Index(name = "idx_appointments_patient_date", columnList = "patient_id, appointment_date"),
+        @Index(name = "idx_appointments_doctor_date", columnList = "doctor_id, appointment_date"),
+        @Index(name = "idx_appointments_status", columnList = "status"),
+        @Index(name = "idx_appointments_date", columnList = "appointment_date")
+})
 public class Appointment {
 
+    // Pooled blocks from id_generators (not IDENTITY) so inserts can be batched; see IdGeneratorTable
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "appointment_ids")
+    @TableGenerator(name = "appointment_ids", table = "id_generators", pkColumnName = "entity",
+            valueColumnName = "next_id", pkColumnValue = "appointments", allocationSize = 50)
     private Long id;
 
     @Column(name = "patient_id", nullable = false)
@@ -0,0 +1,81 @@
+package com.mediway.backend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * An appointment moved out of appointments by the archival job. Rows keep their original id
+ * and are never changed once archived.
+ */
+@Entity
+@Table(name = "appointments_archive", indexes = {
+        @Index(name = "idx_appointments_archive_patient_date", columnList = "patient_id, appointment_date"),
+        @Index(name = "idx_appointments_archive_doctor_date", columnList = "doctor_id, appointment_date")
+})
+public class ArchivedAppointment {
+
+    @Id
+    private Long id;
+
+    @Column(name = "patient_id", nullable = false)
+    private Long patientId;
+
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+
+    @Column(name = "appointment_date", nullable = false)
+    private LocalDateTime appointmentDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Appointment.Status status;
+
+    @Column(length = 1000)
+    private String notes;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Default constructor
+    public ArchivedAppointment() {
+    }
+
+    /**
+     * The appointment as it was when archived, for responses that list hot and archived ones together
+     */
+    public Appointment toAppointment() {
+        Appointment appointment = new Appointment(patientId, doctorId, appointmentDate, notes);
+        appointment.setId(id);
+        appointment.setStatus(status);
+        appointment.setCreatedAt(createdAt);
+        return appointment;
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public LocalDateTime getAppointmentDate() { return appointmentDate; }
+    public void setAppointmentDate(LocalDateTime appointmentDate) { this.appointmentDate = appointmentDate; }
+
+    public Appointment.Status getStatus() { return status; }
+    public void setStatus(Appointment.Status status) { this.status = status; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(LocalDateTime archivedAt) { this.archivedAt = archivedAt; }
+}
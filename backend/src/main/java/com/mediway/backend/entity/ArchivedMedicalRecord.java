@@ -0,0 +1,97 @@
+package com.mediway.backend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+import com.mediway.backend.entity.converter.CompressedTextConverter;
+
+/**
+ * A medical record moved out of medical_records by the archival job. Rows keep their
+ * original id and are never changed once archived.
+ */
+@Entity
+@Table(name = "medical_records_archive", indexes = {
+        @Index(name = "idx_medical_records_archive_patient_date", columnList = "patient_id, record_date"),
+        @Index(name = "idx_medical_records_archive_doctor_date", columnList = "doctor_id, record_date")
+})
+public class ArchivedMedicalRecord {
+
+    @Id
+    private Long id;
+
+    @Column(name = "patient_id", nullable = false)
+    private Long patientId;
+
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+
+    @Column(name = "appointment_id")
+    private Long appointmentId;
+
+    @Column(columnDefinition = "TEXT")
+    private String diagnosis;
+
+    // Copied as stored, so compressed values stay compressed
+    @Column(columnDefinition = "TEXT")
+    @Convert(converter = CompressedTextConverter.class)
+    private String treatment;
+
+    @Column(columnDefinition = "TEXT")
+    @Convert(converter = CompressedTextConverter.class)
+    private String prescription;
+
+    @Column(columnDefinition = "TEXT")
+    @Convert(converter = CompressedTextConverter.class)
+    private String notes;
+
+    @Column(name = "record_date")
+    private LocalDateTime recordDate;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Default constructor
+    public ArchivedMedicalRecord() {
+    }
+
+    /**
+     * The record as it was when archived, for responses that list hot and archived records together
+     */
+    public MedicalRecord toMedicalRecord() {
+        MedicalRecord record = new MedicalRecord(patientId, doctorId, appointmentId, diagnosis, treatment, prescription, notes);
+        record.setId(id);
+        record.setRecordDate(recordDate);
+        return record;
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public Long getAppointmentId() { return appointmentId; }
+    public void setAppointmentId(Long appointmentId) { this.appointmentId = appointmentId; }
+
+    public String getDiagnosis() { return diagnosis; }
+    public void setDiagnosis(String diagnosis) { this.diagnosis = diagnosis; }
+
+    public String getTreatment() { return treatment; }
+    public void setTreatment(String treatment) { this.treatment = treatment; }
+
+    public String getPrescription() { return prescription; }
+    public void setPrescription(String prescription) { this.prescription = prescription; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public LocalDateTime getRecordDate() { return recordDate; }
+    public void setRecordDate(LocalDateTime recordDate) { this.recordDate = recordDate; }
+
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(LocalDateTime archivedAt) { this.archivedAt = archivedAt; }
+}
@@ -2,17 +2,27 @@ package com.mediway.backend.entity;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.Lob;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "doctors")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "doctors")
+@Table(name = "doctors", indexes = {
+        // Prefix search (mediway.search.engine=sql); email is covered by its unique index
+        @Index(name = "idx_doctors_name", columnList = "name"),
+        @Index(name = "idx_doctors_specialization", columnList = "specialization")
+})
 public class Doctor {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -33,11 +43,9 @@ public class Doctor {
     @Column(nullable = false)
     private Boolean available = true;
 
-    @Lob
-    private byte[] photo;
-
-    @Column(length = 100)
-    private String photoContentType;
+    // ETag of the photo in doctor_photos, null when the doctor has no photo
+    @Column(name = "photo_version", length = 64)
+    private String photoVersion;
 
     @Column(nullable = false, length = 100)
     private String password;
@@ -80,11 +88,8 @@ public class Doctor {
     public Boolean getAvailable() { return available; }
     public void setAvailable(Boolean available) { this.available = available; }
 
-    public byte[] getPhoto() { return photo; }
-    public void setPhoto(byte[] photo) { this.photo = photo; }
-
-    public String getPhotoContentType() { return photoContentType; }
-    public void setPhotoContentType(String photoContentType) { this.photoContentType = photoContentType; }
+    public String getPhotoVersion() { return photoVersion; }
+    public void setPhotoVersion(String photoVersion) { this.photoVersion = photoVersion; }
 
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
@@ -0,0 +1,83 @@
+package com.mediway.backend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+
+/**
+ * Profile photo of a doctor, kept out of the doctors table so that loading doctors
+ * never reads image bytes. The image itself is a file in the PhotoFileStore named by
+ * the etag. Served only by GET /doctors/{id}/photo.
+ */
+@Entity
+@Table(name = "doctor_photos")
+public class DoctorPhoto {
+
+    @Id
+    @Column(name = "doctor_id")
+    private Long doctorId;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    // Content hash: the file name in the photo store, also stored on the doctor as photoVersion and used as the HTTP ETag
+    @Column(nullable = false, length = 64)
+    private String etag;
+
+    // Content hashes of the resized variants in image_blobs, null until generated
+    @Column(name = "thumbnail_hash", length = 64)
+    private String thumbnailHash;
+
+    @Column(name = "card_hash", length = 64)
+    private String cardHash;
+
+    @Column(name = "full_hash", length = 64)
+    private String fullHash;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Default constructor
+    public DoctorPhoto() {
+    }
+
+    // Constructor with parameters
+    public DoctorPhoto(Long doctorId, String contentType, String etag) {
+        this.doctorId = doctorId;
+        this.contentType = contentType;
+        this.etag = etag;
+    }
+
+    // Getters and setters
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public String getEtag() { return etag; }
+    public void setEtag(String etag) { this.etag = etag; }
+
+    public String getThumbnailHash() { return thumbnailHash; }
+    public void setThumbnailHash(String thumbnailHash) { this.thumbnailHash = thumbnailHash; }
+
+    public String getCardHash() { return cardHash; }
+    public void setCardHash(String cardHash) { this.cardHash = cardHash; }
+
+    public String getFullHash() { return fullHash; }
+    public void setFullHash(String fullHash) { this.fullHash = fullHash; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,70 @@
+package com.mediway.backend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+/**
+ * Immutable image content addressed by its SHA-256 hash, so identical images are stored once
+ */
+@Entity
+@Table(name = "image_blobs")
+public class ImageBlob {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "byte_size", nullable = false)
+    private Integer byteSize;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] data;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public ImageBlob() {
+    }
+
+    // Constructor with parameters
+    public ImageBlob(String hash, String contentType, byte[] data) {
+        this.hash = hash;
+        this.contentType = contentType;
+        this.data = data;
+        this.byteSize = data.length;
+    }
+
+    // Getters and setters
+    public String getHash() { return hash; }
+    public void setHash(String hash) { this.hash = hash; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public Integer getByteSize() { return byteSize; }
+    public void setByteSize(Integer byteSize) { this.byteSize = byteSize; }
+
+    public byte[] getData() { return data; }
+    public void setData(byte[] data) { this.data = data; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.mediway.backend.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * A CSV row an import rejected, and why
+ */
+@Entity
+@Table(name = "import_row_errors", indexes = {
+        // Error report of a job, in file order
+        @Index(name = "idx_import_row_errors_job_line", columnList = "job_id, line")
+})
+public class ImportRowError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    // Line of the file the row starts on (the header is line 1)
+    @Column(nullable = false)
+    private long line;
+
+    // Email (or emails) identifying the row, if it had one
+    @Column(name = "row_key")
+    private String rowKey;
+
+    @Column(nullable = false, length = 500)
+    private String message;
+
+    // Default constructor
+    public ImportRowError() {
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getJobId() { return jobId; }
+    public void setJobId(Long jobId) { this.jobId = jobId; }
+
+    public long getLine() { return line; }
+    public void setLine(long line) { this.line = line; }
+
+    public String getRowKey() { return rowKey; }
+    public void setRowKey(String rowKey) { this.rowKey = rowKey; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -3,12 +3,21 @@ package com.mediway.backend.entity;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
+import com.mediway.backend.entity.converter.CompressedTextConverter;
+
 @Entity
-@Table(name = "medical_records")
+@Table(name = "medical_records", indexes = {
+        // Patient timeline, newest first (keyset pagination on record_date)
+        @Index(name = "idx_medical_records_patient_date", columnList = "patient_id, record_date"),
+        @Index(name = "idx_medical_records_doctor_date", columnList = "doctor_id, record_date"),
+        @Index(name = "idx_medical_records_appointment", columnList = "appointment_id")
+})
 public class MedicalRecord {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "medical_record_ids")
+    @TableGenerator(name = "medical_record_ids", table = "id_generators", pkColumnName = "entity",
+            valueColumnName = "next_id", pkColumnValue = "medical_records", allocationSize = 50)
     private Long id;
 
     @Column(name = "patient_id", nullable = false)
@@ -20,16 +29,20 @@ public class MedicalRecord {
     @Column(name = "appointment_id")
     private Long appointmentId;
 
+    // Kept plain: listings read the start of it with SUBSTRING
     @Column(columnDefinition = "TEXT")
     private String diagnosis;
 
     @Column(columnDefinition = "TEXT")
+    @Convert(converter = CompressedTextConverter.class)
     private String treatment;
 
     @Column(columnDefinition = "TEXT")
+    @Convert(converter = CompressedTextConverter.class)
     private String prescription;
 
     @Column(columnDefinition = "TEXT")
+    @Convert(converter = CompressedTextConverter.class)
     private String notes;
 
     @Column(name = "record_date")
@@ -5,11 +5,19 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        // Finders in PaymentRepository: per user/appointment newest first, by status (and date), by PayPal id
+        @Index(name = "idx_payments_user_date", columnList = "user_id, payment_date"),
+        @Index(name = "idx_payments_appointment_date", columnList = "appointment_id, payment_date"),
+        @Index(name = "idx_payments_status_date", columnList = "status, payment_date"),
+        @Index(name = "idx_payments_paypal_payment_id", columnList = "paypal_payment_id")
+})
 public class Payment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "payment_ids")
+    @TableGenerator(name = "payment_ids", table = "id_generators", pkColumnName = "entity",
+            valueColumnName = "next_id", pkColumnValue = "payments", allocationSize = 50)
     private Long id;
 
     @Column(name = "user_id", nullable = false)
@@ -34,7 +42,8 @@ public class Payment {
     @Column(name = "paypal_payment_id", length = 100)
     private String paypalPaymentId;
 
-    @Column(name = "payment_date")
+    // Partition key (see PartitionMaintenance), so always set
+    @Column(name = "payment_date", nullable = false)
     private LocalDateTime paymentDate;
 
     // Default constructor
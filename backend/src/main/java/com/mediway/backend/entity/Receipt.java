@@ -5,11 +5,17 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "receipts")
+@Table(name = "receipts", indexes = {
+        // Finders in ReceiptRepository; receipt_number has its unique index
+        @Index(name = "idx_receipts_payment", columnList = "payment_id"),
+        @Index(name = "idx_receipts_user_issue_date", columnList = "user_id, issue_date")
+})
 public class Receipt {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "receipt_ids")
+    @TableGenerator(name = "receipt_ids", table = "id_generators", pkColumnName = "entity",
+            valueColumnName = "next_id", pkColumnValue = "receipts", allocationSize = 50)
     private Long id;
 
     @Column(name = "receipt_number", unique = true, nullable = false, length = 20)
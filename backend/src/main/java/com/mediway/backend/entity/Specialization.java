@@ -0,0 +1,81 @@
+package com.mediway.backend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Catalog entry for one specialization, with precomputed doctor counts so discovery filters
+ * can be rendered without reading the doctors table. Maintained by SpecializationCatalog;
+ * entries stay in the catalog with zero counts when their last doctor leaves.
+ */
+@Entity
+@Table(name = "specializations", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_specializations_slug", columnNames = "slug")
+})
+public class Specialization {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Normalised key, e.g. "general-medicine"; spelling and case variants share one entry
+    @Column(nullable = false, length = 100)
+    private String slug;
+
+    // Display name, as most doctors with this specialization spell it
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "doctor_count", nullable = false)
+    private Integer doctorCount = 0;
+
+    @Column(name = "available_count", nullable = false)
+    private Integer availableCount = 0;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Default constructor
+    public Specialization() {
+    }
+
+    // Constructor with parameters
+    public Specialization(String slug, String name) {
+        this.slug = slug;
+        this.name = name;
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getSlug() { return slug; }
+    public void setSlug(String slug) { this.slug = slug; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Integer getDoctorCount() { return doctorCount; }
+    public void setDoctorCount(Integer doctorCount) { this.doctorCount = doctorCount; }
+
+    public Integer getAvailableCount() { return availableCount; }
+    public void setAvailableCount(Integer availableCount) { this.availableCount = availableCount; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -3,6 +3,10 @@ package com.mediway.backend.entity;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -10,11 +14,23 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@Table(name = "users", indexes = {
+        // Prefix search (mediway.search.engine=sql); email is covered by its unique index
+        @Index(name = "idx_users_name", columnList = "name"),
+        @Index(name = "idx_users_phone", columnList = "phone"),
+        // Demographic filters (PatientSpecifications); age ranges are date_of_birth ranges
+        @Index(name = "idx_users_gender_dob", columnList = "gender, date_of_birth"),
+        @Index(name = "idx_users_blood_type_dob", columnList = "blood_type, date_of_birth"),
+        @Index(name = "idx_users_dob", columnList = "date_of_birth"),
+        @Index(name = "idx_users_created_at", columnList = "created_at")
+})
 public class User {
 
     @Id
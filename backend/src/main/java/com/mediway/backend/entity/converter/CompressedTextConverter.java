@@ -0,0 +1,41 @@
+package com.mediway.backend.entity.converter;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.mediway.backend.service.compression.TextCompressor;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores long text columns compressed, see {@link TextCompressor}. Opt in per field with
+ * {@code @Convert(converter = CompressedTextConverter.class)}; only columns that are never
+ * compared or cut in queries qualify, since the database sees the compressed form.
+ *
+ * Hibernate creates converters through Spring, which injects the configured compressor;
+ * without one (slices that do not load it) values are still decoded but stored as given.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, String> {
+
+    private final TextCompressor compressor;
+
+    public CompressedTextConverter() {
+        this(TextCompressor.decodeOnly());
+    }
+
+    @Autowired
+    public CompressedTextConverter(TextCompressor compressor) {
+        this.compressor = compressor;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String text) {
+        return compressor.encode(text);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String stored) {
+        return compressor.decode(stored);
+    }
+}
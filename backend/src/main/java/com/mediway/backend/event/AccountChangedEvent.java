@@ -0,0 +1,14 @@
+package com.mediway.backend.event;
+
+import com.mediway.backend.security.AccountType;
+
+/**
+ * Published whenever a user, doctor or admin account is updated or deleted,
+ * so caches keyed by the account can drop stale entries.
+ *
+ * @param type  which table the account lives in
+ * @param id    account ID
+ * @param email email the account was known by before the change (may be null)
+ */
+public record AccountChangedEvent(AccountType type, Long id, String email) {
+}
@@ -0,0 +1,10 @@
+package com.mediway.backend.event;
+
+/**
+ * Published when a doctor's photo is uploaded or replaced, so resized variants can be generated.
+ *
+ * @param doctorId doctor whose photo changed
+ * @param etag     content hash of the new original; work for an older photo is discarded
+ */
+public record DoctorPhotoStoredEvent(Long doctorId, String etag) {
+}
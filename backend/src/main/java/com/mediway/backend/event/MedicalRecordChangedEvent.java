@@ -0,0 +1,10 @@
+package com.mediway.backend.event;
+
+/**
+ * Published when a medical record is created, updated or deleted, so the clinical
+ * search index can pick up the new text.
+ *
+ * @param recordId medical record that changed
+ */
+public record MedicalRecordChangedEvent(Long recordId) {
+}
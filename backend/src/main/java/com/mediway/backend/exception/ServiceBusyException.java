@@ -0,0 +1,19 @@
+package com.mediway.backend.exception;
+
+/**
+ * Thrown when a bounded resource is saturated and the request should be retried later.
+ * Mapped to 429 Too Many Requests with a Retry-After header.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
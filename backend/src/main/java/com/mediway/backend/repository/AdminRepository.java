@@ -1,5 +1,6 @@
 package com.mediway.backend.repository;
 
+import com.mediway.backend.dto.projection.CredentialView;
 import com.mediway.backend.entity.Admin;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
@@ -9,4 +10,5 @@ import java.util.Optional;
 @Repository
 public interface AdminRepository extends JpaRepository<Admin, Long> {
     Optional<Admin> findByEmail(String email);
+    Optional<CredentialView> findCredentialsByEmail(String email);
 }
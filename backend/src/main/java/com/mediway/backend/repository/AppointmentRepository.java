@@ -12,4 +12,7 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     List<Appointment> findByPatientIdOrderByAppointmentDateDesc(Long patientId);
     List<Appointment> findByDoctorIdOrderByAppointmentDateDesc(Long doctorId);
     List<Appointment> findByStatus(Appointment.Status status);
+
+    // Bounded on appointment_date, so only the partitions of those months are read
+    List<Appointment> findByAppointmentDateBetween(LocalDateTime from, LocalDateTime to);
 }
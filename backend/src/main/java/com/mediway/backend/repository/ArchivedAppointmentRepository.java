@@ -0,0 +1,13 @@
+package com.mediway.backend.repository;
+
+import com.mediway.backend.entity.ArchivedAppointment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedAppointmentRepository extends JpaRepository<ArchivedAppointment, Long> {
+    List<ArchivedAppointment> findByPatientIdOrderByAppointmentDateDesc(Long patientId);
+    List<ArchivedAppointment> findByDoctorIdOrderByAppointmentDateDesc(Long doctorId);
+}
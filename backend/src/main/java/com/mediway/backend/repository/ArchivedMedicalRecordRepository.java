@@ -0,0 +1,45 @@
+package com.mediway.backend.repository;
+
+import com.mediway.backend.dto.projection.MedicalRecordSummary;
+import com.mediway.backend.entity.ArchivedMedicalRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedMedicalRecordRepository extends JpaRepository<ArchivedMedicalRecord, Long> {
+
+    List<ArchivedMedicalRecord> findByPatientIdOrderByRecordDateDesc(Long patientId);
+
+    List<ArchivedMedicalRecord> findByDoctorIdOrderByRecordDateDesc(Long doctorId);
+
+    /**
+     * Newest archived timeline entries of a patient, see MedicalRecordRepository#findTimeline
+     */
+    @Query("SELECT new com.mediway.backend.dto.projection.MedicalRecordSummary("
+            + "m.id, m.patientId, m.recordDate, m.doctorId, m.appointmentId, SUBSTRING(m.diagnosis, 1, :diagnosisLength)) "
+            + "FROM ArchivedMedicalRecord m WHERE m.patientId = :patientId "
+            + "ORDER BY m.recordDate DESC, m.id DESC")
+    List<MedicalRecordSummary> findTimeline(@Param("patientId") Long patientId,
+                                            @Param("diagnosisLength") int diagnosisLength,
+                                            Pageable pageable);
+
+    /**
+     * Archived timeline entries older than the given entry, see MedicalRecordRepository#findTimelineBefore
+     */
+    @Query("SELECT new com.mediway.backend.dto.projection.MedicalRecordSummary("
+            + "m.id, m.patientId, m.recordDate, m.doctorId, m.appointmentId, SUBSTRING(m.diagnosis, 1, :diagnosisLength)) "
+            + "FROM ArchivedMedicalRecord m WHERE m.patientId = :patientId "
+            + "AND (m.recordDate < :beforeDate OR (m.recordDate = :beforeDate AND m.id < :beforeId)) "
+            + "ORDER BY m.recordDate DESC, m.id DESC")
+    List<MedicalRecordSummary> findTimelineBefore(@Param("patientId") Long patientId,
+                                                  @Param("beforeDate") LocalDateTime beforeDate,
+                                                  @Param("beforeId") Long beforeId,
+                                                  @Param("diagnosisLength") int diagnosisLength,
+                                                  Pageable pageable);
+}
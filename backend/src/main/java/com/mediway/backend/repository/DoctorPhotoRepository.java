@@ -0,0 +1,36 @@
+package com.mediway.backend.repository;
+
+import com.mediway.backend.dto.projection.DoctorPhotoVersions;
+import com.mediway.backend.entity.DoctorPhoto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface DoctorPhotoRepository extends JpaRepository<DoctorPhoto, Long> {
+
+    // Hashes only, so conditional requests are answered without reading any image
+    @Query("SELECT new com.mediway.backend.dto.projection.DoctorPhotoVersions(p.etag, p.thumbnailHash, p.cardHash, p.fullHash) "
+            + "FROM DoctorPhoto p WHERE p.doctorId = :doctorId")
+    Optional<DoctorPhotoVersions> findVersionsByDoctorId(@Param("doctorId") Long doctorId);
+
+    // Only applies while the photo is still the one the variants were made from
+    @Transactional
+    @Modifying
+    @Query("UPDATE DoctorPhoto p SET p.thumbnailHash = :thumbnailHash, p.cardHash = :cardHash, p.fullHash = :fullHash "
+            + "WHERE p.doctorId = :doctorId AND p.etag = :etag")
+    int updateVariants(@Param("doctorId") Long doctorId, @Param("etag") String etag,
+            @Param("thumbnailHash") String thumbnailHash, @Param("cardHash") String cardHash,
+            @Param("fullHash") String fullHash);
+
+    boolean existsByEtag(String etag);
+
+    @Query("SELECT COUNT(p) > 0 FROM DoctorPhoto p "
+            + "WHERE p.thumbnailHash = :hash OR p.cardHash = :hash OR p.fullHash = :hash")
+    boolean isVariantReferenced(@Param("hash") String hash);
+}
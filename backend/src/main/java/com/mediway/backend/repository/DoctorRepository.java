@@ -1,7 +1,18 @@
 package com.mediway.backend.repository;
 
+import com.mediway.backend.dto.projection.CredentialView;
+import com.mediway.backend.dto.projection.DoctorSearchView;
+import com.mediway.backend.dto.projection.DoctorSummary;
+import com.mediway.backend.dto.projection.SpecializationCount;
 import com.mediway.backend.entity.Doctor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,7 +20,47 @@ import java.util.Optional;
 
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+    // Query cache (region doctor-queries): result ids are reused until a doctor is written
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "doctor-queries")
+    })
     List<Doctor> findByAvailableTrue();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "doctor-queries")
+    })
     List<Doctor> findBySpecialization(String specialization);
+
     Optional<Doctor> findByEmail(String email);
+    Optional<CredentialView> findCredentialsByEmail(String email);
+
+    // Listing columns of every doctor, for the doctor directory snapshot
+    @Query("SELECT new com.mediway.backend.dto.projection.DoctorSummary("
+            + "d.id, d.name, d.specialization, d.email, d.phone, d.available, d.photoVersion) "
+            + "FROM Doctor d ORDER BY d.id")
+    List<DoctorSummary> findAllSummaries();
+
+    // One grouped pass over the specialization index, for the specialization catalog counts
+    @Query("SELECT new com.mediway.backend.dto.projection.SpecializationCount(d.specialization, COUNT(d), "
+            + "SUM(CASE WHEN d.available = true THEN 1L ELSE 0L END)) "
+            + "FROM Doctor d GROUP BY d.specialization")
+    List<SpecializationCount> countBySpecialization();
+
+    // Searchable columns in id order, for loading the doctor search index in keyset batches
+    @Query("SELECT new com.mediway.backend.dto.projection.DoctorSearchView(d.id, d.name, d.specialization, d.email) "
+            + "FROM Doctor d WHERE d.id > :afterId ORDER BY d.id")
+    List<DoctorSearchView> findSearchViewsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.mediway.backend.dto.projection.DoctorSearchView(d.id, d.name, d.specialization, d.email) "
+            + "FROM Doctor d WHERE d.id = :id")
+    Optional<DoctorSearchView> findSearchViewById(@Param("id") Long id);
+
+    // Ids of doctors whose name, specialization or email starts with the prefix ('!' escapes wildcards)
+    @Query(value = "SELECT d.id FROM Doctor d WHERE d.name LIKE :prefix ESCAPE '!' "
+            + "OR d.specialization LIKE :prefix ESCAPE '!' OR d.email LIKE :prefix ESCAPE '!'",
+            countQuery = "SELECT COUNT(d) FROM Doctor d WHERE d.name LIKE :prefix ESCAPE '!' "
+            + "OR d.specialization LIKE :prefix ESCAPE '!' OR d.email LIKE :prefix ESCAPE '!'")
+    Page<Long> searchIdsByPrefix(@Param("prefix") String prefix, Pageable pageable);
 }
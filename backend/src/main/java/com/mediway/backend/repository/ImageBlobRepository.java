@@ -0,0 +1,9 @@
+package com.mediway.backend.repository;
+
+import com.mediway.backend.entity.ImageBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String> {
+}
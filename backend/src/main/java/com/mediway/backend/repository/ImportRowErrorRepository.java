@@ -0,0 +1,12 @@
+package com.mediway.backend.repository;
+
+import com.mediway.backend.entity.ImportRowError;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImportRowErrorRepository extends JpaRepository<ImportRowError, Long> {
+    Page<ImportRowError> findByJobIdOrderByLine(Long jobId, Pageable pageable);
+}
@@ -1,10 +1,18 @@
 package com.mediway.backend.repository;
 
+import com.mediway.backend.dto.projection.ClinicalTextView;
+import com.mediway.backend.dto.projection.MedicalRecordSummary;
 import com.mediway.backend.entity.MedicalRecord;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Long> {
@@ -16,4 +24,76 @@ public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Lo
     List<MedicalRecord> findByPatientIdAndDoctorIdOrderByRecordDateDesc(Long patientId, Long doctorId);
     
     List<MedicalRecord> findByAppointmentId(Long appointmentId);
-}
+
+    /**
+     * All records of a patient as summaries, newest first
+     * @param diagnosisLength number of diagnosis characters to return
+     */
+    @Query("SELECT new com.mediway.backend.dto.projection.MedicalRecordSummary("
+            + "m.id, m.patientId, m.recordDate, m.doctorId, m.appointmentId, SUBSTRING(m.diagnosis, 1, :diagnosisLength)) "
+            + "FROM MedicalRecord m WHERE m.patientId = :patientId "
+            + "ORDER BY m.recordDate DESC, m.id DESC")
+    List<MedicalRecordSummary> findSummariesByPatientId(@Param("patientId") Long patientId,
+                                                        @Param("diagnosisLength") int diagnosisLength);
+
+    /**
+     * All records written by a doctor as summaries, newest first
+     * @param diagnosisLength number of diagnosis characters to return
+     */
+    @Query("SELECT new com.mediway.backend.dto.projection.MedicalRecordSummary("
+            + "m.id, m.patientId, m.recordDate, m.doctorId, m.appointmentId, SUBSTRING(m.diagnosis, 1, :diagnosisLength)) "
+            + "FROM MedicalRecord m WHERE m.doctorId = :doctorId "
+            + "ORDER BY m.recordDate DESC, m.id DESC")
+    List<MedicalRecordSummary> findSummariesByDoctorId(@Param("doctorId") Long doctorId,
+                                                       @Param("diagnosisLength") int diagnosisLength);
+
+    /**
+     * Newest timeline entries of a patient, served from the (patient_id, record_date) index
+     * @param diagnosisLength number of diagnosis characters to return
+     * @param pageable page size
+     */
+    @Query("SELECT new com.mediway.backend.dto.projection.MedicalRecordSummary("
+            + "m.id, m.patientId, m.recordDate, m.doctorId, m.appointmentId, SUBSTRING(m.diagnosis, 1, :diagnosisLength)) "
+            + "FROM MedicalRecord m WHERE m.patientId = :patientId "
+            + "ORDER BY m.recordDate DESC, m.id DESC")
+    List<MedicalRecordSummary> findTimeline(@Param("patientId") Long patientId,
+                                            @Param("diagnosisLength") int diagnosisLength,
+                                            Pageable pageable);
+
+    /**
+     * Timeline entries older than the last entry of the previous page (keyset pagination)
+     * @param beforeDate record date of the last entry already returned
+     * @param beforeId id of the last entry already returned, breaking ties on the same date
+     */
+    @Query("SELECT new com.mediway.backend.dto.projection.MedicalRecordSummary("
+            + "m.id, m.patientId, m.recordDate, m.doctorId, m.appointmentId, SUBSTRING(m.diagnosis, 1, :diagnosisLength)) "
+            + "FROM MedicalRecord m WHERE m.patientId = :patientId "
+            + "AND (m.recordDate < :beforeDate OR (m.recordDate = :beforeDate AND m.id < :beforeId)) "
+            + "ORDER BY m.recordDate DESC, m.id DESC")
+    List<MedicalRecordSummary> findTimelineBefore(@Param("patientId") Long patientId,
+                                                  @Param("beforeDate") LocalDateTime beforeDate,
+                                                  @Param("beforeId") Long beforeId,
+                                                  @Param("diagnosisLength") int diagnosisLength,
+                                                  Pageable pageable);
+
+    /**
+     * Summaries of the given records, in no particular order
+     * @param diagnosisLength number of diagnosis characters to return
+     */
+    @Query("SELECT new com.mediway.backend.dto.projection.MedicalRecordSummary("
+            + "m.id, m.patientId, m.recordDate, m.doctorId, m.appointmentId, SUBSTRING(m.diagnosis, 1, :diagnosisLength)) "
+            + "FROM MedicalRecord m WHERE m.id IN :ids")
+    List<MedicalRecordSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids,
+                                                   @Param("diagnosisLength") int diagnosisLength);
+
+    // Clinical text in id order, for loading the clinical search index in keyset batches
+    @Query("SELECT new com.mediway.backend.dto.projection.ClinicalTextView("
+            + "m.id, m.patientId, m.doctorId, m.diagnosis, m.treatment, m.prescription) "
+            + "FROM MedicalRecord m WHERE m.id > :afterId ORDER BY m.id")
+    List<ClinicalTextView> findClinicalTextAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.mediway.backend.dto.projection.ClinicalTextView("
+            + "m.id, m.patientId, m.doctorId, m.diagnosis, m.treatment, m.prescription) "
+            + "FROM MedicalRecord m WHERE m.id = :id")
+    Optional<ClinicalTextView> findClinicalTextById(@Param("id") Long id);
+}
\ No newline at end of file
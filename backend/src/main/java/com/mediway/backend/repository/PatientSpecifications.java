@@ -0,0 +1,77 @@
+package com.mediway.backend.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.mediway.backend.dto.request.PatientFilterRequest;
+import com.mediway.backend.entity.User;
+
+/**
+ * Composable filters over the users table.
+ *
+ * Each filter is a plain equality or range predicate on an indexed column, so the database
+ * can seek to the matching rows instead of scanning the table. Text comparisons rely on the
+ * column collation for case-insensitivity (case-insensitive by default on MySQL).
+ */
+public final class PatientSpecifications {
+
+    private PatientSpecifications() {
+    }
+
+    public static Specification<User> hasGender(String gender) {
+        return (root, query, cb) -> cb.equal(root.get("gender"), gender);
+    }
+
+    public static Specification<User> hasBloodType(String bloodType) {
+        return (root, query, cb) -> cb.equal(root.get("bloodType"), bloodType);
+    }
+
+    /**
+     * At least {@code minAge} full years old on {@code today}
+     */
+    public static Specification<User> ageAtLeast(int minAge, LocalDate today) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dateOfBirth"), today.minusYears(minAge));
+    }
+
+    /**
+     * At most {@code maxAge} full years old on {@code today}, i.e. not yet {@code maxAge + 1}
+     */
+    public static Specification<User> ageAtMost(int maxAge, LocalDate today) {
+        return (root, query, cb) -> cb.greaterThan(root.get("dateOfBirth"), today.minusYears(maxAge + 1L));
+    }
+
+    public static Specification<User> createdOnOrAfter(LocalDate from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from.atStartOfDay());
+    }
+
+    public static Specification<User> createdOnOrBefore(LocalDate to) {
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), to.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * All filters set on the request, combined with AND
+     */
+    public static Specification<User> matching(PatientFilterRequest filter, LocalDate today) {
+        Specification<User> spec = Specification.where(null);
+        if (filter.getGender() != null && !filter.getGender().isBlank()) {
+            spec = spec.and(hasGender(filter.getGender().trim()));
+        }
+        if (filter.getBloodType() != null && !filter.getBloodType().isBlank()) {
+            spec = spec.and(hasBloodType(filter.getBloodType().trim()));
+        }
+        if (filter.getMinAge() != null) {
+            spec = spec.and(ageAtLeast(filter.getMinAge(), today));
+        }
+        if (filter.getMaxAge() != null) {
+            spec = spec.and(ageAtMost(filter.getMaxAge(), today));
+        }
+        if (filter.getCreatedFrom() != null) {
+            spec = spec.and(createdOnOrAfter(filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            spec = spec.and(createdOnOrBefore(filter.getCreatedTo()));
+        }
+        return spec;
+    }
+}
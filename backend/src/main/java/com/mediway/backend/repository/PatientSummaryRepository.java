@@ -0,0 +1,22 @@
+package com.mediway.backend.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.mediway.backend.dto.projection.PatientSummary;
+import com.mediway.backend.entity.User;
+
+/**
+ * Projection queries over users that Spring Data cannot derive
+ */
+public interface PatientSummaryRepository {
+
+    /**
+     * Find one page of patient summaries matching the specification
+     * @param spec filters, see {@link PatientSpecifications}
+     * @param pageable page and sort order (user properties)
+     * @return page of summaries; the count query is skipped when the page content already implies the total
+     */
+    Page<PatientSummary> findSummaries(Specification<User> spec, Pageable pageable);
+}
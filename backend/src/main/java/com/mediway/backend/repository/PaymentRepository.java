@@ -4,7 +4,9 @@ import com.mediway.backend.entity.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -12,4 +14,8 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findByUserIdOrderByPaymentDateDesc(Long userId);
     List<Payment> findByAppointmentIdOrderByPaymentDateDesc(Long appointmentId);
     List<Payment> findByStatus(Payment.Status status);
+    Optional<Payment> findFirstByPaypalPaymentId(String paypalPaymentId);
+
+    // Bounded on payment_date, so only the partitions of those months are read
+    List<Payment> findByStatusAndPaymentDateBetween(Payment.Status status, LocalDateTime from, LocalDateTime to);
 }
@@ -0,0 +1,15 @@
+package com.mediway.backend.repository;
+
+import com.mediway.backend.entity.Specialization;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SpecializationRepository extends JpaRepository<Specialization, Long> {
+    Optional<Specialization> findBySlug(String slug);
+    List<Specialization> findAllByOrderByNameAsc();
+    List<Specialization> findByDoctorCountGreaterThanOrderByNameAsc(Integer doctorCount);
+}
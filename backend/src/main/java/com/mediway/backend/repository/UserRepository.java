@@ -1,14 +1,25 @@
 package com.mediway.backend.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.mediway.backend.dto.projection.PatientSearchView;
+import com.mediway.backend.dto.projection.PatientSummary;
+import com.mediway.backend.dto.projection.UserCredentialView;
 import com.mediway.backend.entity.User;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>,
+        PatientSummaryRepository {
 
     /**
      * Find user by email
@@ -17,6 +28,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmail(String email);
 
+    /**
+     * Find only the login columns of a user by email
+     * @param email user email
+     * @return Optional of the credential columns
+     */
+    Optional<UserCredentialView> findCredentialsByEmail(String email);
+
     /**
      * Check if user exists by email
      * @param email user email
@@ -31,4 +49,44 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return Optional of User
      */
     Optional<User> findById(Long id);
+
+    /**
+     * Find the summary columns of the users with the given ids, in no particular order
+     * @param ids user ids; callers keep this list bounded
+     * @return summaries of the users that exist
+     */
+    @Query("SELECT new com.mediway.backend.dto.projection.PatientSummary(u.id, u.name, u.email, u.phone, "
+            + "u.gender, u.bloodType, u.dateOfBirth, u.createdAt) FROM User u WHERE u.id IN :ids")
+    List<PatientSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Page through the searchable columns of all users in id order (keyset pagination)
+     * @param afterId last id of the previous page, 0 for the first page
+     * @param pageable page size
+     * @return next page of search columns
+     */
+    @Query("SELECT new com.mediway.backend.dto.projection.PatientSearchView(u.id, u.name, u.email, u.phone) "
+            + "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<PatientSearchView> findSearchViewsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Find the searchable columns of a single user
+     * @param id user id
+     * @return Optional of the search columns
+     */
+    @Query("SELECT new com.mediway.backend.dto.projection.PatientSearchView(u.id, u.name, u.email, u.phone) "
+            + "FROM User u WHERE u.id = :id")
+    Optional<PatientSearchView> findSearchViewById(@Param("id") Long id);
+
+    /**
+     * Find ids of users whose name, email or phone starts with the prefix (served by the column indexes)
+     * @param prefix LIKE pattern ending in '%', with '!' as escape character
+     * @param pageable page and sort order
+     * @return page of matching user ids
+     */
+    @Query(value = "SELECT u.id FROM User u WHERE u.name LIKE :prefix ESCAPE '!' "
+            + "OR u.email LIKE :prefix ESCAPE '!' OR u.phone LIKE :prefix ESCAPE '!'",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE u.name LIKE :prefix ESCAPE '!' "
+            + "OR u.email LIKE :prefix ESCAPE '!' OR u.phone LIKE :prefix ESCAPE '!'")
+    Page<Long> searchIdsByPrefix(@Param("prefix") String prefix, Pageable pageable);
 }
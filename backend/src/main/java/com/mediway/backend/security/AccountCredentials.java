@@ -0,0 +1,9 @@
+package com.mediway.backend.security;
+
+/**
+ * Result of a credential lookup, independent of the table the account lives in
+ *
+ * @param role role name as used in tokens and responses (PATIENT, DOCTOR, ADMIN, ...)
+ */
+public record AccountCredentials(AccountType type, Long id, String name, String email, String password, String role) {
+}
@@ -0,0 +1,11 @@
+package com.mediway.backend.security;
+
+/**
+ * The tables accounts can live in. Users carry their own role (mostly PATIENT),
+ * doctors and admins are stored separately.
+ */
+public enum AccountType {
+    USER,
+    DOCTOR,
+    ADMIN
+}
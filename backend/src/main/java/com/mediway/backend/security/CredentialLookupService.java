@@ -0,0 +1,72 @@
+package com.mediway.backend.security;
+
+import com.mediway.backend.repository.AdminRepository;
+import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Single place where logins look up and check credentials.
+ *
+ * Every lookup is one indexed query on the unique email column that selects
+ * only id, name, email, password (and role for users), so entity graphs, photos
+ * and TEXT columns are never loaded to authenticate.
+ */
+@Service
+@RequiredArgsConstructor
+public class CredentialLookupService {
+
+    private final UserRepository userRepository;
+    private final DoctorRepository doctorRepository;
+    private final AdminRepository adminRepository;
+    private final PasswordHashingService passwordHashingService;
+
+    // Hash of a random password, checked for unknown emails; made with the configured strength on first use
+    private volatile String dummyHash;
+
+    /**
+     * Look up the credentials of an account of the given type
+     */
+    public Optional<AccountCredentials> find(AccountType type, String email) {
+        if (email == null || email.isBlank()) {
+            return Optional.empty();
+        }
+        return switch (type) {
+            case USER -> userRepository.findCredentialsByEmail(email)
+                    .map(u -> new AccountCredentials(AccountType.USER, u.id(), u.name(), u.email(), u.password(),
+                            u.role() != null ? u.role().name() : null));
+            case DOCTOR -> doctorRepository.findCredentialsByEmail(email)
+                    .map(d -> new AccountCredentials(AccountType.DOCTOR, d.id(), d.name(), d.email(), d.password(), "DOCTOR"));
+            case ADMIN -> adminRepository.findCredentialsByEmail(email)
+                    .map(a -> new AccountCredentials(AccountType.ADMIN, a.id(), a.name(), a.email(), a.password(), "ADMIN"));
+        };
+    }
+
+    /**
+     * Return the account if the email exists and the password matches, empty otherwise.
+     * Unknown emails and wrong passwords are deliberately indistinguishable, including in how long
+     * they take: an unknown email is checked against a dummy BCrypt hash.
+     * Throws {@link com.mediway.backend.exception.ServiceBusyException} when password hashing is saturated.
+     */
+    public Optional<AccountCredentials> authenticate(AccountType type, String email, String rawPassword) {
+        Optional<AccountCredentials> account = find(type, email);
+        if (account.isEmpty()) {
+            passwordHashingService.matches(rawPassword, dummyHash());
+            return Optional.empty();
+        }
+        return account.filter(credentials -> passwordHashingService.matches(rawPassword, credentials.password()));
+    }
+
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordHashingService.hash(UUID.randomUUID().toString());
+            dummyHash = hash;
+        }
+        return hash;
+    }
+}
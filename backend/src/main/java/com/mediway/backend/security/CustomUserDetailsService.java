@@ -1,8 +1,7 @@
 package com.mediway.backend.security;
 
-import com.mediway.backend.entity.User;
-import com.mediway.backend.entity.Doctor;
-import com.mediway.backend.entity.Admin;
+import com.mediway.backend.dto.projection.CredentialView;
+import com.mediway.backend.dto.projection.UserCredentialView;
 import com.mediway.backend.repository.UserRepository;
 import com.mediway.backend.repository.DoctorRepository;
 import com.mediway.backend.repository.AdminRepository;
@@ -26,41 +25,52 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private AdminRepository adminRepository;
 
+    // Absent when mediway.cache.user-details.enabled=false
+    @Autowired(required = false)
+    private UserDetailsCache userDetailsCache;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // Try to find user in different tables
-        Optional<User> userOpt = userRepository.findByEmail(username);
+        if (userDetailsCache != null) {
+            return userDetailsCache.get(username, this::loadFromDatabase);
+        }
+        return loadFromDatabase(username);
+    }
+
+    private UserDetails loadFromDatabase(String username) {
+        // Only the login columns are selected; the rest of the account is never needed here
+        Optional<UserCredentialView> userOpt = userRepository.findCredentialsByEmail(username);
         if (userOpt.isPresent()) {
-            User user = userOpt.get();
+            UserCredentialView user = userOpt.get();
             return org.springframework.security.core.userdetails.User.builder()
-                    .username(user.getEmail())
-                    .password(user.getPassword())
-                    .roles(user.getRole().toString())
+                    .username(user.email())
+                    .password(user.password())
+                    .roles(user.role().toString())
                     .build();
         }
 
         // Try doctors
-        Optional<Doctor> doctorOpt = doctorRepository.findByEmail(username);
+        Optional<CredentialView> doctorOpt = doctorRepository.findCredentialsByEmail(username);
         if (doctorOpt.isPresent()) {
-            Doctor doctor = doctorOpt.get();
+            CredentialView doctor = doctorOpt.get();
             return org.springframework.security.core.userdetails.User.builder()
-                    .username(doctor.getEmail())
-                    .password(doctor.getPassword())
+                    .username(doctor.email())
+                    .password(doctor.password())
                     .roles("DOCTOR")
                     .build();
         }
 
         // Try admins
-        Optional<Admin> adminOpt = adminRepository.findByEmail(username);
+        Optional<CredentialView> adminOpt = adminRepository.findCredentialsByEmail(username);
         if (adminOpt.isPresent()) {
-            Admin admin = adminOpt.get();
+            CredentialView admin = adminOpt.get();
             return org.springframework.security.core.userdetails.User.builder()
-                    .username(admin.getEmail())
-                    .password(admin.getPassword())
+                    .username(admin.email())
+                    .password(admin.password())
                     .roles("ADMIN")
                     .build();
         }
 
         throw new UsernameNotFoundException("User not found: " + username);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package com.mediway.backend.security;
+
+import java.security.Principal;
+
+/**
+ * Authenticated principal built from signed JWT claims, without a database lookup
+ */
+public record JwtPrincipal(String email, Long id, String role) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,6 +1,7 @@
 package com.mediway.backend.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -13,17 +14,27 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
+    public static final String ROLE_CLAIM = "role";
+    public static final String PRINCIPAL_ID_CLAIM = "uid";
+    // "iat" only has second precision, too coarse to order a token against a revocation
+    public static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+
     @Value("${jwt.secret:mySecretKey12345678901234567890123456789012345678901234567890}")
     private String secret;
 
     @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
     private Long expiration;
 
+    // Built lazily once; decoding the secret and building a parser per request is wasted work
+    private volatile Key signKey;
+    private volatile JwtParser parser;
+
     /**
      * Extract username (email) from JWT token
      */
@@ -47,12 +58,24 @@ public class JwtUtil {
     }
 
     /**
-     * Extract all claims from JWT token
+     * Extract role claim from JWT token
+     */
+    public String extractRole(String token) {
+        return extractClaim(token, claims -> claims.get(ROLE_CLAIM, String.class));
+    }
+
+    /**
+     * Extract principal ID claim from JWT token
+     */
+    public Long extractPrincipalId(String token) {
+        return extractClaim(token, claims -> claims.get(PRINCIPAL_ID_CLAIM, Long.class));
+    }
+
+    /**
+     * Parse the token once, verifying signature and expiry, and return all claims
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
+    public Claims extractAllClaims(String token) {
+        return getParser()
                 .parseClaimsJws(token)
                 .getBody();
     }
@@ -76,8 +99,19 @@ public class JwtUtil {
      * Generate JWT token for user
      */
     public String generateToken(String username, String role) {
+        return generateToken(username, role, null);
+    }
+
+    /**
+     * Generate JWT token carrying role and principal ID, so requests can be
+     * authenticated from the token alone
+     */
+    public String generateToken(String username, String role, Long principalId) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", role);
+        claims.put(ROLE_CLAIM, role);
+        if (principalId != null) {
+            claims.put(PRINCIPAL_ID_CLAIM, principalId);
+        }
         return createToken(claims, username);
     }
 
@@ -85,11 +119,14 @@ public class JwtUtil {
      * Create JWT token with claims and subject
      */
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date(now))
+                .claim(ISSUED_AT_MILLIS_CLAIM, now)
+                .setExpiration(new Date(now + expiration))
                 .signWith(getSignKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
@@ -98,8 +135,24 @@ public class JwtUtil {
      * Get signing key for JWT
      */
     private Key getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        Key key = signKey;
+        if (key == null) {
+            byte[] keyBytes = Decoders.BASE64.decode(secret);
+            key = Keys.hmacShaKeyFor(keyBytes);
+            signKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser jwtParser = parser;
+        if (jwtParser == null) {
+            jwtParser = Jwts.parserBuilder()
+                    .setSigningKey(getSignKey())
+                    .build();
+            parser = jwtParser;
+        }
+        return jwtParser;
     }
 
     /**
@@ -0,0 +1,150 @@
+package com.mediway.backend.security;
+
+import com.mediway.backend.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs BCrypt hashing and verification on a small dedicated pool instead of the servlet threads.
+ *
+ * At most {@code threads} hashes run at once and at most {@code queue-capacity} wait; anything
+ * beyond that is rejected immediately with {@link ServiceBusyException} (HTTP 429), so a login
+ * burst turns into fast rejections instead of every Tomcat thread burning CPU on BCrypt.
+ * Callers wait at most {@code timeout} for their hash.
+ *
+ * Passwords stored before hashing was introduced are plain text; they are still accepted and
+ * compared in constant time without using the pool.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Counter rejected;
+    private final Timer duration;
+
+    public PasswordHashingService(
+            BCryptPasswordEncoder passwordEncoder,
+            @Value("${mediway.password-hashing.threads:0}") int threads,
+            @Value("${mediway.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${mediway.password-hashing.timeout:3s}") Duration timeout,
+            MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hashing-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("password.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Hash requests waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing threads currently busy")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Hash requests rejected because the pool was saturated")
+                .register(meterRegistry);
+        this.duration = Timer.builder("password.hashing.duration")
+                .description("Time from submitting a hash request to its result, including queueing")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hash a raw password with BCrypt
+     */
+    public String hash(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Password to store for one submitted with an account: null and existing BCrypt hashes are
+     * kept as they are, anything else is hashed
+     */
+    public String hashIfNeeded(String password) {
+        return password == null || isHashed(password) ? password : hash(password);
+    }
+
+    /**
+     * Check a raw password against a stored BCrypt hash or legacy plain-text password
+     */
+    public boolean matches(String rawPassword, String storedPassword) {
+        if (rawPassword == null || storedPassword == null) {
+            return false;
+        }
+        if (!isHashed(storedPassword)) {
+            return MessageDigest.isEqual(
+                    rawPassword.getBytes(StandardCharsets.UTF_8),
+                    storedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+        return submit(() -> passwordEncoder.matches(rawPassword, storedPassword));
+    }
+
+    public static boolean isHashed(String storedPassword) {
+        return storedPassword != null
+                && (storedPassword.startsWith("$2a$") || storedPassword.startsWith("$2b$") || storedPassword.startsWith("$2y$"));
+    }
+
+    private <T> T submit(Callable<T> task) {
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw busy();
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException re ? re : new IllegalStateException(cause);
+        } finally {
+            duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private ServiceBusyException busy() {
+        // By the time the queue drains (roughly one timeout) a retry has a fair chance
+        long retryAfter = Math.max(1, timeout.toSeconds());
+        log.warn("Password hashing saturated (active={}, queued={})", executor.getActiveCount(), executor.getQueue().size());
+        return new ServiceBusyException("Server is busy, please retry shortly", retryAfter);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,91 @@
+package com.mediway.backend.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Small in-memory denylist for stateless JWTs.
+ *
+ * Single tokens are revoked by their ID (logout); all tokens of a subject are
+ * revoked by remembering a cut-off time (password change). Entries only need to
+ * live as long as the tokens they refer to, so they are purged once expired.
+ */
+@Component
+public class TokenRevocationService {
+
+    private static final int PURGE_THRESHOLD = 1024;
+
+    // token ID -> token expiry (epoch millis)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    // subject -> tokens issued before this instant (epoch millis) are revoked
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    @Value("${jwt.expiration:86400000}")
+    private Long expiration = 86400000L;
+
+    /**
+     * Revoke a single token, e.g. on logout
+     */
+    public void revokeToken(Claims claims) {
+        if (claims.getId() == null) {
+            // Tokens without an ID can only be revoked together with the rest of the subject's tokens
+            revokeAllFor(claims.getSubject());
+            return;
+        }
+        Date expiry = claims.getExpiration();
+        long expiresAt = expiry != null ? expiry.getTime() : System.currentTimeMillis() + expiration;
+        revokedTokens.put(claims.getId(), expiresAt);
+        purgeIfNeeded();
+    }
+
+    /**
+     * Revoke every token issued to the subject so far, e.g. after a password change
+     */
+    public void revokeAllFor(String subject) {
+        if (subject == null) {
+            return;
+        }
+        revokedBefore.put(subject, System.currentTimeMillis());
+        purgeIfNeeded();
+    }
+
+    /**
+     * Check whether a parsed token has been revoked
+     */
+    public boolean isRevoked(Claims claims) {
+        if (claims.getId() != null && revokedTokens.containsKey(claims.getId())) {
+            return true;
+        }
+        Long cutOff = claims.getSubject() != null ? revokedBefore.get(claims.getSubject()) : null;
+        if (cutOff == null) {
+            return false;
+        }
+        Long issuedAtMillis = claims.get(JwtUtil.ISSUED_AT_MILLIS_CLAIM, Long.class);
+        if (issuedAtMillis != null) {
+            return issuedAtMillis <= cutOff;
+        }
+        Date issuedAt = claims.getIssuedAt();
+        // "iat" alone has second precision, so the whole cut-off second is revoked
+        return issuedAt == null || issuedAt.getTime() / 1000 <= cutOff / 1000;
+    }
+
+    int size() {
+        return revokedTokens.size() + revokedBefore.size();
+    }
+
+    private void purgeIfNeeded() {
+        if (size() < PURGE_THRESHOLD) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+        // Once a full token lifetime has passed, every token the cut-off applied to has expired
+        revokedBefore.values().removeIf(cutOff -> cutOff + expiration < now);
+    }
+}
@@ -0,0 +1,83 @@
+package com.mediway.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mediway.backend.event.AccountChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache of loaded principals keyed by email.
+ *
+ * Entries are dropped when an {@link AccountChangedEvent} is published (after the
+ * surrounding transaction commits), and expire after the TTL as a safety net for
+ * changes made outside the application. Hit/miss counts are exported as the
+ * "cache.*" meters with cache=userDetails.
+ */
+@Component
+@ConditionalOnProperty(name = "mediway.cache.user-details.enabled", havingValue = "true", matchIfMissing = true)
+public class UserDetailsCache {
+
+    static final String CACHE_NAME = "userDetails";
+
+    private final Cache<String, UserDetails> cache;
+
+    public UserDetailsCache(
+            @Value("${mediway.cache.user-details.max-size:10000}") long maxSize,
+            @Value("${mediway.cache.user-details.ttl:10m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Return the cached principal, loading it on a miss. Loader failures
+     * (e.g. unknown email) are propagated and not cached.
+     */
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        return cache.get(key(email), k -> loader.apply(email));
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            cache.invalidate(key(email));
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (event.email() != null) {
+            invalidate(event.email());
+        } else {
+            // Without the old email we cannot find the entry; drop everything rather than serve stale data
+            invalidateAll();
+        }
+    }
+
+    // Email lookups are case-insensitive in MySQL, so the cache must be too
+    private static String key(String email) {
+        return email == null ? "" : email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,26 @@
+package com.mediway.backend.security.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Token bucket shape: up to {@code capacity} requests in a burst, refilled evenly so that
+ * {@code capacity} tokens come back over {@code refillPeriod}.
+ */
+public record BucketPolicy(long capacity, Duration refillPeriod) {
+
+    public BucketPolicy {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Bucket capacity must be at least 1");
+        }
+        if (refillPeriod == null || refillPeriod.isZero() || refillPeriod.isNegative()) {
+            throw new IllegalArgumentException("Bucket refill period must be positive");
+        }
+    }
+
+    /**
+     * Nanoseconds it takes to refill a single token
+     */
+    public double nanosPerToken() {
+        return (double) refillPeriod.toNanos() / capacity;
+    }
+}
@@ -0,0 +1,115 @@
+package com.mediway.backend.security.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free, single-node token buckets.
+ *
+ * Buckets live in a fixed set of striped maps and are updated with compare-and-set, so
+ * concurrent requests never block each other. Rejections do not write at all. Buckets that
+ * have been idle longer than the idle timeout are full again and are evicted, one stripe at
+ * a time, as a side effect of normal traffic.
+ */
+@Component
+@ConditionalOnProperty(name = "mediway.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private static final int STRIPES = 16;
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private final ConcurrentHashMap<String, AtomicReference<Bucket>>[] stripes;
+    private final long idleTimeoutNanos;
+    private final LongSupplier clock;
+    private final AtomicLong operations = new AtomicLong();
+    private final AtomicInteger nextSweep = new AtomicInteger();
+
+    @Autowired
+    public InMemoryRateLimitStore(@Value("${mediway.rate-limit.idle-timeout:15m}") Duration idleTimeout) {
+        this(idleTimeout, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    InMemoryRateLimitStore(Duration idleTimeout, LongSupplier clock) {
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.clock = clock;
+        this.stripes = new ConcurrentHashMap[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    @Override
+    public RateLimitDecision tryConsume(String key, BucketPolicy policy) {
+        long now = clock.getAsLong();
+        maybeSweep(now);
+
+        ConcurrentHashMap<String, AtomicReference<Bucket>> stripe = stripeFor(key);
+        AtomicReference<Bucket> ref = stripe.get(key);
+        if (ref == null) {
+            AtomicReference<Bucket> created = new AtomicReference<>(new Bucket(policy.capacity(), now));
+            ref = stripe.putIfAbsent(key, created);
+            if (ref == null) {
+                ref = created;
+            }
+        }
+
+        double nanosPerToken = policy.nanosPerToken();
+        while (true) {
+            Bucket current = ref.get();
+            long elapsed = Math.max(0, now - current.updatedAt());
+            double tokens = Math.min(policy.capacity(), current.tokens() + elapsed / nanosPerToken);
+            if (tokens < 1) {
+                return RateLimitDecision.reject(Duration.ofNanos((long) Math.ceil((1 - tokens) * nanosPerToken)));
+            }
+            if (ref.compareAndSet(current, new Bucket(tokens - 1, now))) {
+                return RateLimitDecision.allow();
+            }
+            // Lost the race to another request on the same key; re-read and retry
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicReference<Bucket>> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    void sweepAll() {
+        long now = clock.getAsLong();
+        for (int i = 0; i < STRIPES; i++) {
+            sweep(i, now);
+        }
+    }
+
+    private void maybeSweep(long now) {
+        if (operations.incrementAndGet() % SWEEP_INTERVAL == 0) {
+            sweep(Math.floorMod(nextSweep.getAndIncrement(), STRIPES), now);
+        }
+    }
+
+    private void sweep(int index, long now) {
+        // A request racing with eviction may update a bucket that was just removed; at worst
+        // that key gets one fresh bucket early, which is harmless for a rate limiter
+        stripes[index].values().removeIf(ref -> now - ref.get().updatedAt() > idleTimeoutNanos);
+    }
+
+    private ConcurrentHashMap<String, AtomicReference<Bucket>> stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private record Bucket(double tokens, long updatedAt) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.mediway.backend.security.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Outcome of taking a token from a bucket
+ *
+ * @param retryAfter how long until a token is available again (zero when allowed)
+ */
+public record RateLimitDecision(boolean allowed, Duration retryAfter) {
+
+    private static final RateLimitDecision ALLOWED = new RateLimitDecision(true, Duration.ZERO);
+
+    public static RateLimitDecision allow() {
+        return ALLOWED;
+    }
+
+    public static RateLimitDecision reject(Duration retryAfter) {
+        return new RateLimitDecision(false, retryAfter);
+    }
+}
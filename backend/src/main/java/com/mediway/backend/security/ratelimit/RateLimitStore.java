@@ -0,0 +1,16 @@
+package com.mediway.backend.security.ratelimit;
+
+/**
+ * Storage for rate-limit token buckets.
+ *
+ * The default {@link InMemoryRateLimitStore} keeps buckets per JVM, which is enough for a
+ * single node. Multi-node deployments can provide a shared implementation (e.g. backed by
+ * Redis) as a bean and set {@code mediway.rate-limit.store} to something other than "memory".
+ */
+public interface RateLimitStore {
+
+    /**
+     * Take one token from the bucket identified by {@code key}, creating a full bucket on first use
+     */
+    RateLimitDecision tryConsume(String key, BucketPolicy policy);
+}
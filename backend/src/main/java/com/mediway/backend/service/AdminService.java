@@ -3,18 +3,23 @@ package com.mediway.backend.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.mediway.backend.dto.request.LoginRequest;
 import com.mediway.backend.dto.response.LoginResponse;
-import com.mediway.backend.entity.Admin;
 import com.mediway.backend.entity.Appointment;
 import com.mediway.backend.entity.Doctor;
 import com.mediway.backend.entity.User;
-import com.mediway.backend.repository.AdminRepository;
+import com.mediway.backend.event.AccountChangedEvent;
 import com.mediway.backend.repository.AppointmentRepository;
 import com.mediway.backend.repository.DoctorRepository;
 import com.mediway.backend.repository.UserRepository;
+import com.mediway.backend.security.AccountCredentials;
+import com.mediway.backend.security.AccountType;
+import com.mediway.backend.security.CredentialLookupService;
+import com.mediway.backend.security.PasswordHashingService;
 
 @Service
 public class AdminService {
@@ -26,12 +31,23 @@ public class AdminService {
     private AppointmentRepository appointmentRepository;
 
     @Autowired
-    private AdminRepository adminRepository;
+    private UserRepository userRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CredentialLookupService credentialLookupService;
+
+    @Autowired
+    private DoctorPhotoService doctorPhotoService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
 
     // --- USER MANAGEMENT ---
+    // Full lists and reports are read-only transactions, served by the read pool
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -41,14 +57,21 @@ public class AdminService {
     }
 
     public User createUser(User user) {
-        return userRepository.save(user);
+        user.setPassword(passwordHashingService.hashIfNeeded(user.getPassword()));
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new AccountChangedEvent(AccountType.USER, saved.getId(), saved.getEmail()));
+        return saved;
     }
 
     public User updateUser(Long id, User userDetails) {
         User user = getUserById(id);
+        String previousEmail = user.getEmail();
         user.setName(userDetails.getName());
         user.setEmail(userDetails.getEmail());
-        user.setPassword(userDetails.getPassword());
+        // Edit forms send the stored hash back or leave the field empty; only a new password is hashed
+        if (userDetails.getPassword() != null && !userDetails.getPassword().isBlank()) {
+            user.setPassword(passwordHashingService.hashIfNeeded(userDetails.getPassword()));
+        }
         user.setPhone(userDetails.getPhone());
         user.setDateOfBirth(userDetails.getDateOfBirth());
         user.setGender(userDetails.getGender());
@@ -59,14 +82,18 @@ public class AdminService {
         user.setEmergencyPhone(userDetails.getEmergencyPhone());
         user.setAllergies(userDetails.getAllergies());
         user.setMedications(userDetails.getMedications());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new AccountChangedEvent(AccountType.USER, id, previousEmail));
+        return saved;
     }
 
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new AccountChangedEvent(AccountType.USER, id, null));
     }
 
     // --- DOCTOR MANAGEMENT ---
+    @Transactional(readOnly = true)
     public List<Doctor> getAllDoctors() {
         return doctorRepository.findAll();
     }
@@ -76,25 +103,32 @@ public class AdminService {
     }
 
     public Doctor createDoctor(Doctor doctor) {
-        return doctorRepository.save(doctor);
+        doctor.setPassword(passwordHashingService.hashIfNeeded(doctor.getPassword()));
+        Doctor saved = doctorRepository.save(doctor);
+        eventPublisher.publishEvent(new AccountChangedEvent(AccountType.DOCTOR, saved.getId(), saved.getEmail()));
+        return saved;
     }
 
     public Doctor updateDoctor(Long id, Doctor doctorDetails) {
         Doctor doctor = getDoctorById(id);
+        String previousEmail = doctor.getEmail();
         doctor.setName(doctorDetails.getName());
         doctor.setEmail(doctorDetails.getEmail());
         doctor.setSpecialization(doctorDetails.getSpecialization());
         doctor.setPhone(doctorDetails.getPhone());
-        doctor.setPhoto(doctorDetails.getPhoto());
-        doctor.setPhotoContentType(doctorDetails.getPhotoContentType());
-        return doctorRepository.save(doctor);
+        Doctor saved = doctorRepository.save(doctor);
+        eventPublisher.publishEvent(new AccountChangedEvent(AccountType.DOCTOR, id, previousEmail));
+        return saved;
     }
 
     public void deleteDoctor(Long id) {
         doctorRepository.deleteById(id);
+        doctorPhotoService.delete(id);
+        eventPublisher.publishEvent(new AccountChangedEvent(AccountType.DOCTOR, id, null));
     }
 
     // --- APPOINTMENT MANAGEMENT ---
+    @Transactional(readOnly = true)
     public List<Appointment> getAllAppointments() {
         return appointmentRepository.findAll();
     }
@@ -117,26 +151,26 @@ public class AdminService {
 
     // --- ADMIN LOGIN ---
     public LoginResponse login(LoginRequest request) {
-        Admin admin = adminRepository.findByEmail(request.getEmail())
+        AccountCredentials admin = credentialLookupService
+                .authenticate(AccountType.ADMIN, request.getEmail(), request.getPassword())
                 .orElseThrow(() -> new RuntimeException("Invalid admin credentials"));
-        if (admin.getPassword().equals(request.getPassword())) {
-            LoginResponse response = new LoginResponse();
-            response.setSuccess(true);
-            response.setUserId(admin.getId());
-            response.setName(admin.getName());
-            response.setRole("ADMIN");
-            return response;
-        }
-        throw new RuntimeException("Invalid admin credentials");
+        LoginResponse response = new LoginResponse();
+        response.setSuccess(true);
+        response.setUserId(admin.id());
+        response.setName(admin.name());
+        response.setRole("ADMIN");
+        return response;
     }
 
     // --- REPORT GENERATION ---
+    @Transactional(readOnly = true)
     public byte[] generateCsvReport() {
         // TODO: Implement real CSV generation
         String csv = "Type,Count\nDoctors," + getAllDoctors().size() + "\nUsers," + getAllUsers().size() + "\nAppointments," + getAllAppointments().size();
         return csv.getBytes();
     }
 
+    @Transactional(readOnly = true)
     public byte[] generatePdfReport() {
         // TODO: Implement real PDF generation
         String text = "Hospital Report\nDoctors: " + getAllDoctors().size() + "\nUsers: " + getAllUsers().size() + "\nAppointments: " + getAllAppointments().size();
@@ -0,0 +1,164 @@
+package com.mediway.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mediway.backend.dto.projection.DoctorSummary;
+import com.mediway.backend.event.AccountChangedEvent;
+import com.mediway.backend.event.DoctorPhotoStoredEvent;
+import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.security.AccountType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory copy of the doctor listings, which change a few times a day but are read on
+ * every page load.
+ *
+ * Readers get an immutable {@link Snapshot} without locking. Whenever a doctor is created,
+ * updated or deleted ({@link AccountChangedEvent} for doctors) or gets a new photo, a new
+ * snapshot is loaded with one query after the change commits and swapped in as a whole,
+ * so a reader never sees a half-applied change. The snapshot version is derived from its
+ * content and is used as the ETag of the listings.
+ */
+@Slf4j
+@Component
+public class DoctorDirectory {
+
+    private final DoctorRepository doctorRepository;
+    private final Timer rebuildDuration;
+
+    // Null until first use, or after a failed rebuild so the next read tries again
+    private volatile Snapshot snapshot;
+
+    public DoctorDirectory(DoctorRepository doctorRepository, MeterRegistry meterRegistry) {
+        this.doctorRepository = doctorRepository;
+        this.rebuildDuration = Timer.builder("doctors.directory.rebuild")
+                .description("Time to load a new doctor directory snapshot")
+                .register(meterRegistry);
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : rebuild();
+    }
+
+    /**
+     * Load a fresh snapshot and make it the current one
+     */
+    public synchronized Snapshot rebuild() {
+        // Serialised, so a slow load can never replace the result of a later one
+        Snapshot rebuilt = rebuildDuration.record(() -> new Snapshot(doctorRepository.findAllSummaries()));
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (event.type() == AccountType.DOCTOR) {
+            refresh();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPhotoStored(DoctorPhotoStoredEvent event) {
+        refresh();
+    }
+
+    private void refresh() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            snapshot = null;
+            log.warn("Could not rebuild the doctor directory, reloading on next read: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Immutable view of all doctors at one point in time
+     */
+    public static final class Snapshot {
+
+        private final List<DoctorSummary> all;
+        private final List<DoctorSummary> available;
+        private final Map<Long, DoctorSummary> byId;
+        private final Map<String, List<DoctorSummary>> bySpecialization;
+        private final String version;
+
+        public Snapshot(List<DoctorSummary> doctors) {
+            List<DoctorSummary> availableDoctors = new ArrayList<>();
+            Map<Long, DoctorSummary> ids = new LinkedHashMap<>();
+            Map<String, List<DoctorSummary>> specializations = new LinkedHashMap<>();
+            for (DoctorSummary doctor : doctors) {
+                ids.put(doctor.id(), doctor);
+                if (Boolean.TRUE.equals(doctor.available())) {
+                    availableDoctors.add(doctor);
+                }
+                if (doctor.specialization() != null) {
+                    specializations.computeIfAbsent(key(doctor.specialization()), k -> new ArrayList<>()).add(doctor);
+                }
+            }
+            specializations.replaceAll((k, list) -> List.copyOf(list));
+            this.all = List.copyOf(doctors);
+            this.available = List.copyOf(availableDoctors);
+            this.byId = Collections.unmodifiableMap(ids);
+            this.bySpecialization = Collections.unmodifiableMap(specializations);
+            this.version = versionOf(this.all);
+        }
+
+        public List<DoctorSummary> all() {
+            return all;
+        }
+
+        public List<DoctorSummary> available() {
+            return available;
+        }
+
+        public Optional<DoctorSummary> findById(Long id) {
+            return Optional.ofNullable(byId.get(id));
+        }
+
+        /**
+         * Doctors with the given specialization, by name in any spelling or by catalog slug
+         */
+        public List<DoctorSummary> bySpecialization(String specialization) {
+            return specialization == null ? List.of() : bySpecialization.getOrDefault(key(specialization), List.of());
+        }
+
+        /**
+         * Changes whenever any listed value changes; the same content always gives the same version
+         */
+        public String version() {
+            return version;
+        }
+
+        private static String key(String specialization) {
+            return SpecializationCatalog.slugOf(specialization);
+        }
+
+        private static String versionOf(List<DoctorSummary> doctors) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                for (DoctorSummary doctor : doctors) {
+                    digest.update(doctor.toString().getBytes(StandardCharsets.UTF_8));
+                }
+                return HexFormat.of().formatHex(digest.digest(), 0, 8);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.mediway.backend.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.service.photo.PhotoFileStore;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves photos out of the database into the {@link PhotoFileStore}: from the legacy
+ * doctors.photo column, and from doctor_photos.data where photos were kept inline before
+ * they moved to files.
+ *
+ * ddl-auto=update never drops columns, so older databases still have these BLOB columns.
+ * Each photo is moved in its own transaction and the old value is cleared, so the migration
+ * can be interrupted and rerun; once nothing is left it is a single cheap query per startup.
+ * The empty doctors columns can then be dropped by hand. doctor_photos.data is dropped here
+ * once empty, because it was created NOT NULL and would reject new photo rows.
+ */
+@Slf4j
+@Component
+public class DoctorPhotoMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DoctorRepository doctorRepository;
+    private final DoctorPhotoService doctorPhotoService;
+    private final PhotoFileStore photoFileStore;
+
+    public DoctorPhotoMigration(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            DoctorRepository doctorRepository, DoctorPhotoService doctorPhotoService,
+            PhotoFileStore photoFileStore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.doctorRepository = doctorRepository;
+        this.doctorPhotoService = doctorPhotoService;
+        this.photoFileStore = photoFileStore;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        migrateLegacyColumn();
+        migrateInlinePhotos();
+    }
+
+    private void migrateLegacyColumn() {
+        List<Long> doctorIds;
+        try {
+            doctorIds = jdbcTemplate.queryForList("SELECT id FROM doctors WHERE photo IS NOT NULL", Long.class);
+        } catch (BadSqlGrammarException e) {
+            // No legacy column: the database was created after photos moved
+            return;
+        }
+        int moved = moveEach(doctorIds, this::moveLegacy);
+        if (moved > 0) {
+            log.info("Moved {} doctor photos to the photo store", moved);
+        }
+    }
+
+    private void migrateInlinePhotos() {
+        List<Long> doctorIds;
+        try {
+            doctorIds = jdbcTemplate.queryForList("SELECT doctor_id FROM doctor_photos WHERE data IS NOT NULL", Long.class);
+        } catch (BadSqlGrammarException e) {
+            // No data column: photos have always been files here, or it was already dropped
+            return;
+        }
+        int moved = moveEach(doctorIds, this::moveInline);
+        if (moved > 0) {
+            log.info("Moved {} inline doctor photos to the photo store", moved);
+        }
+        if (moved == doctorIds.size()) {
+            jdbcTemplate.execute("ALTER TABLE doctor_photos DROP COLUMN data");
+        }
+    }
+
+    private int moveEach(List<Long> doctorIds, Consumer<Long> move) {
+        int moved = 0;
+        for (Long doctorId : doctorIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> move.accept(doctorId));
+                moved++;
+            } catch (RuntimeException e) {
+                log.warn("Could not move photo of doctor {}: {}", doctorId, e.getMessage());
+            }
+        }
+        return moved;
+    }
+
+    private void moveLegacy(Long doctorId) {
+        byte[] data = jdbcTemplate.queryForObject(
+                "SELECT photo FROM doctors WHERE id = ?", (rs, rowNum) -> rs.getBytes("photo"), doctorId);
+        doctorRepository.findById(doctorId).ifPresent(doctor -> {
+            try {
+                doctorPhotoService.store(doctor, new ByteArrayInputStream(data));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        jdbcTemplate.update("UPDATE doctors SET photo = NULL WHERE id = ?", doctorId);
+    }
+
+    private void moveInline(Long doctorId) {
+        byte[] data = jdbcTemplate.queryForObject(
+                "SELECT data FROM doctor_photos WHERE doctor_id = ?", (rs, rowNum) -> rs.getBytes("data"), doctorId);
+        try {
+            // The etag is already the content hash, so the file takes the name the row refers to;
+            // the row already exists, so the file needs no hold
+            photoFileStore.settle(photoFileStore.write(new ByteArrayInputStream(data)).hash());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        jdbcTemplate.update("UPDATE doctor_photos SET data = NULL WHERE doctor_id = ?", doctorId);
+    }
+}
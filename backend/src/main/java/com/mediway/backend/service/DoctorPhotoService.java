@@ -0,0 +1,217 @@
+package com.mediway.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.mediway.backend.dto.projection.DoctorPhotoVersions;
+import com.mediway.backend.entity.Doctor;
+import com.mediway.backend.entity.DoctorPhoto;
+import com.mediway.backend.event.DoctorPhotoStoredEvent;
+import com.mediway.backend.repository.DoctorPhotoRepository;
+import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.service.photo.BlobStore;
+import com.mediway.backend.service.photo.PhotoFileStore;
+import com.mediway.backend.service.photo.PhotoSize;
+import com.mediway.backend.service.photo.StoredBlob;
+import com.mediway.backend.service.photo.UploadedPhoto;
+
+/**
+ * Keeps track of doctor photos in their own table and keeps Doctor.photoVersion in step,
+ * so listings can link to the photo without loading it. Originals are streamed into the
+ * {@link PhotoFileStore}; resized variants are created in the background (see
+ * PhotoVariantGenerator) and kept in the {@link BlobStore}.
+ *
+ * Files are written before the transaction that records them commits. A file written for a
+ * transaction that rolls back is removed again, and files are only ever removed through
+ * {@link PhotoFileStore#deleteIfUnused}, which re-checks the photo rows under the file's lock.
+ */
+@Service
+public class DoctorPhotoService {
+
+    @Autowired
+    private DoctorPhotoRepository doctorPhotoRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private PhotoFileStore photoFileStore;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Replace the photo of a saved doctor with an upload, streaming it to disk without
+     * reading it into memory
+     * @return the saved doctor
+     * @throws IllegalArgumentException if the upload is empty, too large or not an image
+     */
+    @Transactional
+    public Doctor store(Doctor doctor, MultipartFile photo) throws IOException {
+        try (InputStream content = photo.getInputStream()) {
+            return store(doctor, content);
+        }
+    }
+
+    /**
+     * Save a new doctor together with their photo. The upload is checked and stored before
+     * the doctor is saved, so a rejected photo leaves no doctor behind.
+     * @return the saved doctor
+     * @throws IllegalArgumentException if the upload is empty, too large or not an image
+     */
+    @Transactional
+    public Doctor create(Doctor doctor, MultipartFile photo) throws IOException {
+        UploadedPhoto uploaded;
+        try (InputStream content = photo.getInputStream()) {
+            uploaded = write(content);
+        }
+        return attach(doctorRepository.save(doctor), uploaded);
+    }
+
+    /**
+     * Replace the photo of a saved doctor and record its version on the doctor.
+     * The content type is taken from the content, not from what the client declared.
+     * @return the saved doctor
+     * @throws IllegalArgumentException if the content is empty, too large or not an image
+     */
+    @Transactional
+    public Doctor store(Doctor doctor, InputStream content) throws IOException {
+        return attach(doctor, write(content));
+    }
+
+    // Keep the file held until the transaction is over, and remove it again if nothing was recorded
+    private UploadedPhoto write(InputStream content) throws IOException {
+        UploadedPhoto uploaded = photoFileStore.write(content);
+        String hash = uploaded.hash();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    photoFileStore.settle(hash);
+                    if (status == STATUS_ROLLED_BACK) {
+                        deleteFileIfUnused(hash);
+                    }
+                }
+            });
+        } else {
+            photoFileStore.settle(hash);
+        }
+        return uploaded;
+    }
+
+    private Doctor attach(Doctor doctor, UploadedPhoto uploaded) {
+        String etag = uploaded.hash();
+        Optional<DoctorPhotoVersions> previous = doctorPhotoRepository.findVersionsByDoctorId(doctor.getId());
+        doctor.setPhotoVersion(etag);
+        if (previous.isPresent() && previous.get().etag().equals(etag)) {
+            // Same image uploaded again; keep its variants
+            return doctorRepository.save(doctor);
+        }
+        doctorPhotoRepository.save(new DoctorPhoto(doctor.getId(), uploaded.contentType(), etag));
+        previous.ifPresent(this::release);
+        Doctor saved = doctorRepository.save(doctor);
+        eventPublisher.publishEvent(new DoctorPhotoStoredEvent(doctor.getId(), etag));
+        return saved;
+    }
+
+    public Optional<DoctorPhotoVersions> findVersions(Long doctorId) {
+        return doctorPhotoRepository.findVersionsByDoctorId(doctorId);
+    }
+
+    /**
+     * Content to serve for a size: the variant if it has been generated, otherwise the original
+     * @param size requested variant, or null for the original
+     */
+    public Optional<StoredBlob> load(Long doctorId, DoctorPhotoVersions versions, PhotoSize size) {
+        String variantHash = versions.variantHash(size);
+        if (variantHash != null) {
+            Optional<StoredBlob> variant = blobStore.get(variantHash);
+            if (variant.isPresent()) {
+                return variant;
+            }
+        }
+        return doctorPhotoRepository.findById(doctorId)
+                .flatMap(photo -> photoFileStore.read(photo.getEtag())
+                        .map(data -> new StoredBlob(photo.getEtag(), photo.getContentType(), data)));
+    }
+
+    /**
+     * Remove a doctor's photo and its variants, if any; call when the doctor is deleted
+     */
+    @Transactional
+    public void delete(Long doctorId) {
+        Optional<DoctorPhotoVersions> versions = doctorPhotoRepository.findVersionsByDoctorId(doctorId);
+        if (versions.isPresent()) {
+            doctorPhotoRepository.deleteById(doctorId);
+            release(versions.get());
+        }
+    }
+
+    /**
+     * Delete variant blobs that no photo refers to any more. Identical photos share
+     * variants, so a blob is only removed once it is unreferenced.
+     */
+    public void releaseVariants(Collection<String> hashes) {
+        hashes.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .filter(hash -> !doctorPhotoRepository.isVariantReferenced(hash))
+                .forEach(blobStore::delete);
+    }
+
+    private void release(DoctorPhotoVersions versions) {
+        releaseVariants(variantHashes(versions));
+        String etag = versions.etag();
+        if (doctorPhotoRepository.existsByEtag(etag)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A file delete cannot be rolled back, so wait until the photo row is gone for good
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteFileIfUnused(etag);
+                }
+            });
+        } else {
+            deleteFileIfUnused(etag);
+        }
+    }
+
+    private void deleteFileIfUnused(String etag) {
+        photoFileStore.deleteIfUnused(etag, () -> isReferenced(etag));
+    }
+
+    // Also called once a transaction has completed, while its resources are still bound, so look in a new one
+    private boolean isReferenced(String etag) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return Boolean.TRUE.equals(transaction.execute(status -> doctorPhotoRepository.existsByEtag(etag)));
+    }
+
+    private static List<String> variantHashes(DoctorPhotoVersions versions) {
+        return Arrays.asList(versions.thumbnailHash(), versions.cardHash(), versions.fullHash());
+    }
+}
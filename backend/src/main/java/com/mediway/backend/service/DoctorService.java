@@ -3,9 +3,15 @@ package com.mediway.backend.service;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -13,8 +19,14 @@ import com.mediway.backend.dto.request.LoginRequest;
 import com.mediway.backend.dto.response.LoginResponse;
 import com.mediway.backend.entity.Appointment;
 import com.mediway.backend.entity.Doctor;
+import com.mediway.backend.event.AccountChangedEvent;
 import com.mediway.backend.repository.AppointmentRepository;
 import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.security.AccountCredentials;
+import com.mediway.backend.security.AccountType;
+import com.mediway.backend.security.CredentialLookupService;
+import com.mediway.backend.security.PasswordHashingService;
+import com.mediway.backend.service.search.SearchService;
 
 @Service
 public class DoctorService {
@@ -25,6 +37,21 @@ public class DoctorService {
     @Autowired
     private AppointmentRepository appointmentRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CredentialLookupService credentialLookupService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private DoctorPhotoService doctorPhotoService;
+
     public Doctor create(String name, String email, String specialization, MultipartFile photo) throws Exception {
         Doctor doctor = new Doctor();
         doctor.setName(name);
@@ -32,12 +59,12 @@ public class DoctorService {
         doctor.setSpecialization(specialization);
         doctor.setAvailable(true);
 
+        Doctor saved = doctorRepository.save(doctor);
         if (photo != null && !photo.isEmpty()) {
-            doctor.setPhoto(photo.getBytes());
-            doctor.setPhotoContentType(photo.getContentType());
+            saved = doctorPhotoService.store(saved, photo);
         }
-
-        return doctorRepository.save(doctor);
+        eventPublisher.publishEvent(new AccountChangedEvent(AccountType.DOCTOR, saved.getId(), saved.getEmail()));
+        return saved;
     }
 
     public List<Doctor> list() {
@@ -50,32 +77,36 @@ public class DoctorService {
 
     public Doctor update(Long id, String name, String email, String specialization, MultipartFile photo) throws Exception {
         Doctor doctor = get(id);
+        String previousEmail = doctor.getEmail();
 
         if (name != null && !name.trim().isEmpty()) doctor.setName(name);
         if (email != null && !email.trim().isEmpty()) doctor.setEmail(email);
         if (specialization != null && !specialization.trim().isEmpty()) doctor.setSpecialization(specialization);
 
+        Doctor saved = doctorRepository.save(doctor);
         if (photo != null && !photo.isEmpty()) {
-            doctor.setPhoto(photo.getBytes());
-            doctor.setPhotoContentType(photo.getContentType());
+            saved = doctorPhotoService.store(saved, photo);
         }
-
-        return doctorRepository.save(doctor);
+        eventPublisher.publishEvent(new AccountChangedEvent(AccountType.DOCTOR, id, previousEmail));
+        return saved;
     }
 
     public void delete(Long id) {
         doctorRepository.deleteById(id);
+        doctorPhotoService.delete(id);
+        eventPublisher.publishEvent(new AccountChangedEvent(AccountType.DOCTOR, id, null));
     }
 
     public void setPassword(Long id, String password) {
         Doctor doctor = get(id);
-        doctor.setPassword(password); // Assuming Doctor has password field
+        doctor.setPassword(passwordHashingService.hash(password));
         doctorRepository.save(doctor);
+        eventPublisher.publishEvent(new AccountChangedEvent(AccountType.DOCTOR, id, doctor.getEmail()));
     }
 
     public Doctor login(String email, String password) {
         Optional<Doctor> doctor = doctorRepository.findByEmail(email);
-        if (doctor.isPresent() && password.equals(doctor.get().getPassword())) {
+        if (doctor.isPresent() && passwordHashingService.matches(password, doctor.get().getPassword())) {
             return doctor.get();
         }
         throw new RuntimeException("Invalid credentials");
@@ -87,18 +118,34 @@ public class DoctorService {
     }
 
     public LoginResponse login(LoginRequest request) {
-        Optional<Doctor> doctor = doctorRepository.findByEmail(request.getEmail());
-        if (doctor.isPresent() && request.getPassword().equals(doctor.get().getPassword())) {
+        Optional<AccountCredentials> doctor = credentialLookupService.authenticate(
+                AccountType.DOCTOR, request.getEmail(), request.getPassword());
+        if (doctor.isPresent()) {
             LoginResponse response = new LoginResponse();
             response.setSuccess(true);
-            response.setUserId(doctor.get().getId());
-            response.setName(doctor.get().getName());
+            response.setUserId(doctor.get().id());
+            response.setName(doctor.get().name());
             response.setRole("DOCTOR");
             return response;
         }
         throw new RuntimeException("Invalid credentials");
     }
 
+    /**
+     * Search doctors by name, specialization or email, best matches first
+     */
+    public Page<Doctor> search(String query, int page, int size) {
+        Page<Long> hits = searchService.searchDoctors(query, page, size);
+        Map<Long, Doctor> doctors = doctorRepository.findAllById(hits.getContent()).stream()
+                .collect(Collectors.toMap(Doctor::getId, Function.identity()));
+        // findAllById does not keep the ranking order
+        List<Doctor> ranked = hits.getContent().stream()
+                .map(doctors::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(ranked, hits.getPageable(), hits.getTotalElements());
+    }
+
     public List<Map<String, Object>> getAppointmentsByDoctor(Long doctorId) {
         List<Appointment> appointments = appointmentRepository.findByDoctorIdOrderByAppointmentDateDesc(doctorId);
         return appointments.stream().map(appointment -> {
@@ -0,0 +1,157 @@
+package com.mediway.backend.service;
+
+import com.mediway.backend.dto.projection.PatientSummary;
+import com.mediway.backend.exception.ServiceBusyException;
+import com.mediway.backend.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Loads patient summaries for a list of ids in bounded chunks.
+ *
+ * Ids are deduplicated and split into chunks of {@code chunk-size}, so no single IN clause
+ * grows with the request. The first chunk runs on the calling thread and the rest on a small
+ * dedicated pool; when the pool and its queue are full the request is rejected with
+ * {@link ServiceBusyException} (HTTP 429) rather than piling up database connections.
+ * Results come back in request order with unknown ids left out.
+ */
+@Slf4j
+@Component
+public class PatientBatchLoader {
+
+    private final UserRepository userRepository;
+    private final int chunkSize;
+    private final int maxIds;
+    private final Duration timeout;
+    private final ThreadPoolExecutor executor;
+    private final Timer chunkTimer;
+    private final DistributionSummary chunkCount;
+
+    public PatientBatchLoader(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${mediway.patient-batch.chunk-size:500}") int chunkSize,
+            @Value("${mediway.patient-batch.max-ids:5000}") int maxIds,
+            @Value("${mediway.patient-batch.threads:4}") int threads,
+            @Value("${mediway.patient-batch.queue-capacity:32}") int queueCapacity,
+            @Value("${mediway.patient-batch.timeout:5s}") Duration timeout) {
+        this.userRepository = userRepository;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxIds = maxIds;
+        this.timeout = timeout;
+        int poolSize = Math.max(1, threads);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("patient-batch-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.chunkTimer = Timer.builder("patients.batch.chunk.duration")
+                .description("Time to load one chunk of a patient batch request")
+                .register(meterRegistry);
+        this.chunkCount = DistributionSummary.builder("patients.batch.chunks")
+                .description("Chunks per patient batch request")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load the patients with the given ids, in the order the ids were given
+     * @throws IllegalArgumentException if more than {@code max-ids} distinct ids are requested
+     */
+    public List<PatientSummary> load(List<Long> ids) {
+        LinkedHashSet<Long> distinct = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null) {
+                distinct.add(id);
+            }
+        }
+        if (distinct.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " patient ids can be requested at once");
+        }
+        if (distinct.isEmpty()) {
+            return List.of();
+        }
+
+        List<List<Long>> chunks = chunk(new ArrayList<>(distinct));
+        chunkCount.record(chunks.size());
+
+        Map<Long, PatientSummary> byId = new HashMap<>(distinct.size() * 2);
+        List<Future<List<PatientSummary>>> futures = new ArrayList<>(chunks.size() - 1);
+        try {
+            for (List<Long> chunk : chunks.subList(1, chunks.size())) {
+                futures.add(executor.submit(() -> loadChunk(chunk)));
+            }
+            // Keep the calling thread busy instead of just waiting
+            collect(byId, loadChunk(chunks.get(0)));
+
+            long deadline = System.nanoTime() + timeout.toNanos();
+            for (Future<List<PatientSummary>> future : futures) {
+                collect(byId, future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+        } catch (RejectedExecutionException | TimeoutException e) {
+            throw busy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException re ? re : new IllegalStateException(cause);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        return distinct.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<List<Long>> chunk(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>((ids.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + chunkSize)));
+        }
+        return chunks;
+    }
+
+    private List<PatientSummary> loadChunk(List<Long> ids) {
+        return chunkTimer.record(() -> userRepository.findSummariesByIdIn(ids));
+    }
+
+    private static void collect(Map<Long, PatientSummary> byId, List<PatientSummary> summaries) {
+        for (PatientSummary summary : summaries) {
+            byId.put(summary.id(), summary);
+        }
+    }
+
+    private ServiceBusyException busy() {
+        log.warn("Patient batch loading saturated (active={}, queued={})", executor.getActiveCount(), executor.getQueue().size());
+        return new ServiceBusyException("Server is busy, please retry shortly", Math.max(1, timeout.toSeconds()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
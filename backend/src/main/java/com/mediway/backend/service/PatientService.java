@@ -1,32 +1,73 @@
 package com.mediway.backend.service;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import com.mediway.backend.dto.projection.PatientSummary;
 import com.mediway.backend.dto.request.LoginRequest;
+import com.mediway.backend.dto.request.PatientFilterRequest;
 import com.mediway.backend.dto.request.RegisterRequest;
 import com.mediway.backend.dto.response.LoginResponse;
 import com.mediway.backend.dto.response.RegisterResponse;
 import com.mediway.backend.entity.User;
+import com.mediway.backend.event.AccountChangedEvent;
+import com.mediway.backend.repository.PatientSpecifications;
 import com.mediway.backend.repository.UserRepository;
+import com.mediway.backend.security.AccountCredentials;
+import com.mediway.backend.security.AccountType;
+import com.mediway.backend.security.CredentialLookupService;
+import com.mediway.backend.security.PasswordHashingService;
+import com.mediway.backend.service.search.SearchService;
 
 @Service
 public class PatientService {
 
+    private static final int MAX_FILTER_PAGE_SIZE = 100;
+
+    // Sort keys accepted by filterPatients; all are indexed or the primary key
+    private static final Set<String> FILTER_SORT_FIELDS = Set.of("id", "name", "dateOfBirth", "createdAt");
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CredentialLookupService credentialLookupService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PatientBatchLoader patientBatchLoader;
+
     public RegisterResponse register(RegisterRequest request) {
         User user = new User();
         user.setName(request.getFullName());
         user.setEmail(request.getEmail());
-        user.setPassword(request.getPassword());
+        user.setPassword(passwordHashingService.hash(request.getPassword()));
         user.setPhone(request.getPhone());
         user.setRole(request.getRole());
         userRepository.save(user);
+        eventPublisher.publishEvent(new AccountChangedEvent(AccountType.USER, user.getId(), user.getEmail()));
 
         RegisterResponse response = new RegisterResponse();
         response.setSuccess(true);
@@ -35,13 +76,14 @@ public class PatientService {
     }
 
     public LoginResponse login(LoginRequest request) {
-        Optional<User> user = userRepository.findByEmail(request.getEmail());
-        if (user.isPresent() && user.get().getPassword().equals(request.getPassword())) {
+        Optional<AccountCredentials> user = credentialLookupService.authenticate(
+                AccountType.USER, request.getEmail(), request.getPassword());
+        if (user.isPresent()) {
             LoginResponse response = new LoginResponse();
             response.setSuccess(true);
-            response.setUserId(user.get().getId());
-            response.setName(user.get().getName());
-            response.setRole(user.get().getRole().name());
+            response.setUserId(user.get().id());
+            response.setName(user.get().name());
+            response.setRole(user.get().role());
             return response;
         }
         throw new RuntimeException("Invalid credentials");
@@ -61,7 +103,53 @@ public class PatientService {
         return userRepository.findById(id);
     }
 
-    public List<User> findByIds(List<Long> ids) {
-        return userRepository.findAllById(ids);
+    /**
+     * Summaries of the patients with the given ids, in request order, loaded in bounded chunks
+     */
+    public List<PatientSummary> findByIds(List<Long> ids) {
+        return patientBatchLoader.load(ids);
+    }
+
+    /**
+     * Search patients by name, email or phone, best matches first
+     */
+    public Page<User> searchPatients(String query, int page, int size) {
+        Page<Long> hits = searchService.searchPatients(query, page, size);
+        Map<Long, User> users = userRepository.findAllById(hits.getContent()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        // findAllById does not keep the ranking order
+        List<User> ranked = hits.getContent().stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(ranked, hits.getPageable(), hits.getTotalElements());
+    }
+
+    /**
+     * One page of patients matching every filter that is set, evaluated in the database
+     * @param sort property to sort by, optionally followed by ",desc"
+     */
+    public Page<PatientSummary> filterPatients(PatientFilterRequest filter, int page, int size, String sort) {
+        if (filter.getMinAge() != null && filter.getMaxAge() != null && filter.getMinAge() > filter.getMaxAge()) {
+            throw new IllegalArgumentException("Minimum age cannot be greater than maximum age");
+        }
+        PageRequest pageRequest = PageRequest.of(Math.max(0, page),
+                Math.min(Math.max(1, size), MAX_FILTER_PAGE_SIZE), parseSort(sort));
+        return userRepository.findSummaries(PatientSpecifications.matching(filter, LocalDate.now()), pageRequest);
+    }
+
+    private static Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by("id");
+        }
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        if (!FILTER_SORT_FIELDS.contains(property)) {
+            throw new IllegalArgumentException("Cannot sort by " + property);
+        }
+        boolean descending = parts.length > 1 && "desc".equalsIgnoreCase(parts[1].trim());
+        Sort primary = descending ? Sort.by(property).descending() : Sort.by(property);
+        // Unique tie-breaker keeps pages stable
+        return "id".equals(property) ? primary : primary.and(Sort.by("id"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,176 @@
+package com.mediway.backend.service;
+
+import java.text.Normalizer;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mediway.backend.dto.projection.SpecializationCount;
+import com.mediway.backend.entity.Specialization;
+import com.mediway.backend.event.AccountChangedEvent;
+import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.repository.SpecializationRepository;
+import com.mediway.backend.security.AccountType;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the specializations table in step with the doctors table.
+ *
+ * Doctors keep their free-text specialization; the catalog groups spelling and case variants
+ * under one slug and stores how many doctors, and how many available doctors, each has. The
+ * counts are recomputed with one grouped query at startup and after every committed doctor
+ * change, so reading the facets never touches the doctors table. Recounts are serialised and
+ * each one holds the lock until its transaction has committed, so two of them never insert the
+ * same new slug.
+ */
+@Slf4j
+@Service
+public class SpecializationCatalog {
+
+    private final SpecializationRepository specializationRepository;
+    private final DoctorRepository doctorRepository;
+    private final TransactionTemplate transactionTemplate;
+    // The doctor change has already committed when the event arrives, so recount in a transaction of its own
+    private final TransactionTemplate newTransactionTemplate;
+
+    public SpecializationCatalog(SpecializationRepository specializationRepository, DoctorRepository doctorRepository,
+            TransactionTemplate transactionTemplate) {
+        this.specializationRepository = specializationRepository;
+        this.doctorRepository = doctorRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.newTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Catalog entries for filters, by name
+     * @param includeEmpty also return specializations no doctor currently has
+     */
+    @Transactional(readOnly = true)
+    public List<Specialization> facets(boolean includeEmpty) {
+        return includeEmpty
+                ? specializationRepository.findAllByOrderByNameAsc()
+                : specializationRepository.findByDoctorCountGreaterThanOrderByNameAsc(0);
+    }
+
+    /**
+     * Look up an entry by slug or by any spelling of its name
+     */
+    @Transactional(readOnly = true)
+    public Optional<Specialization> find(String nameOrSlug) {
+        String slug = slugOf(nameOrSlug);
+        return slug.isEmpty() ? Optional.empty() : specializationRepository.findBySlug(slug);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        recount();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (event.type() != AccountType.DOCTOR) {
+            return;
+        }
+        try {
+            recount(newTransactionTemplate);
+        } catch (RuntimeException e) {
+            // The doctor change is already saved; the next recount catches up
+            log.warn("Specialization catalog recount failed", e);
+        }
+    }
+
+    /**
+     * Recompute all counts, adding entries for new specializations. Joins the caller's transaction if there is one.
+     */
+    void recount() {
+        recount(transactionTemplate);
+    }
+
+    private synchronized void recount(TransactionTemplate transaction) {
+        transaction.executeWithoutResult(status -> recountInTransaction());
+    }
+
+    private void recountInTransaction() {
+        Map<String, Tally> tallies = new LinkedHashMap<>();
+        for (SpecializationCount count : doctorRepository.countBySpecialization()) {
+            String slug = slugOf(count.specialization());
+            if (!slug.isEmpty()) {
+                tallies.computeIfAbsent(slug, k -> new Tally()).add(count);
+            }
+        }
+
+        Map<String, Specialization> existing = new HashMap<>();
+        for (Specialization specialization : specializationRepository.findAll()) {
+            existing.put(specialization.getSlug(), specialization);
+        }
+        for (Map.Entry<String, Tally> entry : tallies.entrySet()) {
+            Tally tally = entry.getValue();
+            Specialization specialization = existing.remove(entry.getKey());
+            if (specialization == null) {
+                specialization = new Specialization(entry.getKey(), tally.name());
+            }
+            specialization.setName(tally.name());
+            specialization.setDoctorCount(tally.doctors);
+            specialization.setAvailableCount(tally.available);
+            specializationRepository.save(specialization);
+        }
+        // No doctors left; keep the entry so its slug stays stable
+        for (Specialization specialization : existing.values()) {
+            if (specialization.getDoctorCount() != 0 || specialization.getAvailableCount() != 0) {
+                specialization.setDoctorCount(0);
+                specialization.setAvailableCount(0);
+                specializationRepository.save(specialization);
+            }
+        }
+        log.debug("Specialization catalog recounted: {} in use", tallies.size());
+    }
+
+    /**
+     * Normalised key of a specialization: "General  Medicine", "general-medicine" and
+     * "GENERAL MEDICINE " all give "general-medicine"
+     */
+    public static String slugOf(String nameOrSlug) {
+        if (nameOrSlug == null) {
+            return "";
+        }
+        String ascii = Normalizer.normalize(nameOrSlug, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return ascii.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "");
+    }
+
+    // Counts for one slug across its spellings
+    private static final class Tally {
+        private final Map<String, Integer> spellings = new HashMap<>();
+        private int doctors;
+        private int available;
+
+        void add(SpecializationCount count) {
+            int doctorCount = Math.toIntExact(count.doctors());
+            doctors += doctorCount;
+            available += count.available() != null ? Math.toIntExact(count.available()) : 0;
+            spellings.merge(count.specialization().trim(), doctorCount, Integer::sum);
+        }
+
+        // Most common spelling; ties go to the alphabetically first so the name is stable
+        String name() {
+            return spellings.entrySet().stream()
+                    .max(Comparator.<Map.Entry<String, Integer>>comparingInt(Map.Entry::getValue)
+                            .thenComparing(Map.Entry::getKey, Comparator.reverseOrder()))
+                    .map(Map.Entry::getKey)
+                    .orElseThrow();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.mediway.backend.service.archive;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of one archival run.
+ *
+ * @param cutoff         rows dated before this were moved
+ * @param medicalRecords number of medical records moved
+ * @param appointments   number of appointments moved
+ * @param finishedAt     when the run completed
+ */
+public record ArchivalResult(LocalDateTime cutoff, int medicalRecords, int appointments, LocalDateTime finishedAt) {
+}
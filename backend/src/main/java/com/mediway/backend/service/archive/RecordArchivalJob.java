@@ -0,0 +1,174 @@
+package com.mediway.backend.service.archive;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mediway.backend.event.MedicalRecordChangedEvent;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves medical records and appointments older than {@code mediway.archive.horizon} from the
+ * hot tables into medical_records_archive and appointments_archive, so the tables and indexes
+ * every request uses only hold recent data. Reads by id and per patient fall through to the
+ * archive tables; archived rows are read-only.
+ *
+ * When enabled, runs after startup and then every {@code mediway.archive.interval}; admins can
+ * also run it on demand. Rows are copied and deleted in batches of
+ * {@code mediway.archive.batch-size}, each batch in its own transaction, so a failed run leaves
+ * every row in exactly one of the two tables. Text columns are copied as stored, compressed or not.
+ *
+ * Archived medical records leave the clinical search index, which only covers the hot table.
+ */
+@Slf4j
+@Component
+public class RecordArchivalJob {
+
+    static final String MEDICAL_RECORD_COLUMNS =
+            "id, patient_id, doctor_id, appointment_id, diagnosis, treatment, prescription, notes, record_date";
+    static final String APPOINTMENT_COLUMNS =
+            "id, patient_id, doctor_id, appointment_date, status, notes, created_at";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final Duration horizon;
+    private final Duration interval;
+    private final int batchSize;
+
+    private ScheduledExecutorService scheduler;
+    private volatile ArchivalResult lastRun;
+
+    public RecordArchivalJob(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${mediway.archive.enabled:false}") boolean enabled,
+            @Value("${mediway.archive.horizon:730d}") Duration horizon,
+            @Value("${mediway.archive.interval:1d}") Duration interval,
+            @Value("${mediway.archive.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.horizon = horizon;
+        this.interval = interval;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void schedule() {
+        if (!enabled) {
+            return;
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("RecordArchivalJob-");
+        threadFactory.setDaemon(true);
+        scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        scheduler.scheduleWithFixedDelay(this::runScheduled, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getHorizon() {
+        return horizon;
+    }
+
+    /**
+     * Archive everything older than the horizon, whether or not scheduled runs are enabled
+     */
+    public ArchivalResult run() {
+        return run(LocalDateTime.now().minus(horizon));
+    }
+
+    synchronized ArchivalResult run(LocalDateTime cutoff) {
+        int medicalRecords = move("medical_records", "medical_records_archive", MEDICAL_RECORD_COLUMNS,
+                "record_date", cutoff, true);
+        int appointments = move("appointments", "appointments_archive", APPOINTMENT_COLUMNS,
+                "appointment_date", cutoff, false);
+        ArchivalResult result = new ArchivalResult(cutoff, medicalRecords, appointments, LocalDateTime.now());
+        lastRun = result;
+        if (medicalRecords > 0 || appointments > 0) {
+            log.info("Archived {} medical records and {} appointments dated before {}",
+                    medicalRecords, appointments, cutoff);
+        }
+        return result;
+    }
+
+    /**
+     * Result of the last completed run, or null if none has run yet
+     */
+    public ArchivalResult getLastRun() {
+        return lastRun;
+    }
+
+    private void runScheduled() {
+        try {
+            run();
+        } catch (RuntimeException e) {
+            // Thrown out of the scheduler it would cancel later runs
+            log.warn("Archival run failed, retrying in {}", interval, e);
+        }
+    }
+
+    private int move(String table, String archive, String columns, String dateColumn, LocalDateTime cutoff,
+                     boolean notifySearchIndex) {
+        int moved = 0;
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            long from = afterId;
+            ids = transactionTemplate.execute(status -> moveBatch(table, archive, columns, dateColumn, cutoff, from,
+                    notifySearchIndex));
+            if (!ids.isEmpty()) {
+                moved += ids.size();
+                afterId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == batchSize);
+        return moved;
+    }
+
+    private List<Long> moveBatch(String table, String archive, String columns, String dateColumn,
+                                 LocalDateTime cutoff, long afterId, boolean notifySearchIndex) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("afterId", afterId)
+                .addValue("cutoff", cutoff)
+                .addValue("limit", batchSize);
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE id > :afterId AND "
+                + dateColumn + " < :cutoff ORDER BY id LIMIT :limit", params, Long.class);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        params.addValue("ids", ids).addValue("archivedAt", LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO " + archive + " (" + columns + ", archived_at) SELECT " + columns
+                + ", :archivedAt FROM " + table + " WHERE id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM " + table + " WHERE id IN (:ids)", params);
+        if (notifySearchIndex) {
+            // Delivered after commit; the search index then finds the records gone
+            ids.forEach(id -> eventPublisher.publishEvent(new MedicalRecordChangedEvent(id)));
+        }
+        return ids;
+    }
+}
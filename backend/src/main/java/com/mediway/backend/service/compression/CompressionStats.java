@@ -0,0 +1,32 @@
+package com.mediway.backend.service.compression;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Sizes of text values before and after compression, in UTF-8 bytes.
+ *
+ * @param values      number of values counted
+ * @param rawBytes    size of the values as plain text
+ * @param storedBytes size of the values as stored, compressed or not
+ */
+public record CompressionStats(long values, long rawBytes, long storedBytes) {
+
+    public static final CompressionStats EMPTY = new CompressionStats(0, 0, 0);
+
+    @JsonProperty
+    public long savedBytes() {
+        return rawBytes - storedBytes;
+    }
+
+    /**
+     * Share of the raw size saved, 0-100
+     */
+    @JsonProperty
+    public double savedPercent() {
+        return rawBytes == 0 ? 0 : Math.round(1000.0 * savedBytes() / rawBytes) / 10.0;
+    }
+
+    public CompressionStats plus(long raw, long stored) {
+        return new CompressionStats(values + 1, rawBytes + raw, storedBytes + stored);
+    }
+}
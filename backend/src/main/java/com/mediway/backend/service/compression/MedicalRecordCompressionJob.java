@@ -0,0 +1,144 @@
+package com.mediway.backend.service.compression;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compresses the text columns of medical records written before compression was enabled.
+ *
+ * Runs in the background after startup when compression is enabled, and on demand. Rows are
+ * read in id order in batches of {@code mediway.records.compression.batch-size}, each batch in
+ * its own transaction. A value is only replaced if it is still what was read, so a record
+ * edited meanwhile keeps the edit (and was compressed by the converter when it was saved).
+ * Values already compressed or below the threshold are skipped in the query, so once all
+ * rows are done a run only reads values that did not get smaller.
+ */
+@Slf4j
+@Component
+public class MedicalRecordCompressionJob {
+
+    // Columns mapped with CompressedTextConverter
+    static final List<String> COLUMNS = List.of("treatment", "prescription", "notes");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TextCompressor compressor;
+    private final int batchSize;
+
+    private volatile CompressionStats lastRun;
+
+    public MedicalRecordCompressionJob(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            TextCompressor compressor,
+            @Value("${mediway.records.compression.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.compressor = compressor;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void runInBackground() {
+        if (!compressor.isEnabled()) {
+            return;
+        }
+        Thread worker = new Thread(this::run, "MedicalRecordCompressionJob");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Compress every eligible value; does nothing when compression is disabled
+     * @return sizes of the values compressed by this run
+     */
+    public synchronized CompressionStats run() {
+        CompressionStats total = CompressionStats.EMPTY;
+        if (!compressor.isEnabled()) {
+            return total;
+        }
+        long afterId = 0;
+        List<Row> batch;
+        do {
+            batch = loadAfter(afterId);
+            if (!batch.isEmpty()) {
+                List<Row> rows = batch;
+                CompressionStats before = total;
+                total = transactionTemplate.execute(status -> compress(rows, before));
+                afterId = rows.get(rows.size() - 1).id();
+            }
+        } while (batch.size() == batchSize);
+
+        lastRun = total;
+        if (total.values() > 0) {
+            log.info("Compressed {} medical-record text values: {} -> {} bytes ({}% saved)",
+                    total.values(), total.rawBytes(), total.storedBytes(), total.savedPercent());
+        }
+        return total;
+    }
+
+    /**
+     * Result of the last completed run, or null if none has run yet
+     */
+    public CompressionStats getLastRun() {
+        return lastRun;
+    }
+
+    private List<Row> loadAfter(long afterId) {
+        String columns = String.join(", ", COLUMNS);
+        StringBuilder eligible = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        args.add(afterId);
+        for (String column : COLUMNS) {
+            eligible.append(eligible.isEmpty() ? "" : " OR ")
+                    .append("(CHAR_LENGTH(").append(column).append(") >= ? AND ")
+                    .append(column).append(" NOT LIKE '~z%')");
+            args.add(compressor.getThreshold());
+        }
+        args.add(batchSize);
+        return jdbcTemplate.query(
+                "SELECT id, " + columns + " FROM medical_records WHERE id > ? AND (" + eligible
+                        + ") ORDER BY id LIMIT ?",
+                (rs, rowNum) -> {
+                    List<String> values = new ArrayList<>(COLUMNS.size());
+                    for (String column : COLUMNS) {
+                        values.add(rs.getString(column));
+                    }
+                    return new Row(rs.getLong("id"), values);
+                },
+                args.toArray());
+    }
+
+    private CompressionStats compress(List<Row> batch, CompressionStats total) {
+        for (Row row : batch) {
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                String value = row.values().get(i);
+                if (!compressor.shouldCompress(value)) {
+                    continue;
+                }
+                String stored = compressor.encode(value);
+                if (!TextCompressor.isCompressed(stored)) {
+                    continue; // did not get smaller
+                }
+                String column = COLUMNS.get(i);
+                int updated = jdbcTemplate.update(
+                        "UPDATE medical_records SET " + column + " = ? WHERE id = ? AND " + column + " = ?",
+                        stored, row.id(), value);
+                if (updated == 1) {
+                    total = total.plus(TextCompressor.utf8Length(value), stored.length());
+                }
+            }
+        }
+        return total;
+    }
+
+    private record Row(long id, List<String> values) {
+    }
+}
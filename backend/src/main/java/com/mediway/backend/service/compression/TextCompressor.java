@@ -0,0 +1,238 @@
+package com.mediway.backend.service.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Compresses long clinical text for storage in TEXT columns.
+ *
+ * Values of at least {@code mediway.records.compression.threshold} characters are deflated
+ * with a preset dictionary of common clinical wording, so even a few hundred characters
+ * compress well, and stored as {@value #PREFIX} followed by Base64. A value is only stored
+ * compressed if that is actually shorter. Plain text that happens to start with "~z" is
+ * stored behind {@value #ESCAPE}, so every stored value decodes unambiguously.
+ *
+ * Decoding always works; {@code mediway.records.compression.enabled} only controls whether
+ * new values are compressed. The prefix names the dictionary, so a new dictionary needs a new
+ * prefix while the old one stays readable.
+ *
+ * Values and bytes written and read are counted as "records.text.values" and
+ * "records.text.bytes" (tags direction=write|read, form=raw|stored) to show the storage and
+ * I/O saved.
+ */
+@Component
+public class TextCompressor {
+
+    static final String PREFIX = "~z1:";
+    static final String ESCAPE = "~z0:";
+    private static final String MARKER = "~z";
+
+    // Deflate looks back from the end of the dictionary, so the most common words come last
+    private static final byte[] DICTIONARY = String.join(" ",
+            "bilateral unilateral anterior posterior lateral medial proximal distal superior inferior",
+            "acute chronic mild moderate severe recurrent persistent intermittent progressive stable",
+            "hypertension diabetes mellitus asthma bronchitis pneumonia infection inflammation fracture",
+            "gastritis migraine anxiety depression arthritis dermatitis allergy allergic rhinitis sinusitis",
+            "abdominal chest back joint muscle skin throat ear eye head neck knee shoulder ankle wrist",
+            "fever cough headache nausea vomiting diarrhea fatigue dizziness swelling rash pain",
+            "blood pressure heart rate temperature oxygen saturation weight glucose cholesterol",
+            "examination assessment diagnosis history symptoms findings results normal abnormal negative positive",
+            "x-ray ultrasound ct scan mri ecg blood test urine test full blood count lipid profile",
+            "referral follow-up review appointment physiotherapy surgery procedure admission discharge",
+            "advised to rest fluids diet exercise avoid continue stop reduce increase monitor",
+            "tablet tablets capsule capsules syrup injection cream ointment drops inhaler",
+            "amoxicillin paracetamol ibuprofen metformin amlodipine losartan omeprazole salbutamol cetirizine",
+            "once daily twice daily three times daily every hours as needed before meals after meals at night",
+            "for days for weeks for months mg ml mcg units dose patient reports complains of the and with ").getBytes(StandardCharsets.UTF_8);
+
+    private static final ThreadLocal<Deflater> DEFLATER =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_COMPRESSION, true));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private final boolean enabled;
+    private final int threshold;
+    private final Counter writtenValues;
+    private final Counter readValues;
+    private final Counter writtenRaw;
+    private final Counter writtenStored;
+    private final Counter readRaw;
+    private final Counter readStored;
+
+    public TextCompressor(
+            @Value("${mediway.records.compression.enabled:false}") boolean enabled,
+            @Value("${mediway.records.compression.threshold:512}") int threshold,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.writtenValues = values(meterRegistry, "write");
+        this.readValues = values(meterRegistry, "read");
+        this.writtenRaw = bytes(meterRegistry, "write", "raw");
+        this.writtenStored = bytes(meterRegistry, "write", "stored");
+        this.readRaw = bytes(meterRegistry, "read", "raw");
+        this.readStored = bytes(meterRegistry, "read", "stored");
+    }
+
+    /**
+     * Compressor that decodes stored values but never compresses new ones
+     */
+    public static TextCompressor decodeOnly() {
+        return new TextCompressor(false, Integer.MAX_VALUE, new SimpleMeterRegistry());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Whether {@link #encode} would try to compress this value
+     */
+    public boolean shouldCompress(String text) {
+        return enabled && text != null && text.length() >= threshold && !text.startsWith(MARKER);
+    }
+
+    /**
+     * Value to store for the given text
+     */
+    public String encode(String text) {
+        if (text == null) {
+            return null;
+        }
+        String stored;
+        if (text.startsWith(MARKER)) {
+            stored = ESCAPE + text;
+        } else if (shouldCompress(text)) {
+            String compressed = PREFIX + Base64.getEncoder().encodeToString(deflate(text));
+            stored = compressed.length() < utf8Length(text) ? compressed : text;
+        } else {
+            stored = text;
+        }
+        writtenValues.increment();
+        writtenRaw.increment(utf8Length(text));
+        writtenStored.increment(utf8Length(stored));
+        return stored;
+    }
+
+    /**
+     * Text of a stored value, compressed or not
+     */
+    public String decode(String stored) {
+        if (stored == null) {
+            return null;
+        }
+        String text;
+        if (stored.startsWith(PREFIX)) {
+            byte[] compressed;
+            try {
+                compressed = Base64.getDecoder().decode(stored.substring(PREFIX.length()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Compressed text is corrupt", e);
+            }
+            text = inflate(compressed);
+        } else if (stored.startsWith(ESCAPE)) {
+            text = stored.substring(ESCAPE.length());
+        } else {
+            text = stored;
+        }
+        readValues.increment();
+        readStored.increment(utf8Length(stored));
+        readRaw.increment(utf8Length(text));
+        return text;
+    }
+
+    public static boolean isCompressed(String stored) {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+
+    /**
+     * Everything encoded since startup
+     */
+    public CompressionStats written() {
+        return new CompressionStats((long) writtenValues.count(), (long) writtenRaw.count(), (long) writtenStored.count());
+    }
+
+    /**
+     * Everything decoded since startup
+     */
+    public CompressionStats read() {
+        return new CompressionStats((long) readValues.count(), (long) readRaw.count(), (long) readStored.count());
+    }
+
+    // Counted without encoding, so metering a read does not copy the text
+    static long utf8Length(String text) {
+        long length = text.length();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                // Two bytes below U+0800, four per surrogate pair, three otherwise
+                length += c < 0x800 || Character.isSurrogate(c) ? 1 : 2;
+            }
+        }
+        return length;
+    }
+
+    private static byte[] deflate(String text) {
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setDictionary(DICTIONARY);
+        deflater.setInput(text.getBytes(StandardCharsets.UTF_8));
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(text.length() / 2);
+        byte[] buffer = new byte[4096];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        return out.toByteArray();
+    }
+
+    private static String inflate(byte[] data) {
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setDictionary(DICTIONARY);
+        inflater.setInput(data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+        byte[] buffer = new byte[4096];
+        try {
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Compressed text is truncated");
+                }
+                out.write(buffer, 0, n);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed text is corrupt", e);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Counter values(MeterRegistry meterRegistry, String direction) {
+        return Counter.builder("records.text.values")
+                .description("Medical-record text values through the compression converter")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    private static Counter bytes(MeterRegistry meterRegistry, String direction, String form) {
+        return Counter.builder("records.text.bytes")
+                .description("UTF-8 bytes of medical-record text through the compression converter")
+                .tag("direction", direction)
+                .tag("form", form)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,108 @@
+package com.mediway.backend.service.ids;
+
+import java.util.List;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the id_generators rows ahead of the ids already in use.
+ *
+ * Appointments, payments, medical records and receipts take their ids in pooled blocks of
+ * {@value #ALLOCATION_SIZE} from id_generators instead of AUTO_INCREMENT, so Hibernate can send
+ * their inserts in JDBC batches. Rows written before the switch (and rows inserted by SQL, such as
+ * data.sql) still carry AUTO_INCREMENT ids, and archived rows keep theirs, so once all singletons
+ * exist, before the server accepts requests, each generator is moved past the highest id in its
+ * tables. A generator that is already ahead is left alone.
+ *
+ * Code that inserts with plain JDBC takes its ids from the same rows with {@link #reserve}.
+ */
+@Slf4j
+@Component
+public class IdGeneratorTable implements SmartInitializingSingleton {
+
+    static final String TABLE = "id_generators";
+    // allocationSize of the @TableGenerator mappings
+    static final int ALLOCATION_SIZE = 50;
+
+    static final List<Generator> GENERATORS = List.of(
+            new Generator("appointments", List.of("appointments", "appointments_archive")),
+            new Generator("medical_records", List.of("medical_records", "medical_records_archive")),
+            new Generator("payments", List.of("payments")),
+            new Generator("receipts", List.of("receipts")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public IdGeneratorTable(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Like Hibernate's generator, commit on its own so the row is not locked for the caller's transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        GENERATORS.forEach(this::advance);
+    }
+
+    /**
+     * Move the generator past every id in its tables
+     * @return the generator's next value afterwards
+     */
+    long advance(Generator generator) {
+        return transactionTemplate.execute(status -> {
+            long maxId = 0;
+            for (String table : generator.tables()) {
+                Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+                maxId = Math.max(maxId, max == null ? 0 : max);
+            }
+            // Hibernate's pooled optimizer hands out the block ending at the value it reads, so the
+            // value must be a whole block above the highest id
+            long floor = maxId + ALLOCATION_SIZE + 1;
+            List<Long> current = jdbcTemplate.queryForList(
+                    "SELECT next_id FROM " + TABLE + " WHERE entity = ? FOR UPDATE", Long.class, generator.key());
+            if (current.isEmpty()) {
+                jdbcTemplate.update("INSERT INTO " + TABLE + " (entity, next_id) VALUES (?, ?)", generator.key(), floor);
+            } else if (current.get(0) < floor) {
+                jdbcTemplate.update("UPDATE " + TABLE + " SET next_id = ? WHERE entity = ?", floor, generator.key());
+            } else {
+                return current.get(0);
+            }
+            log.info("Id generator {} moved to {} past existing ids", generator.key(), floor);
+            return floor;
+        });
+    }
+
+    /**
+     * Reserve ids for rows inserted without Hibernate
+     * @param key generator row, e.g. "appointments"
+     * @return the first of {@code count} consecutive ids no one else will be given
+     */
+    public long reserve(String key, int count) {
+        return transactionTemplate.execute(status -> {
+            List<Long> current = jdbcTemplate.queryForList(
+                    "SELECT next_id FROM " + TABLE + " WHERE entity = ? FOR UPDATE", Long.class, key);
+            if (current.isEmpty()) {
+                throw new IllegalStateException("No id generator row for " + key);
+            }
+            long value = current.get(0);
+            jdbcTemplate.update("UPDATE " + TABLE + " SET next_id = ? WHERE entity = ?", value + count, key);
+            // Hibernate's blocks end at the values it reads, so the ids below this value that it has
+            // not handed out start a block below it
+            return value - ALLOCATION_SIZE + 1;
+        });
+    }
+
+    /**
+     * Row of id_generators and the tables holding the ids it has handed out
+     */
+    record Generator(String key, List<String> tables) {
+    }
+}
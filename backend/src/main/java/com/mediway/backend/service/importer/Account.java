@@ -0,0 +1,29 @@
+package com.mediway.backend.service.importer;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * An existing account an import row refers to by email
+ */
+record Account(long id, String role) {
+
+    /**
+     * Accounts with the given emails, keyed by lower-case email
+     * @param sql selects id, email and role for the emails in the :emails parameter
+     */
+    static Map<String, Account> byEmail(NamedParameterJdbcTemplate jdbcTemplate, String sql, Collection<String> emails) {
+        Map<String, Account> accounts = new HashMap<>();
+        if (emails.isEmpty()) {
+            return accounts;
+        }
+        jdbcTemplate.query(sql, Map.of("emails", emails), rs -> {
+            accounts.put(rs.getString("email").toLowerCase(Locale.ROOT), new Account(rs.getLong("id"), rs.getString("role")));
+        });
+        return accounts;
+    }
+}
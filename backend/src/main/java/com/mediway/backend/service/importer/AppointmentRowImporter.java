@@ -0,0 +1,157 @@
+package com.mediway.backend.service.importer;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mediway.backend.entity.Appointment;
+import com.mediway.backend.entity.ImportJob;
+import com.mediway.backend.entity.User;
+import com.mediway.backend.service.ids.IdGeneratorTable;
+
+/**
+ * Appointments keyed by patient email, doctor email and date and time. The patient and doctor
+ * must exist (import them first). Existing appointments get the row's status and notes.
+ * New appointments take their ids from id_generators, like those saved through JPA.
+ */
+@Component
+class AppointmentRowImporter implements RowImporter<AppointmentRowImporter.AppointmentRow> {
+
+    private static final String INSERT = "INSERT INTO appointments (id, patient_id, doctor_id, appointment_date, "
+            + "status, notes, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] INSERT_TYPES = {Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.TIMESTAMP,
+            Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP};
+
+    private static final String UPDATE = "UPDATE appointments SET status = COALESCE(?, status), "
+            + "notes = COALESCE(?, notes) WHERE id = ?";
+    private static final int[] UPDATE_TYPES = {Types.VARCHAR, Types.VARCHAR, Types.BIGINT};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final IdGeneratorTable idGeneratorTable;
+
+    AppointmentRowImporter(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+            IdGeneratorTable idGeneratorTable) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.idGeneratorTable = idGeneratorTable;
+    }
+
+    @Override
+    public ImportJob.Kind kind() {
+        return ImportJob.Kind.APPOINTMENTS;
+    }
+
+    @Override
+    public List<String> requiredColumns() {
+        return List.of("patient_email", "doctor_email", "appointment_date");
+    }
+
+    @Override
+    public List<String> keyColumns() {
+        return List.of("patient_email", "doctor_email", "appointment_date");
+    }
+
+    @Override
+    public AppointmentRow parse(CsvHeader header, CsvRecord record) {
+        return new AppointmentRow(
+                Fields.email(header.value(record, "patient_email"), "patient_email"),
+                Fields.email(header.value(record, "doctor_email"), "doctor_email"),
+                Fields.dateTime(header.value(record, "appointment_date"), "appointment_date"),
+                Fields.enumValue(header.value(record, "status"), Appointment.Status.class, "status"),
+                Fields.optional(header.value(record, "notes"), "notes", 1000));
+    }
+
+    @Override
+    public String keyOf(AppointmentRow row) {
+        return row.patientEmail() + " / " + row.doctorEmail() + " / " + row.appointmentDate();
+    }
+
+    @Override
+    public Upserted write(List<ParsedRow<AppointmentRow>> rows, List<RowError> rejected) {
+        Map<String, Account> patients = Account.byEmail(namedJdbcTemplate,
+                "SELECT id, email, role FROM users WHERE email IN (:emails)",
+                rows.stream().map(row -> row.value().patientEmail()).distinct().toList());
+        Map<String, Account> doctors = Account.byEmail(namedJdbcTemplate,
+                "SELECT id, email, 'DOCTOR' AS role FROM doctors WHERE email IN (:emails)",
+                rows.stream().map(row -> row.value().doctorEmail()).distinct().toList());
+
+        Map<Slot, ParsedRow<AppointmentRow>> slots = new LinkedHashMap<>();
+        for (ParsedRow<AppointmentRow> row : rows) {
+            AppointmentRow a = row.value();
+            Account patient = patients.get(a.patientEmail().toLowerCase(Locale.ROOT));
+            Account doctor = doctors.get(a.doctorEmail().toLowerCase(Locale.ROOT));
+            if (patient == null || !User.Role.PATIENT.name().equals(patient.role())) {
+                rejected.add(new RowError(row.line(), row.key(), "patient_email is not a known patient"));
+            } else if (doctor == null) {
+                rejected.add(new RowError(row.line(), row.key(), "doctor_email is not a known doctor"));
+            } else {
+                slots.put(new Slot(patient.id(), doctor.id(), a.appointmentDate()), row);
+            }
+        }
+        if (slots.isEmpty()) {
+            return new Upserted(0, 0);
+        }
+
+        Map<Slot, Long> existing = existing(slots.keySet());
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        slots.forEach((slot, row) -> {
+            AppointmentRow a = row.value();
+            String status = a.status() == null ? null : a.status().name();
+            Long id = existing.get(slot);
+            if (id == null) {
+                inserts.add(new Object[] {null, slot.patientId(), slot.doctorId(), slot.date(),
+                        status == null ? Appointment.Status.SCHEDULED.name() : status, a.notes(), now});
+            } else {
+                updates.add(new Object[] {status, a.notes(), id});
+            }
+        });
+        if (!inserts.isEmpty()) {
+            long id = idGeneratorTable.reserve("appointments", inserts.size());
+            for (Object[] insert : inserts) {
+                insert[0] = id++;
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT, inserts, INSERT_TYPES);
+        jdbcTemplate.batchUpdate(UPDATE, updates, UPDATE_TYPES);
+        return new Upserted(inserts.size(), updates.size());
+    }
+
+    private Map<Slot, Long> existing(Iterable<Slot> slots) {
+        List<Long> patientIds = new ArrayList<>();
+        List<LocalDateTime> dates = new ArrayList<>();
+        slots.forEach(slot -> {
+            patientIds.add(slot.patientId());
+            dates.add(slot.date());
+        });
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("patients", patientIds.stream().distinct().toList())
+                .addValue("dates", dates.stream().distinct().toList());
+        Map<Slot, Long> existing = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, patient_id, doctor_id, appointment_date FROM appointments "
+                + "WHERE patient_id IN (:patients) AND appointment_date IN (:dates)", params, rs -> {
+            existing.put(new Slot(rs.getLong("patient_id"), rs.getLong("doctor_id"),
+                    rs.getObject("appointment_date", LocalDateTime.class)), rs.getLong("id"));
+        });
+        return existing;
+    }
+
+    record AppointmentRow(String patientEmail, String doctorEmail, LocalDateTime appointmentDate,
+                          Appointment.Status status, String notes) {
+    }
+
+    private record Slot(long patientId, long doctorId, LocalDateTime date) {
+    }
+}
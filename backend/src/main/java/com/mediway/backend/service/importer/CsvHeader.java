@@ -0,0 +1,68 @@
+package com.mediway.backend.service.importer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Column names of an import file. Names are matched ignoring case and surrounding spaces,
+ * and columns may come in any order; unknown columns are ignored.
+ */
+final class CsvHeader {
+
+    private final Map<String, Integer> index = new HashMap<>();
+
+    private CsvHeader() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if a column name is empty or repeated
+     */
+    static CsvHeader of(List<String> names) {
+        CsvHeader header = new CsvHeader();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1); // byte order mark written by spreadsheet exports
+            }
+            name = name.trim().toLowerCase(Locale.ROOT);
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Column " + (i + 1) + " of the header has no name");
+            }
+            if (header.index.putIfAbsent(name, i) != null) {
+                throw new IllegalArgumentException("Column " + name + " appears twice in the header");
+            }
+        }
+        return header;
+    }
+
+    /**
+     * @throws IllegalArgumentException naming the columns the header lacks
+     */
+    void require(Collection<String> columns) {
+        List<String> missing = new ArrayList<>();
+        for (String column : columns) {
+            if (!index.containsKey(column)) {
+                missing.add(column);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Missing column(s): " + String.join(", ", missing));
+        }
+    }
+
+    /**
+     * Trimmed value of a column, or null if the row leaves it empty or the file has no such column
+     */
+    String value(CsvRecord record, String column) {
+        Integer i = index.get(column);
+        if (i == null || i >= record.values().size()) {
+            return null;
+        }
+        String value = record.values().get(i).trim();
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,374 @@
+package com.mediway.backend.service.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.mediway.backend.entity.ImportJob;
+import com.mediway.backend.event.AccountChangedEvent;
+import com.mediway.backend.repository.ImportJobRepository;
+import com.mediway.backend.security.AccountType;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk imports of patients, doctors and appointments from CSV files.
+ *
+ * An upload is streamed to {@code mediway.imports.directory} (checking only its header on the
+ * request thread) and imported in the background, one job at a time. The file is read a chunk
+ * of {@code mediway.imports.chunk-size} rows at a time: the rows of a chunk are validated in
+ * parallel on {@code mediway.imports.validation-threads} threads while the previous chunk is
+ * being written, and valid rows are upserted by email in JDBC batches. Each chunk's writes, its
+ * rejected rows (the job's error report, import_row_errors) and the job's progress commit in one
+ * transaction, so a job interrupted by a failure or a restart resumes after its last committed
+ * chunk; interrupted jobs are resumed at startup, failed ones on request.
+ *
+ * Rows repeating the key of an earlier row in the same chunk replace it and count as updates.
+ * Caches and search indexes are refreshed once when an account import finishes.
+ */
+@Slf4j
+@Service
+public class CsvImportService {
+
+    private final ImportJobRepository importJobRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<ImportJob.Kind, RowImporter<?>> importers = new EnumMap<>(ImportJob.Kind.class);
+    private final Path root;
+    private final Path tempDirectory;
+    private final int chunkSize;
+    private final int validationThreads;
+    private final DataSize maxSize;
+    private final ExecutorService worker;
+    private final ExecutorService validators;
+
+    public CsvImportService(ImportJobRepository importJobRepository, JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+            List<RowImporter<?>> importers,
+            @Value("${mediway.imports.directory:data/imports}") Path root,
+            @Value("${mediway.imports.chunk-size:1000}") int chunkSize,
+            @Value("${mediway.imports.validation-threads:0}") int validationThreads,
+            @Value("${mediway.imports.max-size:1GB}") DataSize maxSize) {
+        this.importJobRepository = importJobRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        importers.forEach(importer -> this.importers.put(importer.kind(), importer));
+        this.root = root.toAbsolutePath();
+        // Inside the directory so the final move is a rename on the same file system
+        this.tempDirectory = this.root.resolve(".tmp");
+        this.chunkSize = Math.max(1, chunkSize);
+        this.validationThreads = validationThreads > 0 ? validationThreads : Runtime.getRuntime().availableProcessors();
+        this.maxSize = maxSize;
+        this.worker = Executors.newSingleThreadExecutor(daemonThreads("import-worker-"));
+        this.validators = Executors.newFixedThreadPool(this.validationThreads, daemonThreads("import-validation-"));
+        try {
+            Files.createDirectories(tempDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create import directory " + this.root, e);
+        }
+    }
+
+    /**
+     * Store an uploaded file and queue its import
+     * @throws IllegalArgumentException if the file is empty, too large or lacks a required column
+     */
+    public ImportJob submit(ImportJob.Kind kind, String fileName, InputStream content) throws IOException {
+        RowImporter<?> importer = importerFor(kind);
+        Path temp = Files.createTempFile(tempDirectory, "upload-", ".part");
+        try {
+            copy(content, temp);
+            try (CsvReader reader = open(temp)) {
+                readHeader(reader, importer);
+            }
+            ImportJob job = importJobRepository.save(new ImportJob(kind, fileName));
+            try {
+                Files.move(temp, fileOf(job.getId()), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException | RuntimeException e) {
+                // Without its file the job could never run; don't leave it queued for every startup
+                importJobRepository.delete(job);
+                throw e;
+            }
+            worker.execute(() -> run(job.getId()));
+            return job;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Queue a failed job again; it continues after its last committed chunk
+     * @return the job, or empty if there is no such job
+     * @throws IllegalStateException if the job has not failed
+     */
+    public Optional<ImportJob> resume(Long id) {
+        Optional<ImportJob> job = importJobRepository.findById(id);
+        job.ifPresent(j -> {
+            if (j.getStatus() != ImportJob.Status.FAILED) {
+                throw new IllegalStateException("Only failed imports can be resumed; this one is " + j.getStatus());
+            }
+            j.setStatus(ImportJob.Status.QUEUED);
+            j.setMessage(null);
+            importJobRepository.save(j);
+            worker.execute(() -> run(id));
+        });
+        return job;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        for (ImportJob job : importJobRepository.findByStatusInOrderById(
+                List.of(ImportJob.Status.QUEUED, ImportJob.Status.RUNNING))) {
+            log.info("Resuming import {} after row {}", job.getId(), job.getRowsRead());
+            worker.execute(() -> run(job.getId()));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+        validators.shutdownNow();
+    }
+
+    /**
+     * Import a job's file from where it stopped, on the calling thread
+     */
+    void run(Long jobId) {
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() == ImportJob.Status.COMPLETED) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE import_jobs SET status = ?, started_at = COALESCE(started_at, ?) WHERE id = ?",
+                ImportJob.Status.RUNNING.name(), LocalDateTime.now(), jobId);
+        long started = System.nanoTime();
+        try {
+            long rows = process(job, importerFor(job.getKind()));
+            finish(jobId, ImportJob.Status.COMPLETED, null);
+            Files.deleteIfExists(fileOf(jobId));
+            double seconds = (System.nanoTime() - started) / 1e9;
+            log.info("Import {} of {} finished: {} rows in {}s ({} rows/s)", jobId, job.getKind(), rows,
+                    String.format(Locale.ROOT, "%.1f", seconds), Math.round(rows / Math.max(seconds, 1e-3)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // Left RUNNING, so it is resumed at the next startup
+            log.info("Import {} interrupted, will resume after the last committed chunk", jobId);
+        } catch (Exception e) {
+            log.warn("Import {} failed, resumable after the last committed chunk", jobId, e);
+            finish(jobId, ImportJob.Status.FAILED, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            accountsChanged(job.getKind());
+        }
+    }
+
+    /**
+     * @return rows read by this run
+     */
+    private <T> long process(ImportJob job, RowImporter<T> importer)
+            throws IOException, InterruptedException, ExecutionException {
+        try (CsvReader reader = open(fileOf(job.getId()))) {
+            CsvHeader header = readHeader(reader, importer);
+            for (long skipped = 0; skipped < job.getRowsRead() && reader.next() != null; skipped++) {
+                // Committed by an earlier run
+            }
+            long rows = 0;
+            CompletableFuture<Validated<T>> next = validate(importer, header, readChunk(reader));
+            try {
+                while (true) {
+                    Validated<T> chunk = next.get();
+                    if (chunk.size() == 0) {
+                        return rows;
+                    }
+                    // Read and validate the next chunk while this one is written
+                    next = validate(importer, header, readChunk(reader));
+                    write(job.getId(), importer, chunk);
+                    rows += chunk.size();
+                }
+            } finally {
+                next.cancel(true);
+            }
+        }
+    }
+
+    private List<CsvRecord> readChunk(CsvReader reader) throws IOException {
+        List<CsvRecord> chunk = new ArrayList<>(chunkSize);
+        List<String> values;
+        while (chunk.size() < chunkSize && (values = reader.next()) != null) {
+            chunk.add(new CsvRecord(reader.line(), values));
+        }
+        return chunk;
+    }
+
+    private <T> CompletableFuture<Validated<T>> validate(RowImporter<T> importer, CsvHeader header,
+                                                         List<CsvRecord> records) {
+        int sliceSize = Math.max(1, (records.size() + validationThreads - 1) / validationThreads);
+        List<CompletableFuture<Validated<T>>> slices = new ArrayList<>();
+        for (int from = 0; from < records.size(); from += sliceSize) {
+            List<CsvRecord> slice = records.subList(from, Math.min(records.size(), from + sliceSize));
+            slices.add(CompletableFuture.supplyAsync(() -> parse(importer, header, slice), validators));
+        }
+        return CompletableFuture.allOf(slices.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            Validated<T> chunk = new Validated<>(records.size(), new ArrayList<>(), new ArrayList<>());
+            for (CompletableFuture<Validated<T>> slice : slices) {
+                Validated<T> parsed = slice.join();
+                chunk.rows().addAll(parsed.rows());
+                chunk.errors().addAll(parsed.errors());
+            }
+            return chunk;
+        });
+    }
+
+    private <T> Validated<T> parse(RowImporter<T> importer, CsvHeader header, List<CsvRecord> records) {
+        Validated<T> parsed = new Validated<>(records.size(), new ArrayList<>(), new ArrayList<>());
+        for (CsvRecord record : records) {
+            try {
+                T row = importer.parse(header, record);
+                String key = importer.keyOf(row).toLowerCase(Locale.ROOT);
+                parsed.rows().add(new ParsedRow<>(record.line(), key, row));
+            } catch (IllegalArgumentException e) {
+                parsed.errors().add(new RowError(record.line(), keyOf(importer, header, record), e.getMessage()));
+            }
+        }
+        return parsed;
+    }
+
+    private <T> void write(Long jobId, RowImporter<T> importer, Validated<T> chunk) {
+        // The last row with a key wins; the rows it replaces count as updates
+        Map<String, ParsedRow<T>> unique = new LinkedHashMap<>();
+        chunk.rows().forEach(row -> unique.put(row.key(), row));
+        int replaced = chunk.rows().size() - unique.size();
+        List<ParsedRow<T>> rows = new ArrayList<>(unique.values());
+        try {
+            writeChunk(jobId, importer, chunk, rows, replaced);
+        } catch (DuplicateKeyException e) {
+            // Someone else created one of the accounts meanwhile; it is found as existing this time
+            writeChunk(jobId, importer, chunk, rows, replaced);
+        }
+    }
+
+    private <T> void writeChunk(Long jobId, RowImporter<T> importer, Validated<T> chunk, List<ParsedRow<T>> rows,
+                                int replaced) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<RowError> errors = new ArrayList<>(chunk.errors());
+            Upserted upserted = rows.isEmpty() ? new Upserted(0, 0) : importer.write(rows, errors);
+            List<Object[]> errorRows = errors.stream()
+                    .map(error -> new Object[] {jobId, error.line(), truncate(error.key(), 255), truncate(error.message(), 500)})
+                    .toList();
+            jdbcTemplate.batchUpdate("INSERT INTO import_row_errors (job_id, line, row_key, message) VALUES (?, ?, ?, ?)",
+                    errorRows, new int[] {Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR});
+            jdbcTemplate.update("UPDATE import_jobs SET rows_read = rows_read + ?, inserted = inserted + ?, "
+                    + "updated = updated + ?, failed = failed + ? WHERE id = ?",
+                    chunk.size(), upserted.inserted(), upserted.updated() + replaced, errors.size(), jobId);
+        });
+    }
+
+    private void finish(Long jobId, ImportJob.Status status, String message) {
+        jdbcTemplate.update("UPDATE import_jobs SET status = ?, message = ?, finished_at = ? WHERE id = ?",
+                status.name(), truncate(message, 500), LocalDateTime.now(), jobId);
+    }
+
+    private void accountsChanged(ImportJob.Kind kind) {
+        // Without an id or email, caches drop everything and search indexes reload
+        if (kind == ImportJob.Kind.PATIENTS) {
+            eventPublisher.publishEvent(new AccountChangedEvent(AccountType.USER, null, null));
+        } else if (kind == ImportJob.Kind.DOCTORS) {
+            eventPublisher.publishEvent(new AccountChangedEvent(AccountType.DOCTOR, null, null));
+        }
+    }
+
+    private CsvHeader readHeader(CsvReader reader, RowImporter<?> importer) throws IOException {
+        List<String> names = reader.next();
+        if (names == null) {
+            throw new IllegalArgumentException("Import file is empty");
+        }
+        CsvHeader header = CsvHeader.of(names);
+        header.require(importer.requiredColumns());
+        return header;
+    }
+
+    private String keyOf(RowImporter<?> importer, CsvHeader header, CsvRecord record) {
+        List<String> values = importer.keyColumns().stream()
+                .map(column -> header.value(record, column))
+                .filter(value -> value != null)
+                .toList();
+        return values.isEmpty() ? null : String.join(" / ", values);
+    }
+
+    private void copy(InputStream content, Path target) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long size = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int n;
+            while ((n = content.read(buffer)) != -1) {
+                size += n;
+                if (size > maxSize.toBytes()) {
+                    throw new IllegalArgumentException("Import file is larger than " + maxSize.toMegabytes() + "MB");
+                }
+                out.write(buffer, 0, n);
+            }
+        }
+    }
+
+    private CsvReader open(Path file) throws IOException {
+        return new CsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+    }
+
+    private Path fileOf(Long jobId) {
+        return root.resolve(jobId + ".csv");
+    }
+
+    private RowImporter<?> importerFor(ImportJob.Kind kind) {
+        RowImporter<?> importer = importers.get(kind);
+        if (importer == null) {
+            throw new IllegalArgumentException("No importer for " + kind);
+        }
+        return importer;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    /**
+     * Rows of a chunk that passed and failed validation
+     * @param size rows read, valid or not
+     */
+    private record Validated<T>(int size, List<ParsedRow<T>> rows, List<RowError> errors) {
+    }
+
+    private static CustomizableThreadFactory daemonThreads(String prefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
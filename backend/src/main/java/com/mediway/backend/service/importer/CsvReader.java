@@ -0,0 +1,127 @@
+package com.mediway.backend.service.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time through a fixed-size buffer, so memory use does
+ * not depend on the size of the file. Fields may be quoted, with "" for a quote and line
+ * breaks inside quotes. Blank lines are skipped.
+ */
+final class CsvReader implements Closeable {
+
+    // A runaway quote would otherwise read the rest of the file into one field
+    static final int MAX_FIELD_LENGTH = 64 * 1024;
+
+    private final Reader in;
+    private final char[] buffer = new char[64 * 1024];
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    private long line = 1;
+    private long recordLine;
+
+    CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Next record, or null at the end of the file
+     * @throws IllegalArgumentException if a quoted field is not closed or a field is too long
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            endLine(c);
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> record = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Quoted field starting on line " + recordLine + " is not closed");
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                append(c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                record.add(field.toString());
+                endLine(c);
+                return record;
+            } else {
+                append(c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Line of the file the last record returned by {@link #next} started on
+     */
+    long line() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void append(int c) {
+        if (field.length() == MAX_FIELD_LENGTH) {
+            throw new IllegalArgumentException("Field on line " + recordLine + " is longer than "
+                    + MAX_FIELD_LENGTH + " characters");
+        }
+        field.append((char) c);
+    }
+
+    private void endLine(int c) throws IOException {
+        if (c == '\r' && peek() == '\n') {
+            position++;
+        }
+        if (c != -1) {
+            line++;
+        }
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        if (c != -1) {
+            position++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position];
+    }
+}
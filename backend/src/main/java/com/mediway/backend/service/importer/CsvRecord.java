@@ -0,0 +1,12 @@
+package com.mediway.backend.service.importer;
+
+import java.util.List;
+
+/**
+ * One data row of an import file
+ *
+ * @param line   line of the file the row starts on
+ * @param values fields in file order
+ */
+record CsvRecord(long line, List<String> values) {
+}
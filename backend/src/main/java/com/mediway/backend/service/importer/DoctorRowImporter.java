@@ -0,0 +1,103 @@
+package com.mediway.backend.service.importer;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.mediway.backend.entity.ImportJob;
+
+/**
+ * Doctors keyed by email. Existing doctors get the values the row has; empty cells keep
+ * what is stored. New doctors are available unless the row says otherwise.
+ */
+@Component
+class DoctorRowImporter implements RowImporter<DoctorRowImporter.DoctorRow> {
+
+    private static final String INSERT = "INSERT INTO doctors (name, specialization, email, phone, available, "
+            + "password, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] INSERT_TYPES = {Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.BOOLEAN, Types.VARCHAR, Types.TIMESTAMP};
+
+    private static final String UPDATE = "UPDATE doctors SET name = ?, specialization = ?, phone = COALESCE(?, phone), "
+            + "available = COALESCE(?, available), password = COALESCE(?, password) WHERE id = ?";
+    private static final int[] UPDATE_TYPES = {Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BOOLEAN,
+            Types.VARCHAR, Types.BIGINT};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    DoctorRowImporter(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+            PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public ImportJob.Kind kind() {
+        return ImportJob.Kind.DOCTORS;
+    }
+
+    @Override
+    public List<String> requiredColumns() {
+        return List.of("name", "email", "specialization");
+    }
+
+    @Override
+    public List<String> keyColumns() {
+        return List.of("email");
+    }
+
+    @Override
+    public DoctorRow parse(CsvHeader header, CsvRecord record) {
+        return new DoctorRow(
+                Fields.required(header.value(record, "name"), "name", 100),
+                Fields.required(header.value(record, "specialization"), "specialization", 100),
+                Fields.email(header.value(record, "email"), "email"),
+                Fields.optional(header.value(record, "phone"), "phone", 20),
+                Fields.bool(header.value(record, "available"), "available"),
+                Fields.password(header.value(record, "password"), passwordEncoder));
+    }
+
+    @Override
+    public String keyOf(DoctorRow row) {
+        return row.email();
+    }
+
+    @Override
+    public Upserted write(List<ParsedRow<DoctorRow>> rows, List<RowError> rejected) {
+        Map<String, Account> existing = Account.byEmail(namedJdbcTemplate,
+                "SELECT id, email, 'DOCTOR' AS role FROM doctors WHERE email IN (:emails)",
+                rows.stream().map(row -> row.value().email()).toList());
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (ParsedRow<DoctorRow> row : rows) {
+            DoctorRow d = row.value();
+            Account account = existing.get(row.key());
+            if (account == null) {
+                inserts.add(new Object[] {d.name(), d.specialization(), d.email(), d.phone(),
+                        d.available() == null || d.available(), d.password() == null ? Fields.NO_PASSWORD : d.password(),
+                        now});
+            } else {
+                updates.add(new Object[] {d.name(), d.specialization(), d.phone(), d.available(), d.password(),
+                        account.id()});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT, inserts, INSERT_TYPES);
+        jdbcTemplate.batchUpdate(UPDATE, updates, UPDATE_TYPES);
+        return new Upserted(inserts.size(), updates.size());
+    }
+
+    record DoctorRow(String name, String specialization, String email, String phone, Boolean available,
+                     String password) {
+    }
+}
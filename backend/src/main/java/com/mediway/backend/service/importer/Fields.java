@@ -0,0 +1,115 @@
+package com.mediway.backend.service.importer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.mediway.backend.security.PasswordHashingService;
+
+/**
+ * Checks and conversions for CSV values, throwing IllegalArgumentException with a message
+ * for the error report
+ */
+final class Fields {
+
+    // An unknown password: no one can sign in until a password is set
+    static final String NO_PASSWORD = "$2a$10$" + ".".repeat(53);
+
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+    // 2025-10-23 13:30, 2025-10-23T13:30 or with seconds
+    private static final DateTimeFormatter DATE_TIME = new DateTimeFormatterBuilder()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE)
+            .optionalStart().appendLiteral('T').optionalEnd()
+            .optionalStart().appendLiteral(' ').optionalEnd()
+            .append(DateTimeFormatter.ISO_LOCAL_TIME)
+            .toFormatter(Locale.ROOT);
+
+    private Fields() {
+    }
+
+    static String required(String value, String column, int maxLength) {
+        if (value == null) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        return optional(value, column, maxLength);
+    }
+
+    static String optional(String value, String column, int maxLength) {
+        if (value != null && value.length() > maxLength) {
+            throw new IllegalArgumentException(column + " must be at most " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    static String email(String value, String column) {
+        required(value, column, 100);
+        if (!EMAIL.matcher(value).matches()) {
+            throw new IllegalArgumentException(column + " is not a valid email address");
+        }
+        return value;
+    }
+
+    static LocalDate date(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(column + " must be a date like 1990-05-15");
+        }
+    }
+
+    static LocalDateTime dateTime(String value, String column) {
+        required(value, column, 30);
+        try {
+            return LocalDateTime.parse(value, DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(column + " must be a date and time like 2025-10-23 13:30");
+        }
+    }
+
+    static Boolean bool(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "y", "1" -> true;
+            case "false", "no", "n", "0" -> false;
+            default -> throw new IllegalArgumentException(column + " must be true or false");
+        };
+    }
+
+    static <E extends Enum<E>> E enumValue(String value, Class<E> type, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(column + " must be one of " + String.join(", ",
+                    Arrays.stream(type.getEnumConstants()).map(Enum::name).toList()));
+        }
+    }
+
+    /**
+     * Password to store: BCrypt hashes are kept as they are, anything else is hashed here
+     * (which costs far more than the rest of the row)
+     */
+    static String password(String value, PasswordEncoder encoder) {
+        if (value == null || PasswordHashingService.isHashed(value)) {
+            return value;
+        }
+        if (value.length() < 6) {
+            throw new IllegalArgumentException("password must be at least 6 characters");
+        }
+        return encoder.encode(value);
+    }
+}
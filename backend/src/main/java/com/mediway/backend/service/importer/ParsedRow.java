@@ -0,0 +1,11 @@
+package com.mediway.backend.service.importer;
+
+/**
+ * A row that passed validation
+ *
+ * @param line  line of the file the row starts on
+ * @param key   what identifies the record the row upserts; rows with equal keys are one record
+ * @param value the parsed row
+ */
+record ParsedRow<T>(long line, String key, T value) {
+}
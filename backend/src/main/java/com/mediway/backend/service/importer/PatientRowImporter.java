@@ -0,0 +1,129 @@
+package com.mediway.backend.service.importer;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.mediway.backend.entity.ImportJob;
+import com.mediway.backend.entity.User;
+
+/**
+ * Patients keyed by email. Existing patients get the values the row has; empty cells keep
+ * what is stored. Emails of admin or doctor accounts in the users table are rejected.
+ */
+@Component
+class PatientRowImporter implements RowImporter<PatientRowImporter.Patient> {
+
+    private static final Set<String> BLOOD_TYPES = Set.of("A+", "A-", "B+", "B-", "AB+", "AB-", "O+", "O-");
+
+    private static final String INSERT = "INSERT INTO users (name, email, password, phone, date_of_birth, gender, "
+            + "blood_type, address, emergency_contact, emergency_phone, allergies, medications, role, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] INSERT_TYPES = {Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.DATE, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP};
+
+    private static final String UPDATE = "UPDATE users SET name = ?, password = COALESCE(?, password), "
+            + "phone = COALESCE(?, phone), date_of_birth = COALESCE(?, date_of_birth), gender = COALESCE(?, gender), "
+            + "blood_type = COALESCE(?, blood_type), address = COALESCE(?, address), "
+            + "emergency_contact = COALESCE(?, emergency_contact), emergency_phone = COALESCE(?, emergency_phone), "
+            + "allergies = COALESCE(?, allergies), medications = COALESCE(?, medications) WHERE id = ?";
+    private static final int[] UPDATE_TYPES = {Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.DATE,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.BIGINT};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    PatientRowImporter(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+            PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public ImportJob.Kind kind() {
+        return ImportJob.Kind.PATIENTS;
+    }
+
+    @Override
+    public List<String> requiredColumns() {
+        return List.of("name", "email");
+    }
+
+    @Override
+    public List<String> keyColumns() {
+        return List.of("email");
+    }
+
+    @Override
+    public Patient parse(CsvHeader header, CsvRecord record) {
+        String bloodType = header.value(record, "blood_type");
+        if (bloodType != null && !BLOOD_TYPES.contains(bloodType.toUpperCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("blood_type must be one of A+, A-, B+, B-, AB+, AB-, O+, O-");
+        }
+        return new Patient(
+                Fields.required(header.value(record, "name"), "name", 100),
+                Fields.email(header.value(record, "email"), "email"),
+                Fields.password(header.value(record, "password"), passwordEncoder),
+                Fields.optional(header.value(record, "phone"), "phone", 20),
+                Fields.date(header.value(record, "date_of_birth"), "date_of_birth"),
+                Fields.optional(header.value(record, "gender"), "gender", 10),
+                bloodType == null ? null : bloodType.toUpperCase(Locale.ROOT),
+                Fields.optional(header.value(record, "address"), "address", 500),
+                Fields.optional(header.value(record, "emergency_contact"), "emergency_contact", 100),
+                Fields.optional(header.value(record, "emergency_phone"), "emergency_phone", 20),
+                header.value(record, "allergies"),
+                header.value(record, "medications"));
+    }
+
+    @Override
+    public String keyOf(Patient row) {
+        return row.email();
+    }
+
+    @Override
+    public Upserted write(List<ParsedRow<Patient>> rows, List<RowError> rejected) {
+        Map<String, Account> existing = Account.byEmail(namedJdbcTemplate,
+                "SELECT id, email, role FROM users WHERE email IN (:emails)",
+                rows.stream().map(row -> row.value().email()).toList());
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (ParsedRow<Patient> row : rows) {
+            Patient p = row.value();
+            Account account = existing.get(row.key());
+            if (account == null) {
+                inserts.add(new Object[] {p.name(), p.email(), p.password() == null ? Fields.NO_PASSWORD : p.password(),
+                        p.phone(), p.dateOfBirth(), p.gender(), p.bloodType(), p.address(), p.emergencyContact(),
+                        p.emergencyPhone(), p.allergies(), p.medications(), User.Role.PATIENT.name(), now});
+            } else if (!User.Role.PATIENT.name().equals(account.role())) {
+                rejected.add(new RowError(row.line(), p.email(), "email belongs to an account that is not a patient"));
+            } else {
+                updates.add(new Object[] {p.name(), p.password(), p.phone(), p.dateOfBirth(), p.gender(), p.bloodType(),
+                        p.address(), p.emergencyContact(), p.emergencyPhone(), p.allergies(), p.medications(),
+                        account.id()});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT, inserts, INSERT_TYPES);
+        jdbcTemplate.batchUpdate(UPDATE, updates, UPDATE_TYPES);
+        return new Upserted(inserts.size(), updates.size());
+    }
+
+    record Patient(String name, String email, String password, String phone, LocalDate dateOfBirth, String gender,
+                   String bloodType, String address, String emergencyContact, String emergencyPhone,
+                   String allergies, String medications) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.mediway.backend.service.importer;
+
+/**
+ * A row that was rejected, for the error report
+ *
+ * @param line    line of the file the row starts on
+ * @param key     email(s) of the row as written in the file, may be null
+ * @param message why the row was rejected
+ */
+record RowError(long line, String key, String message) {
+}
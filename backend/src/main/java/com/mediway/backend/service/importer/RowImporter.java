@@ -0,0 +1,42 @@
+package com.mediway.backend.service.importer;
+
+import java.util.List;
+
+import com.mediway.backend.entity.ImportJob;
+
+/**
+ * Parses and writes the rows of one kind of import file.
+ *
+ * @param <T> a parsed row
+ */
+interface RowImporter<T> {
+
+    ImportJob.Kind kind();
+
+    /**
+     * Columns every file of this kind must have
+     */
+    List<String> requiredColumns();
+
+    /**
+     * Columns identifying a row in the error report
+     */
+    List<String> keyColumns();
+
+    /**
+     * Validate one row; called from several threads at once
+     * @throws IllegalArgumentException with the message for the error report
+     */
+    T parse(CsvHeader header, CsvRecord record);
+
+    /**
+     * Key of a parsed row; rows with equal keys (ignoring case) upsert the same record
+     */
+    String keyOf(T row);
+
+    /**
+     * Insert or update a chunk of rows with distinct keys in JDBC batches, in the caller's
+     * transaction. Rows that cannot be written are added to {@code rejected} instead.
+     */
+    Upserted write(List<ParsedRow<T>> rows, List<RowError> rejected);
+}
@@ -0,0 +1,7 @@
+package com.mediway.backend.service.importer;
+
+/**
+ * Rows of a chunk written as new records and as updates of existing ones
+ */
+record Upserted(int inserted, int updated) {
+}
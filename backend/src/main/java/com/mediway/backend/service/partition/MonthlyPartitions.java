@@ -0,0 +1,105 @@
+package com.mediway.backend.service.partition;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Naming and DDL for tables partitioned by month with MySQL RANGE COLUMNS on a DATETIME column.
+ *
+ * Each month is a partition named pYYYYMM holding rows before the first day of the next month;
+ * a last partition {@value #CATCH_ALL} takes everything later, so inserts never fail when
+ * maintenance is late. New months are split off the catch-all partition while it is still empty.
+ */
+final class MonthlyPartitions {
+
+    static final String CATCH_ALL = "pmax";
+
+    private static final DateTimeFormatter NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private MonthlyPartitions() {
+    }
+
+    static String nameOf(YearMonth month) {
+        return NAME.format(month);
+    }
+
+    /**
+     * Month of a partition name, empty for the catch-all partition or names not made here
+     */
+    static Optional<YearMonth> monthOf(String name) {
+        try {
+            return Optional.of(YearMonth.parse(name, NAME));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Months after the newest existing partition up to and including {@code through}
+     */
+    static List<YearMonth> missing(List<String> existing, YearMonth through) {
+        YearMonth newest = null;
+        for (String name : existing) {
+            YearMonth month = monthOf(name).orElse(null);
+            if (month != null && (newest == null || month.isAfter(newest))) {
+                newest = month;
+            }
+        }
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = newest == null ? through : newest.plusMonths(1); !month.isAfter(through);
+                month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    /**
+     * Monthly partitions that end before {@code before} starts
+     */
+    static List<String> olderThan(List<String> existing, YearMonth before) {
+        List<String> names = new ArrayList<>();
+        for (String name : existing) {
+            monthOf(name).filter(month -> month.isBefore(before)).ifPresent(month -> names.add(name));
+        }
+        return names;
+    }
+
+    /**
+     * Turns a plain table into one partition per month from {@code from} through {@code through}.
+     * MySQL needs the partition column in the primary key, so it becomes (id, column).
+     */
+    static String partitionTable(String table, String column, YearMonth from, YearMonth through) {
+        List<String> partitions = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(through); month = month.plusMonths(1)) {
+            partitions.add(definition(month));
+        }
+        partitions.add(catchAll());
+        return "ALTER TABLE " + table + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, " + column + ") "
+                + "PARTITION BY RANGE COLUMNS(" + column + ") (" + String.join(", ", partitions) + ")";
+    }
+
+    /**
+     * Splits the given months off the catch-all partition
+     */
+    static String addMonths(String table, List<YearMonth> months) {
+        List<String> partitions = new ArrayList<>();
+        for (YearMonth month : months) {
+            partitions.add(definition(month));
+        }
+        partitions.add(catchAll());
+        return "ALTER TABLE " + table + " REORGANIZE PARTITION " + CATCH_ALL + " INTO ("
+                + String.join(", ", partitions) + ")";
+    }
+
+    private static String definition(YearMonth month) {
+        return "PARTITION " + nameOf(month) + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+
+    private static String catchAll() {
+        return "PARTITION " + CATCH_ALL + " VALUES LESS THAN (MAXVALUE)";
+    }
+}
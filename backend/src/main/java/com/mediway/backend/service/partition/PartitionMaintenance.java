@@ -0,0 +1,169 @@
+package com.mediway.backend.service.partition;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps appointments and payments partitioned by month on appointment_date and payment_date,
+ * so queries on recent dates only read recent partitions (MySQL only; other databases are left alone).
+ *
+ * When enabled, each run after startup and then every {@code mediway.partitions.interval}:
+ * <ul>
+ * <li>partitions a table that is not partitioned yet, from the month of its oldest row (this
+ * rebuilds the table once, so do the first run in a quiet period)</li>
+ * <li>creates partitions for the next {@code mediway.partitions.months-ahead} months</li>
+ * <li>drops monthly partitions older than {@code mediway.partitions.retention} once they are
+ * empty, i.e. after RecordArchivalJob has moved their appointments to the archive. Partitions
+ * that still hold rows are kept, so payments are never dropped.</li>
+ * </ul>
+ * Every step checks the current layout first, so runs are idempotent.
+ */
+@Slf4j
+@Component
+public class PartitionMaintenance {
+
+    static final List<PartitionedTable> TABLES = List.of(
+            new PartitionedTable("appointments", "appointment_date"),
+            new PartitionedTable("payments", "payment_date"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final Duration retention;
+    private final Duration interval;
+
+    private ScheduledExecutorService scheduler;
+
+    public PartitionMaintenance(JdbcTemplate jdbcTemplate,
+            @Value("${mediway.partitions.enabled:false}") boolean enabled,
+            @Value("${mediway.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${mediway.partitions.retention:730d}") Duration retention,
+            @Value("${mediway.partitions.interval:1d}") Duration interval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.monthsAhead = Math.max(1, monthsAhead);
+        this.retention = retention;
+        this.interval = interval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void schedule() {
+        if (!enabled) {
+            return;
+        }
+        if (!isMySql()) {
+            log.info("Table partitioning is only supported on MySQL, skipping");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "PartitionMaintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runScheduled, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Bring every table up to date for the given day
+     */
+    public synchronized void run(LocalDate today) {
+        for (PartitionedTable table : TABLES) {
+            maintain(table, today);
+        }
+    }
+
+    void maintain(PartitionedTable table, LocalDate today) {
+        YearMonth through = YearMonth.from(today).plusMonths(monthsAhead);
+        List<String> partitions = partitionsOf(table.name());
+
+        if (partitions.isEmpty()) {
+            if (hasRowsWithoutDate(table)) {
+                log.warn("Not partitioning {}: some rows have no {}", table.name(), table.column());
+                return;
+            }
+            Timestamp oldest = jdbcTemplate.queryForObject(
+                    "SELECT MIN(" + table.column() + ") FROM " + table.name(), Timestamp.class);
+            YearMonth from = oldest == null ? YearMonth.from(today) : YearMonth.from(oldest.toLocalDateTime());
+            jdbcTemplate.execute(MonthlyPartitions.partitionTable(table.name(), table.column(), from, through));
+            log.info("Partitioned {} by month from {} through {}", table.name(), from, through);
+            return;
+        }
+
+        List<YearMonth> missing = MonthlyPartitions.missing(partitions, through);
+        if (!missing.isEmpty()) {
+            jdbcTemplate.execute(MonthlyPartitions.addMonths(table.name(), missing));
+            log.info("Added {} monthly partitions to {}", missing.size(), table.name());
+        }
+
+        YearMonth keepFrom = YearMonth.from(today.minusDays(retention.toDays()));
+        List<String> empty = new ArrayList<>();
+        for (String partition : MonthlyPartitions.olderThan(partitions, keepFrom)) {
+            if (isEmpty(table.name(), partition)) {
+                empty.add(partition);
+            }
+        }
+        // The catch-all partition is never listed, so MySQL always keeps one
+        if (!empty.isEmpty()) {
+            jdbcTemplate.execute("ALTER TABLE " + table.name() + " DROP PARTITION " + String.join(", ", empty));
+            log.info("Dropped {} empty partitions of {} older than {}", empty.size(), table.name(), keepFrom);
+        }
+    }
+
+    List<String> partitionsOf(String table) {
+        return jdbcTemplate.queryForList("SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL "
+                + "ORDER BY PARTITION_ORDINAL_POSITION", String.class, table);
+    }
+
+    private boolean hasRowsWithoutDate(PartitionedTable table) {
+        return !jdbcTemplate.queryForList("SELECT id FROM " + table.name() + " WHERE " + table.column()
+                + " IS NULL LIMIT 1", Long.class).isEmpty();
+    }
+
+    private boolean isEmpty(String table, String partition) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " PARTITION (" + partition + ") LIMIT 1",
+                Long.class).isEmpty();
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "MySQL".equalsIgnoreCase(product);
+    }
+
+    private void runScheduled() {
+        try {
+            run(LocalDate.now());
+        } catch (RuntimeException e) {
+            // Thrown out of the scheduler it would cancel later runs
+            log.warn("Partition maintenance failed, retrying in {}", interval, e);
+        }
+    }
+
+    record PartitionedTable(String name, String column) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.mediway.backend.service.photo;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage for immutable binary content such as resized photos.
+ * Content is keyed by its SHA-256 hash, so storing the same bytes twice keeps one copy
+ * and a hash can be used directly as an HTTP ETag.
+ */
+public interface BlobStore {
+
+    /**
+     * Store content unless it is already present
+     * @return SHA-256 hash of the content, in lower-case hex
+     */
+    String put(byte[] data, String contentType);
+
+    Optional<StoredBlob> get(String hash);
+
+    void delete(String hash);
+
+    static String hashOf(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.mediway.backend.service.photo;
+
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+import com.mediway.backend.entity.ImageBlob;
+import com.mediway.backend.repository.ImageBlobRepository;
+
+/**
+ * {@link BlobStore} backed by the image_blobs table
+ */
+@Component
+public class DatabaseBlobStore implements BlobStore {
+
+    private final ImageBlobRepository imageBlobRepository;
+
+    public DatabaseBlobStore(ImageBlobRepository imageBlobRepository) {
+        this.imageBlobRepository = imageBlobRepository;
+    }
+
+    @Override
+    public String put(byte[] data, String contentType) {
+        String hash = BlobStore.hashOf(data);
+        if (!imageBlobRepository.existsById(hash)) {
+            imageBlobRepository.save(new ImageBlob(hash, contentType, data));
+        }
+        return hash;
+    }
+
+    @Override
+    public Optional<StoredBlob> get(String hash) {
+        return imageBlobRepository.findById(hash)
+                .map(blob -> new StoredBlob(blob.getHash(), blob.getContentType(), blob.getData()));
+    }
+
+    @Override
+    public void delete(String hash) {
+        if (imageBlobRepository.existsById(hash)) {
+            imageBlobRepository.deleteById(hash);
+        }
+    }
+}
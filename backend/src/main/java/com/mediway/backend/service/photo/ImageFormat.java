@@ -0,0 +1,54 @@
+package com.mediway.backend.service.photo;
+
+import java.util.Optional;
+
+/**
+ * Image formats accepted for uploaded photos, recognised from their leading bytes rather
+ * than the content type the client declares. These are the formats ImageIO can decode,
+ * so every accepted photo can also be resized.
+ */
+public enum ImageFormat {
+    JPEG("image/jpeg", new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}),
+    PNG("image/png", new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}),
+    GIF("image/gif", new byte[]{'G', 'I', 'F', '8'});
+
+    // Enough leading bytes to tell all formats apart
+    public static final int SNIFF_LENGTH = 8;
+
+    private final String contentType;
+    private final byte[] signature;
+
+    ImageFormat(String contentType, byte[] signature) {
+        this.contentType = contentType;
+        this.signature = signature;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Identify the format from the first bytes of the content
+     * @return empty if the content does not start like any accepted format
+     */
+    public static Optional<ImageFormat> sniff(byte[] header) {
+        for (ImageFormat format : values()) {
+            if (startsWith(header, format.signature)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static boolean startsWith(byte[] header, byte[] signature) {
+        if (header.length < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if (header[i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
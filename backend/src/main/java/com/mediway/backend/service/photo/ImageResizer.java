@@ -0,0 +1,124 @@
+package com.mediway.backend.service.photo;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Decodes, downscales and re-encodes photos with the JDK's ImageIO, so no native
+ * image library is needed. Opaque images become JPEG; images with transparency stay PNG.
+ */
+final class ImageResizer {
+
+    // Refuse to decode anything larger (a 1 KB PNG can claim to be 50000 x 50000 pixels)
+    static final long MAX_PIXELS = 40_000_000L;
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private ImageResizer() {
+    }
+
+    /**
+     * Decode an image, checking its dimensions before allocating pixels
+     * @return the decoded image, or null if the format is not supported or the image is too large
+     */
+    static BufferedImage decode(byte[] data) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scale an image to fit in a square of {@code maxDimension} pixels and encode it
+     */
+    static EncodedImage resize(BufferedImage source, int maxDimension) throws IOException {
+        boolean transparent = source.getColorModel().hasAlpha();
+        BufferedImage scaled = scale(source, maxDimension, transparent);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (transparent) {
+            ImageIO.write(scaled, "png", out);
+            return new EncodedImage(out.toByteArray(), "image/png");
+        }
+        writeJpeg(scaled, out);
+        return new EncodedImage(out.toByteArray(), "image/jpeg");
+    }
+
+    private static BufferedImage scale(BufferedImage source, int maxDimension, boolean transparent) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double factor = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * factor));
+        int targetHeight = Math.max(1, (int) Math.round(height * factor));
+
+        // Halve repeatedly before the last step; a single bilinear step from a large image aliases badly
+        BufferedImage current = source;
+        int currentWidth = width;
+        int currentHeight = height;
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+            current = draw(current, currentWidth, currentHeight, transparent);
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, boolean transparent) {
+        BufferedImage target = new BufferedImage(width, height,
+                transparent ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (!transparent) {
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+            }
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static void writeJpeg(BufferedImage image, ByteArrayOutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    record EncodedImage(byte[] data, String contentType) {
+    }
+}
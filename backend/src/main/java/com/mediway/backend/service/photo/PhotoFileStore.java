@@ -0,0 +1,198 @@
+package com.mediway.backend.service.photo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Original doctor photos on the local file system, named by the SHA-256 of their content.
+ *
+ * Uploads are copied from the request stream to a temp file through a fixed-size buffer,
+ * so memory use per upload does not depend on the size of the photo. The format is checked
+ * from the first bytes and the size limit is enforced while copying, so an oversized or
+ * non-image upload is rejected without being read to the end. The finished file is then
+ * moved into place; identical photos end up as one file.
+ *
+ * Because identical photos share a file, a file may only be removed once nothing refers to it.
+ * A written file is held until the caller settles it, and {@link #deleteIfUnused} checks the
+ * holds and the caller's references under a per-hash lock, so it never removes a file that a
+ * concurrent upload of the same photo is about to record.
+ */
+@Component
+public class PhotoFileStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path root;
+    private final Path tempDirectory;
+    private final DataSize maxSize;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    // hash -> uploads written but not yet settled; guarded by the hash's lock
+    private final Map<String, Integer> holds = new HashMap<>();
+
+    public PhotoFileStore(
+            @Value("${mediway.photos.directory:data/photos}") Path root,
+            @Value("${mediway.photos.max-size:5MB}") DataSize maxSize) {
+        this.root = root.toAbsolutePath();
+        // Inside the store so the final move is a rename on the same file system
+        this.tempDirectory = this.root.resolve(".tmp");
+        this.maxSize = maxSize;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        try {
+            Files.createDirectories(tempDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create photo directory " + this.root, e);
+        }
+    }
+
+    /**
+     * Stream an uploaded photo into the store. The file is held until {@link #settle} is called
+     * with its hash, typically once the transaction recording the photo has completed.
+     * @throws IllegalArgumentException if the content is empty, not a JPEG, PNG or GIF image,
+     *         or larger than the configured maximum
+     */
+    public UploadedPhoto write(InputStream content) throws IOException {
+        byte[] header = content.readNBytes(ImageFormat.SNIFF_LENGTH);
+        if (header.length == 0) {
+            throw new IllegalArgumentException("Photo is empty");
+        }
+        ImageFormat format = ImageFormat.sniff(header)
+                .orElseThrow(() -> new IllegalArgumentException("Photo must be a JPEG, PNG or GIF image"));
+
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(tempDirectory, "upload-", ".part");
+        try {
+            long size;
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE);
+                    ReadableByteChannel in = Channels.newChannel(content)) {
+                size = append(out, digest, ByteBuffer.wrap(header), 0);
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    size = append(out, digest, buffer, size);
+                    buffer.clear();
+                }
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            synchronized (lockFor(hash)) {
+                moveIntoPlace(temp, pathOf(hash));
+                holds.merge(hash, 1, Integer::sum);
+            }
+            return new UploadedPhoto(hash, format.getContentType(), size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Optional<byte[]> read(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Files.readAllBytes(pathOf(hash)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read photo " + hash, e);
+        }
+    }
+
+    /**
+     * Drop the hold a {@link #write} took on a file
+     */
+    public void settle(String hash) {
+        synchronized (lockFor(hash)) {
+            holds.computeIfPresent(hash, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    /**
+     * Delete a file unless an upload still holds it or the caller still refers to it
+     * @param inUse checks the caller's references; called under the hash's lock
+     * @return whether the file is gone
+     */
+    public boolean deleteIfUnused(String hash, BooleanSupplier inUse) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return false;
+        }
+        synchronized (lockFor(hash)) {
+            if (holds.containsKey(hash) || inUse.getAsBoolean()) {
+                return false;
+            }
+            try {
+                Files.deleteIfExists(pathOf(hash));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot delete photo " + hash, e);
+            }
+            return true;
+        }
+    }
+
+    private long append(FileChannel out, MessageDigest digest, ByteBuffer chunk, long written) throws IOException {
+        long size = written + chunk.remaining();
+        if (size > maxSize.toBytes()) {
+            throw new IllegalArgumentException("Photo is larger than " + maxSize.toMegabytes() + "MB");
+        }
+        digest.update(chunk.duplicate());
+        while (chunk.hasRemaining()) {
+            out.write(chunk);
+        }
+        return size;
+    }
+
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+        if (Files.exists(target)) {
+            // Same content already stored
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Stored concurrently by another upload of the same photo
+        }
+    }
+
+    private Object lockFor(String hash) {
+        return locks[Math.floorMod(hash.hashCode(), locks.length)];
+    }
+
+    // Two-character subdirectories keep any one directory small
+    private Path pathOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
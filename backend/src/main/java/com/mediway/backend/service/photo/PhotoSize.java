@@ -0,0 +1,35 @@
+package com.mediway.backend.service.photo;
+
+import java.util.Locale;
+
+/**
+ * Resized variants generated for every uploaded photo. Each variant fits in a square
+ * of {@code maxDimension} pixels; smaller originals are never scaled up.
+ */
+public enum PhotoSize {
+    THUMBNAIL(96),
+    CARD(320),
+    FULL(1024);
+
+    private final int maxDimension;
+
+    PhotoSize(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    /**
+     * Parse a request parameter such as "thumbnail" or "CARD"
+     * @throws IllegalArgumentException for unknown sizes
+     */
+    public static PhotoSize parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown photo size: " + value + " (expected thumbnail, card or full)");
+        }
+    }
+}
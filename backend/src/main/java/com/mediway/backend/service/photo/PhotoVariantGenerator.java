@@ -0,0 +1,136 @@
+package com.mediway.backend.service.photo;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mediway.backend.entity.DoctorPhoto;
+import com.mediway.backend.event.DoctorPhotoStoredEvent;
+import com.mediway.backend.repository.DoctorPhotoRepository;
+import com.mediway.backend.service.DoctorPhotoService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the {@link PhotoSize} variants of a doctor photo in the background after upload.
+ *
+ * Resizing runs on a small dedicated pool once the upload transaction has committed, so
+ * the upload request does not wait for it. Until the variants exist the original is served.
+ * If the queue is full the work is dropped and counted; the next upload of that doctor's
+ * photo tries again.
+ */
+@Slf4j
+@Component
+public class PhotoVariantGenerator {
+
+    private final DoctorPhotoRepository doctorPhotoRepository;
+    private final BlobStore blobStore;
+    private final PhotoFileStore photoFileStore;
+    private final DoctorPhotoService doctorPhotoService;
+    private final ThreadPoolExecutor executor;
+    private final Timer duration;
+    private final Counter skipped;
+
+    public PhotoVariantGenerator(
+            DoctorPhotoRepository doctorPhotoRepository,
+            BlobStore blobStore,
+            PhotoFileStore photoFileStore,
+            DoctorPhotoService doctorPhotoService,
+            MeterRegistry meterRegistry,
+            @Value("${mediway.photos.variant-threads:1}") int threads,
+            @Value("${mediway.photos.variant-queue-capacity:64}") int queueCapacity) {
+        this.doctorPhotoRepository = doctorPhotoRepository;
+        this.blobStore = blobStore;
+        this.photoFileStore = photoFileStore;
+        this.doctorPhotoService = doctorPhotoService;
+        int poolSize = Math.max(1, threads);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("photo-variants-");
+        threadFactory.setDaemon(true);
+        // Resizing is background work; keep it from competing with request threads
+        threadFactory.setThreadPriority(Thread.MIN_PRIORITY);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+        this.duration = Timer.builder("photos.variants.duration")
+                .description("Time to decode a photo and create all of its resized variants")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("photos.variants.skipped")
+                .description("Photos whose variants were not generated (queue full or unreadable image)")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPhotoStored(DoctorPhotoStoredEvent event) {
+        try {
+            executor.execute(() -> generate(event.doctorId(), event.etag()));
+        } catch (RejectedExecutionException e) {
+            skipped.increment();
+            log.warn("Photo variant queue full, serving the original photo of doctor {}", event.doctorId());
+        }
+    }
+
+    /**
+     * Create and attach the variants of the doctor's current photo, if it still has the given etag
+     */
+    void generate(Long doctorId, String etag) {
+        DoctorPhoto photo = doctorPhotoRepository.findById(doctorId).orElse(null);
+        if (photo == null || !etag.equals(photo.getEtag())) {
+            // Replaced or deleted since the upload; a newer event covers the current photo
+            return;
+        }
+        byte[] original = photoFileStore.read(etag).orElse(null);
+        if (original == null) {
+            skipped.increment();
+            log.warn("Photo file of doctor {} is missing, no variants created", doctorId);
+            return;
+        }
+        try {
+            Map<PhotoSize, String> hashes = duration.recordCallable(() -> createVariants(original));
+            if (hashes == null) {
+                skipped.increment();
+                log.warn("Photo of doctor {} could not be decoded, serving the original only", doctorId);
+                return;
+            }
+            int updated = doctorPhotoRepository.updateVariants(doctorId, etag,
+                    hashes.get(PhotoSize.THUMBNAIL), hashes.get(PhotoSize.CARD), hashes.get(PhotoSize.FULL));
+            if (updated == 0) {
+                doctorPhotoService.releaseVariants(hashes.values());
+            }
+        } catch (Exception e) {
+            skipped.increment();
+            log.warn("Could not create photo variants for doctor {}: {}", doctorId, e.getMessage());
+        }
+    }
+
+    private Map<PhotoSize, String> createVariants(byte[] original) throws IOException {
+        BufferedImage image = ImageResizer.decode(original);
+        if (image == null) {
+            return null;
+        }
+        Map<PhotoSize, String> hashes = new EnumMap<>(PhotoSize.class);
+        for (PhotoSize size : PhotoSize.values()) {
+            ImageResizer.EncodedImage variant = ImageResizer.resize(image, size.getMaxDimension());
+            hashes.put(size, blobStore.put(variant.data(), variant.contentType()));
+        }
+        return hashes;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,7 @@
+package com.mediway.backend.service.photo;
+
+/**
+ * Content read back from a {@link BlobStore}
+ */
+public record StoredBlob(String hash, String contentType, byte[] data) {
+}
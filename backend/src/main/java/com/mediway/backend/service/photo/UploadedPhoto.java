@@ -0,0 +1,9 @@
+package com.mediway.backend.service.photo;
+
+/**
+ * Original photo written to the {@link PhotoFileStore}
+ * @param hash SHA-256 of the content, also its file name and HTTP ETag
+ * @param contentType content type recognised from the content itself
+ */
+public record UploadedPhoto(String hash, String contentType, long size) {
+}
@@ -0,0 +1,49 @@
+package com.mediway.backend.service.search;
+
+import java.util.Locale;
+import java.util.Optional;
+
+import com.mediway.backend.dto.projection.ClinicalTextView;
+
+/**
+ * Medical record fields covered by the clinical search index. The weight sets how much a
+ * match in the field counts when no field is chosen.
+ */
+public enum ClinicalField {
+
+    DIAGNOSIS(3),
+    TREATMENT(1),
+    PRESCRIPTION(2);
+
+    private final int weight;
+
+    ClinicalField(int weight) {
+        this.weight = weight;
+    }
+
+    public int weight() {
+        return weight;
+    }
+
+    String textOf(ClinicalTextView record) {
+        return switch (this) {
+            case DIAGNOSIS -> record.diagnosis();
+            case TREATMENT -> record.treatment();
+            case PRESCRIPTION -> record.prescription();
+        };
+    }
+
+    /**
+     * Field named by a request parameter, ignoring case
+     */
+    public static Optional<ClinicalField> parse(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(valueOf(name.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
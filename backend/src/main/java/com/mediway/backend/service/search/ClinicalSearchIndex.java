@@ -0,0 +1,452 @@
+package com.mediway.backend.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mediway.backend.dto.projection.ClinicalTextView;
+import com.mediway.backend.event.MedicalRecordChangedEvent;
+import com.mediway.backend.repository.MedicalRecordRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory inverted index over the diagnosis, treatment and prescription of medical records.
+ *
+ * Each field is split into words, normalised like the name indexes and without a few filler
+ * words. Every word maps to the records containing it, together with how often it occurs in
+ * each field. A query word matches every indexed word it is a prefix of ("amox" finds
+ * amoxicillin), all query words must match, and hits are ranked with BM25 over the
+ * field-weighted counts so a diagnosis match beats a passing mention in the treatment.
+ *
+ * Searches can be limited to one doctor's records, one patient and one field. The index is
+ * loaded in the background once the application is ready, kept current from
+ * {@link MedicalRecordChangedEvent}s and can be rebuilt on demand; {@link #isReady()} is false
+ * until the first load finishes.
+ */
+@Slf4j
+@Component
+public class ClinicalSearchIndex {
+
+    static final int LOAD_BATCH = 2000;
+
+    // Indexed words one query prefix may stand for; a one-letter prefix would otherwise touch everything
+    private static final int MAX_EXPANSIONS = 64;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "as", "at", "by", "for", "in", "is", "of", "on", "or", "per", "the", "to", "with");
+
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Segment segment = new Segment();
+    // Changes seen while a rebuild is loading, replayed onto the new segment before it is swapped in
+    private Map<Long, Optional<ClinicalTextView>> pendingChanges;
+    private volatile boolean ready;
+
+    public ClinicalSearchIndex(MedicalRecordRepository medicalRecordRepository) {
+        this.medicalRecordRepository = medicalRecordRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread loader = new Thread(this::rebuild, "ClinicalSearchIndex-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecordChanged(MedicalRecordChangedEvent event) {
+        if (event.recordId() == null) {
+            return;
+        }
+        Optional<ClinicalTextView> view = medicalRecordRepository.findClinicalTextById(event.recordId());
+        lock.writeLock().lock();
+        try {
+            segment = apply(segment, event.recordId(), view);
+            if (pendingChanges != null) {
+                pendingChanges.put(event.recordId(), view);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reload the whole index from the database; searches keep using the old data until done
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                return; // a rebuild is already running
+            }
+            pendingChanges = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment loaded = new Segment();
+        try {
+            long afterId = 0;
+            List<ClinicalTextView> batch;
+            do {
+                batch = medicalRecordRepository.findClinicalTextAfter(afterId, PageRequest.of(0, LOAD_BATCH));
+                for (ClinicalTextView record : batch) {
+                    loaded.add(record);
+                    afterId = record.id();
+                }
+            } while (batch.size() == LOAD_BATCH);
+        } catch (RuntimeException e) {
+            log.error("Failed to load clinical search index", e);
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Segment fresh = loaded;
+            for (Map.Entry<Long, Optional<ClinicalTextView>> change : pendingChanges.entrySet()) {
+                fresh = apply(fresh, change.getKey(), change.getValue());
+            }
+            pendingChanges = null;
+            segment = fresh;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Clinical search index loaded with {} records", size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Find records whose clinical text contains every word of the query, best match first;
+     * ties go to the newer record.
+     *
+     * @param field     only match in this field, or null for all fields
+     * @param doctorId  only records written by this doctor, or null for all doctors
+     * @param patientId only records of this patient, or null for all patients
+     * @return page of matching record ids
+     */
+    public Page<Long> search(String query, ClinicalField field, Long doctorId, Long patientId, int page, int size) {
+        PageRequest pageRequest = SearchService.pageRequest(page, size);
+        List<String> words = words(query);
+        if (words.isEmpty()) {
+            return Page.empty(pageRequest);
+        }
+        lock.readLock().lock();
+        try {
+            return segment.search(words, new Scope(field, doctorId, patientId), pageRequest);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return segment.liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Segment apply(Segment target, Long id, Optional<ClinicalTextView> record) {
+        target.remove(id);
+        record.ifPresent(target::add);
+        return target.compacted();
+    }
+
+    /**
+     * Normalised words of a text, without filler words
+     */
+    static List<String> words(String text) {
+        String normalized = TrigramSearchIndex.normalize(text);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : normalized.split(" ")) {
+            if (!STOP_WORDS.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private record Scope(ClinicalField field, Long doctorId, Long patientId) {
+    }
+
+    /**
+     * One generation of the index. Document numbers only grow; removed documents leave a
+     * hole that is reclaimed by {@link #compacted()} once holes outnumber live documents.
+     *
+     * Per document and word the occurrence counts of all fields are packed into one int,
+     * {@link #FIELD_BITS} bits per field.
+     */
+    private static final class Segment {
+
+        private static final int MIN_COMPACT_HOLES = 10_000;
+        private static final int FIELD_BITS = 10;
+        private static final int MAX_COUNT = (1 << FIELD_BITS) - 1;
+
+        private final TreeMap<String, Postings> postings = new TreeMap<>();
+        private final LongIntHashMap idToDoc = new LongIntHashMap(1024);
+
+        private long[] recordIds = new long[1024];
+        private long[] doctorIds = new long[1024];
+        private long[] patientIds = new long[1024];
+        private int[] lengths = new int[1024];
+        private String[][] docWords = new String[1024][];
+        private int[][] docCounts = new int[1024][];
+        private int docCount;
+        private int liveDocs;
+        private long totalLength;
+
+        void add(ClinicalTextView record) {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            int length = 0;
+            for (ClinicalField field : ClinicalField.values()) {
+                int shift = field.ordinal() * FIELD_BITS;
+                for (String word : words(field.textOf(record))) {
+                    counts.merge(word, 1 << shift, (a, b) -> countIn(a, shift) < MAX_COUNT ? a + b : a);
+                    length += field.weight();
+                }
+            }
+            String[] words = counts.keySet().toArray(new String[0]);
+            int[] packed = counts.values().stream().mapToInt(Integer::intValue).toArray();
+            add(record.id(), nullToZero(record.doctorId()), nullToZero(record.patientId()), words, packed, length);
+        }
+
+        private void add(long id, long doctorId, long patientId, String[] words, int[] packed, int length) {
+            if (docCount == recordIds.length) {
+                int capacity = docCount + (docCount >> 1);
+                recordIds = Arrays.copyOf(recordIds, capacity);
+                doctorIds = Arrays.copyOf(doctorIds, capacity);
+                patientIds = Arrays.copyOf(patientIds, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+                docWords = Arrays.copyOf(docWords, capacity);
+                docCounts = Arrays.copyOf(docCounts, capacity);
+            }
+            int doc = docCount++;
+            recordIds[doc] = id;
+            doctorIds[doc] = doctorId;
+            patientIds[doc] = patientId;
+            lengths[doc] = length;
+            docWords[doc] = words;
+            docCounts[doc] = packed;
+            idToDoc.put(id, doc);
+            liveDocs++;
+            totalLength += length;
+            for (int i = 0; i < words.length; i++) {
+                postings.computeIfAbsent(words[i], w -> new Postings()).add(doc, packed[i]);
+            }
+        }
+
+        void remove(long id) {
+            int doc = idToDoc.remove(id);
+            if (doc == LongIntHashMap.MISSING) {
+                return;
+            }
+            for (String word : docWords[doc]) {
+                Postings list = postings.get(word);
+                list.remove(doc);
+                if (list.size == 0) {
+                    postings.remove(word);
+                }
+            }
+            docWords[doc] = null;
+            docCounts[doc] = null;
+            totalLength -= lengths[doc];
+            liveDocs--;
+        }
+
+        /**
+         * Copy of this segment without the holes, or this segment if there are too few to matter
+         */
+        Segment compacted() {
+            int holes = docCount - liveDocs;
+            if (holes <= MIN_COMPACT_HOLES || holes <= liveDocs) {
+                return this;
+            }
+            Segment compacted = new Segment();
+            for (int doc = 0; doc < docCount; doc++) {
+                if (docWords[doc] != null) {
+                    compacted.add(recordIds[doc], doctorIds[doc], patientIds[doc], docWords[doc], docCounts[doc], lengths[doc]);
+                }
+            }
+            return compacted;
+        }
+
+        Page<Long> search(List<String> words, Scope scope, PageRequest pageRequest) {
+            if (liveDocs == 0) {
+                return Page.empty(pageRequest);
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / liveDocs);
+
+            // Rarest word first, so the candidate set is smallest from the start
+            List<SortedMap<String, Postings>> expansions = new ArrayList<>();
+            for (String word : words) {
+                SortedMap<String, Postings> matches = postings.subMap(word, word + Character.MAX_VALUE);
+                if (matches.isEmpty()) {
+                    return Page.empty(pageRequest);
+                }
+                expansions.add(matches);
+            }
+            expansions.sort(Comparator.comparingLong(Segment::postingCount));
+
+            Map<Integer, Double> scores = null;
+            for (SortedMap<String, Postings> matches : expansions) {
+                Map<Integer, Double> wordScores = new HashMap<>();
+                int expanded = 0;
+                for (Postings list : matches.values()) {
+                    if (expanded++ == MAX_EXPANSIONS) {
+                        break;
+                    }
+                    double idf = Math.log(1 + (liveDocs - list.size + 0.5) / (list.size + 0.5));
+                    for (int i = 0; i < list.size; i++) {
+                        int doc = list.docs[i];
+                        if ((scores != null && !scores.containsKey(doc)) || !inScope(doc, scope)) {
+                            continue;
+                        }
+                        int frequency = frequency(list.counts[i], scope.field());
+                        if (frequency == 0) {
+                            continue;
+                        }
+                        double norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                        double score = idf * frequency * (K1 + 1) / (frequency + norm);
+                        // Several expansions of one prefix count as the best of them
+                        wordScores.merge(doc, score, Math::max);
+                    }
+                }
+                if (scores != null) {
+                    for (Map.Entry<Integer, Double> entry : wordScores.entrySet()) {
+                        entry.setValue(entry.getValue() + scores.get(entry.getKey()));
+                    }
+                }
+                scores = wordScores;
+                if (scores.isEmpty()) {
+                    return Page.empty(pageRequest);
+                }
+            }
+
+            int limit = (int) Math.min(Integer.MAX_VALUE, pageRequest.getOffset() + pageRequest.getPageSize());
+            // Worst hit on top, so it can be dropped when a better one arrives
+            PriorityQueue<Hit> best = new PriorityQueue<>(Hit.ORDER.reversed());
+            for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+                Hit hit = new Hit(recordIds[entry.getKey()], entry.getValue());
+                if (best.size() < limit) {
+                    best.add(hit);
+                } else if (Hit.ORDER.compare(hit, best.peek()) < 0) {
+                    best.poll();
+                    best.add(hit);
+                }
+            }
+            List<Hit> ranked = new ArrayList<>(best);
+            ranked.sort(Hit.ORDER);
+            List<Long> ids = ranked.stream()
+                    .skip(pageRequest.getOffset())
+                    .map(Hit::id)
+                    .toList();
+            return new PageImpl<>(ids, pageRequest, scores.size());
+        }
+
+        private boolean inScope(int doc, Scope scope) {
+            return (scope.doctorId() == null || doctorIds[doc] == scope.doctorId())
+                    && (scope.patientId() == null || patientIds[doc] == scope.patientId());
+        }
+
+        // Field-weighted occurrences, or the plain count in one field
+        private static int frequency(int packed, ClinicalField field) {
+            if (field != null) {
+                return countIn(packed, field.ordinal() * FIELD_BITS);
+            }
+            int frequency = 0;
+            for (ClinicalField each : ClinicalField.values()) {
+                frequency += each.weight() * countIn(packed, each.ordinal() * FIELD_BITS);
+            }
+            return frequency;
+        }
+
+        private static int countIn(int packed, int shift) {
+            return (packed >>> shift) & MAX_COUNT;
+        }
+
+        private static long postingCount(SortedMap<String, Postings> matches) {
+            long count = 0;
+            for (Postings list : matches.values()) {
+                count += list.size;
+            }
+            return count;
+        }
+
+        private static long nullToZero(Long id) {
+            return id != null ? id : 0;
+        }
+    }
+
+    /**
+     * Documents containing one word, in increasing order, with their packed field counts
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int[] counts = new int[4];
+        private int size;
+
+        // Documents are numbered in insertion order, so appends keep the list sorted
+        void add(int doc, int packed) {
+            if (size == docs.length) {
+                int capacity = size + (size >> 1) + 1;
+                docs = Arrays.copyOf(docs, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+            }
+            docs[size] = doc;
+            counts[size] = packed;
+            size++;
+        }
+
+        void remove(int doc) {
+            int index = Arrays.binarySearch(docs, 0, size, doc);
+            if (index >= 0) {
+                System.arraycopy(docs, index + 1, docs, index, size - index - 1);
+                System.arraycopy(counts, index + 1, counts, index, size - index - 1);
+                size--;
+            }
+        }
+    }
+
+    private record Hit(long id, double score) {
+
+        static final Comparator<Hit> ORDER = Comparator.comparingDouble(Hit::score).reversed()
+                .thenComparing(Comparator.comparingLong(Hit::id).reversed());
+    }
+}
@@ -0,0 +1,53 @@
+package com.mediway.backend.service.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.mediway.backend.dto.projection.DoctorSearchView;
+import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.security.AccountType;
+
+/**
+ * Trigram index over doctor names, specializations and emails
+ */
+@Component
+@ConditionalOnProperty(name = "mediway.search.engine", havingValue = "memory", matchIfMissing = true)
+public class DoctorSearchIndex extends TrigramSearchIndex<DoctorSearchView> {
+
+    private final DoctorRepository doctorRepository;
+
+    public DoctorSearchIndex(DoctorRepository doctorRepository) {
+        super(AccountType.DOCTOR);
+        this.doctorRepository = doctorRepository;
+    }
+
+    @Override
+    protected List<DoctorSearchView> loadAfter(long afterId, int batchSize) {
+        return doctorRepository.findSearchViewsAfter(afterId, PageRequest.of(0, batchSize));
+    }
+
+    @Override
+    protected Optional<DoctorSearchView> loadById(long id) {
+        return doctorRepository.findSearchViewById(id);
+    }
+
+    @Override
+    protected long idOf(DoctorSearchView doctor) {
+        return doctor.id();
+    }
+
+    @Override
+    protected String nameOf(DoctorSearchView doctor) {
+        return doctor.name();
+    }
+
+    @Override
+    protected List<String> otherFieldsOf(DoctorSearchView doctor) {
+        return Arrays.asList(doctor.specialization(), doctor.email());
+    }
+}
@@ -0,0 +1,49 @@
+package com.mediway.backend.service.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+
+import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.repository.UserRepository;
+
+/**
+ * Search engine backed by the per-node trigram indexes.
+ *
+ * Until an index has finished its first load, queries for it go to the database
+ * with the same prefix matching as {@link SqlSearchService}.
+ */
+@Service
+@ConditionalOnProperty(name = "mediway.search.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemorySearchService implements SearchService {
+
+    private final PatientSearchIndex patientSearchIndex;
+    private final DoctorSearchIndex doctorSearchIndex;
+    private final SqlSearchService warmUpFallback;
+
+    public InMemorySearchService(
+            PatientSearchIndex patientSearchIndex,
+            DoctorSearchIndex doctorSearchIndex,
+            UserRepository userRepository,
+            DoctorRepository doctorRepository) {
+        this.patientSearchIndex = patientSearchIndex;
+        this.doctorSearchIndex = doctorSearchIndex;
+        this.warmUpFallback = new SqlSearchService(userRepository, doctorRepository);
+    }
+
+    @Override
+    public Page<Long> searchPatients(String query, int page, int size) {
+        if (!patientSearchIndex.isReady()) {
+            return warmUpFallback.searchPatients(query, page, size);
+        }
+        return patientSearchIndex.search(query, page, size);
+    }
+
+    @Override
+    public Page<Long> searchDoctors(String query, int page, int size) {
+        if (!doctorSearchIndex.isReady()) {
+            return warmUpFallback.searchDoctors(query, page, size);
+        }
+        return doctorSearchIndex.search(query, page, size);
+    }
+}
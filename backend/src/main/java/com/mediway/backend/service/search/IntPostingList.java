@@ -0,0 +1,52 @@
+package com.mediway.backend.service.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, growable list of document numbers for one trigram. Not thread-safe.
+ */
+final class IntPostingList {
+
+    private int[] docs = new int[4];
+    private int size;
+
+    /**
+     * Append a document; documents are numbered in insertion order, so appends keep the list sorted
+     */
+    void add(int doc) {
+        if (size > 0 && docs[size - 1] >= doc) {
+            if (docs[size - 1] == doc) {
+                return;
+            }
+            throw new IllegalArgumentException("Documents must be added in increasing order");
+        }
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+        }
+        docs[size++] = doc;
+    }
+
+    void remove(int doc) {
+        int index = Arrays.binarySearch(docs, 0, size, doc);
+        if (index >= 0) {
+            System.arraycopy(docs, index + 1, docs, index, size - index - 1);
+            size--;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return docs[index];
+    }
+
+    /**
+     * Index of the first entry >= doc, searching from {@code from}; used to walk several lists in step
+     */
+    int seek(int doc, int from) {
+        int index = Arrays.binarySearch(docs, from, size, doc);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,53 @@
+package com.mediway.backend.service.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.mediway.backend.dto.projection.PatientSearchView;
+import com.mediway.backend.repository.UserRepository;
+import com.mediway.backend.security.AccountType;
+
+/**
+ * Trigram index over patient names, emails and phone numbers (digits only)
+ */
+@Component
+@ConditionalOnProperty(name = "mediway.search.engine", havingValue = "memory", matchIfMissing = true)
+public class PatientSearchIndex extends TrigramSearchIndex<PatientSearchView> {
+
+    private final UserRepository userRepository;
+
+    public PatientSearchIndex(UserRepository userRepository) {
+        super(AccountType.USER);
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    protected List<PatientSearchView> loadAfter(long afterId, int batchSize) {
+        return userRepository.findSearchViewsAfter(afterId, PageRequest.of(0, batchSize));
+    }
+
+    @Override
+    protected Optional<PatientSearchView> loadById(long id) {
+        return userRepository.findSearchViewById(id);
+    }
+
+    @Override
+    protected long idOf(PatientSearchView patient) {
+        return patient.id();
+    }
+
+    @Override
+    protected String nameOf(PatientSearchView patient) {
+        return patient.name();
+    }
+
+    @Override
+    protected List<String> otherFieldsOf(PatientSearchView patient) {
+        return Arrays.asList(patient.email(), digitsOnly(patient.phone()));
+    }
+}
@@ -0,0 +1,27 @@
+package com.mediway.backend.service.search;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Free-text lookup of patients and doctors, returning ids best match first.
+ *
+ * The engine is chosen with {@code mediway.search.engine}: "memory" keeps a trigram index
+ * in each node (fast, matches anywhere in a word), "sql" queries the database with indexed
+ * prefix matches (no per-node memory or warm-up, suits multi-node deployments).
+ */
+public interface SearchService {
+
+    int MAX_PAGE_SIZE = 100;
+
+    Page<Long> searchPatients(String query, int page, int size);
+
+    Page<Long> searchDoctors(String query, int page, int size);
+
+    /**
+     * Page request with the page clamped to >= 0 and the size to 1..{@link #MAX_PAGE_SIZE}
+     */
+    static PageRequest pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(0, page), Math.min(Math.max(1, size), MAX_PAGE_SIZE));
+    }
+}
@@ -0,0 +1,72 @@
+package com.mediway.backend.service.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.repository.UserRepository;
+
+/**
+ * Search engine that asks the database directly.
+ *
+ * Uses LIKE 'query%' on indexed columns, so every node sees the same data without warm-up,
+ * at the cost of matching only from the start of a column (e.g. "john do" finds "John Doe",
+ * "doe" does not). Case-insensitivity comes from the column collation.
+ */
+@Service
+@ConditionalOnProperty(name = "mediway.search.engine", havingValue = "sql")
+public class SqlSearchService implements SearchService {
+
+    private static final Sort BY_NAME = Sort.by("name").and(Sort.by("id"));
+
+    private final UserRepository userRepository;
+    private final DoctorRepository doctorRepository;
+
+    public SqlSearchService(UserRepository userRepository, DoctorRepository doctorRepository) {
+        this.userRepository = userRepository;
+        this.doctorRepository = doctorRepository;
+    }
+
+    @Override
+    public Page<Long> searchPatients(String query, int page, int size) {
+        PageRequest pageRequest = SearchService.pageRequest(page, size);
+        String prefix = likePrefix(query);
+        if (prefix == null) {
+            return Page.empty(pageRequest);
+        }
+        return userRepository.searchIdsByPrefix(prefix, pageRequest.withSort(BY_NAME));
+    }
+
+    @Override
+    public Page<Long> searchDoctors(String query, int page, int size) {
+        PageRequest pageRequest = SearchService.pageRequest(page, size);
+        String prefix = likePrefix(query);
+        if (prefix == null) {
+            return Page.empty(pageRequest);
+        }
+        return doctorRepository.searchIdsByPrefix(prefix, pageRequest.withSort(BY_NAME));
+    }
+
+    /**
+     * Trimmed query with single spaces and LIKE wildcards escaped by '!', followed by '%';
+     * null for a blank query
+     */
+    static String likePrefix(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        String collapsed = query.trim().replaceAll("\\s+", " ");
+        StringBuilder pattern = new StringBuilder(collapsed.length() + 1);
+        for (int i = 0; i < collapsed.length(); i++) {
+            char c = collapsed.charAt(i);
+            if (c == '!' || c == '%' || c == '_') {
+                pattern.append('!');
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
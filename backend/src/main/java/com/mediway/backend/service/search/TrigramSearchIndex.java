@@ -0,0 +1,480 @@
+package com.mediway.backend.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mediway.backend.event.AccountChangedEvent;
+import com.mediway.backend.security.AccountType;
+
+/**
+ * In-memory trigram index over a name plus a few secondary text fields per record.
+ *
+ * Every word of a record's fields is split into overlapping 3-character grams (plus two
+ * padded grams so one- and two-letter prefixes can be looked up). Grams are packed into a
+ * long and map to a sorted list of int document numbers, so a lookup is a few posting-list
+ * intersections followed by a substring check on the surviving candidates.
+ *
+ * The index is loaded from the database in the background once the application is ready
+ * and kept current from {@link AccountChangedEvent}s for its account type;
+ * {@link #isReady()} is false until the first load finishes.
+ *
+ * @param <V> projection the index is loaded from
+ */
+public abstract class TrigramSearchIndex<V> {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private static final int LOAD_BATCH = 5000;
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private final AccountType accountType;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Segment segment = new Segment();
+    // Changes seen while a rebuild is loading, replayed onto the new segment before it is swapped in
+    private Map<Long, Optional<V>> pendingChanges;
+    private volatile boolean ready;
+
+    protected TrigramSearchIndex(AccountType accountType) {
+        this.accountType = accountType;
+    }
+
+    /**
+     * Next batch of records with an id greater than {@code afterId}, in id order
+     */
+    protected abstract List<V> loadAfter(long afterId, int batchSize);
+
+    protected abstract Optional<V> loadById(long id);
+
+    protected abstract long idOf(V record);
+
+    /**
+     * Field used for ranking; matches here beat matches in the other fields
+     */
+    protected abstract String nameOf(V record);
+
+    /**
+     * Secondary fields to match; null entries count as empty
+     */
+    protected abstract List<String> otherFieldsOf(V record);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread loader = new Thread(this::rebuild, getClass().getSimpleName() + "-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (event.type() != accountType) {
+            return;
+        }
+        if (event.id() == null) {
+            loadInBackground();
+            return;
+        }
+        Optional<V> view = loadById(event.id());
+        lock.writeLock().lock();
+        try {
+            segment = apply(segment, event.id(), view);
+            if (pendingChanges != null) {
+                pendingChanges.put(event.id(), view);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reload the whole index from the database; searches keep using the old data until done
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                return; // a rebuild is already running
+            }
+            pendingChanges = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment loaded = new Segment();
+        try {
+            long afterId = 0;
+            List<V> batch;
+            do {
+                batch = loadAfter(afterId, LOAD_BATCH);
+                for (V record : batch) {
+                    add(loaded, record);
+                    afterId = idOf(record);
+                }
+            } while (batch.size() == LOAD_BATCH);
+        } catch (RuntimeException e) {
+            log.error("Failed to load search index", e);
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Segment fresh = loaded;
+            for (Map.Entry<Long, Optional<V>> change : pendingChanges.entrySet()) {
+                fresh = apply(fresh, change.getKey(), change.getValue());
+            }
+            pendingChanges = null;
+            segment = fresh;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index loaded with {} records", size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Find records whose fields contain every word of the query.
+     *
+     * Results are ranked exact name match first, then name prefix, then other name
+     * matches, then matches in the other fields; ties go to the shorter name and then the lower id.
+     *
+     * @return page of matching ids, best match first
+     */
+    public Page<Long> search(String query, int page, int size) {
+        PageRequest pageRequest = SearchService.pageRequest(page, size);
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return Page.empty(pageRequest);
+        }
+        lock.readLock().lock();
+        try {
+            return segment.search(normalized, pageRequest);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return segment.liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Segment apply(Segment target, Long id, Optional<V> record) {
+        target.remove(id);
+        record.ifPresent(r -> add(target, r));
+        return target.compacted();
+    }
+
+    private void add(Segment target, V record) {
+        String name = normalize(nameOf(record));
+        StringBuilder text = new StringBuilder(name);
+        for (String field : otherFieldsOf(record)) {
+            text.append(FIELD_SEPARATOR).append(normalize(field));
+        }
+        target.add(idOf(record), text.toString(), name.length());
+    }
+
+    /**
+     * Lowercase, strip accents and turn everything but letters and digits into single spaces
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder out = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && out.length() > 0) {
+                    out.append(' ');
+                }
+                pendingSpace = false;
+                out.append(Character.toLowerCase(c));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Keep only digits, so phone numbers match however they were formatted
+     */
+    protected static String digitsOnly(String phone) {
+        if (phone == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    /**
+     * Grams stored for a document: two padded prefix grams plus every inner gram of each word
+     */
+    static void indexGrams(String text, LongConsumer consumer) {
+        forEachWord(text, (start, end) -> {
+            consumer.accept(gram(' ', ' ', text.charAt(start)));
+            if (end - start >= 2) {
+                consumer.accept(gram(' ', text.charAt(start), text.charAt(start + 1)));
+            }
+            innerGrams(text, start, end, consumer);
+        });
+    }
+
+    /**
+     * Grams looked up for a query: inner grams for words of three or more characters
+     * (matches anywhere in a word), padded prefix grams for shorter words
+     */
+    static void queryGrams(String query, LongConsumer consumer) {
+        forEachWord(query, (start, end) -> {
+            if (end - start >= 3) {
+                innerGrams(query, start, end, consumer);
+            } else {
+                consumer.accept(gram(' ', ' ', query.charAt(start)));
+                if (end - start == 2) {
+                    consumer.accept(gram(' ', query.charAt(start), query.charAt(start + 1)));
+                }
+            }
+        });
+    }
+
+    private static void innerGrams(String text, int start, int end, LongConsumer consumer) {
+        for (int i = start; i + 3 <= end; i++) {
+            consumer.accept(gram(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2)));
+        }
+    }
+
+    private static long gram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private interface WordVisitor {
+        void visit(int start, int end);
+    }
+
+    private static void forEachWord(String text, WordVisitor visitor) {
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean boundary = i == text.length() || text.charAt(i) == ' ' || text.charAt(i) == FIELD_SEPARATOR;
+            if (boundary) {
+                if (start >= 0) {
+                    visitor.visit(start, i);
+                    start = -1;
+                }
+            } else if (start < 0) {
+                start = i;
+            }
+        }
+    }
+
+    /**
+     * One generation of the index. Document numbers only grow; removed documents leave a
+     * hole that is reclaimed by {@link #compacted()} once holes outnumber live documents.
+     */
+    private static final class Segment {
+
+        private static final int MIN_COMPACT_HOLES = 10_000;
+
+        private long[] docIds = new long[1024];
+        private String[] docTexts = new String[1024];
+        private int[] nameLengths = new int[1024];
+        private int docCount;
+        private int liveDocs;
+
+        private final LongIntHashMap idToDoc = new LongIntHashMap(1024);
+        private final LongIntHashMap gramToList = new LongIntHashMap(4096);
+        private IntPostingList[] lists = new IntPostingList[4096];
+        private int listCount;
+
+        void remove(long id) {
+            int doc = idToDoc.remove(id);
+            if (doc == LongIntHashMap.MISSING) {
+                return;
+            }
+            indexGrams(docTexts[doc], gram -> {
+                int list = gramToList.get(gram);
+                if (list != LongIntHashMap.MISSING) {
+                    lists[list].remove(doc);
+                }
+            });
+            docTexts[doc] = null;
+            liveDocs--;
+        }
+
+        /**
+         * Copy of this segment without the holes, or this segment if there are too few to matter
+         */
+        Segment compacted() {
+            int holes = docCount - liveDocs;
+            if (holes <= MIN_COMPACT_HOLES || holes <= liveDocs) {
+                return this;
+            }
+            Segment compacted = new Segment();
+            for (int doc = 0; doc < docCount; doc++) {
+                if (docTexts[doc] != null) {
+                    compacted.add(docIds[doc], docTexts[doc], nameLengths[doc]);
+                }
+            }
+            return compacted;
+        }
+
+        void add(long id, String text, int nameLength) {
+            if (docCount == docIds.length) {
+                int capacity = docCount + (docCount >> 1);
+                docIds = Arrays.copyOf(docIds, capacity);
+                docTexts = Arrays.copyOf(docTexts, capacity);
+                nameLengths = Arrays.copyOf(nameLengths, capacity);
+            }
+            int doc = docCount++;
+            docIds[doc] = id;
+            docTexts[doc] = text;
+            nameLengths[doc] = nameLength;
+            idToDoc.put(id, doc);
+            liveDocs++;
+            // Postings ignore a repeated doc, so grams occurring twice in one record are fine
+            indexGrams(text, gram -> listFor(gram).add(doc));
+        }
+
+        Page<Long> search(String query, PageRequest pageRequest) {
+            List<IntPostingList> postings = new ArrayList<>();
+            boolean[] missing = {false};
+            queryGrams(query, gram -> {
+                int list = gramToList.get(gram);
+                if (list == LongIntHashMap.MISSING || lists[list].size() == 0) {
+                    missing[0] = true;
+                } else if (!postings.contains(lists[list])) {
+                    postings.add(lists[list]);
+                }
+            });
+            if (missing[0] || postings.isEmpty()) {
+                return Page.empty(pageRequest);
+            }
+            postings.sort(Comparator.comparingInt(IntPostingList::size));
+
+            String[] words = query.split(" ");
+            int limit = (int) Math.min(Integer.MAX_VALUE, pageRequest.getOffset() + pageRequest.getPageSize());
+            // Worst hit on top, so it can be dropped when a better one arrives
+            PriorityQueue<Hit> best = new PriorityQueue<>(Hit.ORDER.reversed());
+            int total = 0;
+
+            IntPostingList smallest = postings.get(0);
+            int[] cursors = new int[postings.size()];
+            candidates:
+            for (int i = 0; i < smallest.size(); i++) {
+                int doc = smallest.get(i);
+                for (int p = 1; p < postings.size(); p++) {
+                    IntPostingList other = postings.get(p);
+                    cursors[p] = other.seek(doc, cursors[p]);
+                    if (cursors[p] == other.size()) {
+                        break candidates;
+                    }
+                    if (other.get(cursors[p]) != doc) {
+                        continue candidates;
+                    }
+                }
+                String text = docTexts[doc];
+                if (!containsAll(text, words)) {
+                    continue; // grams matched but not as a contiguous substring
+                }
+                total++;
+                Hit hit = new Hit(docIds[doc], score(text.substring(0, nameLengths[doc]), query, words), nameLengths[doc]);
+                if (best.size() < limit) {
+                    best.add(hit);
+                } else if (Hit.ORDER.compare(hit, best.peek()) < 0) {
+                    best.poll();
+                    best.add(hit);
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(best);
+            ranked.sort(Hit.ORDER);
+            List<Long> ids = ranked.stream()
+                    .skip(pageRequest.getOffset())
+                    .map(Hit::id)
+                    .toList();
+            return new PageImpl<>(ids, pageRequest, total);
+        }
+
+        private IntPostingList listFor(long gram) {
+            int list = gramToList.get(gram);
+            if (list == LongIntHashMap.MISSING) {
+                if (listCount == lists.length) {
+                    lists = Arrays.copyOf(lists, listCount << 1);
+                }
+                list = listCount++;
+                lists[list] = new IntPostingList();
+                gramToList.put(gram, list);
+            }
+            return lists[list];
+        }
+
+        private static boolean containsAll(String text, String[] words) {
+            for (String word : words) {
+                if (!text.contains(word)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int score(String name, String query, String[] words) {
+            if (name.equals(query)) {
+                return 3;
+            }
+            if (name.startsWith(query)) {
+                return 2;
+            }
+            return containsAll(name, words) ? 1 : 0;
+        }
+    }
+
+    private record Hit(long id, int score, int nameLength) {
+
+        static final Comparator<Hit> ORDER = Comparator.comparingInt(Hit::score).reversed()
+                .thenComparingInt(Hit::nameLength)
+                .thenComparingLong(Hit::id);
+    }
+}
@@ -16,12 +16,13 @@ VALUES
 
 -- Seed appointment data for testing (assumes doctor_id=1 and patient_ids 1-5 exist)
 -- Note: These will only insert if the IDs exist in users and doctors tables
-INSERT IGNORE INTO appointments (patient_id, doctor_id, appointment_date, status, notes, created_at)
+-- Appointment ids come from id_generators, not AUTO_INCREMENT, so the seeds carry their own
+INSERT IGNORE INTO appointments (id, patient_id, doctor_id, appointment_date, status, notes, created_at)
 VALUES 
-  (1, 1, '2025-10-23 13:21:00', 'COMPLETED', 'Regular checkup completed', NOW()),
-  (1, 1, '2025-10-30 13:30:00', 'SCHEDULED', 'Follow-up appointment', NOW()),
-  (1, 1, '2025-10-31 14:30:00', 'SCHEDULED', NULL, NOW()),
-  (1, 1, '2025-10-23 09:00:00', 'COMPLETED', 'Morning consultation', NOW()),
-  (4, 1, '2025-10-29 13:54:00', 'CANCELLED', 'Patient requested cancellation', NOW()),
-  (4, 1, '2025-10-31 15:30:00', 'CANCELLED', 'Rescheduled to another date', NOW()),
-  (5, 1, '2025-10-22 14:00:00', 'COMPLETED', 'Initial consultation', NOW());
+  (1, 1, 1, '2025-10-23 13:21:00', 'COMPLETED', 'Regular checkup completed', NOW()),
+  (2, 1, 1, '2025-10-30 13:30:00', 'SCHEDULED', 'Follow-up appointment', NOW()),
+  (3, 1, 1, '2025-10-31 14:30:00', 'SCHEDULED', NULL, NOW()),
+  (4, 1, 1, '2025-10-23 09:00:00', 'COMPLETED', 'Morning consultation', NOW()),
+  (5, 4, 1, '2025-10-29 13:54:00', 'CANCELLED', 'Patient requested cancellation', NOW()),
+  (6, 4, 1, '2025-10-31 15:30:00', 'CANCELLED', 'Rescheduled to another date', NOW()),
+  (7, 5, 1, '2025-10-22 14:00:00', 'COMPLETED', 'Initial consultation', NOW());
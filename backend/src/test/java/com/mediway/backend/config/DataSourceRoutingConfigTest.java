@@ -0,0 +1,140 @@
+package com.mediway.backend.config;
+
+/*
+ * TESTS SUMMARY (DataSourceRoutingConfigTest):
+ * - Declared read-only transactions use the read pool     : Positive
+ * - Repository calls inside them use it too               : Positive
+ * - Read-write transactions use the write pool            : Positive
+ * - Repository calls outside a transaction stay on write  : Edge
+ * - Each pool has its own size and pool-tagged meters     : Positive
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mediway.backend.entity.Doctor;
+import com.mediway.backend.repository.DoctorRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({DataSourceRoutingConfig.class, DataSourceRoutingConfigTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driverClassName=",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "spring.jpa.database-platform=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "mediway.datasource.read.enabled=true",
+        "mediway.datasource.read.hikari.maximum-pool-size=2"
+})
+@DisplayName("DataSource Routing Config Tests")
+class DataSourceRoutingConfigTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should run declared read-only transactions on the read pool")
+    void testReadOnlyTransaction() {
+        // Positive: plain JDBC and repository calls inside the transaction share its read connection
+        long reads = acquired("read");
+        long writes = acquired("write");
+
+        long doctors = transaction(true).execute(status -> {
+            assertEquals(ReadWriteRoutingDataSource.Pool.READ, ReadWriteRoutingDataSource.current());
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM doctors", Long.class);
+            return doctorRepository.count();
+        });
+
+        assertEquals(0, doctors);
+        assertEquals(reads + 1, acquired("read"));
+        assertEquals(writes, acquired("write"));
+    }
+
+    @Test
+    @DisplayName("Should run read-write transactions on the write pool")
+    void testReadWriteTransaction() {
+        // Positive
+        long reads = acquired("read");
+        long writes = acquired("write");
+
+        transaction(false).executeWithoutResult(status -> {
+            doctorRepository.save(new Doctor("Dr. Silva", "Cardiology", "silva@example.com", null, "x"));
+            doctorRepository.deleteAll();
+        });
+
+        assertEquals(reads, acquired("read"));
+        assertEquals(writes + 1, acquired("write"));
+    }
+
+    @Test
+    @DisplayName("Should keep repository calls outside a transaction on the write pool")
+    void testRepositoryDefaultTransaction() {
+        // Edge: Spring Data's own read-only transactions are not routed
+        long reads = acquired("read");
+        long writes = acquired("write");
+
+        doctorRepository.findById(1L);
+        doctorRepository.findAll();
+
+        assertEquals(reads, acquired("read"));
+        assertEquals(writes + 2, acquired("write"));
+    }
+
+    @Test
+    @DisplayName("Should size and meter each pool separately")
+    void testPoolSettings() {
+        // Positive: spring.datasource.hikari.* for write, mediway.datasource.read.hikari.* for read
+        transaction(true).executeWithoutResult(status -> doctorRepository.count());
+
+        assertEquals(4.0, meterRegistry.get("hikaricp.connections.max").tag("pool", "write").gauge().value());
+        assertEquals(2.0, meterRegistry.get("hikaricp.connections.max").tag("pool", "read").gauge().value());
+    }
+
+    private TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template;
+    }
+
+    private long acquired(String pool) {
+        return meterRegistry.get("hikaricp.connections.acquire").tag("pool", pool).timer().count();
+    }
+}
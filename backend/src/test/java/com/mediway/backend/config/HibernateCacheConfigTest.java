@@ -0,0 +1,180 @@
+package com.mediway.backend.config;
+
+/*
+ * TESTS SUMMARY (HibernateCacheConfigTest):
+ * - Doctors loaded by id come from the cache afterwards  : Positive
+ * - Cached doctor queries are reused until a write       : Positive
+ * - JPA updates are visible through the cache            : Positive
+ * - Bulk JDBC changes are evicted by AccountChangedEvent : Edge
+ * - Region sizes come from the properties                : Positive
+ */
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mediway.backend.entity.Doctor;
+import com.mediway.backend.event.AccountChangedEvent;
+import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.security.AccountType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(showSql = false)
+@Import({HibernateCacheConfig.class, HibernateCacheConfigTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "mediway.cache.hibernate.regions.doctors.max-size=123",
+        "mediway.cache.hibernate.regions.doctors.ttl=1h"
+})
+@DisplayName("Hibernate Cache Config Tests")
+class HibernateCacheConfigTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        doctorRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @DisplayName("Should serve a doctor loaded by id from the cache")
+    void testEntityCache() {
+        // Positive: each findById is its own session, only the first reaches the database
+        Long id = doctorRepository.save(doctor("silva@example.com", "Cardiology")).getId();
+        entityManagerFactory.getCache().evictAll();
+        double hits = cacheHits("doctors");
+
+        doctorRepository.findById(id);
+        doctorRepository.findById(id);
+        doctorRepository.findById(id);
+
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+        assertEquals(hits + 2, cacheHits("doctors"));
+    }
+
+    @Test
+    @DisplayName("Should reuse cached doctor queries until a doctor is written")
+    void testQueryCache() {
+        // Positive: the second call is answered from the query and entity caches
+        doctorRepository.save(doctor("silva@example.com", "Cardiology"));
+        doctorRepository.save(doctor("perera@example.com", "Neurology"));
+
+        assertEquals(1, doctorRepository.findBySpecialization("Cardiology").size());
+        assertEquals(1, doctorRepository.findBySpecialization("Cardiology").size());
+        assertEquals(2, doctorRepository.findByAvailableTrue().size());
+        assertEquals(2, doctorRepository.findByAvailableTrue().size());
+        assertEquals(2, statistics.getQueryCacheHitCount());
+        assertEquals(2, statistics.getQueryExecutionCount());
+
+        // A write to doctors makes the cached results stale
+        doctorRepository.save(doctor("fernando@example.com", "Cardiology"));
+
+        assertEquals(2, doctorRepository.findBySpecialization("Cardiology").size());
+        assertEquals(3, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    @DisplayName("Should see JPA updates through the cache")
+    void testUpdateThroughJpa() {
+        // Positive: READ_WRITE regions are updated on commit
+        Doctor doctor = doctorRepository.save(doctor("silva@example.com", "Cardiology"));
+        doctorRepository.findById(doctor.getId());
+
+        doctor.setSpecialization("Neurology");
+        doctorRepository.save(doctor);
+
+        assertEquals("Neurology", doctorRepository.findById(doctor.getId()).orElseThrow().getSpecialization());
+    }
+
+    @Test
+    @DisplayName("Should evict doctors changed with plain JDBC when told so")
+    void testBulkChangeEviction() {
+        // Edge: a JDBC write is invisible to the cache until the event without an id evicts it
+        Long id = doctorRepository.save(doctor("silva@example.com", "Cardiology")).getId();
+        assertEquals(1, doctorRepository.findBySpecialization("Cardiology").size());
+        jdbcTemplate.update("UPDATE doctors SET specialization = 'Neurology' WHERE id = ?", id);
+
+        assertEquals("Cardiology", doctorRepository.findById(id).orElseThrow().getSpecialization());
+
+        eventPublisher.publishEvent(new AccountChangedEvent(AccountType.DOCTOR, null, null));
+
+        assertEquals("Neurology", doctorRepository.findById(id).orElseThrow().getSpecialization());
+        assertEquals(List.of(), doctorRepository.findBySpecialization("Cardiology"));
+    }
+
+    @Test
+    @DisplayName("Should size regions from the properties")
+    void testRegionSettings() {
+        // Positive: doctors is configured, the query results region falls back to the defaults
+        assertEquals(new CaffeineRegionFactory.RegionSettings(123, Duration.ofHours(1)),
+                HibernateCacheConfig.regionSettings(environment, "doctors"));
+        assertEquals(new CaffeineRegionFactory.RegionSettings(1000, Duration.ofMinutes(10)),
+                HibernateCacheConfig.regionSettings(environment, "default-query-results-region"));
+    }
+
+    private double cacheHits(String region) {
+        return meterRegistry.get("cache.gets").tags("cache", region, "result", "hit").functionCounter().count();
+    }
+
+    private static Doctor doctor(String email, String specialization) {
+        return new Doctor("Dr. " + email, specialization, email, null, "x");
+    }
+}
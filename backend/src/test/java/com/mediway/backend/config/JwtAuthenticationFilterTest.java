@@ -2,10 +2,12 @@ package com.mediway.backend.config;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -26,7 +28,12 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
+import com.mediway.backend.security.JwtPrincipal;
 import com.mediway.backend.security.JwtUtil;
+import com.mediway.backend.security.TokenRevocationService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -43,6 +50,9 @@ class JwtAuthenticationFilterTest {
     @Mock
     private UserDetailsService userDetailsService;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @Mock
     private HttpServletRequest request;
 
@@ -73,7 +83,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain, times(1)).doFilter(request, response);
-        verify(jwtUtil, never()).extractUsername(anyString());
+        verify(jwtUtil, never()).extractAllClaims(anyString());
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
 
@@ -86,7 +96,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain, times(1)).doFilter(request, response);
-        verify(jwtUtil, never()).extractUsername(anyString());
+        verify(jwtUtil, never()).extractAllClaims(anyString());
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
 
@@ -98,27 +108,50 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain, times(1)).doFilter(request, response);
-        verify(jwtUtil, never()).extractUsername(anyString());
+        verify(jwtUtil, never()).extractAllClaims(anyString());
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
 
     @Test
-    @DisplayName("Should authenticate user with valid JWT token")
+    @DisplayName("Should authenticate from token claims without loading the user")
     void testDoFilterInternal_ValidToken() throws ServletException, IOException {
         String token = "valid.jwt.token";
         String email = "test@example.com";
+        Claims claims = claims(email, "PATIENT", 42L);
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.extractUsername(token)).thenReturn(email);
+        when(jwtUtil.extractAllClaims(token)).thenReturn(claims);
+        when(tokenRevocationService.isRevoked(claims)).thenReturn(false);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain, times(1)).doFilter(request, response);
+        verify(jwtUtil, times(1)).extractAllClaims(token);
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals(email, authentication.getName());
+        assertTrue(authentication.getPrincipal() instanceof JwtPrincipal);
+        assertEquals(42L, ((JwtPrincipal) authentication.getPrincipal()).id());
+        assertEquals("ROLE_PATIENT", authentication.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    @DisplayName("Should fall back to user lookup for tokens without a role claim")
+    void testDoFilterInternal_TokenWithoutRole() throws ServletException, IOException {
+        String token = "legacy.jwt.token";
+        String email = "test@example.com";
+        Claims claims = claims(email, null, null);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtil.extractAllClaims(token)).thenReturn(claims);
         when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
-        when(jwtUtil.validateToken(token, userDetails)).thenReturn(true);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain, times(1)).doFilter(request, response);
-        verify(jwtUtil, times(1)).extractUsername(token);
         verify(userDetailsService, times(1)).loadUserByUsername(email);
-        verify(jwtUtil, times(1)).validateToken(token, userDetails);
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertNotNull(authentication);
@@ -126,21 +159,38 @@ class JwtAuthenticationFilterTest {
     }
 
     @Test
-    @DisplayName("Should not authenticate when JWT token is invalid")
+    @DisplayName("Should not authenticate when loaded user does not match token subject")
     void testDoFilterInternal_InvalidToken() throws ServletException, IOException {
         String token = "invalid.jwt.token";
-        String email = "test@example.com";
+        String email = "other@example.com";
+        Claims claims = claims(email, null, null);
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
         when(request.getRequestURI()).thenReturn("/api/test");
-        when(jwtUtil.extractUsername(token)).thenReturn(email);
+        when(jwtUtil.extractAllClaims(token)).thenReturn(claims);
         when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
-        when(jwtUtil.validateToken(token, userDetails)).thenReturn(false);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain, times(1)).doFilter(request, response);
-        verify(jwtUtil, times(1)).validateToken(token, userDetails);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Should not authenticate with a revoked token")
+    void testDoFilterInternal_RevokedToken() throws ServletException, IOException {
+        String token = "revoked.jwt.token";
+        Claims claims = claims("test@example.com", "PATIENT", 42L);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(request.getRequestURI()).thenReturn("/api/test");
+        when(jwtUtil.extractAllClaims(token)).thenReturn(claims);
+        when(tokenRevocationService.isRevoked(claims)).thenReturn(true);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain, times(1)).doFilter(request, response);
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
 
@@ -158,13 +208,13 @@ class JwtAuthenticationFilterTest {
         );
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.extractUsername(token)).thenReturn(email);
+        when(jwtUtil.extractAllClaims(token)).thenReturn(claims(email, "PATIENT", 42L));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain, times(1)).doFilter(request, response);
         verify(userDetailsService, never()).loadUserByUsername(anyString());
-        verify(jwtUtil, never()).validateToken(anyString(), any());
+        verify(tokenRevocationService, never()).isRevoked(any());
     }
 
     @Test
@@ -173,7 +223,7 @@ class JwtAuthenticationFilterTest {
         String token = "error.jwt.token";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.extractUsername(token)).thenThrow(new RuntimeException("JWT parsing error"));
+        when(jwtUtil.extractAllClaims(token)).thenThrow(new RuntimeException("JWT parsing error"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -187,7 +237,7 @@ class JwtAuthenticationFilterTest {
         String token = "token.with.null.username";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.extractUsername(token)).thenReturn(null);
+        when(jwtUtil.extractAllClaims(token)).thenReturn(claims(null, "PATIENT", null));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -207,4 +257,16 @@ class JwtAuthenticationFilterTest {
         // Empty token after "Bearer " should still be processed but may throw exception
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
+
+    private Claims claims(String subject, String role, Long principalId) {
+        Claims claims = Jwts.claims().setSubject(subject);
+        claims.setIssuedAt(new Date());
+        if (role != null) {
+            claims.put(JwtUtil.ROLE_CLAIM, role);
+        }
+        if (principalId != null) {
+            claims.put(JwtUtil.PRINCIPAL_ID_CLAIM, principalId);
+        }
+        return claims;
+    }
 }
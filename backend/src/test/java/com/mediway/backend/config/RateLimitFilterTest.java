@@ -0,0 +1,189 @@
+package com.mediway.backend.config;
+
+/*
+ * TESTS SUMMARY (RateLimitFilterTest):
+ * - Non-limited paths pass through untouched             : Positive
+ * - GET requests are not limited                         : Edge
+ * - IP limit returns 429 with Retry-After                : Negative
+ * - Email limit applies across different IPs             : Negative
+ * - Email is matched case-insensitively                  : Edge
+ * - Request body is still readable downstream            : Positive
+ * - Async reads get the whole body, then onAllDataRead   : Positive
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediway.backend.security.ratelimit.InMemoryRateLimitStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+
+@DisplayName("Rate Limit Filter Tests")
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(
+                new InMemoryRateLimitStore(Duration.ofMinutes(15)),
+                new ObjectMapper(),
+                meterRegistry,
+                3, Duration.ofMinutes(1),
+                2, Duration.ofMinutes(1),
+                false);
+    }
+
+    @Test
+    @DisplayName("Should not limit endpoints outside login and registration")
+    void testNonLimitedPath() throws ServletException, IOException {
+        for (int i = 0; i < 10; i++) {
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(post("/appointments", "10.0.0.1", "{}"), new MockHttpServletResponse(), chain);
+            assertNotNull(chain.getRequest());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not limit GET requests to a limited path")
+    void testGetNotLimited() throws ServletException, IOException {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/auth/login");
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            assertNotNull(chain.getRequest());
+        }
+    }
+
+    @Test
+    @DisplayName("Should return 429 with Retry-After once the IP limit is reached")
+    void testIpLimit() throws ServletException, IOException {
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(post("/auth/login", "10.0.0.1", "{\"email\":\"user" + i + "@example.com\"}"),
+                    response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(post("/auth/login", "10.0.0.1", "{\"email\":\"other@example.com\"}"), response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("20", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("\"success\":false"));
+        assertNull(chain.getRequest());
+        assertEquals(1.0, meterRegistry.counter("ratelimit.rejected", "key", "ip").count());
+    }
+
+    @Test
+    @DisplayName("Should limit attempts against one email even from different IPs")
+    void testEmailLimitAcrossIps() throws ServletException, IOException {
+        filter.doFilter(post("/doctors/login", "10.0.0.1", "{\"email\":\"dr@example.com\"}"),
+                new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(post("/doctors/login", "10.0.0.2", "{\"email\":\"dr@example.com\"}"),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(post("/doctors/login", "10.0.0.3", "{\"email\":\"dr@example.com\"}"),
+                response, new MockFilterChain());
+
+        assertEquals(429, response.getStatus());
+        assertEquals(1.0, meterRegistry.counter("ratelimit.rejected", "key", "email").count());
+    }
+
+    @Test
+    @DisplayName("Should treat differently cased emails as the same account")
+    void testEmailCaseInsensitive() throws ServletException, IOException {
+        filter.doFilter(post("/auth/register", "10.0.0.1", "{\"email\":\"User@Example.com\"}"),
+                new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(post("/auth/register", "10.0.0.2", "{\"email\":\"user@example.com\"}"),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(post("/auth/register", "10.0.0.3", "{\"email\":\" USER@EXAMPLE.COM \"}"),
+                response, new MockFilterChain());
+
+        assertEquals(429, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should pass the full request body on to the controller")
+    void testBodyReplayed() throws ServletException, IOException {
+        String body = "{\"email\":\"user@example.com\",\"password\":\"secret\"}";
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(post("/patients/login", "10.0.0.1", body), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        byte[] replayed = chain.getRequest().getInputStream().readAllBytes();
+        assertEquals(body, new String(replayed, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should hand the body to an async read listener")
+    void testBodyReadAsync() throws ServletException, IOException {
+        // Longer than the inspected prefix, so the tail still comes from the original stream
+        String body = "{\"email\":\"user@example.com\",\"note\":\"" + "x".repeat(10_000) + "\"}";
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(post("/auth/register", "10.0.0.1", body), new MockHttpServletResponse(), chain);
+
+        ServletInputStream in = chain.getRequest().getInputStream();
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[1024];
+                while (in.isReady() && !in.isFinished()) {
+                    int n = in.read(buffer);
+                    if (n > 0) {
+                        received.write(buffer, 0, n);
+                    }
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                throw new AssertionError(t);
+            }
+        });
+
+        assertTrue(allRead.get());
+        assertEquals(body, received.toString(StandardCharsets.UTF_8));
+    }
+
+    private MockHttpServletRequest post(String path, String ip, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -16,11 +16,15 @@ package com.mediway.backend.controller;
  * - Get all appointments - Success             : Positive
  * - Get appointment by ID - Success            : Positive
  * - Update appointment status - Success       : Positive
+ * - Compression report and migration run       : Positive
+ * - Archival report and run                    : Positive
  */
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -46,6 +50,11 @@ import com.mediway.backend.entity.Appointment;
 import com.mediway.backend.entity.Doctor;
 import com.mediway.backend.entity.User;
 import com.mediway.backend.service.AdminService;
+import com.mediway.backend.service.archive.ArchivalResult;
+import com.mediway.backend.service.archive.RecordArchivalJob;
+import com.mediway.backend.service.compression.CompressionStats;
+import com.mediway.backend.service.compression.MedicalRecordCompressionJob;
+import com.mediway.backend.service.compression.TextCompressor;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Admin Controller Tests")
@@ -54,6 +63,15 @@ class AdminControllerTest {
     @Mock
     private AdminService adminService;
 
+    @Mock
+    private TextCompressor textCompressor;
+
+    @Mock
+    private MedicalRecordCompressionJob compressionJob;
+
+    @Mock
+    private RecordArchivalJob archivalJob;
+
     @InjectMocks
     private AdminController adminController;
 
@@ -289,4 +307,39 @@ class AdminControllerTest {
     assertEquals(Appointment.Status.COMPLETED, response.getBody().getStatus());
     verify(adminService).updateAppointmentStatus(1L, "COMPLETED", null);
     }
+
+    // Positive: Runs the compression job and reports its savings
+    @Test
+    @DisplayName("Run medical-record compression - Success")
+    void testRunCompression() {
+        CompressionStats migrated = new CompressionStats(3, 3000, 1200);
+        when(compressionJob.run()).thenReturn(migrated);
+        when(textCompressor.isEnabled()).thenReturn(true);
+        when(textCompressor.getThreshold()).thenReturn(512);
+        when(textCompressor.written()).thenReturn(CompressionStats.EMPTY);
+        when(textCompressor.read()).thenReturn(CompressionStats.EMPTY);
+
+        ResponseEntity<Map<String, Object>> response = adminController.runCompression();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(true, response.getBody().get("enabled"));
+        assertEquals(migrated, response.getBody().get("lastMigration"));
+        assertEquals(60.0, migrated.savedPercent(), 0.01);
+    }
+
+    // Positive: Runs the archival job and reports what it moved
+    @Test
+    @DisplayName("Run archival - Success")
+    void testRunArchival() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(730);
+        ArchivalResult result = new ArchivalResult(cutoff, 12, 30, LocalDateTime.now());
+        when(archivalJob.run()).thenReturn(result);
+        when(archivalJob.getHorizon()).thenReturn(Duration.ofDays(730));
+
+        ResponseEntity<Map<String, Object>> response = adminController.runArchival();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("PT17520H", response.getBody().get("horizon"));
+        assertEquals(result, response.getBody().get("lastRun"));
+    }
 }
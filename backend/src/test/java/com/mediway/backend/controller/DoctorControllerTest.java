@@ -3,54 +3,89 @@ package com.mediway.backend.controller;
 /*
  * TESTS SUMMARY (DoctorControllerTest):
  * - Get all doctors - Success                     : Positive
+ * - Search doctors by query - Success             : Positive
  * - Get doctor by ID - Success                    : Positive
  * - Get doctor by ID - Not Found                  : Negative
  * - Create doctor - Success                       : Positive
+ * - Created doctors store a hashed password       : Positive
  * - Update doctor - Success                       : Positive
  * - Update doctor - Not Found                     : Negative
  * - Delete doctor - Success                       : Positive
  * - Delete doctor - Not Found                     : Negative
  * - Get available doctors - Success               : Positive
  * - Get available doctors - Empty list            : Edge (empty result)
+ * - Listings send the directory ETag, 304 on match: Positive
+ * - Get doctors by specialization                 : Positive
+ * - Specialization facets from the catalog        : Positive
  * - Login doctor - Success                        : Positive
  * - Get doctor appointments - Success             : Positive
  * - Get doctors for appointments - Success        : Positive
  * - Photo upload/update tests (various)           : Mix (Positive/Edge/Negative)
+ * - Rejected photo on create leaves no doctor     : Negative
+ * - Photo update storage failure returns 500      : Negative
+ * - Get doctor photo - sizes, ETag, 304 and 404   : Mix (Positive/Edge/Negative)
  */
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.multipart.MultipartFile;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediway.backend.dto.projection.DoctorPhotoVersions;
+import com.mediway.backend.dto.projection.DoctorSummary;
 import com.mediway.backend.dto.request.LoginRequest;
 import com.mediway.backend.dto.response.LoginResponse;
 import com.mediway.backend.entity.Doctor;
+import com.mediway.backend.entity.Specialization;
+import com.mediway.backend.exception.GlobalExceptionHandler;
 import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.security.PasswordHashingService;
+import com.mediway.backend.service.DoctorDirectory;
+import com.mediway.backend.service.DoctorPhotoService;
 import com.mediway.backend.service.DoctorService;
+import com.mediway.backend.service.SpecializationCatalog;
+import com.mediway.backend.service.photo.PhotoSize;
+import com.mediway.backend.service.photo.StoredBlob;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("DoctorController Tests")
@@ -64,6 +99,22 @@ class DoctorControllerTest {
     @Mock
     private DoctorService doctorService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private DoctorPhotoService doctorPhotoService;
+
+    @Mock
+    private DoctorDirectory doctorDirectory;
+
+    @Mock
+    private SpecializationCatalog specializationCatalog;
+
+    @Spy
+    private PasswordHashingService passwordHashingService = new PasswordHashingService(
+            new BCryptPasswordEncoder(4), 1, 4, Duration.ofSeconds(5), new SimpleMeterRegistry());
+
     @InjectMocks
     private DoctorController doctorController;
 
@@ -90,7 +141,7 @@ class DoctorControllerTest {
     @DisplayName("Get all doctors - Success")
     void getAllDoctors_Success() throws Exception {
         // Given
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList(testDoctor));
+        givenDirectory(testDoctor);
 
         // When & Then
         mockMvc.perform(get("/doctors"))
@@ -100,7 +151,45 @@ class DoctorControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Dr. Test Doctor"))
                 .andExpect(jsonPath("$[0].specialization").value("Cardiology"));
 
-        verify(doctorRepository).findAll();
+        verify(doctorRepository, never()).findAll();
+    }
+
+    // Positive: Searches doctors through the search service when a query is given
+    @Test
+    @DisplayName("Search doctors by query - Success")
+    void searchDoctors_Success() throws Exception {
+        // Given
+        when(doctorService.search("cardio", 0, 20))
+                .thenReturn(new PageImpl<>(List.of(testDoctor), PageRequest.of(0, 20), 1));
+
+        // When & Then
+        mockMvc.perform(get("/doctors").param("q", "cardio"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(jsonPath("$[0].name").value("Dr. Test Doctor"));
+
+        verify(doctorRepository, never()).findAll();
+    }
+
+    // Positive: Facets come from the catalog, not the doctors table
+    @Test
+    @DisplayName("Get specialization facets")
+    void getSpecializationFacets() throws Exception {
+        // Given
+        Specialization cardiology = new Specialization("cardiology", "Cardiology");
+        cardiology.setDoctorCount(3);
+        cardiology.setAvailableCount(2);
+        when(specializationCatalog.facets(false)).thenReturn(List.of(cardiology));
+
+        // When & Then
+        mockMvc.perform(get("/doctors/specializations"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].slug").value("cardiology"))
+                .andExpect(jsonPath("$[0].name").value("Cardiology"))
+                .andExpect(jsonPath("$[0].doctorCount").value(3))
+                .andExpect(jsonPath("$[0].availableCount").value(2));
+
+        verify(doctorRepository, never()).findAll();
     }
 
     // Positive: Retrieves doctor by ID successfully
@@ -108,7 +197,7 @@ class DoctorControllerTest {
     @DisplayName("Get doctor by ID - Success")
     void getDoctorById_Success() throws Exception {
         // Given
-        when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
+        givenDirectory(testDoctor);
 
         // When & Then
         mockMvc.perform(get("/doctors/1"))
@@ -117,7 +206,7 @@ class DoctorControllerTest {
                 .andExpect(jsonPath("$.name").value("Dr. Test Doctor"))
                 .andExpect(jsonPath("$.specialization").value("Cardiology"));
 
-        verify(doctorRepository).findById(1L);
+        verify(doctorRepository, never()).findById(1L);
     }
 
     // Negative: Returns not found when doctor ID does not exist
@@ -125,13 +214,13 @@ class DoctorControllerTest {
     @DisplayName("Get doctor by ID - Not Found")
     void getDoctorById_NotFound() throws Exception {
         // Given
-        when(doctorRepository.findById(1L)).thenReturn(Optional.empty());
+        givenDirectory();
 
         // When & Then
         mockMvc.perform(get("/doctors/1"))
                 .andExpect(status().isNotFound());
 
-        verify(doctorRepository).findById(1L);
+        verify(doctorRepository, never()).findById(1L);
     }
 
     // Positive: Creates a doctor successfully
@@ -161,6 +250,35 @@ class DoctorControllerTest {
         verify(doctorRepository).save(any(Doctor.class));
     }
 
+    // Positive: Created doctors store a hashed password
+    @Test
+    @DisplayName("Create doctor - Password is hashed")
+    void createDoctor_HashesPassword() throws Exception {
+        // Given
+        when(doctorRepository.save(any(Doctor.class))).thenReturn(testDoctor);
+        ArgumentCaptor<Doctor> saved = ArgumentCaptor.forClass(Doctor.class);
+
+        // When
+        mockMvc.perform(post("/doctors")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Dr. Test Doctor\",\"email\":\"doctor@test.com\",\"password\":\"doctor123\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(multipart("/doctors/with-photo")
+                        .param("name", "Dr. New Doctor")
+                        .param("email", "new@doctor.com")
+                        .param("password", "password123")
+                        .param("specialization", "Cardiology")
+                        .param("phone", "1234567890"))
+                .andExpect(status().isOk());
+
+        // Then
+        verify(doctorRepository, times(2)).save(saved.capture());
+        assertTrue(PasswordHashingService.isHashed(saved.getAllValues().get(0).getPassword()));
+        assertTrue(passwordHashingService.matches("doctor123", saved.getAllValues().get(0).getPassword()));
+        assertTrue(PasswordHashingService.isHashed(saved.getAllValues().get(1).getPassword()));
+        assertTrue(passwordHashingService.matches("password123", saved.getAllValues().get(1).getPassword()));
+    }
+
     // Positive: Updates a doctor successfully
     @Test
     @DisplayName("Update doctor - Success")
@@ -211,6 +329,7 @@ class DoctorControllerTest {
 
         verify(doctorRepository).findById(1L);
         verify(doctorRepository, never()).save(any());
+        verify(doctorPhotoService, never()).store(any(), any(MultipartFile.class));
     }
 
     // Positive: Deletes a doctor successfully
@@ -226,6 +345,7 @@ class DoctorControllerTest {
 
         verify(doctorRepository).existsById(1L);
         verify(doctorRepository).deleteById(1L);
+        verify(doctorPhotoService).delete(1L);
     }
 
     // Negative: Returns not found when deleting non-existent doctor
@@ -249,7 +369,7 @@ class DoctorControllerTest {
     void getAvailableDoctors_Success() throws Exception {
         // Given
         testDoctor.setAvailable(true);
-        when(doctorRepository.findByAvailableTrue()).thenReturn(Arrays.asList(testDoctor));
+        givenDirectory(testDoctor);
 
         // When & Then
         mockMvc.perform(get("/doctors/available"))
@@ -258,7 +378,7 @@ class DoctorControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].available").value(true));
 
-        verify(doctorRepository).findByAvailableTrue();
+        verify(doctorRepository, never()).findByAvailableTrue();
     }
 
     // Edge: Returns empty list when no available doctors
@@ -266,7 +386,8 @@ class DoctorControllerTest {
     @DisplayName("Get available doctors - Empty list")
     void getAvailableDoctors_EmptyList() throws Exception {
         // Given
-        when(doctorRepository.findByAvailableTrue()).thenReturn(Arrays.asList());
+        testDoctor.setAvailable(false);
+        givenDirectory(testDoctor);
 
         // When & Then
         mockMvc.perform(get("/doctors/available"))
@@ -274,7 +395,47 @@ class DoctorControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$").isEmpty());
 
-        verify(doctorRepository).findByAvailableTrue();
+        verify(doctorRepository, never()).findByAvailableTrue();
+    }
+
+    // Positive: Listings carry the directory version and revalidate with 304
+    @Test
+    @DisplayName("Get all doctors - ETag and 304 when unchanged")
+    void getAllDoctors_NotModified() throws Exception {
+        // Given
+        givenDirectory(testDoctor);
+        String etag = "\"" + doctorDirectory.snapshot().version() + "\"";
+
+        // When & Then
+        mockMvc.perform(get("/doctors"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().string("Cache-Control", "no-cache"));
+        mockMvc.perform(get("/doctors/available").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/appointments/doctors").header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk());
+
+        verify(doctorRepository, never()).findAll();
+    }
+
+    // Positive: Filters by specialization from the directory index
+    @Test
+    @DisplayName("Get doctors by specialization")
+    void getDoctorsBySpecialization() throws Exception {
+        // Given
+        Doctor neurologist = new Doctor();
+        neurologist.setId(2L);
+        neurologist.setName("Dr. Neuro");
+        neurologist.setSpecialization("Neurology");
+        givenDirectory(testDoctor, neurologist);
+
+        // When & Then
+        mockMvc.perform(get("/doctors").param("specialization", "neurology"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Dr. Neuro"));
     }
 
     // Positive: Doctor login succeeds
@@ -326,7 +487,7 @@ class DoctorControllerTest {
     @DisplayName("Get doctors for appointments - Success")
     void getDoctorsForAppointments_Success() throws Exception {
         // Given
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList(testDoctor));
+        givenDirectory(testDoctor);
 
         // When & Then
         mockMvc.perform(get("/appointments/doctors"))
@@ -335,7 +496,7 @@ class DoctorControllerTest {
                 .andExpect(jsonPath("$[0].doctorId").value(1))
                 .andExpect(jsonPath("$[0].name").value("Dr. Test Doctor"));
 
-        verify(doctorRepository).findAll();
+        verify(doctorRepository, never()).findAll();
     }
 
     // Positive: Retrieves all doctors including photo data
@@ -343,17 +504,19 @@ class DoctorControllerTest {
     @DisplayName("Get all doctors - With photo")
     void getAllDoctors_WithPhoto() throws Exception {
         // Given
-        testDoctor.setPhoto("test-photo-bytes".getBytes());
-        testDoctor.setPhotoContentType("image/jpeg");
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList(testDoctor));
+        testDoctor.setPhotoVersion("abc123");
+        givenDirectory(testDoctor);
 
         // When & Then
         mockMvc.perform(get("/doctors"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].photo").exists());
+                .andExpect(jsonPath("$[0].photo").value("http://localhost/doctors/1/photo?v=abc123&size=card"))
+                .andExpect(jsonPath("$[0].photoThumbnail").value("http://localhost/doctors/1/photo?v=abc123&size=thumbnail"));
+
+        verify(doctorPhotoService, never()).load(any(), any(), any());
 
-        verify(doctorRepository).findAll();
+        verify(doctorRepository, never()).findAll();
     }
 
     // Positive: Retrieves doctor by ID including photo data
@@ -361,16 +524,15 @@ class DoctorControllerTest {
     @DisplayName("Get doctor by ID - With photo")
     void getDoctorById_WithPhoto() throws Exception {
         // Given
-        testDoctor.setPhoto("test-photo-bytes".getBytes());
-        testDoctor.setPhotoContentType("image/png");
-        when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
+        testDoctor.setPhotoVersion("def456");
+        givenDirectory(testDoctor);
 
         // When & Then
         mockMvc.perform(get("/doctors/1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.photo").exists());
+                .andExpect(jsonPath("$.photo").value("http://localhost/doctors/1/photo?v=def456&size=card"));
 
-        verify(doctorRepository).findById(1L);
+        verify(doctorRepository, never()).findById(1L);
     }
 
     // Positive: Creates doctor with photo successfully
@@ -391,10 +553,8 @@ class DoctorControllerTest {
         savedDoctor.setSpecialization("Cardiology");
         savedDoctor.setPhone("1234567890");
         savedDoctor.setAvailable(true);
-        savedDoctor.setPhoto(photo.getBytes());
-        savedDoctor.setPhotoContentType("image/jpeg");
 
-        when(doctorRepository.save(any(Doctor.class))).thenReturn(savedDoctor);
+        when(doctorPhotoService.create(any(Doctor.class), any(MultipartFile.class))).thenReturn(savedDoctor);
 
         // When & Then
         mockMvc.perform(multipart("/doctors/with-photo")
@@ -409,7 +569,7 @@ class DoctorControllerTest {
                 .andExpect(jsonPath("$.name").value("Dr. New Doctor"))
                 .andExpect(jsonPath("$.email").value("new@doctor.com"));
 
-        verify(doctorRepository).save(any(Doctor.class));
+        verify(doctorPhotoService).create(any(Doctor.class), any(MultipartFile.class));
     }
 
     // Edge: Creates doctor without photo
@@ -472,6 +632,37 @@ class DoctorControllerTest {
         verify(doctorRepository).save(any(Doctor.class));
     }
 
+    // Negative: A rejected photo leaves no doctor behind
+    @Test
+    @DisplayName("Create doctor with photo - Rejected photo")
+    void createDoctorWithPhoto_RejectedPhoto() throws Exception {
+        // Given
+        MockMultipartFile photo = new MockMultipartFile(
+                "photo",
+                "notes.txt",
+                "image/jpeg",
+                "not an image".getBytes());
+        MockMvc adviceMvc = MockMvcBuilders.standaloneSetup(doctorController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        when(doctorPhotoService.create(any(Doctor.class), any(MultipartFile.class)))
+                .thenThrow(new IllegalArgumentException("Photo must be a JPEG, PNG or GIF image"));
+
+        // When & Then
+        adviceMvc.perform(multipart("/doctors/with-photo")
+                        .file(photo)
+                        .param("name", "Dr. New Doctor")
+                        .param("email", "new@doctor.com")
+                        .param("password", "password123")
+                        .param("specialization", "Cardiology")
+                        .param("phone", "1234567890"))
+                .andExpect(status().isBadRequest());
+
+        verify(doctorRepository, never()).save(any(Doctor.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
     // Positive: Updates doctor photo successfully
     @Test
     @DisplayName("Update doctor photo - Success")
@@ -485,11 +676,10 @@ class DoctorControllerTest {
 
         Doctor updatedDoctor = new Doctor();
         updatedDoctor.setId(1L);
-        updatedDoctor.setPhoto(newPhoto.getBytes());
-        updatedDoctor.setPhotoContentType("image/jpeg");
+        updatedDoctor.setPhotoVersion("abc123");
 
         when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
-        when(doctorRepository.save(any(Doctor.class))).thenReturn(updatedDoctor);
+        when(doctorPhotoService.store(eq(testDoctor), any(MultipartFile.class))).thenReturn(updatedDoctor);
 
         // When & Then
         mockMvc.perform(multipart("/doctors/1/photo")
@@ -498,10 +688,40 @@ class DoctorControllerTest {
                             request.setMethod("PUT");
                             return request;
                         }))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.photoVersion").value("abc123"));
 
         verify(doctorRepository).findById(1L);
-        verify(doctorRepository).save(any(Doctor.class));
+        verify(doctorPhotoService).store(eq(testDoctor), any(MultipartFile.class));
+    }
+
+    // Negative: A storage failure is reported once as a 500
+    @Test
+    @DisplayName("Update doctor photo - Storage failure")
+    void updateDoctorPhoto_StorageFailure() throws Exception {
+        // Given
+        MockMultipartFile newPhoto = new MockMultipartFile(
+                "photo",
+                "updated.jpg",
+                "image/jpeg",
+                "updated image content".getBytes());
+        MockMvc adviceMvc = MockMvcBuilders.standaloneSetup(doctorController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
+        when(doctorPhotoService.store(eq(testDoctor), any(MultipartFile.class)))
+                .thenThrow(new IOException("/data/photos/1.tmp: No space left on device"));
+
+        // When & Then
+        adviceMvc.perform(multipart("/doctors/1/photo")
+                        .file(newPhoto)
+                        .with(request -> {
+                            request.setMethod("PUT");
+                            return request;
+                        }))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message").value("Failed to process photo"));
     }
 
     // Negative: Returns not found when updating photo for non-existent doctor
@@ -529,4 +749,93 @@ class DoctorControllerTest {
         verify(doctorRepository).findById(1L);
         verify(doctorRepository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    // Positive: Serves the photo bytes with an ETag
+    @Test
+    @DisplayName("Get doctor photo - Success")
+    void getDoctorPhoto_Success() throws Exception {
+        // Given
+        byte[] data = "photo-bytes".getBytes();
+        DoctorPhotoVersions versions = new DoctorPhotoVersions("abc123", null, null, null);
+        when(doctorPhotoService.findVersions(1L)).thenReturn(Optional.of(versions));
+        when(doctorPhotoService.load(1L, versions, null)).thenReturn(Optional.of(new StoredBlob("abc123", "image/png", data)));
+
+        // When & Then
+        mockMvc.perform(get("/doctors/1/photo"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc123\""))
+                .andExpect(header().string("Cache-Control", "no-cache, public"))
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(data));
+    }
+
+    // Positive: Versioned URLs of a generated variant may be cached indefinitely
+    @Test
+    @DisplayName("Get doctor photo - Versioned variant is immutable")
+    void getDoctorPhoto_VersionedVariant() throws Exception {
+        // Given
+        byte[] thumbnail = new byte[]{1, 2};
+        DoctorPhotoVersions versions = new DoctorPhotoVersions("abc123", "thumb1", "card1", "full1");
+        when(doctorPhotoService.findVersions(1L)).thenReturn(Optional.of(versions));
+        when(doctorPhotoService.load(1L, versions, PhotoSize.THUMBNAIL))
+                .thenReturn(Optional.of(new StoredBlob("thumb1", "image/jpeg", thumbnail)));
+
+        // When & Then
+        mockMvc.perform(get("/doctors/1/photo").param("v", "abc123").param("size", "thumbnail"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"thumb1\""))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+                .andExpect(content().bytes(thumbnail));
+    }
+
+    // Edge: The original stands in for a variant that is not generated yet, without long-term caching
+    @Test
+    @DisplayName("Get doctor photo - Variant pending falls back to the original")
+    void getDoctorPhoto_VariantPending() throws Exception {
+        // Given
+        DoctorPhotoVersions versions = new DoctorPhotoVersions("abc123", null, null, null);
+        when(doctorPhotoService.findVersions(1L)).thenReturn(Optional.of(versions));
+        when(doctorPhotoService.load(1L, versions, PhotoSize.CARD))
+                .thenReturn(Optional.of(new StoredBlob("abc123", "image/png", new byte[]{1})));
+
+        // When & Then
+        mockMvc.perform(get("/doctors/1/photo").param("v", "abc123").param("size", "card"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc123\""))
+                .andExpect(header().string("Cache-Control", "no-cache, public"));
+    }
+
+    // Edge: Matching If-None-Match answers 304 without loading the image
+    @Test
+    @DisplayName("Get doctor photo - Not modified")
+    void getDoctorPhoto_NotModified() throws Exception {
+        // Given
+        when(doctorPhotoService.findVersions(1L))
+                .thenReturn(Optional.of(new DoctorPhotoVersions("abc123", "thumb1", "card1", "full1")));
+
+        // When & Then
+        mockMvc.perform(get("/doctors/1/photo").param("size", "card").header("If-None-Match", "\"card1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"card1\""));
+
+        verify(doctorPhotoService, never()).load(any(), any(), any());
+    }
+
+    // Negative: Doctor without a photo
+    @Test
+    @DisplayName("Get doctor photo - Not found")
+    void getDoctorPhoto_NotFound() throws Exception {
+        // Given
+        when(doctorPhotoService.findVersions(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/doctors/1/photo"))
+                .andExpect(status().isNotFound());
+    }
+
+    private void givenDirectory(Doctor... doctors) {
+        DoctorDirectory.Snapshot snapshot = new DoctorDirectory.Snapshot(
+                Arrays.stream(doctors).map(DoctorSummary::of).toList());
+        when(doctorDirectory.snapshot()).thenReturn(snapshot);
+    }
+}
@@ -0,0 +1,156 @@
+package com.mediway.backend.controller;
+
+/*
+ * TESTS SUMMARY (ImportControllerTest):
+ * - submit a CSV for a known kind                     : Positive
+ * - unknown import kind                               : Negative
+ * - list recent imports                               : Positive
+ * - get import by id - Success / Not Found            : Positive/Negative
+ * - error report page, unknown job                    : Positive/Negative
+ * - resume - Accepted / Not Found / Conflict          : Mix (Positive/Negative)
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.mediway.backend.entity.ImportJob;
+import com.mediway.backend.entity.ImportRowError;
+import com.mediway.backend.repository.ImportJobRepository;
+import com.mediway.backend.repository.ImportRowErrorRepository;
+import com.mediway.backend.service.importer.CsvImportService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Import Controller Tests")
+class ImportControllerTest {
+
+    @Mock
+    private CsvImportService importService;
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    @Mock
+    private ImportRowErrorRepository importRowErrorRepository;
+
+    @InjectMocks
+    private ImportController importController;
+
+    private ImportJob job(long id) {
+        ImportJob job = new ImportJob(ImportJob.Kind.PATIENTS, "patients.csv");
+        job.setId(id);
+        return job;
+    }
+
+    @Test
+    @DisplayName("Should accept a CSV for a known kind")
+    void testSubmit() throws Exception {
+        // Positive: kind is case-insensitive, the job is returned with 202
+        InputStream body = new ByteArrayInputStream("name,email\n".getBytes());
+        ImportJob job = job(1L);
+        when(importService.submit(ImportJob.Kind.PATIENTS, "patients.csv", body)).thenReturn(job);
+
+        ResponseEntity<?> response = importController.submit("Patients", "patients.csv", body);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertSame(job, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown import kind")
+    void testSubmitUnknownKind() throws Exception {
+        // Negative: nothing is stored
+        ResponseEntity<?> response = importController.submit("invoices", null, new ByteArrayInputStream(new byte[0]));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(false, ((Map<?, ?>) response.getBody()).get("success"));
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    @DisplayName("Should list recent imports")
+    void testGetImports() {
+        // Positive
+        when(importJobRepository.findTop50ByOrderByIdDesc()).thenReturn(List.of(job(2L), job(1L)));
+
+        ResponseEntity<List<ImportJob>> response = importController.getImports();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().size());
+    }
+
+    @Test
+    @DisplayName("Should get an import by id or 404")
+    void testGetImport() {
+        // Positive / Negative
+        when(importJobRepository.findById(1L)).thenReturn(Optional.of(job(1L)));
+        when(importJobRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertEquals(HttpStatus.OK, importController.getImport(1L).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, importController.getImport(9L).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should page the error report with a capped page size")
+    void testGetErrors() {
+        // Positive: size is capped at 1000
+        ImportRowError error = new ImportRowError();
+        error.setLine(3);
+        when(importJobRepository.existsById(1L)).thenReturn(true);
+        when(importRowErrorRepository.findByJobIdOrderByLine(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(error), PageRequest.of(0, 1000), 1));
+
+        ResponseEntity<PagedModel<ImportRowError>> response = importController.getErrors(1L, 0, 5000);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getContent().size());
+        verify(importRowErrorRepository).findByJobIdOrderByLine(1L, PageRequest.of(0, 1000));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for the errors of an unknown import")
+    void testGetErrorsNotFound() {
+        // Negative
+        when(importJobRepository.existsById(9L)).thenReturn(false);
+
+        assertEquals(HttpStatus.NOT_FOUND, importController.getErrors(9L, 0, 100).getStatusCode());
+        verifyNoInteractions(importRowErrorRepository);
+    }
+
+    @Test
+    @DisplayName("Should resume a failed import, 404 an unknown one and 409 others")
+    void testResume() {
+        // Mix: Accepted / Not Found / Conflict
+        when(importService.resume(1L)).thenReturn(Optional.of(job(1L)));
+        when(importService.resume(9L)).thenReturn(Optional.empty());
+        when(importService.resume(2L)).thenThrow(new IllegalStateException("Only failed imports can be resumed"));
+
+        assertEquals(HttpStatus.ACCEPTED, importController.resume(1L).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, importController.resume(9L).getStatusCode());
+        ResponseEntity<?> conflict = importController.resume(2L);
+        assertEquals(HttpStatus.CONFLICT, conflict.getStatusCode());
+        assertEquals("Only failed imports can be resumed", ((Map<?, ?>) conflict.getBody()).get("message"));
+    }
+}
@@ -9,6 +9,17 @@ package com.mediway.backend.controller;
  * - reject record without patient ID                     : Negative
  * - get medical records for patient                      : Positive
  * - allow doctor to view patient records                 : Positive
+ * - patient timeline pages with a keyset cursor            : Positive
+ * - timeline diagnosis preview is cut and flagged          : Edge
+ * - reject timeline cursor with only one part              : Negative
+ * - forbid patient from another patient's timeline         : Negative
+ * - timeline merges archived records under one cursor      : Positive
+ * - archived records are found by ID but read-only         : Edge
+ * - clinical search scoped to the doctor, in rank order    : Positive
+ * - admin search across doctors and index rebuild          : Positive
+ * - reject search by patients and unknown fields           : Negative
+ * - search unavailable while the index loads               : Edge
+ * - create/update/delete publish record change events      : Positive
  * - get medical record by ID - Success                   : Positive
  * - get medical record by ID - Not Found                 : Negative
  * - update medical record                                 : Positive
@@ -22,14 +33,19 @@ package com.mediway.backend.controller;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.never;
@@ -37,13 +53,22 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import com.mediway.backend.dto.projection.MedicalRecordSummary;
+import com.mediway.backend.entity.ArchivedMedicalRecord;
 import com.mediway.backend.entity.MedicalRecord;
 import com.mediway.backend.entity.User;
+import com.mediway.backend.event.MedicalRecordChangedEvent;
+import com.mediway.backend.repository.ArchivedMedicalRecordRepository;
 import com.mediway.backend.repository.MedicalRecordRepository;
 import com.mediway.backend.repository.UserRepository;
+import com.mediway.backend.service.search.ClinicalField;
+import com.mediway.backend.service.search.ClinicalSearchIndex;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Medical Record Controller Tests")
@@ -52,9 +77,18 @@ class MedicalRecordControllerTest {
     @Mock
     private MedicalRecordRepository medicalRecordRepository;
 
+    @Mock
+    private ArchivedMedicalRecordRepository archivedMedicalRecordRepository;
+
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ClinicalSearchIndex clinicalSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MedicalRecordController medicalRecordController;
 
@@ -183,6 +217,221 @@ class MedicalRecordControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
     }
 
+    // Positive: Returns one page of summaries and the cursor of the next page
+    @Test
+    @DisplayName("Should page the patient timeline with a keyset cursor")
+    @SuppressWarnings("unchecked")
+    void testGetPatientTimeline_Pages() {
+        LocalDateTime date = LocalDateTime.of(2025, 3, 1, 10, 0);
+        List<MedicalRecordSummary> rows = List.of(
+                new MedicalRecordSummary(9L, 2L, date, 1L, null, "Flu"),
+                new MedicalRecordSummary(7L, 2L, date.minusDays(1), 1L, 4L, "Sprain"),
+                new MedicalRecordSummary(5L, 2L, date.minusDays(2), 1L, null, "Cough"));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(patientUser));
+        when(medicalRecordRepository.findTimeline(2L, MedicalRecordController.DIAGNOSIS_PREVIEW_LENGTH + 1, PageRequest.of(0, 3)))
+                .thenReturn(rows);
+        when(medicalRecordRepository.findTimelineBefore(eq(2L), eq(date.minusDays(1)), eq(7L), anyInt(), eq(PageRequest.of(0, 3))))
+                .thenReturn(List.of(rows.get(2)));
+
+        ResponseEntity<?> first = medicalRecordController.getPatientTimeline(2L, null, null, 2, 2L);
+        Map<String, Object> firstBody = (Map<String, Object>) first.getBody();
+        ResponseEntity<?> second = medicalRecordController.getPatientTimeline(
+                2L, (LocalDateTime) firstBody.get("nextBeforeDate"), (Long) firstBody.get("nextBeforeId"), 2, 2L);
+        Map<String, Object> secondBody = (Map<String, Object>) second.getBody();
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(2, ((List<?>) firstBody.get("records")).size());
+        assertEquals(true, firstBody.get("hasMore"));
+        assertEquals(7L, firstBody.get("nextBeforeId"));
+        assertEquals(1, ((List<?>) secondBody.get("records")).size());
+        assertEquals(false, secondBody.get("hasMore"));
+        assertFalse(secondBody.containsKey("nextBeforeId"));
+        verify(medicalRecordRepository, never()).findByPatientIdOrderByRecordDateDesc(any());
+    }
+
+    // Edge: Long diagnoses are cut to the preview length and marked as cut
+    @Test
+    @DisplayName("Should cut long diagnoses in the timeline")
+    @SuppressWarnings("unchecked")
+    void testGetPatientTimeline_DiagnosisPreview() {
+        String longDiagnosis = "x".repeat(MedicalRecordController.DIAGNOSIS_PREVIEW_LENGTH + 1);
+        List<MedicalRecordSummary> rows = List.of(
+                new MedicalRecordSummary(2L, 2L, LocalDateTime.now(), 1L, null, longDiagnosis),
+                new MedicalRecordSummary(1L, 2L, LocalDateTime.now().minusDays(1), 1L, null, "Flu"));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(doctorUser));
+        when(medicalRecordRepository.findTimeline(eq(2L), anyInt(), any())).thenReturn(rows);
+
+        ResponseEntity<?> response = medicalRecordController.getPatientTimeline(2L, null, null, 20, 1L);
+
+        List<Map<String, Object>> records =
+                (List<Map<String, Object>>) ((Map<String, Object>) response.getBody()).get("records");
+        assertEquals(MedicalRecordController.DIAGNOSIS_PREVIEW_LENGTH, ((String) records.get(0).get("diagnosis")).length());
+        assertEquals(true, records.get(0).get("diagnosisTruncated"));
+        assertEquals("Flu", records.get(1).get("diagnosis"));
+        assertEquals(false, records.get(1).get("diagnosisTruncated"));
+    }
+
+    // Negative: A cursor needs both the date and the id
+    @Test
+    @DisplayName("Should reject a timeline cursor with only one part")
+    void testGetPatientTimeline_IncompleteCursor() {
+        ResponseEntity<?> response = medicalRecordController.getPatientTimeline(2L, LocalDateTime.now(), null, 20, 2L);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(medicalRecordRepository, never()).findTimeline(anyLong(), anyInt(), any());
+    }
+
+    // Negative: Patients only see their own timeline
+    @Test
+    @DisplayName("Should forbid patient from viewing another patient's timeline")
+    void testGetPatientTimeline_OtherPatient() {
+        when(userRepository.findById(2L)).thenReturn(Optional.of(patientUser));
+
+        ResponseEntity<?> response = medicalRecordController.getPatientTimeline(5L, null, null, 20, 2L);
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        verify(medicalRecordRepository, never()).findTimeline(anyLong(), anyInt(), any());
+    }
+
+    // Positive: Archived records continue the timeline in date order, with the same cursor
+    @Test
+    @DisplayName("Should merge archived records into the timeline")
+    @SuppressWarnings("unchecked")
+    void testGetPatientTimeline_WithArchive() {
+        LocalDateTime date = LocalDateTime.of(2025, 3, 1, 10, 0);
+        MedicalRecordSummary hot = new MedicalRecordSummary(9L, 2L, date, 1L, null, "Flu");
+        MedicalRecordSummary archived = new MedicalRecordSummary(3L, 2L, date.minusYears(3), 1L, null, "Measles");
+        MedicalRecordSummary older = new MedicalRecordSummary(2L, 2L, date.minusYears(4), 1L, null, "Mumps");
+        when(userRepository.findById(2L)).thenReturn(Optional.of(patientUser));
+        when(medicalRecordRepository.findTimeline(eq(2L), anyInt(), any())).thenReturn(List.of(hot));
+        when(archivedMedicalRecordRepository.findTimeline(eq(2L), anyInt(), any())).thenReturn(List.of(archived, older));
+        when(archivedMedicalRecordRepository.findTimelineBefore(eq(2L), eq(archived.recordDate()), eq(3L), anyInt(), any()))
+                .thenReturn(List.of(older));
+
+        Map<String, Object> first = (Map<String, Object>) medicalRecordController
+                .getPatientTimeline(2L, null, null, 2, 2L).getBody();
+        Map<String, Object> second = (Map<String, Object>) medicalRecordController
+                .getPatientTimeline(2L, archived.recordDate(), 3L, 2, 2L).getBody();
+
+        List<Map<String, Object>> firstRecords = (List<Map<String, Object>>) first.get("records");
+        assertEquals(List.of(9L, 3L), firstRecords.stream().map(r -> r.get("id")).toList());
+        assertEquals(3L, first.get("nextBeforeId"));
+        assertEquals(List.of(2L), ((List<Map<String, Object>>) second.get("records")).stream().map(r -> r.get("id")).toList());
+        assertEquals(false, second.get("hasMore"));
+    }
+
+    // Edge: Archived records are served by id, but cannot be changed
+    @Test
+    @DisplayName("Should read archived records by ID and refuse to update them")
+    void testArchivedMedicalRecord() {
+        ArchivedMedicalRecord archived = new ArchivedMedicalRecord();
+        archived.setId(4L);
+        archived.setPatientId(2L);
+        archived.setDoctorId(1L);
+        archived.setDiagnosis("Measles");
+        archived.setRecordDate(LocalDateTime.now().minusYears(3));
+        when(medicalRecordRepository.findById(4L)).thenReturn(Optional.empty());
+        when(archivedMedicalRecordRepository.findById(4L)).thenReturn(Optional.of(archived));
+        when(archivedMedicalRecordRepository.existsById(4L)).thenReturn(true);
+        when(userRepository.findById(2L)).thenReturn(Optional.of(patientUser));
+
+        ResponseEntity<?> read = medicalRecordController.getMedicalRecordById(4L, 2L);
+        ResponseEntity<?> update = medicalRecordController.updateMedicalRecord(4L, new MedicalRecord(), 1L);
+
+        assertEquals(HttpStatus.OK, read.getStatusCode());
+        assertEquals("Measles", ((MedicalRecord) read.getBody()).getDiagnosis());
+        assertEquals(HttpStatus.CONFLICT, update.getStatusCode());
+        verify(medicalRecordRepository, never()).save(any());
+    }
+
+    // Positive: Doctors search only their own records; results keep the index ranking
+    @Test
+    @DisplayName("Should search a doctor's own records in rank order")
+    @SuppressWarnings("unchecked")
+    void testSearchMedicalRecords_AsDoctor() {
+        List<MedicalRecordSummary> summaries = List.of(
+                new MedicalRecordSummary(4L, 2L, LocalDateTime.now(), 1L, null, "Asthma"),
+                new MedicalRecordSummary(9L, 5L, LocalDateTime.now(), 1L, null, "Asthma, acute"));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(doctorUser));
+        when(clinicalSearchIndex.isReady()).thenReturn(true);
+        when(clinicalSearchIndex.search("asthma", ClinicalField.DIAGNOSIS, 1L, null, 0, 20))
+                .thenReturn(new PageImpl<>(List.of(9L, 4L), PageRequest.of(0, 20), 2));
+        when(medicalRecordRepository.findSummariesByIdIn(List.of(9L, 4L), MedicalRecordController.DIAGNOSIS_PREVIEW_LENGTH + 1))
+                .thenReturn(summaries);
+
+        // doctorId is ignored for doctors
+        ResponseEntity<?> response = medicalRecordController.searchMedicalRecords("asthma", "Diagnosis", null, 7L, 0, 20, 1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Map<String, Object> body = (Map<String, Object>) response.getBody();
+        List<Map<String, Object>> records = (List<Map<String, Object>>) body.get("records");
+        assertEquals(List.of(9L, 4L), records.stream().map(r -> r.get("id")).toList());
+        assertEquals(5L, records.get(0).get("patientId"));
+        assertEquals(2L, body.get("totalElements"));
+    }
+
+    // Positive: Admins can search every doctor's records and trigger a rebuild
+    @Test
+    @DisplayName("Should let admins search all records and rebuild the index")
+    void testSearchMedicalRecords_AsAdmin() {
+        when(userRepository.findById(3L)).thenReturn(Optional.of(adminUser));
+        when(clinicalSearchIndex.isReady()).thenReturn(true);
+        when(clinicalSearchIndex.search("metformin", null, null, 2L, 0, 20))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+
+        ResponseEntity<?> search = medicalRecordController.searchMedicalRecords("metformin", null, 2L, null, 0, 20, 3L);
+        ResponseEntity<?> rebuild = medicalRecordController.rebuildSearchIndex(3L);
+
+        assertEquals(HttpStatus.OK, search.getStatusCode());
+        assertEquals(HttpStatus.ACCEPTED, rebuild.getStatusCode());
+        verify(clinicalSearchIndex).loadInBackground();
+        verify(medicalRecordRepository, never()).findSummariesByIdIn(any(), anyInt());
+    }
+
+    // Negative: Patients cannot search and unknown fields are rejected
+    @Test
+    @DisplayName("Should reject searches by patients and on unknown fields")
+    void testSearchMedicalRecords_Rejected() {
+        when(userRepository.findById(2L)).thenReturn(Optional.of(patientUser));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(doctorUser));
+
+        ResponseEntity<?> asPatient = medicalRecordController.searchMedicalRecords("flu", null, null, null, 0, 20, 2L);
+        ResponseEntity<?> badField = medicalRecordController.searchMedicalRecords("flu", "notes", null, null, 0, 20, 1L);
+        ResponseEntity<?> rebuild = medicalRecordController.rebuildSearchIndex(1L);
+
+        assertEquals(HttpStatus.FORBIDDEN, asPatient.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, badField.getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, rebuild.getStatusCode());
+        verify(clinicalSearchIndex, never()).loadInBackground();
+    }
+
+    // Edge: Until the first load finishes the search answers 503
+    @Test
+    @DisplayName("Should report the search as unavailable while the index loads")
+    void testSearchMedicalRecords_NotReady() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(doctorUser));
+        when(clinicalSearchIndex.isReady()).thenReturn(false);
+
+        ResponseEntity<?> response = medicalRecordController.searchMedicalRecords("flu", null, null, null, 0, 20, 1L);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    }
+
+    // Positive: Every write tells the search index which record changed
+    @Test
+    @DisplayName("Should publish a change event on create, update and delete")
+    void testRecordChangeEvents() {
+        when(userRepository.findById(3L)).thenReturn(Optional.of(adminUser));
+        when(medicalRecordRepository.save(any(MedicalRecord.class))).thenReturn(testRecord);
+        when(medicalRecordRepository.findById(1L)).thenReturn(Optional.of(testRecord));
+
+        medicalRecordController.createMedicalRecord(testRecord, 3L);
+        medicalRecordController.updateMedicalRecord(1L, testRecord, 3L);
+        medicalRecordController.deleteMedicalRecord(1L, 3L);
+
+        verify(eventPublisher, times(3)).publishEvent(new MedicalRecordChangedEvent(1L));
+    }
+
     // Positive: Retrieves a medical record by ID successfully
     @Test
     @DisplayName("Should get medical record by ID")
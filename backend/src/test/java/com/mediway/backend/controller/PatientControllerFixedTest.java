@@ -6,45 +6,65 @@ package com.mediway.backend.controller;
  * - Get patient by ID - Success                    : Positive
  * - Get patient by ID - Not Found                  : Negative
  * - Create patient - Success                       : Positive
+ * - Create patient - Password is hashed            : Positive
  * - Update patient - Success                       : Positive
  * - Update patient - Not Found                     : Negative
  * - Delete patient - Success                       : Positive
  * - Delete patient - Not Found                     : Negative
  * - Search patients by name - Success              : Positive
  * - Get patients by gender - Success               : Positive
+ * - Filter patients - Success                      : Positive
+ * - Batch fetch patients - Success                 : Positive
  */
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediway.backend.dto.projection.PatientSummary;
+import com.mediway.backend.dto.request.PatientFilterRequest;
 import com.mediway.backend.entity.User;
 import com.mediway.backend.repository.UserRepository;
+import com.mediway.backend.security.PasswordHashingService;
 import com.mediway.backend.service.PatientService;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 @DisplayName("PatientController Tests")
 class PatientControllerTest {
@@ -57,6 +77,13 @@ class PatientControllerTest {
     @Mock
     private PatientService patientService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private PasswordHashingService passwordHashingService = new PasswordHashingService(
+            new BCryptPasswordEncoder(4), 1, 4, Duration.ofSeconds(5), new SimpleMeterRegistry());
+
     @InjectMocks
     private PatientController patientController;
 
@@ -156,6 +183,25 @@ class PatientControllerTest {
         verify(userRepository).save(any(User.class));
     }
 
+    @Test
+    @DisplayName("Create patient - Password is hashed")
+    void createPatient_HashesPassword() throws Exception {
+        // Given
+        when(userRepository.save(any(User.class))).thenReturn(testPatient);
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+
+        // When
+        mockMvc.perform(post("/patients")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"John Doe\",\"email\":\"john.doe@example.com\",\"password\":\"secret123\"}"))
+                .andExpect(status().isOk());
+
+        // Then
+        verify(userRepository).save(saved.capture());
+        assertTrue(PasswordHashingService.isHashed(saved.getValue().getPassword()));
+        assertTrue(passwordHashingService.matches("secret123", saved.getValue().getPassword()));
+    }
+
     @Test
     @DisplayName("Update patient - Success")
     void updatePatient_Success() throws Exception {
@@ -239,30 +285,84 @@ class PatientControllerTest {
     @DisplayName("Search patients by name - Success")
     void searchPatientsByName_Success() throws Exception {
         // Given
-        when(userRepository.findAll()).thenReturn(Arrays.asList(testPatient));
+        when(patientService.searchPatients("John", 0, 20))
+                .thenReturn(new PageImpl<>(List.of(testPatient), PageRequest.of(0, 20), 1));
 
         // When & Then
         mockMvc.perform(get("/patients/search")
                 .param("name", "John"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "1"))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].name").value("John Doe"));
 
-        verify(userRepository).findAll();
+        verify(patientService).searchPatients("John", 0, 20);
     }
 
     @Test
     @DisplayName("Get patients by gender - Success")
     void getPatientsByGender_Success() throws Exception {
         // Given
-        when(userRepository.findAll()).thenReturn(Arrays.asList(testPatient));
+        PatientSummary summary = new PatientSummary(1L, "John Doe", "john@example.com", "1234567890",
+                "Male", "O+", LocalDate.of(1990, 1, 1), null);
+        when(patientService.filterPatients(any(PatientFilterRequest.class), eq(1), eq(10), eq("id")))
+                .thenReturn(new PageImpl<>(List.of(summary), PageRequest.of(1, 10), 11));
 
         // When & Then
-        mockMvc.perform(get("/patients/gender/Male"))
+        mockMvc.perform(get("/patients/gender/Male")
+                .param("page", "1")
+                .param("size", "10"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].gender").value("Male"));
+                .andExpect(jsonPath("$.content[0].gender").value("Male"))
+                .andExpect(jsonPath("$.content[0].password").doesNotExist())
+                .andExpect(jsonPath("$.page.totalElements").value(11));
 
-        verify(userRepository).findAll();
+        verify(patientService).filterPatients(argThat(filter -> "Male".equals(filter.getGender())
+                && filter.getBloodType() == null), eq(1), eq(10), eq("id"));
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Filter patients - Success")
+    void filterPatients_Success() throws Exception {
+        // Given
+        PatientSummary summary = new PatientSummary(1L, "John Doe", "john@example.com", "1234567890",
+                "Male", "O+", LocalDate.of(1990, 1, 1), null);
+        when(patientService.filterPatients(any(PatientFilterRequest.class), eq(0), eq(20), eq("name")))
+                .thenReturn(new PageImpl<>(List.of(summary), PageRequest.of(0, 20), 1));
+
+        // When & Then
+        mockMvc.perform(get("/patients/filter")
+                .param("gender", "Male")
+                .param("bloodType", "O+")
+                .param("minAge", "30")
+                .param("createdFrom", "2024-01-01")
+                .param("sort", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("John Doe"))
+                .andExpect(jsonPath("$.page.totalElements").value(1));
+
+        verify(patientService).filterPatients(argThat(filter -> "Male".equals(filter.getGender())
+                && "O+".equals(filter.getBloodType())
+                && filter.getMinAge() == 30
+                && LocalDate.of(2024, 1, 1).equals(filter.getCreatedFrom())), eq(0), eq(20), eq("name"));
+    }
+
+    @Test
+    @DisplayName("Batch fetch patients - Success")
+    void getPatientsByIds_Success() throws Exception {
+        // Given
+        PatientSummary summary = new PatientSummary(1L, "John Doe", "john@example.com", "1234567890",
+                "Male", "O+", LocalDate.of(1990, 1, 1), null);
+        when(patientService.findByIds(List.of(3L, 1L))).thenReturn(List.of(summary));
+
+        // When & Then
+        mockMvc.perform(get("/api/patients/batch").param("ids", "3", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].password").doesNotExist());
+
+        verify(patientService).findByIds(List.of(3L, 1L));
     }
-}
\ No newline at end of file
+}
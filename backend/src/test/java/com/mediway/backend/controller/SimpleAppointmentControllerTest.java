@@ -12,6 +12,7 @@ package com.mediway.backend.controller;
  * - Create appointment variations (optional fields)  : Edge
  * - Update appointment - Success / Not Found         : Positive / Negative
  * - Delete appointment - Success / Not Found         : Positive / Negative
+ * - Archived appointments readable, not deletable    : Edge
  * - appointmentToMap variations                      : Edge (mapping with/without details)
  */
 
@@ -46,9 +47,11 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mediway.backend.entity.Appointment;
+import com.mediway.backend.entity.ArchivedAppointment;
 import com.mediway.backend.entity.Doctor;
 import com.mediway.backend.entity.User;
 import com.mediway.backend.repository.AppointmentRepository;
+import com.mediway.backend.repository.ArchivedAppointmentRepository;
 import com.mediway.backend.repository.DoctorRepository;
 import com.mediway.backend.repository.UserRepository;
 
@@ -61,6 +64,9 @@ class SimpleAppointmentControllerTest {
     @Mock
     private AppointmentRepository appointmentRepository;
 
+    @Mock
+    private ArchivedAppointmentRepository archivedAppointmentRepository;
+
     @Mock
     private DoctorRepository doctorRepository;
 
@@ -436,6 +442,32 @@ class SimpleAppointmentControllerTest {
         verify(appointmentRepository, never()).delete(any());
     }
 
+    // Edge: Archived appointments are found by ID but cannot be deleted
+    @Test
+    @DisplayName("Archived appointment - Readable, not deletable")
+    void archivedAppointment_ReadOnly() throws Exception {
+        // Given
+        ArchivedAppointment archived = new ArchivedAppointment();
+        archived.setId(7L);
+        archived.setPatientId(1L);
+        archived.setDoctorId(1L);
+        archived.setAppointmentDate(LocalDateTime.now().minusYears(3));
+        archived.setStatus(Appointment.Status.COMPLETED);
+        when(appointmentRepository.findById(7L)).thenReturn(Optional.empty());
+        when(archivedAppointmentRepository.findById(7L)).thenReturn(Optional.of(archived));
+        when(archivedAppointmentRepository.existsById(7L)).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(get("/appointments/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.appointmentId").value(7))
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+        mockMvc.perform(delete("/appointments/7"))
+                .andExpect(status().isConflict());
+
+        verify(appointmentRepository, never()).delete(any());
+    }
+
     // Edge: Appointment to map - With doctor and patient details
     @Test
     @DisplayName("Appointment to map - With doctor and patient details")
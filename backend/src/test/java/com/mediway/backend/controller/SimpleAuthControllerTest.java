@@ -9,11 +9,14 @@ package com.mediway.backend.controller;
  * - register variations (fullName/empty name)        : Edge / Positive
  * - register exception handling                      : Negative
  * - login wrong password / exception handling        : Negative
+ * - login while hashing is saturated returns 429     : Negative
  * - doctor/admin login variations (success/invalid)  : Mix (Positive/Negative)
  * - health endpoint                                  : Positive (health check)
+ * - logout revokes JWTs, ignores simple tokens       : Positive / Edge
+ * - login token authenticates /auth/me until logout  : Positive / Negative
+ * - /auth/me without a token returns 401             : Negative
  */
 
-import java.util.Collections;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -23,24 +26,38 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
-import com.mediway.backend.entity.Admin;
-import com.mediway.backend.entity.Doctor;
+import com.jayway.jsonpath.JsonPath;
+import com.mediway.backend.config.JwtAuthenticationFilter;
 import com.mediway.backend.entity.User;
-import com.mediway.backend.repository.AdminRepository;
-import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.exception.GlobalExceptionHandler;
+import com.mediway.backend.exception.ServiceBusyException;
 import com.mediway.backend.repository.UserRepository;
+import com.mediway.backend.security.AccountCredentials;
+import com.mediway.backend.security.AccountType;
+import com.mediway.backend.security.CredentialLookupService;
 import com.mediway.backend.security.JwtUtil;
+import com.mediway.backend.security.PasswordHashingService;
+import com.mediway.backend.security.TokenRevocationService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 
 class SimpleAuthControllerTest {
 
@@ -50,16 +67,22 @@ class SimpleAuthControllerTest {
     private UserRepository userRepository;
 
     @Mock
-    private DoctorRepository doctorRepository;
+    private JwtUtil jwtUtil;
 
     @Mock
-    private AdminRepository adminRepository;
+    private UserDetailsService userDetailsService;
 
     @Mock
-    private JwtUtil jwtUtil;
+    private TokenRevocationService tokenRevocationService;
 
     @Mock
-    private UserDetailsService userDetailsService;
+    private CredentialLookupService credentialLookupService;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private SimpleAuthController authController;
@@ -67,7 +90,9 @@ class SimpleAuthControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(authController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(authController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
     }
 
     @Test
@@ -89,6 +114,8 @@ class SimpleAuthControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.userId").value(1));
+
+        verify(passwordHashingService).hash("password123");
     }
 
     @Test
@@ -109,14 +136,12 @@ class SimpleAuthControllerTest {
     void login_ValidCredentials_ReturnsSuccess() throws Exception {
         // Positive: login_ValidCredentials_ReturnsSuccess
         // Given
-        User user = new User();
-        user.setId(1L);
-        user.setName("John Doe");
-        user.setEmail("john@example.com");
-        user.setPassword("password123");
-        user.setRole(User.Role.PATIENT);
+        AccountCredentials user = new AccountCredentials(
+                AccountType.USER, 1L, "John Doe", "john@example.com", "password123", "PATIENT");
 
-        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(credentialLookupService.authenticate(AccountType.USER, "john@example.com", "password123"))
+                .thenReturn(Optional.of(user));
+        when(jwtUtil.generateToken("john@example.com", "PATIENT", 1L)).thenReturn("signed.jwt.token");
 
         // When & Then
         mockMvc.perform(post("/auth/login")
@@ -124,14 +149,15 @@ class SimpleAuthControllerTest {
                 .content("{\"email\":\"john@example.com\",\"password\":\"password123\"}"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.token").value("simple-token-1"));
+                .andExpect(jsonPath("$.token").value("signed.jwt.token"));
     }
 
     @Test
     void login_InvalidCredentials_ReturnsUnauthorized() throws Exception {
         // Negative: login_InvalidCredentials_ReturnsUnauthorized
         // Given
-        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.empty());
+        when(credentialLookupService.authenticate(AccountType.USER, "john@example.com", "wrongpassword"))
+                .thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(post("/auth/login")
@@ -208,12 +234,9 @@ class SimpleAuthControllerTest {
     void login_WrongPassword_ReturnsUnauthorized() throws Exception {
         // Negative: login wrong password / exception handling
         // Given
-        User user = new User();
-        user.setId(1L);
-        user.setEmail("john@example.com");
-        user.setPassword("correctpassword");
-
-        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        // Lookup finds the account but the password check fails
+        when(credentialLookupService.authenticate(AccountType.USER, "john@example.com", "wrongpassword"))
+                .thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(post("/auth/login")
@@ -229,7 +252,8 @@ class SimpleAuthControllerTest {
     void login_ExceptionThrown_ReturnsInternalServerError() throws Exception {
         // Negative: login wrong password / exception handling
         // Given
-        when(userRepository.findByEmail(anyString())).thenThrow(new RuntimeException("Database connection lost"));
+        when(credentialLookupService.authenticate(any(), anyString(), anyString()))
+                .thenThrow(new RuntimeException("Database connection lost"));
 
         // When & Then
         mockMvc.perform(post("/auth/login")
@@ -240,18 +264,33 @@ class SimpleAuthControllerTest {
                 .andExpect(jsonPath("$.message").value("Login failed: Database connection lost"));
     }
 
+    @Test
+    @DisplayName("Login when password hashing is saturated")
+    void login_HashingSaturated_ReturnsTooManyRequests() throws Exception {
+        // Negative: login wrong password / exception handling
+        // Given
+        when(credentialLookupService.authenticate(any(), anyString(), anyString()))
+                .thenThrow(new ServiceBusyException("Server is busy, please retry shortly", 3));
+
+        // When & Then
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"john@example.com\",\"password\":\"password123\"}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "3"));
+    }
+
     @Test
     @DisplayName("Doctor login - success")
     void doctorLogin_ValidCredentials_ReturnsSuccess() throws Exception {
         // Positive: doctor/admin login variations (success/invalid)
         // Given
-        Doctor doctor = new Doctor();
-        doctor.setId(10L);
-        doctor.setName("Dr. Smith");
-        doctor.setEmail("dr.smith@hospital.com");
-        doctor.setPassword("doctor123");
+        AccountCredentials doctor = new AccountCredentials(
+                AccountType.DOCTOR, 10L, "Dr. Smith", "dr.smith@hospital.com", "doctor123", "DOCTOR");
 
-        when(doctorRepository.findAll()).thenReturn(Collections.singletonList(doctor));
+        when(credentialLookupService.authenticate(AccountType.DOCTOR, "dr.smith@hospital.com", "doctor123"))
+                .thenReturn(Optional.of(doctor));
+        when(jwtUtil.generateToken("dr.smith@hospital.com", "DOCTOR", 10L)).thenReturn("signed.doctor.token");
 
         // When & Then
         mockMvc.perform(post("/auth/doctor-login")
@@ -259,7 +298,7 @@ class SimpleAuthControllerTest {
                 .content("{\"email\":\"dr.smith@hospital.com\",\"password\":\"doctor123\"}"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.token").value("simple-token-doctor-10"))
+                .andExpect(jsonPath("$.token").value("signed.doctor.token"))
                 .andExpect(jsonPath("$.role").value("DOCTOR"))
                 .andExpect(jsonPath("$.fullName").value("Dr. Smith"));
     }
@@ -269,7 +308,8 @@ class SimpleAuthControllerTest {
     void doctorLogin_InvalidEmail_ReturnsUnauthorized() throws Exception {
         // Negative: doctor/admin login variations (success/invalid)
         // Given
-        when(doctorRepository.findAll()).thenReturn(Collections.emptyList());
+        when(credentialLookupService.authenticate(AccountType.DOCTOR, "unknown@hospital.com", "password"))
+                .thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(post("/auth/doctor-login")
@@ -285,12 +325,8 @@ class SimpleAuthControllerTest {
     void doctorLogin_WrongPassword_ReturnsUnauthorized() throws Exception {
         // Negative: doctor/admin login variations (success/invalid)
         // Given
-        Doctor doctor = new Doctor();
-        doctor.setId(10L);
-        doctor.setEmail("dr.smith@hospital.com");
-        doctor.setPassword("correctpassword");
-
-        when(doctorRepository.findAll()).thenReturn(Collections.singletonList(doctor));
+        when(credentialLookupService.authenticate(AccountType.DOCTOR, "dr.smith@hospital.com", "wrongpassword"))
+                .thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(post("/auth/doctor-login")
@@ -305,7 +341,8 @@ class SimpleAuthControllerTest {
     void doctorLogin_ExceptionThrown_ReturnsInternalServerError() throws Exception {
         // Negative: doctor/admin login variations (success/invalid)
         // Given
-        when(doctorRepository.findAll()).thenThrow(new RuntimeException("Database error"));
+        when(credentialLookupService.authenticate(any(), anyString(), anyString()))
+                .thenThrow(new RuntimeException("Database error"));
 
         // When & Then
         mockMvc.perform(post("/auth/doctor-login")
@@ -321,13 +358,12 @@ class SimpleAuthControllerTest {
     void adminLogin_ValidCredentials_ReturnsSuccess() throws Exception {
         // Positive: doctor/admin login variations (success/invalid)
         // Given
-        Admin admin = new Admin();
-        admin.setId(100L);
-        admin.setName("Admin User");
-        admin.setEmail("admin@hospital.com");
-        admin.setPassword("admin123");
+        AccountCredentials admin = new AccountCredentials(
+                AccountType.ADMIN, 100L, "Admin User", "admin@hospital.com", "admin123", "ADMIN");
 
-        when(adminRepository.findByEmail("admin@hospital.com")).thenReturn(Optional.of(admin));
+        when(credentialLookupService.authenticate(AccountType.ADMIN, "admin@hospital.com", "admin123"))
+                .thenReturn(Optional.of(admin));
+        when(jwtUtil.generateToken("admin@hospital.com", "ADMIN", 100L)).thenReturn("signed.admin.token");
 
         // When & Then
         mockMvc.perform(post("/auth/admin-login")
@@ -335,7 +371,7 @@ class SimpleAuthControllerTest {
                 .content("{\"email\":\"admin@hospital.com\",\"password\":\"admin123\"}"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.token").value("simple-token-admin-100"))
+                .andExpect(jsonPath("$.token").value("signed.admin.token"))
                 .andExpect(jsonPath("$.role").value("ADMIN"))
                 .andExpect(jsonPath("$.fullName").value("Admin User"));
     }
@@ -345,7 +381,8 @@ class SimpleAuthControllerTest {
     void adminLogin_InvalidEmail_ReturnsUnauthorized() throws Exception {
         // Negative: doctor/admin login variations (success/invalid)
         // Given
-        when(adminRepository.findByEmail("unknown@hospital.com")).thenReturn(Optional.empty());
+        when(credentialLookupService.authenticate(AccountType.ADMIN, "unknown@hospital.com", "password"))
+                .thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(post("/auth/admin-login")
@@ -361,12 +398,8 @@ class SimpleAuthControllerTest {
     void adminLogin_WrongPassword_ReturnsUnauthorized() throws Exception {
         // Negative: doctor/admin login variations (success/invalid)
         // Given
-        Admin admin = new Admin();
-        admin.setId(100L);
-        admin.setEmail("admin@hospital.com");
-        admin.setPassword("correctpassword");
-
-        when(adminRepository.findByEmail("admin@hospital.com")).thenReturn(Optional.of(admin));
+        when(credentialLookupService.authenticate(AccountType.ADMIN, "admin@hospital.com", "wrongpassword"))
+                .thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(post("/auth/admin-login")
@@ -381,7 +414,8 @@ class SimpleAuthControllerTest {
     void adminLogin_ExceptionThrown_ReturnsInternalServerError() throws Exception {
         // Negative: doctor/admin login variations (success/invalid)
         // Given
-        when(adminRepository.findByEmail(anyString())).thenThrow(new RuntimeException("Connection timeout"));
+        when(credentialLookupService.authenticate(any(), anyString(), anyString()))
+                .thenThrow(new RuntimeException("Connection timeout"));
 
         // When & Then
         mockMvc.perform(post("/auth/admin-login")
@@ -402,4 +436,88 @@ class SimpleAuthControllerTest {
                 .andExpect(jsonPath("$.status").value("healthy"))
                 .andExpect(jsonPath("$.message").value("Auth service is running"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Logout revokes a signed JWT")
+    void logout_Jwt_RevokesToken() throws Exception {
+        // Positive: logout revokes JWTs
+        Claims claims = Jwts.claims().setSubject("john@example.com").setId("token-id");
+        when(jwtUtil.extractAllClaims("signed.jwt.token")).thenReturn(claims);
+
+        mockMvc.perform(post("/auth/logout")
+                .header("Authorization", "Bearer signed.jwt.token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        verify(tokenRevocationService).revokeToken(claims);
+    }
+
+    @Test
+    @DisplayName("Logout with a simple token does nothing to revoke")
+    void logout_SimpleToken_NoRevocation() throws Exception {
+        // Edge: logout ignores simple tokens
+        mockMvc.perform(post("/auth/logout")
+                .header("Authorization", "Bearer simple-token-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        verify(tokenRevocationService, never()).revokeToken(any());
+    }
+
+    @Test
+    @DisplayName("Login token authenticates later requests until logout")
+    void login_ThenAuthenticatedRequest_UsesSignedToken() throws Exception {
+        // Positive / Negative: real JwtUtil, revocation service and filter in front of the controller
+        JwtUtil realJwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(realJwtUtil, "secret",
+                "mySecretKey12345678901234567890123456789012345678901234567890");
+        ReflectionTestUtils.setField(realJwtUtil, "expiration", 86400000L);
+        TokenRevocationService revocations = new TokenRevocationService();
+        ReflectionTestUtils.setField(authController, "jwtUtil", realJwtUtil);
+        ReflectionTestUtils.setField(authController, "tokenRevocationService", revocations);
+        MockMvc securedMvc = MockMvcBuilders.standaloneSetup(authController)
+                .addFilters(new JwtAuthenticationFilter(realJwtUtil, userDetailsService, revocations))
+                .build();
+        AccountCredentials user = new AccountCredentials(
+                AccountType.USER, 1L, "John Doe", "john@example.com", "hash", "PATIENT");
+        when(credentialLookupService.authenticate(AccountType.USER, "john@example.com", "password123"))
+                .thenReturn(Optional.of(user));
+
+        String body = securedMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"john@example.com\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = JsonPath.read(body, "$.token");
+
+        // Standalone MockMvc has no security filter chain, so the context is cleared by hand between requests
+        SecurityContextHolder.clearContext();
+        try {
+            securedMvc.perform(get("/auth/me").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.userId").value(1))
+                    .andExpect(jsonPath("$.email").value("john@example.com"))
+                    .andExpect(jsonPath("$.role").value("PATIENT"));
+            SecurityContextHolder.clearContext();
+
+            securedMvc.perform(post("/auth/logout").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+            SecurityContextHolder.clearContext();
+
+            securedMvc.perform(get("/auth/me").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isUnauthorized());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Current account without a token")
+    void me_NoToken_ReturnsUnauthorized() throws Exception {
+        // Negative: /auth/me without a token
+        mockMvc.perform(get("/auth/me"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+}
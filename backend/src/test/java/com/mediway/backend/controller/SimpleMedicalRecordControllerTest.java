@@ -8,13 +8,13 @@ package com.mediway.backend.controller;
  * - Update medical record - Success / Not Found      : Positive / Negative
  * - Delete medical record - Success / Not Found      : Positive / Negative
  * - Get medical records by patient/doctor ID         : Positive
+ * - Listings return summaries without the full text   : Positive
+ * - Patient without records gets an empty list        : Edge
  */
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +22,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -30,6 +31,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -41,6 +43,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediway.backend.dto.projection.MedicalRecordSummary;
 import com.mediway.backend.entity.MedicalRecord;
 import com.mediway.backend.repository.MedicalRecordRepository;
 
@@ -53,6 +56,9 @@ class SimpleMedicalRecordControllerTest {
     @Mock
     private MedicalRecordRepository medicalRecordRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private SimpleMedicalRecordController medicalRecordController;
 
@@ -238,22 +244,20 @@ class SimpleMedicalRecordControllerTest {
     @DisplayName("Get medical records by patient ID - Success")
     void getMedicalRecordsByPatientId_Success() throws Exception {
         // Given
-    List<Map<String, Object>> mockResult = new ArrayList<>();
-    Map<String, Object> recordMap = new HashMap<>();
-    recordMap.put("id", 1);
-    recordMap.put("diagnosis", "Test diagnosis");
-    mockResult.add(recordMap);
-
-    when(medicalRecordRepository.findByPatientIdOrderByRecordDateDesc(anyLong())).thenReturn((List)mockResult);
+        MedicalRecordSummary summary = new MedicalRecordSummary(
+                1L, 1L, LocalDateTime.of(2025, 3, 1, 10, 0), 2L, null, "Test diagnosis");
+        when(medicalRecordRepository.findSummariesByPatientId(anyLong(), anyInt())).thenReturn(List.of(summary));
 
         // When & Then
         mockMvc.perform(get("/medical-records/patient/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].doctorId").value(2))
                 .andExpect(jsonPath("$[0].diagnosis").value("Test diagnosis"));
 
-        verify(medicalRecordRepository).findByPatientIdOrderByRecordDateDesc(1L);
+        verify(medicalRecordRepository).findSummariesByPatientId(1L, MedicalRecordController.DIAGNOSIS_PREVIEW_LENGTH);
+        verify(medicalRecordRepository, never()).findByPatientIdOrderByRecordDateDesc(anyLong());
     }
 
     // Positive: Get medical records by doctor ID
@@ -261,22 +265,30 @@ class SimpleMedicalRecordControllerTest {
     @DisplayName("Get medical records by doctor ID - Success")
     void getMedicalRecordsByDoctorId_Success() throws Exception {
         // Given
-        List<Map<String, Object>> mockResult = new ArrayList<>();
-        Map<String, Object> recordMap = new HashMap<>();
-        recordMap.put("id", 1);
-        recordMap.put("diagnosis", "Test diagnosis");
-        recordMap.put("treatment", "Test treatment");
-        mockResult.add(recordMap);
-
-        when(medicalRecordRepository.findByDoctorIdOrderByRecordDateDesc(anyLong())).thenReturn((List)mockResult);
+        MedicalRecordSummary summary = new MedicalRecordSummary(
+                1L, 3L, LocalDateTime.of(2025, 3, 1, 10, 0), 1L, 7L, "Test diagnosis");
+        when(medicalRecordRepository.findSummariesByDoctorId(anyLong(), anyInt())).thenReturn(List.of(summary));
 
         // When & Then
         mockMvc.perform(get("/medical-records/doctor/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].treatment").value("Test treatment"));
+                .andExpect(jsonPath("$[0].patientId").value(3))
+                .andExpect(jsonPath("$[0].appointmentId").value(7))
+                .andExpect(jsonPath("$[0].treatment").doesNotExist());
 
-        verify(medicalRecordRepository).findByDoctorIdOrderByRecordDateDesc(1L);
+        verify(medicalRecordRepository).findSummariesByDoctorId(1L, MedicalRecordController.DIAGNOSIS_PREVIEW_LENGTH);
+    }
+
+    // Edge: No records gives an empty list
+    @Test
+    @DisplayName("Get medical records by patient ID - Empty")
+    void getMedicalRecordsByPatientId_Empty() throws Exception {
+        when(medicalRecordRepository.findSummariesByPatientId(anyLong(), anyInt())).thenReturn(List.of());
+
+        mockMvc.perform(get("/medical-records/patient/9"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
     }
-}
\ No newline at end of file
+}
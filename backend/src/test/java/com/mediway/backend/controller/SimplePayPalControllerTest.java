@@ -333,7 +333,7 @@ class SimplePayPalControllerTest {
         appointment.setId(1L);
         appointment.setStatus(Appointment.Status.SCHEDULED);
 
-        when(paymentRepository.findAll()).thenReturn(Arrays.asList(payment));
+        when(paymentRepository.findFirstByPaypalPaymentId("PAY-XXXYYY")).thenReturn(Optional.of(payment));
         when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
         when(appointmentRepository.findById(1L)).thenReturn(Optional.of(appointment));
 
@@ -404,7 +404,7 @@ class SimplePayPalControllerTest {
         appointment.setId(1L);
         appointment.setStatus(Appointment.Status.SCHEDULED);
 
-        when(paymentRepository.findAll()).thenReturn(Arrays.asList(payment));
+        when(paymentRepository.findFirstByPaypalPaymentId("SIM-123")).thenReturn(Optional.of(payment));
         when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
         when(appointmentRepository.findById(1L)).thenReturn(Optional.of(appointment));
 
@@ -429,7 +429,7 @@ class SimplePayPalControllerTest {
         appointment.setId(1L);
         appointment.setStatus(Appointment.Status.SCHEDULED);
 
-        when(paymentRepository.findAll()).thenReturn(Arrays.asList(payment));
+        when(paymentRepository.findFirstByPaypalPaymentId("12345")).thenReturn(Optional.of(payment));
         when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
         when(appointmentRepository.findById(1L)).thenReturn(Optional.of(appointment));
 
@@ -444,7 +444,7 @@ class SimplePayPalControllerTest {
     @DisplayName("Execute payment by token - payment not found")
     void executePaymentByToken_NotFound_ReturnsError() throws Exception {
         // Negative: No payment matches provided token; expect internal server error response
-        when(paymentRepository.findAll()).thenReturn(Collections.emptyList());
+        when(paymentRepository.findFirstByPaypalPaymentId("SIM-999")).thenReturn(Optional.empty());
 
         mockMvc.perform(post("/paypal/execute-token")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -462,7 +462,7 @@ class SimplePayPalControllerTest {
         payment.setPaypalPaymentId("SIM-123");
         payment.setStatus(Payment.Status.COMPLETED);
 
-        when(paymentRepository.findAll()).thenReturn(Arrays.asList(payment));
+        when(paymentRepository.findFirstByPaypalPaymentId("SIM-123")).thenReturn(Optional.of(payment));
 
         mockMvc.perform(post("/paypal/execute-token")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -486,7 +486,7 @@ class SimplePayPalControllerTest {
         appointment.setId(1L);
         appointment.setStatus(Appointment.Status.CANCELLED);
 
-        when(paymentRepository.findAll()).thenReturn(Arrays.asList(payment));
+        when(paymentRepository.findFirstByPaypalPaymentId("SIM-123")).thenReturn(Optional.of(payment));
         when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
         when(appointmentRepository.findById(1L)).thenReturn(Optional.of(appointment));
 
@@ -509,7 +509,7 @@ class SimplePayPalControllerTest {
         payment.setStatus(Payment.Status.PENDING);
         payment.setAppointmentId(null); // No appointment - causes NullPointerException in Map.of()
 
-        when(paymentRepository.findAll()).thenReturn(Arrays.asList(payment));
+        when(paymentRepository.findFirstByPaypalPaymentId("SIM-123")).thenReturn(Optional.of(payment));
         when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
 
         // NullPointerException will be caught and return 500
@@ -706,7 +706,7 @@ class SimplePayPalControllerTest {
         appointment.setId(2L);
         appointment.setStatus(Appointment.Status.SCHEDULED);
 
-        when(paymentRepository.findAll()).thenReturn(Arrays.asList(payment1, payment2));
+        when(paymentRepository.findFirstByPaypalPaymentId("PAY-222")).thenReturn(Optional.of(payment2));
         when(paymentRepository.save(any(Payment.class))).thenReturn(payment2);
         when(appointmentRepository.findById(2L)).thenReturn(Optional.of(appointment));
 
@@ -727,7 +727,7 @@ class SimplePayPalControllerTest {
         payment.setStatus(Payment.Status.PENDING);
         payment.setAppointmentId(999L); // Non-existent appointment
 
-        when(paymentRepository.findAll()).thenReturn(Arrays.asList(payment));
+        when(paymentRepository.findFirstByPaypalPaymentId("SIM-123")).thenReturn(Optional.of(payment));
         when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
         when(appointmentRepository.findById(999L)).thenReturn(Optional.empty());
 
@@ -29,12 +29,14 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import com.mediway.backend.entity.User;
 import com.mediway.backend.repository.UserRepository;
+import com.mediway.backend.security.PasswordHashingService;
+import com.mediway.backend.security.TokenRevocationService;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Simple Profile Controller Tests")
@@ -44,7 +46,13 @@ class SimpleProfileControllerTest {
     private UserRepository userRepository;
 
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private SimpleProfileController simpleProfileController;
@@ -143,14 +151,15 @@ class SimpleProfileControllerTest {
         passwordData.put("newPassword", "newPassword123");
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches("oldPassword", testUser.getPassword())).thenReturn(true);
-        when(passwordEncoder.encode("newPassword123")).thenReturn("hashedNewPassword");
+        when(passwordHashingService.matches("oldPassword", testUser.getPassword())).thenReturn(true);
+        when(passwordHashingService.hash("newPassword123")).thenReturn("hashedNewPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         ResponseEntity<?> response = simpleProfileController.changePassword(1L, passwordData);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         verify(userRepository, times(1)).save(any(User.class));
+        verify(tokenRevocationService, times(1)).revokeAllFor("john@example.com");
     }
 
     // Negative: Reject password change with wrong current password
@@ -162,12 +171,13 @@ class SimpleProfileControllerTest {
         passwordData.put("newPassword", "newPassword123");
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches("wrongPassword", testUser.getPassword())).thenReturn(false);
+        when(passwordHashingService.matches("wrongPassword", testUser.getPassword())).thenReturn(false);
 
         ResponseEntity<?> response = simpleProfileController.changePassword(1L, passwordData);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         verify(userRepository, never()).save(any());
+        verify(tokenRevocationService, never()).revokeAllFor(any());
     }
 
     // Negative: Return 404 when changing password for non-existent user
@@ -460,8 +470,8 @@ class SimpleProfileControllerTest {
         passwordData.put("newPassword", "newPassword123");
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches("oldPassword", testUser.getPassword())).thenReturn(true);
-        when(passwordEncoder.encode("newPassword123")).thenReturn("hashedNewPassword");
+        when(passwordHashingService.matches("oldPassword", testUser.getPassword())).thenReturn(true);
+        when(passwordHashingService.hash("newPassword123")).thenReturn("hashedNewPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         ResponseEntity<?> response = simpleProfileController.changePassword(null, passwordData);
@@ -13,6 +13,7 @@ package com.mediway.backend.controller;
  */
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -34,6 +35,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import com.mediway.backend.dto.projection.DoctorSummary;
 import com.mediway.backend.entity.Appointment;
 import com.mediway.backend.entity.Doctor;
 import com.mediway.backend.entity.MedicalRecord;
@@ -43,6 +45,7 @@ import com.mediway.backend.repository.DoctorRepository;
 import com.mediway.backend.repository.MedicalRecordRepository;
 import com.mediway.backend.repository.PaymentRepository;
 import com.mediway.backend.repository.UserRepository;
+import com.mediway.backend.service.DoctorDirectory;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Simple Reports Controller Tests")
@@ -63,6 +66,9 @@ class SimpleReportsControllerTest {
     @Mock
     private DoctorRepository doctorRepository;
 
+    @Mock
+    private DoctorDirectory doctorDirectory;
+
     @InjectMocks
     private SimpleReportsController reportsController;
 
@@ -111,7 +117,7 @@ class SimpleReportsControllerTest {
         when(paymentRepository.findByStatus(Payment.Status.FAILED)).thenReturn(failedPayments);
 
         when(appointmentRepository.findAll()).thenReturn(Arrays.asList(testAppointment));
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList(testDoctor));
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf(testDoctor));
         when(paymentRepository.findAll()).thenReturn(Arrays.asList(testPayment));
 
         // Execute
@@ -157,7 +163,7 @@ class SimpleReportsControllerTest {
         appt2.setAppointmentDate(LocalDateTime.now());
 
         when(appointmentRepository.findAll()).thenReturn(Arrays.asList(testAppointment, appt2));
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList(testDoctor, doctor2));
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf(testDoctor, doctor2));
         when(paymentRepository.findAll()).thenReturn(Arrays.asList());
 
         ResponseEntity<Map<String, Object>> response = reportsController.getDashboardStats();
@@ -176,7 +182,7 @@ class SimpleReportsControllerTest {
 
         when(paymentRepository.findByStatus(any())).thenReturn(Arrays.asList());
         when(appointmentRepository.findAll()).thenReturn(Arrays.asList());
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
 
         Payment payment1 = new Payment();
         payment1.setStatus(Payment.Status.COMPLETED);
@@ -205,7 +211,7 @@ class SimpleReportsControllerTest {
         when(appointmentRepository.count()).thenReturn(3L);
 
         when(paymentRepository.findByStatus(any())).thenReturn(Arrays.asList());
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
         when(paymentRepository.findAll()).thenReturn(Arrays.asList());
 
         Appointment todayAppt = new Appointment();
@@ -213,6 +219,8 @@ class SimpleReportsControllerTest {
         todayAppt.setDoctorId(1L);
 
         when(appointmentRepository.findAll()).thenReturn(Arrays.asList(todayAppt));
+        // The trend only loads the last 30 days (partition key range)
+        when(appointmentRepository.findByAppointmentDateBetween(any(), any())).thenReturn(Arrays.asList(todayAppt));
 
         ResponseEntity<Map<String, Object>> response = reportsController.getDashboardStats();
 
@@ -222,6 +230,9 @@ class SimpleReportsControllerTest {
         @SuppressWarnings("unchecked")
         List<Map<String, Object>> dailyAppts = (List<Map<String, Object>>) response.getBody().get("dailyAppointments");
         assertEquals(30, dailyAppts.size()); // Last 30 days
+        assertEquals(1, dailyAppts.get(29).get("count"));
+        verify(appointmentRepository).findByAppointmentDateBetween(
+                LocalDate.now().minusDays(29).atStartOfDay(), LocalDate.now().plusDays(1).atStartOfDay());
     }
 
     @Test
@@ -234,7 +245,7 @@ class SimpleReportsControllerTest {
 
         when(paymentRepository.findByStatus(any())).thenReturn(Arrays.asList());
         when(appointmentRepository.findAll()).thenReturn(Arrays.asList());
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
 
         Payment payment1 = new Payment();
         payment1.setUserId(1L);
@@ -265,7 +276,7 @@ class SimpleReportsControllerTest {
         when(appointmentRepository.count()).thenReturn(3L);
 
         when(paymentRepository.findByStatus(any())).thenReturn(Arrays.asList());
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
 
         Appointment appt = new Appointment();
         appt.setId(1L);
@@ -297,7 +308,7 @@ class SimpleReportsControllerTest {
 
         when(paymentRepository.findByStatus(any())).thenReturn(Arrays.asList());
         when(appointmentRepository.findAll()).thenReturn(Arrays.asList());
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
 
         Payment pendingPayment = new Payment();
         pendingPayment.setStatus(Payment.Status.PENDING);
@@ -391,7 +402,7 @@ class SimpleReportsControllerTest {
         when(appointmentRepository.findByStatus(any())).thenReturn(Arrays.asList());
         when(paymentRepository.findByStatus(any())).thenReturn(Arrays.asList());
         when(appointmentRepository.findAll()).thenReturn(Arrays.asList());
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
         when(paymentRepository.findAll()).thenReturn(Arrays.asList());
 
         ResponseEntity<byte[]> response = reportsController.downloadPdfSummary();
@@ -413,7 +424,7 @@ class SimpleReportsControllerTest {
 
         when(paymentRepository.findByStatus(any())).thenReturn(Arrays.asList());
         when(appointmentRepository.findAll()).thenReturn(Arrays.asList());
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
         when(paymentRepository.findAll()).thenReturn(Arrays.asList());
 
         ResponseEntity<Map<String, Object>> response = reportsController.getDashboardStats();
@@ -437,7 +448,7 @@ class SimpleReportsControllerTest {
 
         when(paymentRepository.findByStatus(any())).thenReturn(Arrays.asList());
         when(appointmentRepository.findAll()).thenReturn(Arrays.asList());
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
 
         Payment nullAmountPayment = new Payment();
         nullAmountPayment.setStatus(Payment.Status.COMPLETED);
@@ -462,7 +473,7 @@ class SimpleReportsControllerTest {
 
         when(paymentRepository.findByStatus(any())).thenReturn(Arrays.asList());
         when(appointmentRepository.findAll()).thenReturn(Arrays.asList());
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
 
         Payment noDatePayment = new Payment();
         noDatePayment.setStatus(Payment.Status.COMPLETED);
@@ -487,7 +498,7 @@ class SimpleReportsControllerTest {
         when(appointmentRepository.count()).thenReturn(3L);
 
         when(paymentRepository.findByStatus(any())).thenReturn(Arrays.asList());
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
         when(paymentRepository.findAll()).thenReturn(Arrays.asList());
 
         Appointment noDateAppt = new Appointment();
@@ -522,7 +533,7 @@ class SimpleReportsControllerTest {
         unknownDocAppt.setAppointmentDate(LocalDateTime.now());
 
         when(appointmentRepository.findAll()).thenReturn(Arrays.asList(unknownDocAppt));
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList(testDoctor)); // Only doctorId=1
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf(testDoctor)); // Only doctorId=1
 
         ResponseEntity<Map<String, Object>> response = reportsController.getDashboardStats();
 
@@ -541,7 +552,7 @@ class SimpleReportsControllerTest {
 
         when(paymentRepository.findByStatus(any())).thenReturn(Arrays.asList());
         when(appointmentRepository.findAll()).thenReturn(Arrays.asList());
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
 
         Payment pendingPayment = new Payment();
         pendingPayment.setStatus(Payment.Status.PENDING); // Not COMPLETED
@@ -569,7 +580,7 @@ class SimpleReportsControllerTest {
         when(appointmentRepository.count()).thenReturn(3L);
 
         when(paymentRepository.findByStatus(any())).thenReturn(Arrays.asList());
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
 
         Appointment nullDocAppt = new Appointment();
         nullDocAppt.setId(1L);
@@ -601,7 +612,7 @@ class SimpleReportsControllerTest {
         when(appointmentRepository.count()).thenReturn(3L);
 
         when(paymentRepository.findByStatus(any())).thenReturn(Arrays.asList());
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
 
         Appointment appt = new Appointment();
         appt.setId(1L);
@@ -633,7 +644,7 @@ class SimpleReportsControllerTest {
 
         when(paymentRepository.findByStatus(any())).thenReturn(Arrays.asList());
         when(appointmentRepository.findAll()).thenReturn(Arrays.asList());
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
 
         Payment pendingPayment = new Payment();
         pendingPayment.setStatus(Payment.Status.PENDING);
@@ -755,7 +766,7 @@ class SimpleReportsControllerTest {
         when(paymentRepository.findByStatus(Payment.Status.FAILED)).thenReturn(List.of());
         when(paymentRepository.findAll()).thenReturn(List.of(payment1, payment2));
         when(appointmentRepository.findAll()).thenReturn(List.of());
-        when(doctorRepository.findAll()).thenReturn(List.of());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
 
         ResponseEntity<byte[]> response = reportsController.downloadPdfSummary();
 
@@ -790,7 +801,7 @@ class SimpleReportsControllerTest {
         when(paymentRepository.findByStatus(Payment.Status.FAILED)).thenReturn(List.of());
         when(paymentRepository.findAll()).thenReturn(List.of());
         when(appointmentRepository.findAll()).thenReturn(List.of(appointment));
-        when(doctorRepository.findAll()).thenReturn(List.of(doctor));
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf(doctor));
 
         ResponseEntity<byte[]> response = reportsController.downloadPdfSummary();
 
@@ -820,7 +831,7 @@ class SimpleReportsControllerTest {
         when(paymentRepository.findByStatus(Payment.Status.FAILED)).thenReturn(List.of());
         when(paymentRepository.findAll()).thenReturn(List.of());
         when(appointmentRepository.findAll()).thenReturn(List.of(appointment));
-        when(doctorRepository.findAll()).thenReturn(List.of());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
 
         ResponseEntity<byte[]> response = reportsController.downloadPdfSummary();
 
@@ -851,7 +862,7 @@ class SimpleReportsControllerTest {
         when(paymentRepository.findByStatus(Payment.Status.FAILED)).thenReturn(List.of());
         when(paymentRepository.findAll()).thenReturn(List.of(payment));
         when(appointmentRepository.findAll()).thenReturn(List.of());
-        when(doctorRepository.findAll()).thenReturn(List.of());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
 
         ResponseEntity<byte[]> response = reportsController.downloadPdfSummary();
 
@@ -873,7 +884,7 @@ class SimpleReportsControllerTest {
         when(paymentRepository.findByStatus(any())).thenReturn(List.of());
         when(paymentRepository.findAll()).thenReturn(List.of());
         when(appointmentRepository.findAll()).thenReturn(List.of());
-        when(doctorRepository.findAll()).thenReturn(List.of());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
 
         ResponseEntity<byte[]> response = reportsController.downloadPdfSummary();
 
@@ -911,7 +922,7 @@ class SimpleReportsControllerTest {
         when(paymentRepository.findByStatus(Payment.Status.COMPLETED)).thenReturn(List.of(payment1, payment2, payment3));
         when(paymentRepository.findByStatus(Payment.Status.FAILED)).thenReturn(List.of());
         when(appointmentRepository.findAll()).thenReturn(List.of());
-        when(doctorRepository.findAll()).thenReturn(List.of());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
         when(paymentRepository.findAll()).thenReturn(List.of(payment1, payment2, payment3));
 
         ResponseEntity<Map<String, Object>> response = reportsController.getDashboardStats();
@@ -951,7 +962,7 @@ class SimpleReportsControllerTest {
         when(paymentRepository.findByStatus(Payment.Status.COMPLETED)).thenReturn(List.of(payment));
         when(paymentRepository.findByStatus(Payment.Status.FAILED)).thenReturn(List.of());
         when(appointmentRepository.findAll()).thenReturn(List.of());
-        when(doctorRepository.findAll()).thenReturn(List.of());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
         when(paymentRepository.findAll()).thenReturn(List.of(payment));
 
         ResponseEntity<Map<String, Object>> response = reportsController.getDashboardStats();
@@ -989,7 +1000,7 @@ class SimpleReportsControllerTest {
         when(appointmentRepository.count()).thenReturn(3L);
         when(paymentRepository.findByStatus(any())).thenReturn(List.of());
         when(appointmentRepository.findAll()).thenReturn(List.of(appt1, appt2, appt3));
-        when(doctorRepository.findAll()).thenReturn(List.of(doctor1, doctor2));
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf(doctor1, doctor2));
         when(paymentRepository.findAll()).thenReturn(List.of());
 
         ResponseEntity<Map<String, Object>> response = reportsController.getDashboardStats();
@@ -1038,7 +1049,7 @@ class SimpleReportsControllerTest {
         when(appointmentRepository.count()).thenReturn(2L);
         when(paymentRepository.findByStatus(any())).thenReturn(List.of());
         when(appointmentRepository.findAll()).thenReturn(List.of(appt1, appt2));
-        when(doctorRepository.findAll()).thenReturn(List.of(doctor1, doctor2));
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf(doctor1, doctor2));
         when(paymentRepository.findAll()).thenReturn(List.of(payment1, payment2));
 
         ResponseEntity<Map<String, Object>> response = reportsController.getDashboardStats();
@@ -1081,7 +1092,7 @@ class SimpleReportsControllerTest {
         when(paymentRepository.findByStatus(Payment.Status.COMPLETED)).thenReturn(List.of(payment1, payment2, payment3));
         when(paymentRepository.findByStatus(Payment.Status.FAILED)).thenReturn(List.of());
         when(appointmentRepository.findAll()).thenReturn(List.of());
-        when(doctorRepository.findAll()).thenReturn(List.of());
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf());
         when(paymentRepository.findAll()).thenReturn(List.of(payment1, payment2, payment3));
 
         ResponseEntity<Map<String, Object>> response = reportsController.getDashboardStats();
@@ -1140,7 +1151,7 @@ class SimpleReportsControllerTest {
         when(paymentRepository.findByStatus(Payment.Status.FAILED)).thenReturn(List.of());
         when(paymentRepository.findAll()).thenReturn(List.of(payment, pendingPayment));
         when(appointmentRepository.findAll()).thenReturn(List.of(appointment));
-        when(doctorRepository.findAll()).thenReturn(List.of(doctor));
+        when(doctorDirectory.snapshot()).thenReturn(snapshotOf(doctor));
 
         ResponseEntity<byte[]> response = reportsController.downloadPdfSummary();
 
@@ -1150,4 +1161,8 @@ class SimpleReportsControllerTest {
         assertEquals("attachment; filename=report_summary.pdf", response.getHeaders().getFirst("Content-Disposition"));
         assertEquals("application/pdf", response.getHeaders().getFirst("Content-Type"));
     }
-}
\ No newline at end of file
+
+    private static DoctorDirectory.Snapshot snapshotOf(Doctor... doctors) {
+        return new DoctorDirectory.Snapshot(Arrays.stream(doctors).map(DoctorSummary::of).toList());
+    }
+}
@@ -7,12 +7,11 @@ package com.mediway.backend.entity;
  * - Getters/Setters and nullable fields                 : Positive / Edge
  * - Availability toggle                                  : Edge
  * - PrePersist onCreate behavior                         : Edge
- * - Photo byte array handling                            : Edge
+ * - Photo version handling                              : Edge
  */
 
 import java.time.LocalDateTime;
 
-import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -67,9 +66,7 @@ class DoctorEntityTest {
         doctor.setPhone("9876543210");
         doctor.setAvailable(false);
         doctor.setPassword("securePassword");
-        byte[] photoBytes = new byte[]{1, 2, 3, 4, 5};
-        doctor.setPhoto(photoBytes);
-        doctor.setPhotoContentType("image/jpeg");
+        doctor.setPhotoVersion("3f2a9c");
         LocalDateTime now = LocalDateTime.now();
         doctor.setCreatedAt(now);
 
@@ -80,8 +77,7 @@ class DoctorEntityTest {
         assertEquals("9876543210", doctor.getPhone());
         assertFalse(doctor.getAvailable());
         assertEquals("securePassword", doctor.getPassword());
-        assertArrayEquals(photoBytes, doctor.getPhoto());
-        assertEquals("image/jpeg", doctor.getPhotoContentType());
+        assertEquals("3f2a9c", doctor.getPhotoVersion());
         assertEquals(now, doctor.getCreatedAt());
     }
 
@@ -90,12 +86,10 @@ class DoctorEntityTest {
     @DisplayName("Should handle null values for optional fields")
     void testNullableFields() {
         doctor.setPhone(null);
-        doctor.setPhoto(null);
-        doctor.setPhotoContentType(null);
+        doctor.setPhotoVersion(null);
 
         assertNull(doctor.getPhone());
-        assertNull(doctor.getPhoto());
-        assertNull(doctor.getPhotoContentType());
+        assertNull(doctor.getPhotoVersion());
     }
 
     // Edge: Handle availability toggle
@@ -150,31 +144,12 @@ class DoctorEntityTest {
         assertFalse(doctor.getAvailable());
     }
 
-    // Edge: Handle photo byte array
+    // Edge: New doctors have no photo
     @Test
-    @DisplayName("Should handle photo byte array")
-    void testPhotoByteArray() {
-        byte[] largePhoto = new byte[10000];
-        for (int i = 0; i < largePhoto.length; i++) {
-            largePhoto[i] = (byte) (i % 256);
-        }
-
-        doctor.setPhoto(largePhoto);
-        doctor.setPhotoContentType("image/png");
-
-        assertArrayEquals(largePhoto, doctor.getPhoto());
-        assertEquals("image/png", doctor.getPhotoContentType());
-    }
+    @DisplayName("Should have no photo version until a photo is stored")
+    void testNoPhotoByDefault() {
+        Doctor newDoctor = new Doctor("Dr. New", "Dermatology", "new@hospital.com", null, "secret");
 
-    // Edge: Handle different photo content types
-    @Test
-    @DisplayName("Should handle different photo content types")
-    void testPhotoContentTypes() {
-        String[] contentTypes = {"image/jpeg", "image/png", "image/gif", "image/webp"};
-
-        for (String contentType : contentTypes) {
-            doctor.setPhotoContentType(contentType);
-            assertEquals(contentType, doctor.getPhotoContentType());
-        }
+        assertNull(newDoctor.getPhotoVersion());
     }
 }
@@ -0,0 +1,54 @@
+package com.mediway.backend.entity;
+
+/*
+ * TESTS SUMMARY (DoctorPhotoEntityTest):
+ * - Parameterized constructor                           : Positive
+ * - Different photo content types                       : Edge
+ * - PrePersist/PreUpdate stamps updatedAt               : Edge
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("DoctorPhoto Entity Tests")
+class DoctorPhotoEntityTest {
+
+    // Positive: Parameterized constructor
+    @Test
+    @DisplayName("Should create a photo with the constructor")
+    void testConstructor() {
+        DoctorPhoto photo = new DoctorPhoto(7L, "image/jpeg", "abc123");
+
+        assertEquals(7L, photo.getDoctorId());
+        assertEquals("image/jpeg", photo.getContentType());
+        assertEquals("abc123", photo.getEtag());
+        assertNull(photo.getUpdatedAt());
+    }
+
+    // Edge: Handle different photo content types
+    @Test
+    @DisplayName("Should handle different photo content types")
+    void testPhotoContentTypes() {
+        DoctorPhoto photo = new DoctorPhoto();
+        String[] contentTypes = {"image/jpeg", "image/png", "image/gif"};
+
+        for (String contentType : contentTypes) {
+            photo.setContentType(contentType);
+            assertEquals(contentType, photo.getContentType());
+        }
+    }
+
+    // Edge: Lifecycle callback stamps the update time
+    @Test
+    @DisplayName("Should set updatedAt when saved")
+    void testOnSave() {
+        DoctorPhoto photo = new DoctorPhoto(1L, "image/jpeg", "abc");
+
+        photo.onSave();
+
+        assertNotNull(photo.getUpdatedAt());
+    }
+}
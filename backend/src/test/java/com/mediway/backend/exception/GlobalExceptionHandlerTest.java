@@ -7,6 +7,7 @@ package com.mediway.backend.exception;
  * - Handle BadCredentialsException                      : Negative
  * - Handle UsernameNotFoundException                    : Negative
  * - Handle IllegalArgumentException                     : Negative
+ * - Handle ServiceBusyException (429 + Retry-After)     : Negative
  * - Handle generic Exception (global)                   : Negative
  * - Error response contents (path, timestamp)           : Edge (metadata checks)
  */
@@ -20,6 +21,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -125,6 +127,20 @@ class GlobalExceptionHandlerTest {
         assertEquals("Invalid input parameter", response.getBody().getMessage());
     }
 
+    @Test
+    @DisplayName("Should handle ServiceBusyException with 429 and Retry-After")
+    void testHandleServiceBusyException() {
+        ServiceBusyException ex = new ServiceBusyException("Server is busy, please retry shortly", 3);
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleServiceBusyException(ex, webRequest);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("3", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertNotNull(response.getBody());
+        assertEquals("Too Many Requests", response.getBody().getError());
+    }
+
     @Test
     @DisplayName("Should handle generic Exception")
     void testHandleGlobalException() {
@@ -0,0 +1,125 @@
+package com.mediway.backend.repository;
+
+/*
+ * TESTS SUMMARY (MedicalRecordTimelineRepositoryTest):
+ * - First page is the patient's newest records            : Positive
+ * - Keyset pages continue without gaps or repeats         : Positive
+ * - Records on the same date are split by id              : Edge
+ * - Diagnosis is cut to the requested length              : Edge
+ * - Patient and doctor listings return summaries          : Positive
+ */
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import com.mediway.backend.dto.projection.MedicalRecordSummary;
+import com.mediway.backend.entity.MedicalRecord;
+
+@DataJpaTest(showSql = false)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=",
+        "spring.sql.init.mode=never"
+})
+@DisplayName("Medical Record Timeline Repository Tests")
+class MedicalRecordTimelineRepositoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+
+    @Test
+    @DisplayName("Should return the newest records of the patient first")
+    void testFirstPage() {
+        save(2L, "Flu", START);
+        save(2L, "Migraine", START.plusDays(2));
+        save(2L, "Sprain", START.plusDays(1));
+        save(3L, "Other patient", START.plusDays(5));
+
+        List<MedicalRecordSummary> page = medicalRecordRepository.findTimeline(2L, 100, PageRequest.of(0, 2));
+
+        assertEquals(List.of("Migraine", "Sprain"), diagnoses(page));
+        assertEquals(START.plusDays(2), page.get(0).recordDate());
+        assertEquals(1L, page.get(0).doctorId());
+    }
+
+    @Test
+    @DisplayName("Should walk through all records page by page")
+    void testKeysetPages() {
+        for (int day = 0; day < 7; day++) {
+            save(2L, "Visit " + day, START.plusDays(day));
+        }
+
+        List<String> seen = new ArrayList<>();
+        List<MedicalRecordSummary> page = medicalRecordRepository.findTimeline(2L, 100, PageRequest.of(0, 3));
+        while (!page.isEmpty()) {
+            seen.addAll(diagnoses(page));
+            MedicalRecordSummary last = page.get(page.size() - 1);
+            page = medicalRecordRepository.findTimelineBefore(2L, last.recordDate(), last.id(), 100, PageRequest.of(0, 3));
+        }
+
+        assertEquals(List.of("Visit 6", "Visit 5", "Visit 4", "Visit 3", "Visit 2", "Visit 1", "Visit 0"), seen);
+    }
+
+    @Test
+    @DisplayName("Should order records with the same date by id")
+    void testSameDate() {
+        MedicalRecord first = save(2L, "First", START);
+        MedicalRecord second = save(2L, "Second", START);
+        save(2L, "Third", START);
+
+        List<MedicalRecordSummary> page = medicalRecordRepository.findTimelineBefore(
+                2L, START, second.getId(), 100, PageRequest.of(0, 10));
+
+        assertEquals(List.of(first.getId()), page.stream().map(MedicalRecordSummary::id).toList());
+    }
+
+    @Test
+    @DisplayName("Should cut the diagnosis to the requested length")
+    void testDiagnosisPreview() {
+        save(2L, "Seasonal allergic rhinitis", START);
+        save(2L, null, START.plusDays(1));
+
+        List<MedicalRecordSummary> page = medicalRecordRepository.findTimeline(2L, 8, PageRequest.of(0, 10));
+
+        assertNull(page.get(0).diagnosis());
+        assertEquals("Seasonal", page.get(1).diagnosis());
+    }
+
+    @Test
+    @DisplayName("Should list the records of a patient or a doctor as summaries")
+    void testListings() {
+        save(2L, "Flu", START);
+        MedicalRecord other = save(3L, "Sprain", START.plusDays(1));
+        other.setDoctorId(4L);
+        medicalRecordRepository.save(other);
+        save(3L, "Cough", START.plusDays(2));
+
+        List<MedicalRecordSummary> patient = medicalRecordRepository.findSummariesByPatientId(3L, 100);
+        List<MedicalRecordSummary> doctor = medicalRecordRepository.findSummariesByDoctorId(1L, 100);
+
+        assertEquals(List.of("Cough", "Sprain"), diagnoses(patient));
+        assertEquals(3L, patient.get(0).patientId());
+        assertEquals(List.of("Cough", "Flu"), diagnoses(doctor));
+    }
+
+    private MedicalRecord save(Long patientId, String diagnosis, LocalDateTime recordDate) {
+        MedicalRecord record = new MedicalRecord(patientId, 1L, null, diagnosis, "Treatment", "Prescription", "Notes");
+        record.setRecordDate(recordDate);
+        return medicalRecordRepository.save(record);
+    }
+
+    private static List<String> diagnoses(List<MedicalRecordSummary> page) {
+        return page.stream().map(MedicalRecordSummary::diagnosis).toList();
+    }
+}
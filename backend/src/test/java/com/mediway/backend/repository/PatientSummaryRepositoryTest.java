@@ -0,0 +1,120 @@
+package com.mediway.backend.repository;
+
+/*
+ * TESTS SUMMARY (PatientSummaryRepositoryTest):
+ * - No filters returns every user as a summary           : Positive
+ * - Gender and blood type filters                        : Positive
+ * - Age range boundaries (birthday today)                : Edge
+ * - Registration date range is inclusive                 : Edge
+ * - Pagination and sort with total count                 : Positive
+ */
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import com.mediway.backend.dto.projection.PatientSummary;
+import com.mediway.backend.dto.request.PatientFilterRequest;
+import com.mediway.backend.entity.User;
+
+@DataJpaTest(showSql = false)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=",
+        "spring.sql.init.mode=never"
+})
+@DisplayName("Patient Summary Repository Tests")
+class PatientSummaryRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        save("Ann", "Female", "O+", LocalDate.of(1995, 6, 15), LocalDateTime.of(2024, 1, 1, 9, 0));  // 30 today
+        save("Ben", "Male", "A+", LocalDate.of(1995, 6, 16), LocalDateTime.of(2024, 1, 31, 23, 59)); // 29
+        save("Cat", "Female", "A+", LocalDate.of(1960, 3, 1), LocalDateTime.of(2024, 2, 1, 0, 0));  // 65
+        save("Dan", "Male", "O+", LocalDate.of(2015, 9, 9), LocalDateTime.of(2023, 12, 31, 12, 0)); // 9
+    }
+
+    @Test
+    @DisplayName("Should return every user as a summary when no filter is set")
+    void testNoFilters() {
+        Page<PatientSummary> page = find(new PatientFilterRequest(), PageRequest.of(0, 10, Sort.by("name")));
+
+        assertEquals(List.of("Ann", "Ben", "Cat", "Dan"), names(page));
+        assertEquals("O+", page.getContent().get(0).bloodType());
+    }
+
+    @Test
+    @DisplayName("Should filter by gender and blood type")
+    void testGenderAndBloodType() {
+        PatientFilterRequest filter = PatientFilterRequest.builder().gender("Female").bloodType("A+").build();
+
+        assertEquals(List.of("Cat"), names(find(filter, PageRequest.of(0, 10, Sort.by("name")))));
+    }
+
+    @Test
+    @DisplayName("Should count full years for age ranges")
+    void testAgeRange() {
+        PatientFilterRequest thirties = PatientFilterRequest.builder().minAge(30).maxAge(39).build();
+        PatientFilterRequest twenties = PatientFilterRequest.builder().minAge(20).maxAge(29).build();
+        PatientFilterRequest seniors = PatientFilterRequest.builder().minAge(65).build();
+
+        assertEquals(List.of("Ann"), names(find(thirties, PageRequest.of(0, 10, Sort.by("name")))));
+        assertEquals(List.of("Ben"), names(find(twenties, PageRequest.of(0, 10, Sort.by("name")))));
+        assertEquals(List.of("Cat"), names(find(seniors, PageRequest.of(0, 10, Sort.by("name")))));
+    }
+
+    @Test
+    @DisplayName("Should include both ends of the registration date range")
+    void testCreatedRange() {
+        PatientFilterRequest january = PatientFilterRequest.builder()
+                .createdFrom(LocalDate.of(2024, 1, 1))
+                .createdTo(LocalDate.of(2024, 1, 31))
+                .build();
+
+        assertEquals(List.of("Ann", "Ben"), names(find(january, PageRequest.of(0, 10, Sort.by("name")))));
+    }
+
+    @Test
+    @DisplayName("Should page and sort summaries and report the total")
+    void testPagination() {
+        PageRequest secondPage = PageRequest.of(1, 2, Sort.by("dateOfBirth").descending());
+
+        Page<PatientSummary> page = find(new PatientFilterRequest(), secondPage);
+
+        assertEquals(List.of("Ann", "Cat"), names(page));
+        assertEquals(4, page.getTotalElements());
+        assertEquals(2, page.getTotalPages());
+    }
+
+    private Page<PatientSummary> find(PatientFilterRequest filter, PageRequest pageRequest) {
+        return userRepository.findSummaries(PatientSpecifications.matching(filter, TODAY), pageRequest);
+    }
+
+    private static List<String> names(Page<PatientSummary> page) {
+        return page.getContent().stream().map(PatientSummary::name).toList();
+    }
+
+    private void save(String name, String gender, String bloodType, LocalDate dateOfBirth, LocalDateTime createdAt) {
+        User user = new User(name, name.toLowerCase() + "@example.com", "x", null, User.Role.PATIENT);
+        user.setGender(gender);
+        user.setBloodType(bloodType);
+        user.setDateOfBirth(dateOfBirth);
+        user.setCreatedAt(createdAt);
+        userRepository.save(user);
+    }
+}
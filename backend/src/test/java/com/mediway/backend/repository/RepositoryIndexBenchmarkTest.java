@@ -0,0 +1,151 @@
+package com.mediway.backend.repository;
+
+/*
+ * BENCHMARK (RepositoryIndexBenchmarkTest) - run with: mvn test -Pbenchmark
+ * - Seeds synthetic appointments and payments, times the repository finders with the index
+ *   set declared on the entities, then drops those indexes and times the same finders again.
+ * - Defaults to an in-memory H2 database in MySQL mode. To measure against MySQL, pass
+ *   -Dbenchmark.datasource.url=... -Dbenchmark.datasource.username=... -Dbenchmark.datasource.password=...
+ *   (use a throwaway schema: the tables are recreated).
+ * - Size with -Dbenchmark.appointments=N (default 200000, one payment each).
+ */
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mediway.backend.entity.Appointment;
+import com.mediway.backend.entity.Payment;
+
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=${benchmark.datasource.url:jdbc:h2:mem:index-benchmark;MODE=MySQL}",
+        "spring.datasource.username=${benchmark.datasource.username:sa}",
+        "spring.datasource.password=${benchmark.datasource.password:}",
+        "spring.datasource.driverClassName=",
+        "spring.jpa.database-platform=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never"
+})
+@DisplayName("Repository Index Benchmark")
+class RepositoryIndexBenchmarkTest {
+
+    private static final int APPOINTMENTS = Integer.getInteger("benchmark.appointments", 200_000);
+    private static final int PATIENTS = APPOINTMENTS / 10;
+    private static final int DOCTORS = 500;
+    private static final int ROUNDS = 100;
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 15, 10, 0);
+
+    private static final Map<String, String> INDEX_TABLES = Map.of(
+            "idx_appointments", "appointments", "idx_payments", "payments");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Test
+    @DisplayName("Compare finder latency with and without the index set")
+    void compareWithAndWithoutIndexes() {
+        seed();
+        Random random = new Random(7);
+        Map<String, Supplier<List<?>>> finders = new LinkedHashMap<>();
+        finders.put("appointments by patient",
+                () -> appointmentRepository.findByPatientIdOrderByAppointmentDateDesc((long) random.nextInt(PATIENTS) + 1));
+        finders.put("appointments by doctor",
+                () -> appointmentRepository.findByDoctorIdOrderByAppointmentDateDesc((long) random.nextInt(DOCTORS) + 1));
+        finders.put("appointments last 30 days",
+                () -> appointmentRepository.findByAppointmentDateBetween(NOW.minusDays(30), NOW));
+        finders.put("payments by user",
+                () -> paymentRepository.findByUserIdOrderByPaymentDateDesc((long) random.nextInt(PATIENTS) + 1));
+        finders.put("payments by appointment",
+                () -> paymentRepository.findByAppointmentIdOrderByPaymentDateDesc((long) random.nextInt(APPOINTMENTS) + 1));
+        finders.put("payment by PayPal id",
+                () -> paymentRepository.findFirstByPaypalPaymentId("PAY-" + random.nextInt(APPOINTMENTS)).stream().toList());
+        finders.put("pending payments 30 days",
+                () -> paymentRepository.findByStatusAndPaymentDateBetween(Payment.Status.PENDING, NOW.minusDays(30), NOW));
+
+        Map<String, double[]> indexed = new LinkedHashMap<>();
+        finders.forEach((name, finder) -> indexed.put(name, time(finder)));
+        dropIndexes();
+        Map<String, double[]> plain = new LinkedHashMap<>();
+        finders.forEach((name, finder) -> plain.put(name, time(finder)));
+
+        System.out.printf("%n%-28s %12s %12s %12s %12s%n", "finder", "idx p50 ms", "idx p99 ms", "scan p50 ms", "scan p99 ms");
+        for (String name : finders.keySet()) {
+            System.out.printf("%-28s %12.3f %12.3f %12.3f %12.3f%n", name,
+                    indexed.get(name)[0], indexed.get(name)[1], plain.get(name)[0], plain.get(name)[1]);
+        }
+        assertFalse(appointmentRepository.findByAppointmentDateBetween(NOW.minusDays(30), NOW).isEmpty());
+    }
+
+    private double[] time(Supplier<List<?>> finder) {
+        // Warm up JIT and database caches
+        for (int i = 0; i < ROUNDS / 5; i++) {
+            finder.get();
+        }
+        long[] nanos = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long t = System.nanoTime();
+            finder.get();
+            nanos[i] = System.nanoTime() - t;
+        }
+        Arrays.sort(nanos);
+        return new double[]{nanos[ROUNDS / 2] / 1e6, nanos[ROUNDS * 99 / 100] / 1e6};
+    }
+
+    private void dropIndexes() {
+        for (String index : RepositoryIndexTest.INDEXES) {
+            INDEX_TABLES.forEach((prefix, table) -> {
+                if (index.startsWith(prefix)) {
+                    jdbcTemplate.execute("ALTER TABLE " + table + " DROP INDEX " + index);
+                }
+            });
+        }
+    }
+
+    private void seed() {
+        Random random = new Random(42);
+        Appointment.Status[] statuses = Appointment.Status.values();
+        List<Object[]> appointments = new ArrayList<>(APPOINTMENTS);
+        List<Object[]> payments = new ArrayList<>(APPOINTMENTS);
+        for (int i = 1; i <= APPOINTMENTS; i++) {
+            Timestamp date = Timestamp.valueOf(NOW.minusMinutes(random.nextInt(3 * 365 * 24 * 60)));
+            long patient = random.nextInt(PATIENTS) + 1;
+            appointments.add(new Object[]{i, patient, random.nextInt(DOCTORS) + 1, date,
+                    statuses[random.nextInt(statuses.length)].name()});
+            payments.add(new Object[]{i, patient, i, new BigDecimal("500.00"),
+                    random.nextInt(10) == 0 ? "PENDING" : "COMPLETED", "PAY-" + i, date});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO appointments (id, patient_id, doctor_id, appointment_date, status) "
+                + "VALUES (?, ?, ?, ?, ?)", appointments);
+        jdbcTemplate.batchUpdate("INSERT INTO payments (id, user_id, appointment_id, amount, status, paypal_payment_id, "
+                + "payment_date) VALUES (?, ?, ?, ?, ?, ?, ?)", payments);
+    }
+}
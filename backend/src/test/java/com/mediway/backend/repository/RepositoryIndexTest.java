@@ -0,0 +1,98 @@
+package com.mediway.backend.repository;
+
+/*
+ * TESTS SUMMARY (RepositoryIndexTest):
+ * - Every finder column set has its index in the schema   : Positive
+ * - Payment lookup by PayPal id and by status/date range  : Positive
+ * - Appointment lookup by date range                      : Positive
+ */
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.mediway.backend.entity.Appointment;
+import com.mediway.backend.entity.Payment;
+
+@DataJpaTest(showSql = false)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=",
+        "spring.sql.init.mode=never"
+})
+@DisplayName("Repository Index Tests")
+class RepositoryIndexTest {
+
+    // The index set declared on the entities for the repository finders
+    static final List<String> INDEXES = List.of(
+            "idx_appointments_patient_date", "idx_appointments_doctor_date", "idx_appointments_status",
+            "idx_appointments_date",
+            "idx_payments_user_date", "idx_payments_appointment_date", "idx_payments_status_date",
+            "idx_payments_paypal_payment_id",
+            "idx_medical_records_patient_date", "idx_medical_records_doctor_date", "idx_medical_records_appointment",
+            "idx_receipts_payment", "idx_receipts_user_issue_date");
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 15, 10, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Test
+    @DisplayName("Should create the index of every finder")
+    void testIndexesExist() {
+        List<String> present = jdbcTemplate.queryForList(
+                "SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES", String.class);
+
+        for (String index : INDEXES) {
+            assertTrue(present.contains(index.toLowerCase(Locale.ROOT)), "missing " + index);
+        }
+    }
+
+    @Test
+    @DisplayName("Should find payments by PayPal id and by status within dates")
+    void testPaymentFinders() {
+        Payment recent = payment("PAY-1", Payment.Status.PENDING, NOW.minusDays(2));
+        payment("PAY-2", Payment.Status.PENDING, NOW.minusDays(60));
+        payment("PAY-3", Payment.Status.COMPLETED, NOW.minusDays(1));
+
+        assertEquals(recent.getId(), paymentRepository.findFirstByPaypalPaymentId("PAY-1").orElseThrow().getId());
+        assertTrue(paymentRepository.findFirstByPaypalPaymentId("PAY-9").isEmpty());
+        assertEquals(List.of(recent.getId()), paymentRepository
+                .findByStatusAndPaymentDateBetween(Payment.Status.PENDING, NOW.minusDays(30), NOW)
+                .stream().map(Payment::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should find appointments within dates")
+    void testAppointmentRange() {
+        Appointment inRange = appointmentRepository.save(new Appointment(2L, 1L, NOW.minusDays(3), null));
+        appointmentRepository.save(new Appointment(2L, 1L, NOW.minusDays(40), null));
+
+        assertEquals(List.of(inRange.getId()), appointmentRepository
+                .findByAppointmentDateBetween(NOW.minusDays(30), NOW)
+                .stream().map(Appointment::getId).toList());
+    }
+
+    private Payment payment(String paypalId, Payment.Status status, LocalDateTime date) {
+        Payment payment = new Payment(2L, 1L, new BigDecimal("500.00"), "PAYPAL");
+        payment.setPaypalPaymentId(paypalId);
+        payment.setStatus(status);
+        payment.setPaymentDate(date);
+        return paymentRepository.save(payment);
+    }
+}
@@ -0,0 +1,169 @@
+package com.mediway.backend.security;
+
+/*
+ * TESTS SUMMARY (CredentialLookupServiceTest):
+ * - Authenticate user/doctor/admin with correct password : Positive
+ * - BCrypt-hashed passwords are verified               : Positive
+ * - Wrong password yields no account                    : Negative
+ * - Unknown email yields no account                     : Negative
+ * - Unknown email still runs a BCrypt check             : Negative
+ * - Null/blank email does not hit the database          : Edge
+ * - Lookups only use the credential projections         : Positive
+ */
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.mediway.backend.dto.projection.CredentialView;
+import com.mediway.backend.dto.projection.UserCredentialView;
+import com.mediway.backend.entity.User;
+import com.mediway.backend.repository.AdminRepository;
+import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Credential Lookup Service Tests")
+class CredentialLookupServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private AdminRepository adminRepository;
+
+    private PasswordHashingService passwordHashingService;
+
+    private CredentialLookupService credentialLookupService;
+
+    @BeforeEach
+    void setUp() {
+        // Real hashing service with a cheap BCrypt strength so both stored formats are exercised
+        passwordHashingService = spy(new PasswordHashingService(
+                new BCryptPasswordEncoder(4), 2, 8, Duration.ofSeconds(5), new SimpleMeterRegistry()));
+        credentialLookupService = new CredentialLookupService(
+                userRepository, doctorRepository, adminRepository, passwordHashingService);
+    }
+
+    @Test
+    @DisplayName("Should authenticate a patient with the correct password")
+    void testAuthenticateUser_Success() {
+        when(userRepository.findCredentialsByEmail("john@example.com")).thenReturn(Optional.of(
+                new UserCredentialView(1L, "John Doe", "john@example.com", "password123", User.Role.PATIENT)));
+
+        Optional<AccountCredentials> result =
+                credentialLookupService.authenticate(AccountType.USER, "john@example.com", "password123");
+
+        assertTrue(result.isPresent());
+        assertEquals(AccountType.USER, result.get().type());
+        assertEquals(1L, result.get().id());
+        assertEquals("John Doe", result.get().name());
+        assertEquals("PATIENT", result.get().role());
+        verify(userRepository, never()).findByEmail("john@example.com");
+    }
+
+    @Test
+    @DisplayName("Should authenticate a doctor through the credential projection")
+    void testAuthenticateDoctor_Success() {
+        when(doctorRepository.findCredentialsByEmail("dr.smith@hospital.com")).thenReturn(Optional.of(
+                new CredentialView(10L, "Dr. Smith", "dr.smith@hospital.com", "doctor123")));
+
+        Optional<AccountCredentials> result =
+                credentialLookupService.authenticate(AccountType.DOCTOR, "dr.smith@hospital.com", "doctor123");
+
+        assertTrue(result.isPresent());
+        assertEquals(10L, result.get().id());
+        assertEquals("DOCTOR", result.get().role());
+        verify(doctorRepository, never()).findAll();
+        verify(doctorRepository, never()).findByEmail("dr.smith@hospital.com");
+        verifyNoInteractions(userRepository, adminRepository);
+    }
+
+    @Test
+    @DisplayName("Should authenticate an admin with the correct password")
+    void testAuthenticateAdmin_Success() {
+        when(adminRepository.findCredentialsByEmail("admin@hospital.com")).thenReturn(Optional.of(
+                new CredentialView(100L, "Admin User", "admin@hospital.com", "admin123")));
+
+        Optional<AccountCredentials> result =
+                credentialLookupService.authenticate(AccountType.ADMIN, "admin@hospital.com", "admin123");
+
+        assertTrue(result.isPresent());
+        assertEquals("ADMIN", result.get().role());
+    }
+
+    @Test
+    @DisplayName("Should verify a BCrypt-hashed password")
+    void testAuthenticate_HashedPassword() {
+        String hash = new BCryptPasswordEncoder(4).encode("doctor123");
+        when(doctorRepository.findCredentialsByEmail("dr.smith@hospital.com")).thenReturn(Optional.of(
+                new CredentialView(10L, "Dr. Smith", "dr.smith@hospital.com", hash)));
+
+        assertTrue(credentialLookupService
+                .authenticate(AccountType.DOCTOR, "dr.smith@hospital.com", "doctor123").isPresent());
+        assertTrue(credentialLookupService
+                .authenticate(AccountType.DOCTOR, "dr.smith@hospital.com", "doctor124").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a wrong password")
+    void testAuthenticate_WrongPassword() {
+        when(doctorRepository.findCredentialsByEmail("dr.smith@hospital.com")).thenReturn(Optional.of(
+                new CredentialView(10L, "Dr. Smith", "dr.smith@hospital.com", "doctor123")));
+
+        assertTrue(credentialLookupService
+                .authenticate(AccountType.DOCTOR, "dr.smith@hospital.com", "doctor12").isEmpty());
+        assertTrue(credentialLookupService
+                .authenticate(AccountType.DOCTOR, "dr.smith@hospital.com", null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown email")
+    void testAuthenticate_UnknownEmail() {
+        when(adminRepository.findCredentialsByEmail("unknown@hospital.com")).thenReturn(Optional.empty());
+
+        assertTrue(credentialLookupService
+                .authenticate(AccountType.ADMIN, "unknown@hospital.com", "admin123").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should check the password of an unknown email against a BCrypt hash")
+    void testAuthenticate_UnknownEmailTakesBCryptTime() {
+        when(doctorRepository.findCredentialsByEmail("unknown@hospital.com")).thenReturn(Optional.empty());
+
+        assertTrue(credentialLookupService
+                .authenticate(AccountType.DOCTOR, "unknown@hospital.com", "doctor123").isEmpty());
+
+        verify(passwordHashingService).matches(eq("doctor123"), argThat(PasswordHashingService::isHashed));
+    }
+
+    @Test
+    @DisplayName("Should not query the database for a null or blank email")
+    void testFind_BlankEmail() {
+        assertTrue(credentialLookupService.find(AccountType.USER, null).isEmpty());
+        assertTrue(credentialLookupService.find(AccountType.DOCTOR, "  ").isEmpty());
+
+        verifyNoInteractions(userRepository, doctorRepository, adminRepository);
+    }
+}
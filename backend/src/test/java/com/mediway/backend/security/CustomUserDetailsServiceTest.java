@@ -28,6 +28,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import com.mediway.backend.dto.projection.CredentialView;
+import com.mediway.backend.dto.projection.UserCredentialView;
 import com.mediway.backend.entity.Admin;
 import com.mediway.backend.entity.Doctor;
 import com.mediway.backend.entity.User;
@@ -75,7 +77,7 @@ class CustomUserDetailsServiceTest {
     @Test
     @DisplayName("Should load patient user by email")
     void testLoadUserByUsername_Patient() {
-        when(userRepository.findByEmail("patient@example.com")).thenReturn(Optional.of(testUser));
+        when(userRepository.findCredentialsByEmail("patient@example.com")).thenReturn(Optional.of(credentials(testUser)));
 
         UserDetails userDetails = customUserDetailsService.loadUserByUsername("patient@example.com");
 
@@ -85,7 +87,7 @@ class CustomUserDetailsServiceTest {
         assertTrue(userDetails.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_PATIENT")));
         
-        verify(userRepository).findByEmail("patient@example.com");
+        verify(userRepository).findCredentialsByEmail("patient@example.com");
         verifyNoInteractions(doctorRepository, adminRepository);
     }
 
@@ -93,8 +95,8 @@ class CustomUserDetailsServiceTest {
     @Test
     @DisplayName("Should load doctor user by email")
     void testLoadUserByUsername_Doctor() {
-        when(userRepository.findByEmail("doctor@example.com")).thenReturn(Optional.empty());
-        when(doctorRepository.findByEmail("doctor@example.com")).thenReturn(Optional.of(testDoctor));
+        when(userRepository.findCredentialsByEmail("doctor@example.com")).thenReturn(Optional.empty());
+        when(doctorRepository.findCredentialsByEmail("doctor@example.com")).thenReturn(Optional.of(credentials(testDoctor)));
 
         UserDetails userDetails = customUserDetailsService.loadUserByUsername("doctor@example.com");
 
@@ -104,8 +106,8 @@ class CustomUserDetailsServiceTest {
         assertTrue(userDetails.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_DOCTOR")));
         
-        verify(userRepository).findByEmail("doctor@example.com");
-        verify(doctorRepository).findByEmail("doctor@example.com");
+        verify(userRepository).findCredentialsByEmail("doctor@example.com");
+        verify(doctorRepository).findCredentialsByEmail("doctor@example.com");
         verifyNoInteractions(adminRepository);
     }
 
@@ -113,9 +115,9 @@ class CustomUserDetailsServiceTest {
     @Test
     @DisplayName("Should load admin user by email")
     void testLoadUserByUsername_Admin() {
-        when(userRepository.findByEmail("admin@example.com")).thenReturn(Optional.empty());
-        when(doctorRepository.findByEmail("admin@example.com")).thenReturn(Optional.empty());
-        when(adminRepository.findByEmail("admin@example.com")).thenReturn(Optional.of(testAdmin));
+        when(userRepository.findCredentialsByEmail("admin@example.com")).thenReturn(Optional.empty());
+        when(doctorRepository.findCredentialsByEmail("admin@example.com")).thenReturn(Optional.empty());
+        when(adminRepository.findCredentialsByEmail("admin@example.com")).thenReturn(Optional.of(credentials(testAdmin)));
 
         UserDetails userDetails = customUserDetailsService.loadUserByUsername("admin@example.com");
 
@@ -125,9 +127,9 @@ class CustomUserDetailsServiceTest {
         assertTrue(userDetails.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
         
-        verify(userRepository).findByEmail("admin@example.com");
-        verify(doctorRepository).findByEmail("admin@example.com");
-        verify(adminRepository).findByEmail("admin@example.com");
+        verify(userRepository).findCredentialsByEmail("admin@example.com");
+        verify(doctorRepository).findCredentialsByEmail("admin@example.com");
+        verify(adminRepository).findCredentialsByEmail("admin@example.com");
     }
 
     // Negative: Throw UsernameNotFoundException when user not found
@@ -135,9 +137,9 @@ class CustomUserDetailsServiceTest {
     @DisplayName("Should throw UsernameNotFoundException when user not found")
     void testLoadUserByUsername_NotFound() {
         String email = "notfound@example.com";
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
-        when(doctorRepository.findByEmail(email)).thenReturn(Optional.empty());
-        when(adminRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(userRepository.findCredentialsByEmail(email)).thenReturn(Optional.empty());
+        when(doctorRepository.findCredentialsByEmail(email)).thenReturn(Optional.empty());
+        when(adminRepository.findCredentialsByEmail(email)).thenReturn(Optional.empty());
 
         UsernameNotFoundException exception = assertThrows(
                 UsernameNotFoundException.class,
@@ -145,9 +147,9 @@ class CustomUserDetailsServiceTest {
         );
 
         assertEquals("User not found: " + email, exception.getMessage());
-        verify(userRepository).findByEmail(email);
-        verify(doctorRepository).findByEmail(email);
-        verify(adminRepository).findByEmail(email);
+        verify(userRepository).findCredentialsByEmail(email);
+        verify(doctorRepository).findCredentialsByEmail(email);
+        verify(adminRepository).findCredentialsByEmail(email);
     }
 
     // Edge: Handle patient with ADMIN role
@@ -155,7 +157,7 @@ class CustomUserDetailsServiceTest {
     @DisplayName("Should handle patient with ADMIN role")
     void testLoadUserByUsername_PatientWithAdminRole() {
         testUser.setRole(User.Role.ADMIN);
-        when(userRepository.findByEmail("patient@example.com")).thenReturn(Optional.of(testUser));
+        when(userRepository.findCredentialsByEmail("patient@example.com")).thenReturn(Optional.of(credentials(testUser)));
 
         UserDetails userDetails = customUserDetailsService.loadUserByUsername("patient@example.com");
 
@@ -169,7 +171,7 @@ class CustomUserDetailsServiceTest {
     @DisplayName("Should handle patient with DOCTOR role")
     void testLoadUserByUsername_PatientWithDoctorRole() {
         testUser.setRole(User.Role.DOCTOR);
-        when(userRepository.findByEmail("patient@example.com")).thenReturn(Optional.of(testUser));
+        when(userRepository.findCredentialsByEmail("patient@example.com")).thenReturn(Optional.of(credentials(testUser)));
 
         UserDetails userDetails = customUserDetailsService.loadUserByUsername("patient@example.com");
 
@@ -183,13 +185,13 @@ class CustomUserDetailsServiceTest {
     @DisplayName("Should prioritize user repository over doctor and admin")
     void testLoadUserByUsername_PriorityOrder() {
         // Even if doctor exists, should return user if found first
-        when(userRepository.findByEmail("patient@example.com")).thenReturn(Optional.of(testUser));
+        when(userRepository.findCredentialsByEmail("patient@example.com")).thenReturn(Optional.of(credentials(testUser)));
 
         UserDetails userDetails = customUserDetailsService.loadUserByUsername("patient@example.com");
 
         assertNotNull(userDetails);
         assertEquals("ROLE_PATIENT", userDetails.getAuthorities().iterator().next().getAuthority());
-        verify(userRepository).findByEmail("patient@example.com");
+        verify(userRepository).findCredentialsByEmail("patient@example.com");
         verifyNoInteractions(doctorRepository, adminRepository);
     }
 
@@ -197,9 +199,9 @@ class CustomUserDetailsServiceTest {
     @Test
     @DisplayName("Should handle null email gracefully")
     void testLoadUserByUsername_NullEmail() {
-        when(userRepository.findByEmail(null)).thenReturn(Optional.empty());
-        when(doctorRepository.findByEmail(null)).thenReturn(Optional.empty());
-        when(adminRepository.findByEmail(null)).thenReturn(Optional.empty());
+        when(userRepository.findCredentialsByEmail(null)).thenReturn(Optional.empty());
+        when(doctorRepository.findCredentialsByEmail(null)).thenReturn(Optional.empty());
+        when(adminRepository.findCredentialsByEmail(null)).thenReturn(Optional.empty());
 
         assertThrows(UsernameNotFoundException.class,
                 () -> customUserDetailsService.loadUserByUsername(null));
@@ -209,11 +211,23 @@ class CustomUserDetailsServiceTest {
     @Test
     @DisplayName("Should handle empty email gracefully")
     void testLoadUserByUsername_EmptyEmail() {
-        when(userRepository.findByEmail("")).thenReturn(Optional.empty());
-        when(doctorRepository.findByEmail("")).thenReturn(Optional.empty());
-        when(adminRepository.findByEmail("")).thenReturn(Optional.empty());
+        when(userRepository.findCredentialsByEmail("")).thenReturn(Optional.empty());
+        when(doctorRepository.findCredentialsByEmail("")).thenReturn(Optional.empty());
+        when(adminRepository.findCredentialsByEmail("")).thenReturn(Optional.empty());
 
         assertThrows(UsernameNotFoundException.class,
                 () -> customUserDetailsService.loadUserByUsername(""));
     }
+
+    private static UserCredentialView credentials(User user) {
+        return new UserCredentialView(user.getId(), user.getName(), user.getEmail(), user.getPassword(), user.getRole());
+    }
+
+    private static CredentialView credentials(Doctor doctor) {
+        return new CredentialView(doctor.getId(), doctor.getName(), doctor.getEmail(), doctor.getPassword());
+    }
+
+    private static CredentialView credentials(Admin admin) {
+        return new CredentialView(admin.getId(), admin.getName(), admin.getEmail(), admin.getPassword());
+    }
 }
@@ -7,6 +7,7 @@ package com.mediway.backend.security;
  * - Validate token success/failure                        : Positive / Negative
  * - Handle expired tokens                                  : Negative (edge)
  * - Extract role claim and expiration time                : Edge
+ * - Carry principal ID and unique token ID                : Positive
  */
 
 import java.util.ArrayList;
@@ -188,4 +189,24 @@ class JwtUtilTest {
 
         assertNotEquals(token1, token2, "Tokens generated at different times should differ due to 'iat' claim");
     }
+
+    // Positive: Carry principal ID as a signed claim
+    @Test
+    @DisplayName("Should carry role and principal ID claims")
+    void testGenerateTokenWithPrincipalId() {
+        String token = jwtUtil.generateToken("doctor@example.com", "DOCTOR", 7L);
+
+        assertEquals("DOCTOR", jwtUtil.extractRole(token));
+        assertEquals(7L, jwtUtil.extractPrincipalId(token));
+        assertNotNull(jwtUtil.extractAllClaims(token).getId());
+    }
+
+    // Edge: Tokens without principal ID
+    @Test
+    @DisplayName("Should return null principal ID when not set")
+    void testGenerateTokenWithoutPrincipalId() {
+        String token = jwtUtil.generateToken("user@example.com", "PATIENT");
+
+        assertEquals(null, jwtUtil.extractPrincipalId(token));
+    }
 }
@@ -0,0 +1,163 @@
+package com.mediway.backend.security;
+
+/*
+ * TESTS SUMMARY (PasswordHashingServiceTest):
+ * - Hash then verify a password                         : Positive
+ * - Wrong password does not match                       : Negative
+ * - Legacy plain-text passwords still verify            : Edge
+ * - Null passwords never match                          : Edge
+ * - Saturated pool rejects with ServiceBusyException    : Negative (back-pressure)
+ * - Queue depth and rejection meters are registered     : Positive
+ */
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.mediway.backend.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Password Hashing Service Tests")
+class PasswordHashingServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingService passwordHashingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHashingService = new PasswordHashingService(
+                new BCryptPasswordEncoder(4), 2, 4, Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should hash a password and verify it")
+    void testHashAndMatch() {
+        String hash = passwordHashingService.hash("secret123");
+
+        assertNotEquals("secret123", hash);
+        assertTrue(PasswordHashingService.isHashed(hash));
+        assertTrue(passwordHashingService.matches("secret123", hash));
+    }
+
+    @Test
+    @DisplayName("Should not match a wrong password")
+    void testWrongPassword() {
+        String hash = passwordHashingService.hash("secret123");
+
+        assertFalse(passwordHashingService.matches("secret124", hash));
+    }
+
+    @Test
+    @DisplayName("Should still verify legacy plain-text passwords")
+    void testLegacyPlainText() {
+        assertFalse(PasswordHashingService.isHashed("password123"));
+        assertTrue(passwordHashingService.matches("password123", "password123"));
+        assertFalse(passwordHashingService.matches("password12", "password123"));
+    }
+
+    @Test
+    @DisplayName("Should never match null passwords")
+    void testNullPasswords() {
+        assertFalse(passwordHashingService.matches(null, "password123"));
+        assertFalse(passwordHashingService.matches("password123", null));
+    }
+
+    @Test
+    @DisplayName("Should reject with ServiceBusyException when the pool and queue are full")
+    void testSaturationRejects() throws Exception {
+        // 1 thread, queue of 1: a blocked hash plus one queued request saturate the pool
+        CountDownLatch release = new CountDownLatch(1);
+        BCryptPasswordEncoder blockingEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHashingService saturated = new PasswordHashingService(
+                blockingEncoder, 1, 1, Duration.ofSeconds(5), registry);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> saturated.hash("first"));
+            waitUntil(() -> registry.get("password.hashing.active").gauge().value() == 1);
+            callers.submit(() -> saturated.hash("second"));
+            waitUntil(() -> registry.get("password.hashing.queue.depth").gauge().value() == 1);
+
+            ServiceBusyException ex = assertThrows(ServiceBusyException.class, () -> saturated.hash("third"));
+            assertTrue(ex.getRetryAfterSeconds() >= 1);
+            assertEquals(1.0, registry.get("password.hashing.rejected").counter().count());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            callers.awaitTermination(5, TimeUnit.SECONDS);
+            saturated.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should time out and reject when a hash takes too long")
+    void testTimeoutRejects() {
+        BCryptPasswordEncoder slowEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    Thread.sleep(2000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        PasswordHashingService slow = new PasswordHashingService(
+                slowEncoder, 1, 1, Duration.ofMillis(100), new SimpleMeterRegistry());
+        try {
+            assertThrows(ServiceBusyException.class, () -> slow.hash("secret123"));
+        } finally {
+            slow.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should register queue depth, active thread and rejection meters")
+    void testMetersRegistered() {
+        passwordHashingService.hash("secret123");
+
+        assertNotNull(meterRegistry.find("password.hashing.queue.depth").gauge());
+        assertNotNull(meterRegistry.find("password.hashing.active").gauge());
+        assertNotNull(meterRegistry.find("password.hashing.rejected").counter());
+        assertEquals(1, meterRegistry.get("password.hashing.duration").timer().count());
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
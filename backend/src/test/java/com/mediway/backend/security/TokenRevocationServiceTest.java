@@ -0,0 +1,115 @@
+package com.mediway.backend.security;
+
+/*
+ * TESTS SUMMARY (TokenRevocationServiceTest):
+ * - Fresh token is not revoked                          : Positive
+ * - Revoke single token by ID                           : Positive
+ * - Revoke all tokens of a subject                      : Positive
+ * - Tokens issued after the cut-off stay valid          : Edge
+ * - Tokens from the cut-off second before it are revoked : Edge
+ * - Millisecond issue time keeps later logins valid     : Edge
+ * - Revocation of one subject leaves others untouched   : Edge
+ */
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+@DisplayName("Token Revocation Service Tests")
+class TokenRevocationServiceTest {
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationService();
+    }
+
+    @Test
+    @DisplayName("Should not treat a fresh token as revoked")
+    void testFreshTokenNotRevoked() {
+        assertFalse(tokenRevocationService.isRevoked(claims("user@example.com", "id-1", new Date())));
+    }
+
+    @Test
+    @DisplayName("Should revoke a single token by its ID")
+    void testRevokeSingleToken() {
+        Claims revoked = claims("user@example.com", "id-1", new Date());
+        Claims other = claims("user@example.com", "id-2", new Date());
+
+        tokenRevocationService.revokeToken(revoked);
+
+        assertTrue(tokenRevocationService.isRevoked(revoked));
+        assertFalse(tokenRevocationService.isRevoked(other));
+    }
+
+    @Test
+    @DisplayName("Should revoke every token of a subject issued before the cut-off")
+    void testRevokeAllForSubject() {
+        Claims older = claims("user@example.com", "id-1", new Date(System.currentTimeMillis() - 60_000));
+        Claims previousSecond = claims("user@example.com", "id-2", new Date(System.currentTimeMillis() - 1_000));
+
+        tokenRevocationService.revokeAllFor("user@example.com");
+
+        assertTrue(tokenRevocationService.isRevoked(older));
+        assertTrue(tokenRevocationService.isRevoked(previousSecond));
+    }
+
+    @Test
+    @DisplayName("Should accept tokens issued after the cut-off")
+    void testTokenIssuedAfterCutOff() {
+        tokenRevocationService.revokeAllFor("user@example.com");
+
+        Claims later = claims("user@example.com", "id-3", new Date(System.currentTimeMillis() + 2_000));
+
+        assertFalse(tokenRevocationService.isRevoked(later));
+    }
+
+    @Test
+    @DisplayName("Should revoke a token issued in the cut-off second before the revocation")
+    void testTokenIssuedInCutOffSecond() {
+        long issued = System.currentTimeMillis();
+        Claims sameSecond = claims("user@example.com", "id-5", new Date(issued / 1000 * 1000));
+        Claims sameSecondMillis = claims("user@example.com", "id-6", new Date(issued / 1000 * 1000));
+        sameSecondMillis.put(JwtUtil.ISSUED_AT_MILLIS_CLAIM, issued);
+
+        tokenRevocationService.revokeAllFor("user@example.com");
+
+        assertTrue(tokenRevocationService.isRevoked(sameSecond));
+        assertTrue(tokenRevocationService.isRevoked(sameSecondMillis));
+    }
+
+    @Test
+    @DisplayName("Should accept a token issued in the cut-off second after the revocation")
+    void testTokenIssuedAfterCutOffInSameSecond() {
+        tokenRevocationService.revokeAllFor("user@example.com");
+
+        long issued = System.currentTimeMillis() + 1;
+        Claims fresh = claims("user@example.com", "id-7", new Date(issued / 1000 * 1000));
+        fresh.put(JwtUtil.ISSUED_AT_MILLIS_CLAIM, issued);
+
+        assertFalse(tokenRevocationService.isRevoked(fresh));
+    }
+
+    @Test
+    @DisplayName("Should leave other subjects untouched")
+    void testOtherSubjectsUntouched() {
+        tokenRevocationService.revokeAllFor("user@example.com");
+
+        assertFalse(tokenRevocationService.isRevoked(claims("other@example.com", "id-4", new Date())));
+    }
+
+    private Claims claims(String subject, String id, Date issuedAt) {
+        Claims claims = Jwts.claims().setSubject(subject).setId(id);
+        claims.setIssuedAt(issuedAt);
+        claims.setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        return claims;
+    }
+}
@@ -0,0 +1,122 @@
+package com.mediway.backend.security;
+
+/*
+ * TESTS SUMMARY (UserDetailsCacheTest):
+ * - Second lookup is served from the cache              : Positive
+ * - Lookups are case-insensitive on email               : Edge
+ * - Loader failures are propagated and not cached       : Negative
+ * - AccountChangedEvent invalidates the old email       : Positive
+ * - Event without email clears the whole cache          : Edge
+ * - Hit/miss meters are registered                      : Positive
+ */
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.mediway.backend.event.AccountChangedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("UserDetails Cache Tests")
+class UserDetailsCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserDetailsCache userDetailsCache;
+    private AtomicInteger loads;
+    private Function<String, UserDetails> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userDetailsCache = new UserDetailsCache(100, Duration.ofMinutes(10), meterRegistry);
+        loads = new AtomicInteger();
+        loader = email -> {
+            loads.incrementAndGet();
+            return org.springframework.security.core.userdetails.User.builder()
+                    .username(email)
+                    .password("password")
+                    .roles("PATIENT")
+                    .build();
+        };
+    }
+
+    @Test
+    @DisplayName("Should serve the second lookup from the cache")
+    void testSecondLookupIsCached() {
+        userDetailsCache.get("user@example.com", loader);
+        UserDetails second = userDetailsCache.get("user@example.com", loader);
+
+        assertEquals("user@example.com", second.getUsername());
+        assertEquals(1, loads.get());
+        assertEquals(1, userDetailsCache.stats().hitCount());
+        assertEquals(1, userDetailsCache.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Should treat emails case-insensitively")
+    void testCaseInsensitiveKeys() {
+        userDetailsCache.get("User@Example.com", loader);
+        userDetailsCache.get("user@example.com", loader);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should propagate loader failures without caching them")
+    void testLoaderFailureNotCached() {
+        Function<String, UserDetails> failing = email -> {
+            loads.incrementAndGet();
+            throw new UsernameNotFoundException("User not found: " + email);
+        };
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsCache.get("missing@example.com", failing));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsCache.get("missing@example.com", failing));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should reload a principal after its account changed")
+    void testAccountChangedInvalidatesEntry() {
+        userDetailsCache.get("user@example.com", loader);
+        userDetailsCache.get("other@example.com", loader);
+
+        userDetailsCache.onAccountChanged(new AccountChangedEvent(AccountType.USER, 1L, "USER@example.com"));
+        userDetailsCache.get("user@example.com", loader);
+        userDetailsCache.get("other@example.com", loader);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should clear the cache when the changed account's email is unknown")
+    void testAccountChangedWithoutEmailClearsCache() {
+        userDetailsCache.get("user@example.com", loader);
+        userDetailsCache.get("other@example.com", loader);
+
+        userDetailsCache.onAccountChanged(new AccountChangedEvent(AccountType.DOCTOR, 2L, null));
+        userDetailsCache.get("user@example.com", loader);
+        userDetailsCache.get("other@example.com", loader);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should register cache meters for hit ratio monitoring")
+    void testMetersRegistered() {
+        userDetailsCache.get("user@example.com", loader);
+        userDetailsCache.get("user@example.com", loader);
+
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "userDetails").tag("result", "hit").functionCounter());
+        assertEquals(1.0, meterRegistry.find("cache.gets").tag("cache", "userDetails").tag("result", "hit").functionCounter().count());
+    }
+}
@@ -0,0 +1,129 @@
+package com.mediway.backend.security.ratelimit;
+
+/*
+ * TESTS SUMMARY (InMemoryRateLimitStoreTest):
+ * - Burst up to capacity is allowed                      : Positive
+ * - Request over capacity is rejected with retry-after   : Negative
+ * - Tokens refill over time                              : Positive
+ * - Keys are isolated from each other                    : Edge
+ * - Idle buckets are evicted                             : Edge
+ * - Concurrent consumers never exceed capacity           : Edge
+ */
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("In-Memory Rate Limit Store Tests")
+class InMemoryRateLimitStoreTest {
+
+    private static final BucketPolicy POLICY = new BucketPolicy(5, Duration.ofMinutes(1));
+
+    private final AtomicLong now = new AtomicLong();
+    private InMemoryRateLimitStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryRateLimitStore(Duration.ofMinutes(15), now::get);
+    }
+
+    @Test
+    @DisplayName("Should allow a burst up to the bucket capacity")
+    void testBurstAllowed() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(store.tryConsume("ip:10.0.0.1", POLICY).allowed());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject once the bucket is empty and report when to retry")
+    void testRejectedWhenEmpty() {
+        for (int i = 0; i < 5; i++) {
+            store.tryConsume("ip:10.0.0.1", POLICY);
+        }
+
+        RateLimitDecision decision = store.tryConsume("ip:10.0.0.1", POLICY);
+
+        assertFalse(decision.allowed());
+        // One token every 12 seconds
+        assertEquals(Duration.ofSeconds(12), decision.retryAfter());
+    }
+
+    @Test
+    @DisplayName("Should refill tokens as time passes")
+    void testRefill() {
+        for (int i = 0; i < 5; i++) {
+            store.tryConsume("ip:10.0.0.1", POLICY);
+        }
+        assertFalse(store.tryConsume("ip:10.0.0.1", POLICY).allowed());
+
+        now.addAndGet(Duration.ofSeconds(12).toNanos());
+
+        assertTrue(store.tryConsume("ip:10.0.0.1", POLICY).allowed());
+        assertFalse(store.tryConsume("ip:10.0.0.1", POLICY).allowed());
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per key")
+    void testKeysIsolated() {
+        for (int i = 0; i < 5; i++) {
+            store.tryConsume("email:a@example.com", POLICY);
+        }
+
+        assertFalse(store.tryConsume("email:a@example.com", POLICY).allowed());
+        assertTrue(store.tryConsume("email:b@example.com", POLICY).allowed());
+    }
+
+    @Test
+    @DisplayName("Should evict buckets that have been idle past the timeout")
+    void testIdleEviction() {
+        store.tryConsume("ip:10.0.0.1", POLICY);
+        now.addAndGet(Duration.ofMinutes(10).toNanos());
+        store.tryConsume("ip:10.0.0.2", POLICY);
+        assertEquals(2, store.size());
+
+        now.addAndGet(Duration.ofMinutes(6).toNanos());
+        store.sweepAll();
+
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    @DisplayName("Should never grant more tokens than the capacity under contention")
+    void testConcurrentConsumers() throws InterruptedException {
+        BucketPolicy policy = new BucketPolicy(100, Duration.ofHours(1));
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 50; i++) {
+                        if (store.tryConsume("ip:10.0.0.1", policy).allowed()) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(100, allowed.get());
+    }
+}
@@ -5,10 +5,14 @@ package com.mediway.backend.service;
  * - Get all users / Get user by ID                        : Positive
  * - Throw exception when user not found                   : Negative
  * - Create / Update / Delete user                         : Positive
+ * - Update / Delete publish AccountChangedEvent           : Positive
+ * - Created and updated passwords are stored hashed       : Positive
+ * - Update without a new password keeps the stored hash   : Edge
  * - Get all doctors / doctor by ID                        : Positive
  * - Admin-specific flows and error handling               : Mix (Positive/Negative)
  */
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -24,10 +28,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import com.mediway.backend.dto.request.LoginRequest;
 import com.mediway.backend.dto.response.LoginResponse;
@@ -35,10 +42,17 @@ import com.mediway.backend.entity.Admin;
 import com.mediway.backend.entity.Appointment;
 import com.mediway.backend.entity.Doctor;
 import com.mediway.backend.entity.User;
+import com.mediway.backend.event.AccountChangedEvent;
 import com.mediway.backend.repository.AdminRepository;
 import com.mediway.backend.repository.AppointmentRepository;
 import com.mediway.backend.repository.DoctorRepository;
 import com.mediway.backend.repository.UserRepository;
+import com.mediway.backend.security.AccountCredentials;
+import com.mediway.backend.security.AccountType;
+import com.mediway.backend.security.CredentialLookupService;
+import com.mediway.backend.security.PasswordHashingService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Admin Service Tests - System Administration")
@@ -56,6 +70,19 @@ class AdminServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CredentialLookupService credentialLookupService;
+
+    @Mock
+    private DoctorPhotoService doctorPhotoService;
+
+    @Spy
+    private PasswordHashingService passwordHashingService = new PasswordHashingService(
+            new BCryptPasswordEncoder(4), 1, 4, Duration.ofSeconds(5), new SimpleMeterRegistry());
+
     @InjectMocks
     private AdminService adminService;
 
@@ -171,6 +198,53 @@ class AdminServiceTest {
         assertNotNull(result);
         verify(userRepository).findById(1L);
         verify(userRepository).save(testUser);
+        // Cached principals are keyed by the email the user had before the update
+        verify(eventPublisher).publishEvent(new AccountChangedEvent(AccountType.USER, 1L, "user@test.com"));
+    }
+
+    // Positive: Created and updated passwords are stored hashed
+    @Test
+    @DisplayName("Should hash passwords of created and updated users")
+    void createAndUpdateUser_HashesPassword() {
+        // Given
+        testUser.setPassword("secret123");
+        User updatedUser = new User();
+        updatedUser.setName("Updated Name");
+        updatedUser.setEmail("user@test.com");
+        updatedUser.setPassword("newSecret456");
+        when(userRepository.save(testUser)).thenReturn(testUser);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        // When & Then
+        adminService.createUser(testUser);
+        assertTrue(PasswordHashingService.isHashed(testUser.getPassword()));
+        assertTrue(passwordHashingService.matches("secret123", testUser.getPassword()));
+
+        adminService.updateUser(1L, updatedUser);
+        assertTrue(PasswordHashingService.isHashed(testUser.getPassword()));
+        assertTrue(passwordHashingService.matches("newSecret456", testUser.getPassword()));
+    }
+
+    // Edge: Update without a new password keeps the stored hash
+    @Test
+    @DisplayName("Should keep the stored hash when the update carries no new password")
+    void updateUser_NoOrSamePassword_KeepsHash() {
+        // Given
+        String stored = new BCryptPasswordEncoder(4).encode("secret123");
+        testUser.setPassword(stored);
+        User updatedUser = new User();
+        updatedUser.setName("Updated Name");
+        updatedUser.setEmail("user@test.com");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(testUser)).thenReturn(testUser);
+
+        // When & Then
+        adminService.updateUser(1L, updatedUser);
+        assertEquals(stored, testUser.getPassword());
+
+        updatedUser.setPassword(stored);
+        adminService.updateUser(1L, updatedUser);
+        assertEquals(stored, testUser.getPassword());
     }
 
     // Positive: Delete user by ID
@@ -185,6 +259,7 @@ class AdminServiceTest {
 
         // Then
         verify(userRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new AccountChangedEvent(AccountType.USER, 1L, null));
     }
 
     // Positive: Get all doctors
@@ -284,6 +359,7 @@ class AdminServiceTest {
 
         // Then
         verify(doctorRepository).deleteById(1L);
+        verify(doctorPhotoService).delete(1L);
     }
 
     // Positive: Get all appointments
@@ -360,7 +436,8 @@ class AdminServiceTest {
         LoginRequest loginRequest = new LoginRequest();
         loginRequest.setEmail("admin@test.com");
         loginRequest.setPassword("password123");
-        when(adminRepository.findByEmail("admin@test.com")).thenReturn(Optional.of(testAdmin));
+        when(credentialLookupService.authenticate(AccountType.ADMIN, "admin@test.com", "password123"))
+                .thenReturn(Optional.of(new AccountCredentials(AccountType.ADMIN, testAdmin.getId(), testAdmin.getName(), testAdmin.getEmail(), testAdmin.getPassword(), "ADMIN")));
 
         // When
         LoginResponse result = adminService.login(loginRequest);
@@ -370,7 +447,7 @@ class AdminServiceTest {
         assertEquals(testAdmin.getId(), result.getUserId());
         assertEquals(testAdmin.getName(), result.getName());
         assertEquals("ADMIN", result.getRole());
-        verify(adminRepository).findByEmail("admin@test.com");
+        verify(credentialLookupService).authenticate(AccountType.ADMIN, "admin@test.com", "password123");
     }
 
     // Negative: Throw exception when admin not found during login
@@ -381,11 +458,12 @@ class AdminServiceTest {
         LoginRequest loginRequest = new LoginRequest();
         loginRequest.setEmail("nonexistent@test.com");
         loginRequest.setPassword("password123");
-        when(adminRepository.findByEmail("nonexistent@test.com")).thenReturn(Optional.empty());
+        when(credentialLookupService.authenticate(AccountType.ADMIN, "nonexistent@test.com", "password123"))
+                .thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(RuntimeException.class, () -> adminService.login(loginRequest));
-        verify(adminRepository).findByEmail("nonexistent@test.com");
+        verify(credentialLookupService).authenticate(AccountType.ADMIN, "nonexistent@test.com", "password123");
     }
 
     // Negative: Throw exception when password is incorrect
@@ -396,11 +474,12 @@ class AdminServiceTest {
         LoginRequest loginRequest = new LoginRequest();
         loginRequest.setEmail("admin@test.com");
         loginRequest.setPassword("wrongpassword");
-        when(adminRepository.findByEmail("admin@test.com")).thenReturn(Optional.of(testAdmin));
+        when(credentialLookupService.authenticate(AccountType.ADMIN, "admin@test.com", "wrongpassword"))
+                .thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(RuntimeException.class, () -> adminService.login(loginRequest));
-        verify(adminRepository).findByEmail("admin@test.com");
+        verify(credentialLookupService).authenticate(AccountType.ADMIN, "admin@test.com", "wrongpassword");
     }
 
     // Positive: Generate CSV report
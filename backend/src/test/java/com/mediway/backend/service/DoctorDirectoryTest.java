@@ -0,0 +1,140 @@
+package com.mediway.backend.service;
+
+/*
+ * TESTS SUMMARY (DoctorDirectoryTest):
+ * - Snapshot is loaded once and then served from memory  : Positive
+ * - Indexes by id, specialization and availability       : Positive
+ * - Doctor changes and new photos rebuild the snapshot   : Positive
+ * - Changes to other account types are ignored           : Edge
+ * - Version follows content, not rebuild count           : Edge
+ * - Failed rebuild falls back to loading on next read    : Negative
+ */
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mediway.backend.dto.projection.DoctorSummary;
+import com.mediway.backend.event.AccountChangedEvent;
+import com.mediway.backend.event.DoctorPhotoStoredEvent;
+import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.security.AccountType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Doctor Directory Tests")
+class DoctorDirectoryTest {
+
+    private static final DoctorSummary SMITH =
+            new DoctorSummary(1L, "Dr. Smith", "Cardiology", "smith@hospital.com", "111", true, null);
+    private static final DoctorSummary JONES =
+            new DoctorSummary(2L, "Dr. Jones", "Neurology", "jones@hospital.com", "222", false, "v1");
+    private static final DoctorSummary BROWN =
+            new DoctorSummary(3L, "Dr. Brown", " cardiology ", "brown@hospital.com", "333", true, null);
+
+    private DoctorRepository doctorRepository;
+    private DoctorDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        doctorRepository = mock(DoctorRepository.class);
+        directory = new DoctorDirectory(doctorRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should load the snapshot once and reuse it")
+    void testLoadsOnce() {
+        when(doctorRepository.findAllSummaries()).thenReturn(List.of(SMITH, JONES));
+
+        DoctorDirectory.Snapshot first = directory.snapshot();
+        DoctorDirectory.Snapshot second = directory.snapshot();
+
+        assertSame(first, second);
+        verify(doctorRepository, times(1)).findAllSummaries();
+    }
+
+    @Test
+    @DisplayName("Should index doctors by id, specialization and availability")
+    void testIndexes() {
+        when(doctorRepository.findAllSummaries()).thenReturn(List.of(SMITH, JONES, BROWN));
+
+        DoctorDirectory.Snapshot snapshot = directory.snapshot();
+
+        assertEquals(List.of(SMITH, JONES, BROWN), snapshot.all());
+        assertEquals(List.of(SMITH, BROWN), snapshot.available());
+        assertEquals(JONES, snapshot.findById(2L).orElseThrow());
+        assertTrue(snapshot.findById(99L).isEmpty());
+        assertEquals(List.of(SMITH, BROWN), snapshot.bySpecialization("CARDIOLOGY"));
+        assertTrue(snapshot.bySpecialization("Dermatology").isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.all().add(SMITH));
+    }
+
+    @Test
+    @DisplayName("Should rebuild when a doctor changes or gets a new photo")
+    void testRebuildsOnChange() {
+        DoctorSummary renamed = new DoctorSummary(1L, "Dr. Smith-Lee", "Cardiology", "smith@hospital.com", "111", true, null);
+        when(doctorRepository.findAllSummaries())
+                .thenReturn(List.of(SMITH))
+                .thenReturn(List.of(renamed))
+                .thenReturn(List.of(renamed, JONES));
+        DoctorDirectory.Snapshot before = directory.snapshot();
+
+        directory.onAccountChanged(new AccountChangedEvent(AccountType.DOCTOR, 1L, "smith@hospital.com"));
+        DoctorDirectory.Snapshot afterUpdate = directory.snapshot();
+        directory.onPhotoStored(new DoctorPhotoStoredEvent(2L, "v1"));
+
+        assertEquals(List.of(SMITH), before.all());
+        assertEquals("Dr. Smith-Lee", afterUpdate.findById(1L).orElseThrow().name());
+        assertNotEquals(before.version(), afterUpdate.version());
+        assertEquals(2, directory.snapshot().all().size());
+    }
+
+    @Test
+    @DisplayName("Should ignore changes to patients and admins")
+    void testIgnoresOtherAccounts() {
+        when(doctorRepository.findAllSummaries()).thenReturn(List.of(SMITH));
+        directory.snapshot();
+
+        directory.onAccountChanged(new AccountChangedEvent(AccountType.USER, 1L, "p@mediway.com"));
+        directory.onAccountChanged(new AccountChangedEvent(AccountType.ADMIN, 1L, "a@mediway.com"));
+
+        verify(doctorRepository, times(1)).findAllSummaries();
+    }
+
+    @Test
+    @DisplayName("Should give the same version to the same content")
+    void testVersionFollowsContent() {
+        DoctorDirectory.Snapshot first = new DoctorDirectory.Snapshot(List.of(SMITH, JONES));
+        DoctorDirectory.Snapshot same = new DoctorDirectory.Snapshot(List.of(SMITH, JONES));
+        DoctorDirectory.Snapshot changed = new DoctorDirectory.Snapshot(List.of(SMITH));
+
+        assertEquals(first.version(), same.version());
+        assertNotEquals(first.version(), changed.version());
+    }
+
+    @Test
+    @DisplayName("Should reload on the next read when a rebuild fails")
+    void testFailedRebuild() {
+        when(doctorRepository.findAllSummaries())
+                .thenReturn(List.of(SMITH))
+                .thenThrow(new RuntimeException("database unavailable"))
+                .thenReturn(List.of(SMITH, JONES));
+        directory.snapshot();
+
+        directory.onAccountChanged(new AccountChangedEvent(AccountType.DOCTOR, 2L, null));
+
+        assertEquals(2, directory.snapshot().all().size());
+        verify(doctorRepository, times(3)).findAllSummaries();
+    }
+}
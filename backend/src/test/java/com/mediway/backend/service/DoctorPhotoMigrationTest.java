@@ -0,0 +1,140 @@
+package com.mediway.backend.service;
+
+/*
+ * TESTS SUMMARY (DoctorPhotoMigrationTest):
+ * - Legacy photos move to the photo store              : Positive
+ * - Inline doctor_photos data moves to files and the column is dropped : Positive
+ * - Rerun after migrating is a no-op                    : Edge
+ * - Database without the legacy column is left alone    : Edge
+ */
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mediway.backend.entity.Doctor;
+import com.mediway.backend.entity.DoctorPhoto;
+import com.mediway.backend.repository.DoctorPhotoRepository;
+import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.service.photo.BlobStore;
+import com.mediway.backend.service.photo.DatabaseBlobStore;
+import com.mediway.backend.service.photo.PhotoFileStore;
+
+@DataJpaTest(showSql = false)
+@Import({DoctorPhotoMigration.class, DoctorPhotoService.class, DatabaseBlobStore.class, PhotoFileStore.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=",
+        "spring.sql.init.mode=never"
+})
+@DisplayName("Doctor Photo Migration Tests")
+class DoctorPhotoMigrationTest {
+
+    // Smallest content the photo store accepts: a PNG signature followed by anything
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 1, 2, 3};
+
+    @TempDir
+    static Path photoDirectory;
+
+    @DynamicPropertySource
+    static void photoStore(DynamicPropertyRegistry registry) {
+        registry.add("mediway.photos.directory", () -> photoDirectory.toString());
+    }
+
+    @Autowired
+    private DoctorPhotoMigration doctorPhotoMigration;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private DoctorPhotoRepository doctorPhotoRepository;
+
+    @Autowired
+    private PhotoFileStore photoFileStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should move legacy photos out of the doctors table")
+    void testMigratesLegacyPhotos() {
+        try {
+            jdbcTemplate.execute("ALTER TABLE doctors ADD COLUMN photo BLOB");
+            jdbcTemplate.execute("ALTER TABLE doctors ADD COLUMN photo_content_type VARCHAR(100)");
+            Doctor withPhoto = doctorRepository.save(new Doctor("Dr. A", "Cardiology", "a@hospital.com", null, "x"));
+            Doctor withoutPhoto = doctorRepository.save(new Doctor("Dr. B", "Neurology", "b@hospital.com", null, "x"));
+            jdbcTemplate.update("UPDATE doctors SET photo = ?, photo_content_type = 'image/png' WHERE id = ?",
+                    PNG, withPhoto.getId());
+
+            doctorPhotoMigration.migrate();
+            doctorPhotoMigration.migrate();
+
+            DoctorPhoto photo = doctorPhotoRepository.findById(withPhoto.getId()).orElseThrow();
+            assertArrayEquals(PNG, photoFileStore.read(photo.getEtag()).orElseThrow());
+            assertEquals("image/png", photo.getContentType());
+            assertEquals(photo.getEtag(), doctorRepository.findById(withPhoto.getId()).orElseThrow().getPhotoVersion());
+            assertNull(doctorRepository.findById(withoutPhoto.getId()).orElseThrow().getPhotoVersion());
+            assertEquals(1, doctorPhotoRepository.count());
+            assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM doctors WHERE photo IS NOT NULL", Integer.class));
+        } finally {
+            doctorPhotoRepository.deleteAll();
+            doctorRepository.deleteAll();
+            jdbcTemplate.execute("ALTER TABLE doctors DROP COLUMN IF EXISTS photo");
+            jdbcTemplate.execute("ALTER TABLE doctors DROP COLUMN IF EXISTS photo_content_type");
+        }
+    }
+
+    @Test
+    @DisplayName("Should move inline photo data to files and drop the column")
+    void testMigratesInlinePhotos() {
+        try {
+            jdbcTemplate.execute("ALTER TABLE doctor_photos ADD COLUMN data BLOB");
+            Doctor doctor = doctorRepository.save(new Doctor("Dr. D", "Cardiology", "d@hospital.com", null, "x"));
+            String etag = BlobStore.hashOf(PNG);
+            jdbcTemplate.update("INSERT INTO doctor_photos (doctor_id, content_type, etag, data) VALUES (?, 'image/png', ?, ?)",
+                    doctor.getId(), etag, PNG);
+
+            doctorPhotoMigration.migrate();
+
+            assertArrayEquals(PNG, photoFileStore.read(etag).orElseThrow());
+            assertEquals(etag, doctorPhotoRepository.findById(doctor.getId()).orElseThrow().getEtag());
+            assertThrows(BadSqlGrammarException.class,
+                    () -> jdbcTemplate.queryForList("SELECT data FROM doctor_photos"));
+        } finally {
+            doctorPhotoRepository.deleteAll();
+            doctorRepository.deleteAll();
+            jdbcTemplate.execute("ALTER TABLE doctor_photos DROP COLUMN IF EXISTS data");
+        }
+    }
+
+    @Test
+    @DisplayName("Should do nothing when the legacy column does not exist")
+    void testNoLegacyColumn() {
+        doctorRepository.save(new Doctor("Dr. C", "Dermatology", "c@hospital.com", null, "x"));
+        try {
+            doctorPhotoMigration.migrate();
+
+            assertEquals(0, doctorPhotoRepository.count());
+        } finally {
+            doctorRepository.deleteAll();
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.mediway.backend.service;
+
+/*
+ * TESTS SUMMARY (DoctorPhotoServiceTest):
+ * - Store saves the photo row and the doctor's version  : Positive
+ * - Replacing a photo releases its old file and variants: Positive
+ * - A file still used by another doctor is kept         : Edge
+ * - Re-uploading the same image keeps its variants      : Edge
+ * - Multipart uploads are streamed, not buffered        : Positive
+ * - Rejected uploads leave the photo unchanged          : Negative
+ * - A rolled-back upload settles and removes its file   : Negative
+ * - A new doctor with a rejected photo is not saved     : Negative
+ * - Load serves a variant or falls back to the original : Positive / Edge
+ * - Delete removes photo, file and unshared variants    : Edge
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.mediway.backend.dto.projection.DoctorPhotoVersions;
+import com.mediway.backend.entity.Doctor;
+import com.mediway.backend.entity.DoctorPhoto;
+import com.mediway.backend.event.DoctorPhotoStoredEvent;
+import com.mediway.backend.repository.DoctorPhotoRepository;
+import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.service.photo.BlobStore;
+import com.mediway.backend.service.photo.PhotoFileStore;
+import com.mediway.backend.service.photo.PhotoSize;
+import com.mediway.backend.service.photo.StoredBlob;
+import com.mediway.backend.service.photo.UploadedPhoto;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Doctor Photo Service Tests")
+class DoctorPhotoServiceTest {
+
+    @Mock
+    private DoctorPhotoRepository doctorPhotoRepository;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private BlobStore blobStore;
+
+    @Mock
+    private PhotoFileStore photoFileStore;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private DoctorPhotoService doctorPhotoService;
+
+    private Doctor doctor;
+
+    @BeforeEach
+    void setUp() {
+        doctor = new Doctor("Dr. Smith", "Cardiology", "smith@hospital.com", null, "secret");
+        doctor.setId(4L);
+    }
+
+    // Positive: Photo row and version are saved together
+    @Test
+    @DisplayName("Should save the photo, record its version and request variants")
+    void testStore() throws Exception {
+        InputStream content = new ByteArrayInputStream(new byte[]{1});
+        when(photoFileStore.write(content)).thenReturn(new UploadedPhoto("e1", "image/jpeg", 1));
+        when(doctorPhotoRepository.findVersionsByDoctorId(4L)).thenReturn(Optional.empty());
+        when(doctorRepository.save(doctor)).thenReturn(doctor);
+
+        Doctor saved = doctorPhotoService.store(doctor, content);
+
+        assertEquals("e1", saved.getPhotoVersion());
+        verify(doctorPhotoRepository).save(argThat(photo -> photo.getDoctorId() == 4L
+                && photo.getContentType().equals("image/jpeg")
+                && photo.getEtag().equals("e1")));
+        verify(eventPublisher).publishEvent(new DoctorPhotoStoredEvent(4L, "e1"));
+    }
+
+    // Positive: Old file and variants are released when a new photo replaces them
+    @Test
+    @DisplayName("Should release the previous file and variants when the photo is replaced")
+    void testStoreReplacesVariants() throws Exception {
+        when(photoFileStore.write(any())).thenReturn(new UploadedPhoto("new", "image/png", 3));
+        when(doctorPhotoRepository.findVersionsByDoctorId(4L))
+                .thenReturn(Optional.of(new DoctorPhotoVersions("old", "t1", "c1", "f1")));
+        when(doctorPhotoRepository.isVariantReferenced("t1")).thenReturn(false);
+        when(doctorPhotoRepository.isVariantReferenced("c1")).thenReturn(true);
+        when(doctorPhotoRepository.isVariantReferenced("f1")).thenReturn(false);
+        when(doctorPhotoRepository.existsByEtag("old")).thenReturn(false);
+        when(doctorRepository.save(doctor)).thenReturn(doctor);
+
+        doctorPhotoService.store(doctor, new ByteArrayInputStream(new byte[]{1, 2, 3}));
+
+        verify(blobStore).delete("t1");
+        verify(blobStore, never()).delete("c1");
+        verify(blobStore).delete("f1");
+        verify(photoFileStore).deleteIfUnused(eq("old"), any());
+    }
+
+    // Edge: Identical photos share one file
+    @Test
+    @DisplayName("Should keep the previous file while another doctor uses the same image")
+    void testStoreKeepsSharedFile() throws Exception {
+        when(photoFileStore.write(any())).thenReturn(new UploadedPhoto("new", "image/png", 3));
+        when(doctorPhotoRepository.findVersionsByDoctorId(4L))
+                .thenReturn(Optional.of(new DoctorPhotoVersions("old", null, null, null)));
+        when(doctorPhotoRepository.existsByEtag("old")).thenReturn(true);
+        when(doctorRepository.save(doctor)).thenReturn(doctor);
+
+        doctorPhotoService.store(doctor, new ByteArrayInputStream(new byte[]{1, 2, 3}));
+
+        verify(photoFileStore, never()).deleteIfUnused(any(), any());
+    }
+
+    // Edge: Uploading the same image again changes nothing
+    @Test
+    @DisplayName("Should keep the variants when the same image is uploaded again")
+    void testStoreSameImage() throws Exception {
+        when(photoFileStore.write(any())).thenReturn(new UploadedPhoto("e1", "image/png", 3));
+        when(doctorPhotoRepository.findVersionsByDoctorId(4L))
+                .thenReturn(Optional.of(new DoctorPhotoVersions("e1", "t1", "c1", "f1")));
+        when(doctorRepository.save(doctor)).thenReturn(doctor);
+
+        doctorPhotoService.store(doctor, new ByteArrayInputStream(new byte[]{5, 6, 7}));
+
+        verify(doctorPhotoRepository, never()).save(any());
+        verify(blobStore, never()).delete(any());
+        verify(photoFileStore, never()).deleteIfUnused(any(), any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    // Positive: The multipart content is handed over as a stream
+    @Test
+    @DisplayName("Should stream a multipart upload instead of reading its bytes")
+    void testStoreMultipart() throws Exception {
+        MultipartFile file = mock(MultipartFile.class);
+        InputStream content = new ByteArrayInputStream(new byte[]{1});
+        when(file.getInputStream()).thenReturn(content);
+        when(photoFileStore.write(content)).thenReturn(new UploadedPhoto("e1", "image/gif", 1));
+        when(doctorPhotoRepository.findVersionsByDoctorId(4L)).thenReturn(Optional.empty());
+        when(doctorRepository.save(doctor)).thenReturn(doctor);
+
+        doctorPhotoService.store(doctor, file);
+
+        verify(file, never()).getBytes();
+        assertEquals("e1", doctor.getPhotoVersion());
+    }
+
+    // Negative: Nothing changes when the store rejects the upload
+    @Test
+    @DisplayName("Should leave the photo unchanged when the upload is rejected")
+    void testRejectedUpload() throws Exception {
+        when(photoFileStore.write(any())).thenThrow(new IllegalArgumentException("Photo must be a JPEG, PNG or GIF image"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> doctorPhotoService.store(doctor, new ByteArrayInputStream(new byte[]{1})));
+        verify(doctorPhotoRepository, never()).save(any());
+        verify(doctorRepository, never()).save(any());
+    }
+
+    // Negative: A new doctor is only saved once the photo is accepted
+    @Test
+    @DisplayName("Should not save a new doctor whose photo is rejected")
+    void testCreateRejectedPhoto() throws Exception {
+        MultipartFile file = mock(MultipartFile.class);
+        when(file.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[]{1}));
+        when(photoFileStore.write(any())).thenThrow(new IllegalArgumentException("Photo must be a JPEG, PNG or GIF image"));
+
+        assertThrows(IllegalArgumentException.class, () -> doctorPhotoService.create(doctor, file));
+        verify(doctorRepository, never()).save(any());
+        verify(doctorPhotoRepository, never()).save(any());
+    }
+
+    // Negative: A file written for a rolled-back transaction is removed unless a photo row uses it
+    @Test
+    @DisplayName("Should settle and remove the file of a rolled-back upload")
+    void testRolledBackUpload() throws Exception {
+        when(photoFileStore.write(any())).thenReturn(new UploadedPhoto("e1", "image/png", 1));
+        when(doctorPhotoRepository.findVersionsByDoctorId(4L)).thenReturn(Optional.empty());
+        when(doctorRepository.save(doctor)).thenReturn(doctor);
+        when(doctorPhotoRepository.existsByEtag("e1")).thenReturn(false);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            doctorPhotoService.store(doctor, new ByteArrayInputStream(new byte[]{1}));
+            verify(photoFileStore, never()).settle("e1");
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        ArgumentCaptor<BooleanSupplier> inUse = ArgumentCaptor.forClass(BooleanSupplier.class);
+        verify(photoFileStore).settle("e1");
+        verify(photoFileStore).deleteIfUnused(eq("e1"), inUse.capture());
+        assertFalse(inUse.getValue().getAsBoolean());
+        verify(doctorPhotoRepository).existsByEtag("e1");
+    }
+
+    // Positive / Edge: Variant when generated, original otherwise
+    @Test
+    @DisplayName("Should serve a generated variant and fall back to the original")
+    void testLoad() {
+        byte[] original = new byte[]{9, 9};
+        byte[] card = new byte[]{1};
+        DoctorPhotoVersions versions = new DoctorPhotoVersions("orig", null, "card1", null);
+        when(blobStore.get("card1")).thenReturn(Optional.of(new StoredBlob("card1", "image/jpeg", card)));
+        when(doctorPhotoRepository.findById(4L)).thenReturn(Optional.of(new DoctorPhoto(4L, "image/png", "orig")));
+        when(photoFileStore.read("orig")).thenReturn(Optional.of(original));
+
+        StoredBlob cardVariant = doctorPhotoService.load(4L, versions, PhotoSize.CARD).orElseThrow();
+        StoredBlob thumbnail = doctorPhotoService.load(4L, versions, PhotoSize.THUMBNAIL).orElseThrow();
+
+        assertEquals("card1", cardVariant.hash());
+        assertArrayEquals(card, cardVariant.data());
+        assertEquals("orig", thumbnail.hash());
+        assertArrayEquals(original, thumbnail.data());
+    }
+
+    // Edge: Deleting removes the photo and variants nobody else uses
+    @Test
+    @DisplayName("Should delete the photo, its file and its unshared variants")
+    void testDelete() {
+        when(doctorPhotoRepository.findVersionsByDoctorId(4L))
+                .thenReturn(Optional.of(new DoctorPhotoVersions("e", "t1", "c1", "f1")));
+        when(doctorPhotoRepository.findVersionsByDoctorId(5L)).thenReturn(Optional.empty());
+        when(doctorPhotoRepository.isVariantReferenced(any())).thenReturn(false);
+
+        doctorPhotoService.delete(4L);
+        doctorPhotoService.delete(5L);
+
+        verify(doctorPhotoRepository).deleteById(4L);
+        verify(doctorPhotoRepository, never()).deleteById(5L);
+        verify(photoFileStore).deleteIfUnused(eq("e"), any());
+        for (String hash : List.of("t1", "c1", "f1")) {
+            verify(blobStore).delete(hash);
+        }
+    }
+}
@@ -6,6 +6,7 @@ package com.mediway.backend.service;
  * - List and get doctor by ID                                : Positive
  * - Update/delete doctor                                     : Positive
  * - Set doctor password and login flows                       : Positive / Negative
+ * - Search doctors keeps the search engine ranking            : Positive
  */
 
 import java.time.LocalDateTime;
@@ -24,16 +25,26 @@ import static org.mockito.ArgumentMatchers.any;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.mediway.backend.entity.Appointment;
 import com.mediway.backend.entity.Doctor;
 import com.mediway.backend.repository.AppointmentRepository;
 import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.security.AccountCredentials;
+import com.mediway.backend.security.AccountType;
+import com.mediway.backend.security.CredentialLookupService;
+import com.mediway.backend.security.PasswordHashingService;
+import com.mediway.backend.service.search.SearchService;
 
 /**
  * Unit tests for Admin Management (Doctors CRUD)
@@ -51,6 +62,21 @@ class DoctorServiceTest {
     @Mock
     private MultipartFile photoFile;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CredentialLookupService credentialLookupService;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private DoctorPhotoService doctorPhotoService;
+
     @InjectMocks
     private DoctorService doctorService;
 
@@ -95,19 +121,18 @@ class DoctorServiceTest {
     @DisplayName("Test 2: Create doctor with photo upload")
     void testCreateDoctor_WithPhoto() throws Exception {
         // Given
-        byte[] photoBytes = "fake-photo-data".getBytes();
         when(photoFile.isEmpty()).thenReturn(false);
-        when(photoFile.getBytes()).thenReturn(photoBytes);
-        when(photoFile.getContentType()).thenReturn("image/jpeg");
         when(doctorRepository.save(any(Doctor.class))).thenReturn(testDoctor);
+        when(doctorPhotoService.store(testDoctor, photoFile)).thenReturn(testDoctor);
 
         // When
         Doctor created = doctorService.create("Dr. Smith", "smith@hospital.com", "Cardiology", photoFile);
 
         // Then
         assertNotNull(created);
-        verify(photoFile, times(1)).getBytes();
+        verify(photoFile, never()).getBytes(); // Streamed by the photo service, never buffered
         verify(doctorRepository, times(1)).save(any(Doctor.class));
+        verify(doctorPhotoService).store(testDoctor, photoFile);
     }
 
     // Positive: List all doctors
@@ -197,6 +222,7 @@ class DoctorServiceTest {
 
         // Then
         verify(doctorRepository, times(1)).deleteById(1L);
+        verify(doctorPhotoService).delete(1L);
     }
 
     // Positive: Set doctor password
@@ -206,6 +232,7 @@ class DoctorServiceTest {
         // Given
         when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
         when(doctorRepository.save(any(Doctor.class))).thenReturn(testDoctor);
+        when(passwordHashingService.hash("newPassword123")).thenReturn("$2a$10$hashedNewPassword");
 
         // When
         doctorService.setPassword(1L, "newPassword123");
@@ -213,6 +240,7 @@ class DoctorServiceTest {
         // Then
         verify(doctorRepository, times(1)).findById(1L);
         verify(doctorRepository, times(1)).save(any(Doctor.class));
+        assertEquals("$2a$10$hashedNewPassword", testDoctor.getPassword());
     }
 
     // Positive: Doctor login successful
@@ -221,6 +249,7 @@ class DoctorServiceTest {
     void testDoctorLogin_Success() {
         // Given
         when(doctorRepository.findByEmail("smith@hospital.com")).thenReturn(Optional.of(testDoctor));
+        when(passwordHashingService.matches("password123", testDoctor.getPassword())).thenReturn(true);
 
         // When
         Doctor loggedIn = doctorService.login("smith@hospital.com", "password123");
@@ -380,12 +409,10 @@ class DoctorServiceTest {
     @DisplayName("Test 18: Update doctor with photo")
     void testUpdateDoctor_WithPhoto() throws Exception {
         // Given
-        byte[] photoBytes = "updated-photo-data".getBytes();
         when(photoFile.isEmpty()).thenReturn(false);
-        when(photoFile.getBytes()).thenReturn(photoBytes);
-        when(photoFile.getContentType()).thenReturn("image/png");
         when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
         when(doctorRepository.save(any(Doctor.class))).thenReturn(testDoctor);
+        when(doctorPhotoService.store(testDoctor, photoFile)).thenReturn(testDoctor);
 
         // When
         Doctor updated = doctorService.update(1L, "Dr. Smith", "smith@hospital.com", 
@@ -393,9 +420,9 @@ class DoctorServiceTest {
 
         // Then
         assertNotNull(updated);
-        verify(photoFile, times(1)).getBytes();
-        verify(photoFile, times(1)).getContentType();
+        verify(photoFile, never()).getBytes(); // Streamed by the photo service, never buffered
         verify(doctorRepository, times(1)).save(any(Doctor.class));
+        verify(doctorPhotoService).store(testDoctor, photoFile);
     }
 
     // Positive: LoginRequest - successful login
@@ -407,7 +434,9 @@ class DoctorServiceTest {
         request.setEmail("smith@hospital.com");
         request.setPassword("password123");
         
-        when(doctorRepository.findByEmail("smith@hospital.com")).thenReturn(Optional.of(testDoctor));
+        when(credentialLookupService.authenticate(AccountType.DOCTOR, "smith@hospital.com", "password123"))
+                .thenReturn(Optional.of(new AccountCredentials(AccountType.DOCTOR, 1L, "Dr. Smith",
+                        "smith@hospital.com", "password123", "DOCTOR")));
 
         // When
         com.mediway.backend.dto.response.LoginResponse response = doctorService.login(request);
@@ -418,7 +447,7 @@ class DoctorServiceTest {
         assertEquals(1L, response.getUserId());
         assertEquals("Dr. Smith", response.getName());
         assertEquals("DOCTOR", response.getRole());
-        verify(doctorRepository, times(1)).findByEmail("smith@hospital.com");
+        verify(credentialLookupService, times(1)).authenticate(AccountType.DOCTOR, "smith@hospital.com", "password123");
     }
 
     // Negative: LoginRequest - failed login (wrong password)
@@ -430,11 +459,12 @@ class DoctorServiceTest {
         request.setEmail("smith@hospital.com");
         request.setPassword("wrongPassword");
         
-        when(doctorRepository.findByEmail("smith@hospital.com")).thenReturn(Optional.of(testDoctor));
+        when(credentialLookupService.authenticate(AccountType.DOCTOR, "smith@hospital.com", "wrongPassword"))
+                .thenReturn(Optional.empty());
 
         // When/Then
         assertThrows(RuntimeException.class, () -> doctorService.login(request));
-        verify(doctorRepository, times(1)).findByEmail("smith@hospital.com");
+        verify(credentialLookupService, times(1)).authenticate(AccountType.DOCTOR, "smith@hospital.com", "wrongPassword");
     }
 
     // Negative: LoginRequest - failed login (email not found)
@@ -446,11 +476,12 @@ class DoctorServiceTest {
         request.setEmail("nonexistent@hospital.com");
         request.setPassword("password123");
         
-        when(doctorRepository.findByEmail("nonexistent@hospital.com")).thenReturn(Optional.empty());
+        when(credentialLookupService.authenticate(AccountType.DOCTOR, "nonexistent@hospital.com", "password123"))
+                .thenReturn(Optional.empty());
 
         // When/Then
         assertThrows(RuntimeException.class, () -> doctorService.login(request));
-        verify(doctorRepository, times(1)).findByEmail("nonexistent@hospital.com");
+        verify(credentialLookupService, times(1)).authenticate(AccountType.DOCTOR, "nonexistent@hospital.com", "password123");
     }
 
     // Positive: Get appointments by doctor with formatted details
@@ -538,4 +569,20 @@ class DoctorServiceTest {
         verify(photoFile, times(0)).getBytes(); // Should not be called for empty file
         verify(doctorRepository, times(1)).save(any(Doctor.class));
     }
+
+    @Test
+    @DisplayName("Test 25: Search doctors keeps the search engine's order")
+    void testSearchKeepsRanking() {
+        Doctor other = new Doctor();
+        other.setId(2L);
+        other.setName("Dr. Cardiff");
+        when(searchService.searchDoctors("card", 0, 20))
+                .thenReturn(new PageImpl<>(List.of(2L, 1L), PageRequest.of(0, 20), 2));
+        when(doctorRepository.findAllById(List.of(2L, 1L))).thenReturn(Arrays.asList(testDoctor, other));
+
+        Page<Doctor> result = doctorService.search("card", 0, 20);
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of(2L, 1L), result.getContent().stream().map(Doctor::getId).toList());
+    }
 }
@@ -0,0 +1,132 @@
+package com.mediway.backend.service;
+
+/*
+ * TESTS SUMMARY (PatientBatchLoaderTest):
+ * - Results come back in request order                  : Positive
+ * - Duplicate and null ids are queried once             : Edge
+ * - Large requests are split into bounded chunks        : Positive
+ * - Unknown ids are left out                            : Edge
+ * - Too many ids are rejected                           : Negative
+ * - Chunk timings are recorded                          : Positive
+ */
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mediway.backend.dto.projection.PatientSummary;
+import com.mediway.backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Patient Batch Loader Tests")
+class PatientBatchLoaderTest {
+
+    private UserRepository userRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private PatientBatchLoader patientBatchLoader;
+    private final List<Collection<Long>> queriedChunks = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        // Every id below 1000 exists; results come back shuffled like an unordered IN query
+        when(userRepository.findSummariesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = new ArrayList<>(invocation.getArgument(0));
+            queriedChunks.add(ids);
+            List<PatientSummary> found = new ArrayList<>(ids.stream().filter(id -> id < 1000).map(PatientBatchLoaderTest::summary).toList());
+            Collections.reverse(found);
+            return found;
+        });
+        patientBatchLoader = new PatientBatchLoader(userRepository, meterRegistry, 3, 20, 2, 8, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        patientBatchLoader.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should return patients in request order")
+    void testRequestOrder() {
+        List<PatientSummary> result = patientBatchLoader.load(List.of(7L, 2L, 9L, 1L, 5L));
+
+        assertEquals(List.of(7L, 2L, 9L, 1L, 5L), ids(result));
+    }
+
+    @Test
+    @DisplayName("Should query duplicate ids once and ignore nulls")
+    void testDeduplicates() {
+        List<PatientSummary> result = patientBatchLoader.load(Arrays.asList(4L, 4L, null, 6L, 4L));
+
+        assertEquals(List.of(4L, 6L), ids(result));
+        assertEquals(1, queriedChunks.size());
+        assertEquals(List.of(4L, 6L), List.copyOf(queriedChunks.get(0)));
+    }
+
+    @Test
+    @DisplayName("Should split large requests into chunks of the configured size")
+    void testChunks() {
+        List<Long> requested = LongStream.rangeClosed(1, 10).boxed().toList();
+
+        List<PatientSummary> result = patientBatchLoader.load(requested);
+
+        assertEquals(requested, ids(result));
+        assertEquals(4, queriedChunks.size());
+        assertTrue(queriedChunks.stream().allMatch(chunk -> chunk.size() <= 3));
+    }
+
+    @Test
+    @DisplayName("Should leave out ids that do not exist")
+    void testUnknownIds() {
+        List<PatientSummary> result = patientBatchLoader.load(List.of(1L, 5000L, 2L));
+
+        assertEquals(List.of(1L, 2L), ids(result));
+    }
+
+    @Test
+    @DisplayName("Should reject requests with too many ids without querying")
+    void testTooManyIds() {
+        List<Long> requested = LongStream.rangeClosed(1, 21).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> patientBatchLoader.load(requested));
+        verify(userRepository, never()).findSummariesByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should record a timing per chunk and the chunk count per request")
+    void testMetrics() {
+        patientBatchLoader.load(LongStream.rangeClosed(1, 7).boxed().toList());
+
+        assertEquals(3, meterRegistry.get("patients.batch.chunk.duration").timer().count());
+        assertEquals(3.0, meterRegistry.get("patients.batch.chunks").summary().totalAmount());
+    }
+
+    private static PatientSummary summary(Long id) {
+        return new PatientSummary(id, "Patient " + id, "p" + id + "@example.com", null,
+                null, null, LocalDate.of(1990, 1, 1), null);
+    }
+
+    private static List<Long> ids(List<PatientSummary> summaries) {
+        return summaries.stream().map(PatientSummary::id).toList();
+    }
+}
@@ -6,8 +6,13 @@ package com.mediway.backend.service;
  * - Register with all fields                                 : Positive
  * - Login success / non-existent / incorrect password         : Positive / Negative
  * - Find by health ID (valid/invalid/null)                   : Positive / Edge
+ * - Search keeps the ranking of the search engine            : Positive
+ * - Search skips hits deleted since they were indexed        : Edge
+ * - Filter pages through summaries with a stable sort        : Positive
+ * - Filter rejects min age above max age / unknown sort      : Negative
  */
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -27,13 +32,24 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import com.mediway.backend.dto.request.LoginRequest;
+import com.mediway.backend.dto.request.PatientFilterRequest;
 import com.mediway.backend.dto.request.RegisterRequest;
 import com.mediway.backend.dto.response.LoginResponse;
 import com.mediway.backend.dto.response.RegisterResponse;
 import com.mediway.backend.entity.User;
 import com.mediway.backend.repository.UserRepository;
+import com.mediway.backend.security.AccountCredentials;
+import com.mediway.backend.security.AccountType;
+import com.mediway.backend.security.CredentialLookupService;
+import com.mediway.backend.security.PasswordHashingService;
+import com.mediway.backend.service.search.SearchService;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Patient Service Tests - User Management")
@@ -42,6 +58,21 @@ class PatientServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CredentialLookupService credentialLookupService;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PatientBatchLoader patientBatchLoader;
+
     @InjectMocks
     private PatientService patientService;
 
@@ -97,6 +128,7 @@ class PatientServiceTest {
         testRegisterRequest.setPassword("securePassword");
         testRegisterRequest.setPhone("9876543210");
         testRegisterRequest.setRole(User.Role.PATIENT);
+        when(passwordHashingService.hash("securePassword")).thenReturn("$2a$10$hashedSecurePassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         // When
@@ -107,7 +139,7 @@ class PatientServiceTest {
         verify(userRepository).save(argThat(user -> 
             user.getName().equals("John Doe") &&
             user.getEmail().equals("john.doe@test.com") &&
-            user.getPassword().equals("securePassword") &&
+            user.getPassword().equals("$2a$10$hashedSecurePassword") &&
             user.getPhone().equals("9876543210") &&
             user.getRole() == User.Role.PATIENT
         ));
@@ -118,7 +150,8 @@ class PatientServiceTest {
     @DisplayName("Should login patient successfully with valid credentials")
     void login_ValidCredentials_ReturnsSuccessResponse() {
         // Given
-        when(userRepository.findByEmail("patient@test.com")).thenReturn(Optional.of(testUser));
+        when(credentialLookupService.authenticate(AccountType.USER, "patient@test.com", "password123"))
+                .thenReturn(Optional.of(credentials(testUser)));
 
         // When
         LoginResponse result = patientService.login(testLoginRequest);
@@ -128,7 +161,7 @@ class PatientServiceTest {
         assertEquals(testUser.getId(), result.getUserId());
         assertEquals(testUser.getName(), result.getName());
         assertEquals("PATIENT", result.getRole());
-        verify(userRepository).findByEmail("patient@test.com");
+        verify(credentialLookupService).authenticate(AccountType.USER, "patient@test.com", "password123");
     }
 
     // Negative: Login with non-existent email
@@ -136,14 +169,15 @@ class PatientServiceTest {
     @DisplayName("Should throw exception when patient not found during login")
     void login_NonExistentEmail_ThrowsException() {
         // Given
-        when(userRepository.findByEmail("nonexistent@test.com")).thenReturn(Optional.empty());
+        when(credentialLookupService.authenticate(AccountType.USER, "nonexistent@test.com", "password123"))
+                .thenReturn(Optional.empty());
         testLoginRequest.setEmail("nonexistent@test.com");
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, 
             () -> patientService.login(testLoginRequest));
         assertEquals("Invalid credentials", exception.getMessage());
-        verify(userRepository).findByEmail("nonexistent@test.com");
+        verify(credentialLookupService).authenticate(AccountType.USER, "nonexistent@test.com", "password123");
     }
 
     // Negative: Login with incorrect password
@@ -151,14 +185,15 @@ class PatientServiceTest {
     @DisplayName("Should throw exception when password is incorrect")
     void login_IncorrectPassword_ThrowsException() {
         // Given
-        when(userRepository.findByEmail("patient@test.com")).thenReturn(Optional.of(testUser));
+        when(credentialLookupService.authenticate(AccountType.USER, "patient@test.com", "wrongpassword"))
+                .thenReturn(Optional.empty());
         testLoginRequest.setPassword("wrongpassword");
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, 
             () -> patientService.login(testLoginRequest));
         assertEquals("Invalid credentials", exception.getMessage());
-        verify(userRepository).findByEmail("patient@test.com");
+        verify(credentialLookupService).authenticate(AccountType.USER, "patient@test.com", "wrongpassword");
     }
 
     // Positive: Find by valid health ID
@@ -297,7 +332,8 @@ class PatientServiceTest {
     void login_DifferentRoles_ReturnsCorrectRole() {
         // Given
         testUser.setRole(User.Role.DOCTOR);
-        when(userRepository.findByEmail("patient@test.com")).thenReturn(Optional.of(testUser));
+        when(credentialLookupService.authenticate(AccountType.USER, "patient@test.com", "password123"))
+                .thenReturn(Optional.of(credentials(testUser)));
 
         // When
         LoginResponse result = patientService.login(testLoginRequest);
@@ -306,4 +342,75 @@ class PatientServiceTest {
         assertTrue(result.isSuccess());
         assertEquals("DOCTOR", result.getRole());
     }
+
+    // Positive: Search returns users in the order ranked by the search engine
+    @Test
+    @DisplayName("Should keep the ranking of the search engine")
+    void searchPatients_KeepsRanking() {
+        // Given
+        User other = new User();
+        other.setId(2L);
+        other.setName("Johnny Walker");
+        when(searchService.searchPatients("john", 0, 20))
+                .thenReturn(new PageImpl<>(List.of(2L, 1L), PageRequest.of(0, 20), 2));
+        when(userRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(testUser, other));
+
+        // When
+        Page<User> result = patientService.searchPatients("john", 0, 20);
+
+        // Then
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of(2L, 1L), result.getContent().stream().map(User::getId).toList());
+        verify(userRepository, never()).findAll();
+    }
+
+    // Edge: A hit was deleted between the search and the entity lookup
+    @Test
+    @DisplayName("Should skip hits that no longer exist")
+    void searchPatients_DeletedHit_Skipped() {
+        // Given
+        when(searchService.searchPatients("test", 0, 20))
+                .thenReturn(new PageImpl<>(List.of(1L, 99L), PageRequest.of(0, 20), 2));
+        when(userRepository.findAllById(List.of(1L, 99L))).thenReturn(List.of(testUser));
+
+        // When
+        Page<User> result = patientService.searchPatients("test", 0, 20);
+
+        // Then
+        assertEquals(List.of(testUser), result.getContent());
+    }
+
+    // Positive: Filter builds a capped, stably sorted page request
+    @Test
+    @DisplayName("Should filter patients with a capped page size and a stable sort")
+    void filterPatients_BuildsPageRequest() {
+        // Given
+        PatientFilterRequest filter = PatientFilterRequest.builder().gender("Female").minAge(18).build();
+        when(userRepository.findSummaries(any(), any())).thenReturn(Page.empty());
+
+        // When
+        patientService.filterPatients(filter, 2, 500, "dateOfBirth,desc");
+
+        // Then
+        verify(userRepository).findSummaries(any(), argThat(pageable -> pageable.getPageNumber() == 2
+                && pageable.getPageSize() == 100
+                && pageable.getSort().equals(Sort.by("dateOfBirth").descending().and(Sort.by("id")))));
+    }
+
+    // Negative: Inconsistent age range and unknown sort property
+    @Test
+    @DisplayName("Should reject an inverted age range and unknown sort properties")
+    void filterPatients_InvalidInput_Throws() {
+        PatientFilterRequest inverted = PatientFilterRequest.builder().minAge(60).maxAge(20).build();
+        PatientFilterRequest empty = new PatientFilterRequest();
+
+        assertThrows(IllegalArgumentException.class, () -> patientService.filterPatients(inverted, 0, 20, "id"));
+        assertThrows(IllegalArgumentException.class, () -> patientService.filterPatients(empty, 0, 20, "password"));
+        verify(userRepository, never()).findSummaries(any(), any());
+    }
+
+    private static AccountCredentials credentials(User user) {
+        return new AccountCredentials(AccountType.USER, user.getId(), user.getName(), user.getEmail(),
+                user.getPassword(), user.getRole().name());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.mediway.backend.service;
+
+/*
+ * TESTS SUMMARY (SpecializationCatalogTest):
+ * - Recount creates entries with doctor and available counts : Positive
+ * - Spelling and case variants share one entry              : Edge
+ * - Entries without doctors are kept with zero counts       : Edge
+ * - Lookup by slug or by any spelling of the name           : Positive
+ * - Slug normalisation                                      : Edge
+ * - Changes to other account types do not recount           : Edge
+ * - A failed recount does not fail the doctor change        : Negative
+ */
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mediway.backend.entity.Doctor;
+import com.mediway.backend.entity.Specialization;
+import com.mediway.backend.event.AccountChangedEvent;
+import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.repository.SpecializationRepository;
+import com.mediway.backend.security.AccountType;
+
+@DataJpaTest(showSql = false)
+@Import(SpecializationCatalog.class)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=",
+        "spring.sql.init.mode=never"
+})
+@DisplayName("Specialization Catalog Tests")
+class SpecializationCatalogTest {
+
+    @Autowired
+    private SpecializationCatalog catalog;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private SpecializationRepository specializationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Should count doctors and available doctors per specialization")
+    void testRecount() {
+        doctor("a@hospital.com", "Cardiology", true);
+        doctor("b@hospital.com", "Cardiology", false);
+        doctor("c@hospital.com", "Neurology", true);
+
+        catalog.recount();
+
+        List<Specialization> facets = catalog.facets(false);
+        assertEquals(List.of("Cardiology", "Neurology"), facets.stream().map(Specialization::getName).toList());
+        assertEquals(2, facets.get(0).getDoctorCount());
+        assertEquals(1, facets.get(0).getAvailableCount());
+        assertEquals("neurology", facets.get(1).getSlug());
+    }
+
+    @Test
+    @DisplayName("Should merge spelling and case variants under one entry")
+    void testMergesVariants() {
+        doctor("a@hospital.com", "General Medicine", true);
+        doctor("b@hospital.com", "General Medicine", true);
+        doctor("c@hospital.com", "general  medicine ", false);
+
+        catalog.recount();
+
+        Specialization entry = catalog.find("general-medicine").orElseThrow();
+        assertEquals("General Medicine", entry.getName());
+        assertEquals(3, entry.getDoctorCount());
+        assertEquals(2, entry.getAvailableCount());
+        assertEquals(1, specializationRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should keep specializations without doctors at zero")
+    void testKeepsEmptyEntries() {
+        Doctor dermatologist = doctor("a@hospital.com", "Dermatology", true);
+        doctor("b@hospital.com", "Cardiology", true);
+        catalog.recount();
+
+        doctorRepository.delete(dermatologist);
+        catalog.recount();
+
+        assertEquals(List.of("Cardiology"), catalog.facets(false).stream().map(Specialization::getName).toList());
+        assertEquals(2, catalog.facets(true).size());
+        assertEquals(0, catalog.find("Dermatology").orElseThrow().getDoctorCount());
+    }
+
+    @Test
+    @DisplayName("Should find entries by slug or name")
+    void testFind() {
+        doctor("a@hospital.com", "Ear, Nose & Throat", true);
+        catalog.recount();
+
+        assertEquals("ear-nose-throat", catalog.find("EAR NOSE THROAT").orElseThrow().getSlug());
+        assertTrue(catalog.find("ear-nose-throat").isPresent());
+        assertTrue(catalog.find("Oncology").isEmpty());
+        assertTrue(catalog.find("  ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should normalise names to slugs")
+    void testSlugOf() {
+        assertEquals("general-medicine", SpecializationCatalog.slugOf("  General   Medicine "));
+        assertEquals("orthopadie", SpecializationCatalog.slugOf("Orthopädie"));
+        assertEquals("", SpecializationCatalog.slugOf(null));
+    }
+
+    @Test
+    @DisplayName("Should only recount on doctor changes")
+    void testIgnoresOtherAccounts() {
+        doctor("a@hospital.com", "Cardiology", true);
+
+        catalog.onAccountChanged(new AccountChangedEvent(AccountType.USER, 1L, "p@mediway.com"));
+
+        assertEquals(0, specializationRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should log a failed recount instead of failing the doctor change")
+    void testRecountFailureIsContained() {
+        DoctorRepository failingDoctors = mock(DoctorRepository.class);
+        when(failingDoctors.countBySpecialization())
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry for key 'uk_specializations_slug'"));
+        SpecializationCatalog failingCatalog = new SpecializationCatalog(specializationRepository, failingDoctors, transactionTemplate);
+
+        assertDoesNotThrow(() -> failingCatalog.onAccountChanged(new AccountChangedEvent(AccountType.DOCTOR, 1L, "d@mediway.com")));
+    }
+
+    private Doctor doctor(String email, String specialization, boolean available) {
+        Doctor doctor = new Doctor("Dr. " + email, specialization, email, null, "x");
+        doctor.setAvailable(available);
+        return doctorRepository.save(doctor);
+    }
+}
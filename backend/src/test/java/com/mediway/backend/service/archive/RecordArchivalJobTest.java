@@ -0,0 +1,158 @@
+package com.mediway.backend.service.archive;
+
+/*
+ * TESTS SUMMARY (RecordArchivalJobTest):
+ * - Old records and appointments move to the archive in batches : Positive
+ * - Recent rows stay in the hot tables                          : Positive
+ * - Archived rows keep their id and content                     : Positive
+ * - Rerun without new old rows moves nothing                    : Edge
+ * - Search index is told about archived medical records         : Positive
+ */
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mediway.backend.entity.Appointment;
+import com.mediway.backend.entity.ArchivedAppointment;
+import com.mediway.backend.entity.ArchivedMedicalRecord;
+import com.mediway.backend.entity.MedicalRecord;
+import com.mediway.backend.event.MedicalRecordChangedEvent;
+import com.mediway.backend.repository.AppointmentRepository;
+import com.mediway.backend.repository.ArchivedAppointmentRepository;
+import com.mediway.backend.repository.ArchivedMedicalRecordRepository;
+import com.mediway.backend.repository.MedicalRecordRepository;
+
+@DataJpaTest(showSql = false)
+@Import(RecordArchivalJob.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=",
+        "spring.sql.init.mode=never",
+        "mediway.archive.batch-size=2"
+})
+@DisplayName("Record Archival Job Tests")
+class RecordArchivalJobTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final LocalDateTime CUTOFF = NOW.minusYears(2);
+
+    @Autowired
+    private RecordArchivalJob job;
+
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+
+    @Autowired
+    private ArchivedMedicalRecordRepository archivedMedicalRecordRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private ArchivedAppointmentRepository archivedAppointmentRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @AfterEach
+    void tearDown() {
+        medicalRecordRepository.deleteAll();
+        archivedMedicalRecordRepository.deleteAll();
+        appointmentRepository.deleteAll();
+        archivedAppointmentRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should move old rows to the archive and keep recent ones")
+    void testMovesOldRows() {
+        for (int i = 1; i <= 3; i++) {
+            record(NOW.minusYears(2 + i), "Old " + i);
+            appointment(NOW.minusYears(2 + i));
+        }
+        MedicalRecord recent = record(NOW.minusMonths(1), "Recent");
+        appointment(NOW.plusDays(3));
+
+        ArchivalResult result = job.run(CUTOFF);
+
+        assertEquals(3, result.medicalRecords());
+        assertEquals(3, result.appointments());
+        assertEquals(List.of(recent.getId()), medicalRecordRepository.findAll().stream().map(MedicalRecord::getId).toList());
+        assertEquals(1, appointmentRepository.count());
+        assertEquals(3, archivedMedicalRecordRepository.count());
+        assertEquals(3, archivedAppointmentRepository.count());
+        assertEquals(result, job.getLastRun());
+    }
+
+    @Test
+    @DisplayName("Should keep ids and content of archived rows")
+    void testKeepsContent() {
+        MedicalRecord old = record(NOW.minusYears(3), "Measles");
+        Appointment appointment = appointment(NOW.minusYears(3));
+        appointment.setStatus(Appointment.Status.COMPLETED);
+        appointmentRepository.save(appointment);
+
+        job.run(CUTOFF);
+
+        ArchivedMedicalRecord archived = archivedMedicalRecordRepository.findById(old.getId()).orElseThrow();
+        assertEquals("Measles", archived.getDiagnosis());
+        assertEquals("Rest and fluids", archived.getTreatment());
+        assertEquals(2L, archived.getPatientId());
+        assertNotNull(archived.getArchivedAt());
+        ArchivedAppointment archivedAppointment = archivedAppointmentRepository.findById(appointment.getId()).orElseThrow();
+        assertEquals(Appointment.Status.COMPLETED, archivedAppointment.getStatus());
+        assertEquals(appointment.getId(), archivedAppointment.toAppointment().getId());
+        assertEquals(1, archivedMedicalRecordRepository.findByPatientIdOrderByRecordDateDesc(2L).size());
+    }
+
+    @Test
+    @DisplayName("Should move nothing when no old rows are left")
+    void testRerun() {
+        record(NOW.minusYears(3), "Old");
+        job.run(CUTOFF);
+
+        ArchivalResult second = job.run(CUTOFF);
+
+        assertEquals(0, second.medicalRecords());
+        assertEquals(0, second.appointments());
+        assertEquals(1, archivedMedicalRecordRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should publish a change event per archived medical record")
+    void testPublishesEvents() {
+        MedicalRecord old = record(NOW.minusYears(3), "Old");
+        record(NOW, "Recent");
+
+        job.run(CUTOFF);
+
+        List<MedicalRecordChangedEvent> published = events.stream(MedicalRecordChangedEvent.class).toList();
+        assertEquals(List.of(new MedicalRecordChangedEvent(old.getId())), published);
+        assertTrue(medicalRecordRepository.findClinicalTextById(old.getId()).isEmpty());
+    }
+
+    private MedicalRecord record(LocalDateTime date, String diagnosis) {
+        MedicalRecord record = new MedicalRecord(2L, 1L, null, diagnosis, "Rest and fluids", null, null);
+        record.setRecordDate(date);
+        return medicalRecordRepository.save(record);
+    }
+
+    private Appointment appointment(LocalDateTime date) {
+        return appointmentRepository.save(new Appointment(2L, 1L, date, "Checkup"));
+    }
+}
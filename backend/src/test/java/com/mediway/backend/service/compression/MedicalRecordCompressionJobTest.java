@@ -0,0 +1,135 @@
+package com.mediway.backend.service.compression;
+
+/*
+ * TESTS SUMMARY (MedicalRecordCompressionJobTest):
+ * - Entities are stored compressed and read back as text : Positive
+ * - Existing plain rows are compressed in batches        : Positive
+ * - Rerun after compressing is a no-op                   : Edge
+ * - Projections over compressed columns are decoded      : Positive
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mediway.backend.entity.MedicalRecord;
+import com.mediway.backend.repository.MedicalRecordRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest(showSql = false)
+@Import({TextCompressor.class, MedicalRecordCompressionJob.class, MedicalRecordCompressionJobTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=",
+        "spring.sql.init.mode=never",
+        "mediway.records.compression.enabled=true",
+        "mediway.records.compression.threshold=100",
+        "mediway.records.compression.batch-size=2"
+})
+@DisplayName("Medical Record Compression Job Tests")
+class MedicalRecordCompressionJobTest {
+
+    private static final String TREATMENT = "Advised to rest and increase fluids. Paracetamol 500mg tablets "
+            + "every 6 hours as needed for fever. Review in 1 week if symptoms persist, sooner if breathing worsens.";
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private MedicalRecordCompressionJob job;
+
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        medicalRecordRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should store entity text compressed and read it back")
+    void testConverter() {
+        MedicalRecord saved = medicalRecordRepository.save(
+                new MedicalRecord(2L, 1L, null, "Influenza", TREATMENT, "Paracetamol", null));
+
+        assertTrue(TextCompressor.isCompressed(column("treatment", saved.getId())));
+        assertEquals("Paracetamol", column("prescription", saved.getId()));
+        assertEquals(TREATMENT, medicalRecordRepository.findById(saved.getId()).orElseThrow().getTreatment());
+    }
+
+    @Test
+    @DisplayName("Should compress existing plain rows in batches")
+    void testCompressesExistingRows() {
+        for (int i = 0; i < 5; i++) {
+            insertPlain(TREATMENT, i % 2 == 0 ? TREATMENT : "Short");
+        }
+
+        CompressionStats stats = job.run();
+
+        assertEquals(8, stats.values());
+        assertTrue(stats.savedPercent() > 0);
+        assertEquals(stats, job.getLastRun());
+        for (Long id : jdbcTemplate.queryForList("SELECT id FROM medical_records", Long.class)) {
+            assertTrue(TextCompressor.isCompressed(column("treatment", id)));
+            assertEquals(TREATMENT, medicalRecordRepository.findById(id).orElseThrow().getTreatment());
+        }
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM medical_records WHERE notes = 'Short'", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should find nothing to do after compressing")
+    void testRerun() {
+        insertPlain(TREATMENT, null);
+        job.run();
+
+        CompressionStats second = job.run();
+
+        assertEquals(0, second.values());
+    }
+
+    @Test
+    @DisplayName("Should decode compressed columns in projections")
+    void testProjection() {
+        MedicalRecord saved = medicalRecordRepository.save(
+                new MedicalRecord(2L, 1L, null, "Influenza", TREATMENT, null, null));
+
+        String treatment = medicalRecordRepository.findClinicalTextById(saved.getId()).orElseThrow().treatment();
+
+        assertEquals(TREATMENT, treatment);
+        assertFalse(TextCompressor.isCompressed(treatment));
+    }
+
+    private void insertPlain(String treatment, String notes) {
+        jdbcTemplate.update("INSERT INTO medical_records (id, patient_id, doctor_id, diagnosis, treatment, notes, record_date) "
+                + "SELECT COALESCE(MAX(id), 0) + 1, 2, 1, 'Influenza', ?, ?, CURRENT_TIMESTAMP FROM medical_records",
+                treatment, notes);
+    }
+
+    private String column(String column, Long id) {
+        return jdbcTemplate.queryForObject("SELECT " + column + " FROM medical_records WHERE id = ?", String.class, id);
+    }
+}
@@ -0,0 +1,147 @@
+package com.mediway.backend.service.compression;
+
+/*
+ * TESTS SUMMARY (TextCompressorTest):
+ * - Long text round-trips through the compressed form   : Positive
+ * - Short text and disabled compression store as given  : Edge
+ * - Text that would not shrink is stored as given       : Edge
+ * - Text starting with the marker is escaped            : Edge
+ * - Decoding works without compression enabled          : Positive
+ * - Corrupt values fail loudly                          : Negative
+ * - Written and read sizes are reported                 : Positive
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.mediway.backend.entity.converter.CompressedTextConverter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Text Compressor Tests")
+class TextCompressorTest {
+
+    private static final String NOTES = "Patient reports persistent dry cough for 3 weeks with mild fever at night. "
+            + "Chest examination: bilateral wheeze, no crackles. Oxygen saturation 97% on room air. "
+            + "Advised to rest, increase fluids and avoid smoke exposure. Salbutamol inhaler 2 puffs as needed, "
+            + "review in 1 week or sooner if symptoms worsen. Full blood count and chest x-ray requested. "
+            + "Patient reports persistent dry cough for 3 weeks; follow-up appointment booked.";
+
+    private SimpleMeterRegistry meterRegistry;
+    private TextCompressor compressor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        compressor = new TextCompressor(true, 100, meterRegistry);
+    }
+
+    // Positive: Compressed form is smaller and decodes to the original
+    @Test
+    @DisplayName("Should compress long text and restore it")
+    void testRoundTrip() {
+        String stored = compressor.encode(NOTES);
+
+        assertTrue(TextCompressor.isCompressed(stored));
+        assertTrue(stored.length() < NOTES.length() * 2 / 3, "stored " + stored.length() + " of " + NOTES.length());
+        assertEquals(NOTES, compressor.decode(stored));
+        String accented = NOTES + " Fiebre leve, tos seca — revisión en 7 días.";
+        assertEquals(accented, compressor.decode(compressor.encode(accented)));
+    }
+
+    // Edge: Below the threshold or with compression off, values are stored as given
+    @Test
+    @DisplayName("Should store short text and all text when disabled as given")
+    void testThresholdAndDisabled() {
+        TextCompressor disabled = new TextCompressor(false, 100, new SimpleMeterRegistry());
+
+        assertEquals("Paracetamol 500mg", compressor.encode("Paracetamol 500mg"));
+        assertEquals(NOTES, disabled.encode(NOTES));
+        assertFalse(disabled.shouldCompress(NOTES));
+        assertNull(compressor.encode(null));
+        assertNull(compressor.decode(null));
+    }
+
+    // Edge: Random text does not deflate, so the Base64 form would be larger
+    @Test
+    @DisplayName("Should keep text as given when compressing does not save space")
+    void testIncompressible() {
+        byte[] random = new byte[300];
+        new Random(42).nextBytes(random);
+        String noise = Base64.getEncoder().encodeToString(random);
+
+        assertEquals(noise, compressor.encode(noise));
+    }
+
+    // Edge: Plain text that looks like a stored value still reads back unchanged
+    @Test
+    @DisplayName("Should escape text that starts with the marker")
+    void testEscape() {
+        String tricky = "~z1:not really compressed";
+
+        String stored = compressor.encode(tricky);
+
+        assertEquals("~z0:" + tricky, stored);
+        assertEquals(tricky, compressor.decode(stored));
+        assertEquals("~z", compressor.decode(compressor.encode("~z")));
+    }
+
+    // Positive: Turning compression off never makes stored rows unreadable
+    @Test
+    @DisplayName("Should decode compressed values with compression disabled")
+    void testDecodeOnly() {
+        String stored = compressor.encode(NOTES);
+        CompressedTextConverter converter = new CompressedTextConverter();
+
+        assertEquals(NOTES, converter.convertToEntityAttribute(stored));
+        assertEquals(NOTES, converter.convertToDatabaseColumn(NOTES));
+    }
+
+    // Negative: Damaged values are reported, not returned as garbage
+    @Test
+    @DisplayName("Should reject corrupt compressed values")
+    void testCorrupt() {
+        String stored = compressor.encode(NOTES);
+
+        assertThrows(IllegalStateException.class, () -> compressor.decode(stored.substring(0, stored.length() / 2)));
+        assertThrows(IllegalStateException.class, () -> compressor.decode("~z1:AAAA"));
+    }
+
+    // Positive: Counters show what compression saved on writes and reads
+    @Test
+    @DisplayName("Should report written and read sizes")
+    void testStats() {
+        String stored = compressor.encode(NOTES);
+        compressor.encode("short");
+        compressor.decode(stored);
+
+        CompressionStats written = compressor.written();
+        assertEquals(2, written.values());
+        assertEquals(NOTES.length() + 5, written.rawBytes());
+        assertEquals(stored.length() + 5, written.storedBytes());
+        assertTrue(written.savedPercent() > 30);
+        assertEquals(1, compressor.read().values());
+        assertEquals(NOTES.length(), (long) meterRegistry.get("records.text.bytes")
+                .tag("direction", "read").tag("form", "raw").counter().count());
+    }
+
+    // Edge: Byte counts match the UTF-8 encoding without encoding
+    @Test
+    @DisplayName("Should count UTF-8 bytes")
+    void testUtf8Length() {
+        for (String text : new String[] {"abc", "revisión", "—", "𝛼 ok", ""}) {
+            assertEquals(text.getBytes(StandardCharsets.UTF_8).length, TextCompressor.utf8Length(text));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.mediway.backend.service.ids;
+
+/*
+ * BENCHMARK (BulkInsertBenchmarkTest) - run with: mvn test -Pbenchmark
+ * - Inserts synthetic appointments through JPA one statement per row (what IDENTITY ids
+ *   forced) and then in JDBC batches with pooled ids, and prints rows/sec for each.
+ * - Defaults to an in-memory H2 database in MySQL mode, where a round trip is nearly free, so
+ *   the gap is far smaller than against a real server. To measure against MySQL, pass
+ *   -Dbenchmark.datasource.url=...?rewriteBatchedStatements=true -Dbenchmark.datasource.username=...
+ *   -Dbenchmark.datasource.password=... (use a throwaway schema: the tables are recreated).
+ * - Size with -Dbenchmark.appointments=N (default 100000).
+ */
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mediway.backend.entity.Appointment;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=${benchmark.datasource.url:jdbc:h2:mem:insert-benchmark;MODE=MySQL}",
+        "spring.datasource.username=${benchmark.datasource.username:sa}",
+        "spring.datasource.password=${benchmark.datasource.password:}",
+        "spring.datasource.driverClassName=",
+        "spring.jpa.database-platform=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never"
+})
+@DisplayName("Bulk Insert Benchmark")
+class BulkInsertBenchmarkTest {
+
+    private static final int APPOINTMENTS = Integer.getInteger("benchmark.appointments", 100_000);
+    // Persistence context is flushed and cleared every FLUSH_EVERY rows, as a bulk job would
+    private static final int FLUSH_EVERY = 1_000;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Compare per-row and batched appointment inserts")
+    void compareInserts() {
+        // Warm up both paths so class loading and JIT do not count against the first
+        insert(2_000, 1);
+        insert(2_000, null);
+        jdbcTemplate.update("DELETE FROM appointments");
+
+        double perRow = insert(APPOINTMENTS, 1);
+        double batched = insert(APPOINTMENTS, null);
+
+        assertEquals(2L * APPOINTMENTS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointments", Long.class));
+        System.out.printf("%-36s %12s%n", "appointments (" + APPOINTMENTS + ")", "rows/sec");
+        System.out.printf("%-36s %12.0f%n", "one statement per row (IDENTITY)", perRow);
+        System.out.printf("%-36s %12.0f%n", "JDBC batches, pooled ids", batched);
+        System.out.printf("%-36s %11.1fx%n", "speed-up", batched / perRow);
+    }
+
+    /**
+     * Insert appointments in one transaction
+     * @param batchSize JDBC batch size for the session, or null for the configured one
+     * @return rows per second
+     */
+    private double insert(int rows, Integer batchSize) {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now().minusYears(1);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            long started = System.nanoTime();
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                entityManager.joinTransaction();
+                for (int i = 0; i < rows; i++) {
+                    entityManager.persist(new Appointment((long) random.nextInt(50_000) + 1,
+                            (long) random.nextInt(500) + 1, start.plusMinutes(random.nextInt(525_600)), null));
+                    if ((i + 1) % FLUSH_EVERY == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                }
+                entityManager.flush();
+            });
+            return rows / ((System.nanoTime() - started) / 1e9);
+        } finally {
+            entityManager.close();
+        }
+    }
+}
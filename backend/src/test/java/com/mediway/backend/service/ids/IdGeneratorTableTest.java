@@ -0,0 +1,126 @@
+package com.mediway.backend.service.ids;
+
+/*
+ * TESTS SUMMARY (IdGeneratorTableTest):
+ * - Generators are moved past hot and archived ids      : Positive
+ * - A generator already ahead is left alone             : Edge
+ * - Every generator row exists after startup            : Positive
+ * - Pooled ids let inserts go out in JDBC batches       : Positive
+ */
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mediway.backend.entity.Appointment;
+import com.mediway.backend.entity.Payment;
+import com.mediway.backend.repository.AppointmentRepository;
+import com.mediway.backend.repository.PaymentRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(showSql = false)
+@Import(IdGeneratorTable.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DisplayName("Id Generator Table Tests")
+class IdGeneratorTableTest {
+
+    @Autowired
+    private IdGeneratorTable idGeneratorTable;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM appointments");
+        jdbcTemplate.update("DELETE FROM appointments_archive");
+        jdbcTemplate.update("DELETE FROM payments");
+    }
+
+    @Test
+    @DisplayName("Should move a generator past hot and archived ids")
+    void testAdvancesPastExistingIds() {
+        jdbcTemplate.update("INSERT INTO appointments (id, patient_id, doctor_id, appointment_date, status) "
+                + "VALUES (120, 1, 1, CURRENT_TIMESTAMP, 'SCHEDULED')");
+        jdbcTemplate.update("INSERT INTO appointments_archive (id, patient_id, doctor_id, appointment_date, status, "
+                + "archived_at) VALUES (900, 1, 1, CURRENT_TIMESTAMP, 'COMPLETED', CURRENT_TIMESTAMP)");
+
+        long next = idGeneratorTable.advance(generator("appointments"));
+
+        assertEquals(900 + IdGeneratorTable.ALLOCATION_SIZE + 1, next);
+        Appointment saved = appointmentRepository.save(new Appointment(1L, 1L, LocalDateTime.now(), null));
+        assertTrue(saved.getId() > 900, "id " + saved.getId() + " reuses an existing id");
+    }
+
+    @Test
+    @DisplayName("Should leave a generator that is already ahead")
+    void testKeepsGeneratorAhead() {
+        jdbcTemplate.update("UPDATE id_generators SET next_id = 5000 WHERE entity = 'receipts'");
+
+        assertEquals(5000, idGeneratorTable.advance(generator("receipts")));
+        assertEquals(5000, jdbcTemplate.queryForObject(
+                "SELECT next_id FROM id_generators WHERE entity = 'receipts'", Long.class));
+    }
+
+    @Test
+    @DisplayName("Should create a row for every generator at startup")
+    void testCreatesRows() {
+        List<String> keys = jdbcTemplate.queryForList("SELECT entity FROM id_generators ORDER BY entity", String.class);
+
+        assertEquals(List.of("appointments", "medical_records", "payments", "receipts"), keys);
+    }
+
+    @Test
+    @DisplayName("Should send inserts in JDBC batches")
+    void testBatchedInserts() {
+        List<Payment> payments = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            payments.add(new Payment(1L, (long) i, new BigDecimal("2500.00"), "PAYPAL"));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        paymentRepository.saveAll(payments);
+
+        assertEquals(120, statistics.getEntityInsertCount());
+        // One statement per batch of 50 plus the id blocks, instead of one per row
+        assertTrue(statistics.getPrepareStatementCount() < 20,
+                statistics.getPrepareStatementCount() + " statements for 120 inserts");
+        assertEquals(120, paymentRepository.count());
+    }
+
+    private static IdGeneratorTable.Generator generator(String key) {
+        return IdGeneratorTable.GENERATORS.stream().filter(g -> g.key().equals(key)).findFirst().orElseThrow();
+    }
+}
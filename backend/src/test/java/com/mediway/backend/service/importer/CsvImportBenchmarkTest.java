@@ -0,0 +1,126 @@
+package com.mediway.backend.service.importer;
+
+/*
+ * BENCHMARK (CsvImportBenchmarkTest) - run with: mvn test -Pbenchmark
+ * - Writes a synthetic patients CSV to disk, imports it through CsvImportService, then
+ *   imports it again (every row an update), and prints rows/sec for each pass.
+ * - Rows carry no plain-text password: hashing one with BCrypt costs more than the rest of
+ *   the row, so files with plain passwords import at the speed of the validation threads.
+ * - Defaults to an in-memory H2 database in MySQL mode. To measure against MySQL, pass
+ *   -Dbenchmark.datasource.url=...?rewriteBatchedStatements=true -Dbenchmark.datasource.username=...
+ *   -Dbenchmark.datasource.password=... (use a throwaway schema: the tables are recreated).
+ * - Size with -Dbenchmark.patients=N (default 100000).
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mediway.backend.entity.ImportJob;
+import com.mediway.backend.repository.ImportJobRepository;
+import com.mediway.backend.service.ids.IdGeneratorTable;
+
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CsvImportService.class, PatientRowImporter.class, DoctorRowImporter.class, AppointmentRowImporter.class,
+        IdGeneratorTable.class, CsvImportBenchmarkTest.Passwords.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=${benchmark.datasource.url:jdbc:h2:mem:import-benchmark;MODE=MySQL}",
+        "spring.datasource.username=${benchmark.datasource.username:sa}",
+        "spring.datasource.password=${benchmark.datasource.password:}",
+        "spring.datasource.driverClassName=",
+        "spring.jpa.database-platform=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "mediway.imports.directory=${java.io.tmpdir}/mediway-import-benchmark"
+})
+@DisplayName("CSV Import Benchmark")
+class CsvImportBenchmarkTest {
+
+    private static final int PATIENTS = Integer.getInteger("benchmark.patients", 100_000);
+
+    @TestConfiguration
+    static class Passwords {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+
+    @Autowired
+    private CsvImportService importService;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @DisplayName("Measure patient import throughput")
+    void importPatients() throws Exception {
+        Path file = tempDir.resolve("patients.csv");
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("name,email,phone,date_of_birth,gender,blood_type,address,allergies\n");
+            for (int i = 0; i < PATIENTS; i++) {
+                out.write("Patient " + i + ",patient" + i + "@example.com,07" + String.format("%08d", i)
+                        + ",1980-01-01,Female,O+,\"" + i + " Main Street, Colombo\",Penicillin\n");
+            }
+        }
+        // Warm up class loading and JIT on a small file
+        importFile(Files.writeString(tempDir.resolve("warmup.csv"),
+                "name,email\nWarm Up,warmup@example.com\n"), "warmup");
+
+        double inserts = importFile(file, "insert");
+        double updates = importFile(file, "update");
+
+        assertEquals(PATIENTS + 1L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class));
+        System.out.printf("%-36s %12s%n", "patients (" + PATIENTS + ")", "rows/sec");
+        System.out.printf("%-36s %12.0f%n", "new patients", inserts);
+        System.out.printf("%-36s %12.0f%n", "existing patients", updates);
+    }
+
+    /**
+     * @return rows per second from upload to the end of the import
+     */
+    private double importFile(Path file, String pass) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        ImportJob job;
+        try (InputStream in = Files.newInputStream(file)) {
+            job = importService.submit(ImportJob.Kind.PATIENTS, pass + ".csv", in);
+        }
+        while ((job = importJobRepository.findById(job.getId()).orElseThrow()).getStatus() == ImportJob.Status.QUEUED
+                || job.getStatus() == ImportJob.Status.RUNNING) {
+            Thread.sleep(10);
+        }
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus(), job.getMessage());
+        assertEquals(0, job.getFailed());
+        return job.getRowsRead() / ((System.nanoTime() - started) / 1e9);
+    }
+}
@@ -0,0 +1,343 @@
+package com.mediway.backend.service.importer;
+
+/*
+ * TESTS SUMMARY (CsvImportServiceTest):
+ * - Patients are inserted, then updated by email           : Positive
+ * - Invalid rows land in the error report, others import   : Negative
+ * - A repeated email in one file keeps the last row        : Edge
+ * - Non-patient accounts are not overwritten               : Negative
+ * - Doctors import with an unusable password when none set : Positive
+ * - Appointments resolve emails and take pooled ids        : Positive
+ * - A file missing a required column is refused upfront    : Negative
+ * - A job resumes after its last committed chunk           : Positive
+ * - Only failed jobs can be resumed                        : Negative
+ * - A job whose file cannot be stored is not left behind   : Negative
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mediway.backend.entity.ImportJob;
+import com.mediway.backend.entity.ImportRowError;
+import com.mediway.backend.repository.ImportJobRepository;
+import com.mediway.backend.repository.ImportRowErrorRepository;
+import com.mediway.backend.service.ids.IdGeneratorTable;
+
+@DataJpaTest(showSql = false)
+@Import({CsvImportService.class, PatientRowImporter.class, DoctorRowImporter.class, AppointmentRowImporter.class,
+        IdGeneratorTable.class, CsvImportServiceTest.Passwords.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=",
+        "spring.sql.init.mode=never",
+        "mediway.imports.directory=${java.io.tmpdir}/mediway-imports-test",
+        "mediway.imports.chunk-size=3",
+        "mediway.imports.validation-threads=2"
+})
+@DisplayName("CSV Import Service Tests")
+class CsvImportServiceTest {
+
+    @TestConfiguration
+    static class Passwords {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @Autowired
+    private CsvImportService importService;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private ImportRowErrorRepository importRowErrorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${mediway.imports.directory}")
+    private Path directory;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM appointments");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM doctors");
+        importRowErrorRepository.deleteAll();
+        importJobRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should insert patients and update them by email on a second import")
+    void testPatientUpsert() throws Exception {
+        // Positive: chunk size 3, so the first import spans two chunks
+        ImportJob first = awaitImport(ImportJob.Kind.PATIENTS, """
+                name,email,phone,blood_type,password
+                Jane Doe,jane@example.com,0771234567,o+,secret1
+                John Roe,john@example.com,,,
+                Ann Lee,ann@example.com,0710000000,AB-,
+                Raj Kumar,raj@example.com,,B+,
+                """);
+
+        assertEquals(ImportJob.Status.COMPLETED, first.getStatus());
+        assertEquals(4, first.getRowsRead());
+        assertEquals(4, first.getInserted());
+        assertEquals(0, first.getFailed());
+        Map<String, Object> jane = jdbcTemplate.queryForMap("SELECT * FROM users WHERE email = 'jane@example.com'");
+        assertEquals("PATIENT", jane.get("ROLE"));
+        assertEquals("O+", jane.get("BLOOD_TYPE"));
+        assertTrue(new BCryptPasswordEncoder().matches("secret1", (String) jane.get("PASSWORD")));
+        assertEquals(Fields.NO_PASSWORD, jdbcTemplate.queryForObject(
+                "SELECT password FROM users WHERE email = 'john@example.com'", String.class));
+
+        // Empty cells keep what is stored
+        ImportJob second = awaitImport(ImportJob.Kind.PATIENTS, """
+                name,email,phone
+                Jane Smith,jane@example.com,
+                """);
+
+        assertEquals(0, second.getInserted());
+        assertEquals(1, second.getUpdated());
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class));
+        Map<String, Object> updated = jdbcTemplate.queryForMap("SELECT * FROM users WHERE email = 'jane@example.com'");
+        assertEquals("Jane Smith", updated.get("NAME"));
+        assertEquals("0771234567", updated.get("PHONE"));
+        assertEquals(jane.get("PASSWORD"), updated.get("PASSWORD"));
+    }
+
+    @Test
+    @DisplayName("Should report invalid rows and import the rest")
+    void testRowErrors() throws Exception {
+        // Negative: bad email, bad date and missing name; line numbers are file lines
+        ImportJob job = awaitImport(ImportJob.Kind.PATIENTS, """
+                name,email,date_of_birth
+                Jane Doe,jane@example.com,1990-04-01
+                Bad Email,not-an-email,
+                Bad Date,bad.date@example.com,01/04/1990
+                ,nameless@example.com,
+                John Roe,john@example.com,
+                """);
+
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(5, job.getRowsRead());
+        assertEquals(2, job.getInserted());
+        assertEquals(3, job.getFailed());
+        List<ImportRowError> errors = errorsOf(job);
+        assertEquals(List.of(3L, 4L, 5L), errors.stream().map(ImportRowError::getLine).toList());
+        assertEquals("not-an-email", errors.get(0).getRowKey());
+        assertTrue(errors.get(1).getMessage().contains("date_of_birth"));
+        assertTrue(errors.get(2).getMessage().contains("name"));
+    }
+
+    @Test
+    @DisplayName("Should keep the last of repeated rows for one email")
+    void testRepeatedKey() throws Exception {
+        // Edge: both rows fall in the same chunk
+        ImportJob job = awaitImport(ImportJob.Kind.PATIENTS, """
+                name,email
+                First Version,jane@example.com
+                Second Version,Jane@Example.com
+                """);
+
+        assertEquals(1, job.getInserted());
+        assertEquals(1, job.getUpdated());
+        assertEquals(List.of("Second Version"), jdbcTemplate.queryForList("SELECT name FROM users", String.class));
+    }
+
+    @Test
+    @DisplayName("Should not turn admin accounts into patients")
+    void testRejectsOtherRoles() throws Exception {
+        // Negative: the admin row is reported, not updated
+        jdbcTemplate.update("INSERT INTO users (name, email, password, role, created_at) "
+                + "VALUES ('Admin', 'admin@example.com', 'x', 'ADMIN', CURRENT_TIMESTAMP)");
+
+        ImportJob job = awaitImport(ImportJob.Kind.PATIENTS, """
+                name,email
+                Not Admin,admin@example.com
+                """);
+
+        assertEquals(1, job.getFailed());
+        assertEquals("Admin", jdbcTemplate.queryForObject(
+                "SELECT name FROM users WHERE email = 'admin@example.com'", String.class));
+        assertTrue(errorsOf(job).get(0).getMessage().contains("not a patient"));
+    }
+
+    @Test
+    @DisplayName("Should import doctors with an unusable password when none is given")
+    void testDoctors() throws Exception {
+        // Positive: available defaults to true
+        ImportJob job = awaitImport(ImportJob.Kind.DOCTORS, """
+                name,email,specialization,available
+                Dr. Silva,silva@example.com,Cardiology,
+                Dr. Perera,perera@example.com,Neurology,no
+                """);
+
+        assertEquals(2, job.getInserted());
+        Map<String, Object> silva = jdbcTemplate.queryForMap("SELECT * FROM doctors WHERE email = 'silva@example.com'");
+        assertEquals(Boolean.TRUE, silva.get("AVAILABLE"));
+        assertEquals(Fields.NO_PASSWORD, silva.get("PASSWORD"));
+        assertFalse(new BCryptPasswordEncoder().matches("", Fields.NO_PASSWORD));
+        assertEquals(Boolean.FALSE, jdbcTemplate.queryForObject(
+                "SELECT available FROM doctors WHERE email = 'perera@example.com'", Boolean.class));
+    }
+
+    @Test
+    @DisplayName("Should import appointments by patient and doctor email with pooled ids")
+    void testAppointments() throws Exception {
+        // Positive: ids come from id_generators, so JPA saves afterwards do not collide
+        awaitImport(ImportJob.Kind.PATIENTS, "name,email\nJane Doe,jane@example.com\n");
+        awaitImport(ImportJob.Kind.DOCTORS, "name,email,specialization\nDr. Silva,silva@example.com,Cardiology\n");
+        long nextId = jdbcTemplate.queryForObject(
+                "SELECT next_id FROM id_generators WHERE entity = 'appointments'", Long.class);
+
+        ImportJob job = awaitImport(ImportJob.Kind.APPOINTMENTS, """
+                patient_email,doctor_email,appointment_date,status,notes
+                jane@example.com,silva@example.com,2026-03-02T09:00,,First visit
+                jane@example.com,silva@example.com,2026-03-09 09:00,COMPLETED,
+                nobody@example.com,silva@example.com,2026-03-09 10:00,,
+                jane@example.com,nobody@example.com,2026-03-09 11:00,,
+                """);
+
+        assertEquals(2, job.getInserted());
+        assertEquals(2, job.getFailed());
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM appointments ORDER BY id", Long.class);
+        // Pooled blocks of 50: reading next_id v hands out (v - 50, v]
+        assertEquals(List.of(nextId - 49, nextId - 48), ids);
+        assertNotEquals(nextId, (long) jdbcTemplate.queryForObject(
+                "SELECT next_id FROM id_generators WHERE entity = 'appointments'", Long.class));
+
+        // Same patient, doctor and time updates the appointment
+        ImportJob again = awaitImport(ImportJob.Kind.APPOINTMENTS, """
+                patient_email,doctor_email,appointment_date,status
+                jane@example.com,silva@example.com,2026-03-02 09:00,CANCELLED
+                """);
+
+        assertEquals(1, again.getUpdated());
+        assertEquals("CANCELLED", jdbcTemplate.queryForObject(
+                "SELECT status FROM appointments WHERE id = ?", String.class, ids.get(0)));
+        assertEquals("First visit", jdbcTemplate.queryForObject(
+                "SELECT notes FROM appointments WHERE id = ?", String.class, ids.get(0)));
+    }
+
+    @Test
+    @DisplayName("Should refuse a file missing a required column")
+    void testMissingColumn() {
+        // Negative: checked on upload, no job is created
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> submit(ImportJob.Kind.DOCTORS, "name,email\nDr. Silva,silva@example.com\n"));
+
+        assertEquals("Missing column(s): specialization", e.getMessage());
+        assertEquals(0, importJobRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should resume a job after its last committed chunk")
+    void testResume() throws IOException {
+        // Positive: the first three rows were committed before the job stopped
+        ImportJob job = new ImportJob(ImportJob.Kind.PATIENTS, "patients.csv");
+        job.setStatus(ImportJob.Status.FAILED);
+        job.setRowsRead(3);
+        job.setInserted(3);
+        job = importJobRepository.save(job);
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve(job.getId() + ".csv"), """
+                name,email
+                Already One,one@example.com
+                Already Two,two@example.com
+                Already Three,three@example.com
+                Left Four,four@example.com
+                Left Five,five@example.com
+                """);
+
+        importService.run(job.getId());
+
+        ImportJob resumed = importJobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(ImportJob.Status.COMPLETED, resumed.getStatus());
+        assertEquals(5, resumed.getRowsRead());
+        assertEquals(5, resumed.getInserted());
+        assertEquals(List.of("five@example.com", "four@example.com"),
+                jdbcTemplate.queryForList("SELECT email FROM users ORDER BY email", String.class));
+        assertFalse(Files.exists(directory.resolve(job.getId() + ".csv")));
+    }
+
+    @Test
+    @DisplayName("Should only resume failed jobs")
+    void testResumeRequiresFailure() throws Exception {
+        // Negative: completed jobs stay completed
+        ImportJob job = awaitImport(ImportJob.Kind.PATIENTS, "name,email\nJane Doe,jane@example.com\n");
+
+        assertThrows(IllegalStateException.class, () -> importService.resume(job.getId()));
+        assertTrue(importService.resume(Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not leave a job behind when its file cannot be stored")
+    void testMoveFailureRemovesJob() throws Exception {
+        // Negative: a non-empty directory where the next job's file goes makes the move fail
+        long previous = awaitImport(ImportJob.Kind.PATIENTS, "name,email\nJane Doe,jane@example.com\n").getId();
+        Path blocker = directory.resolve((previous + 1) + ".csv");
+        Files.createDirectories(blocker.resolve("occupied"));
+        try {
+            assertThrows(IOException.class,
+                    () -> submit(ImportJob.Kind.PATIENTS, "name,email\nJohn Roe,john@example.com\n"));
+
+            assertEquals(List.of(previous), importJobRepository.findAll().stream().map(ImportJob::getId).toList());
+        } finally {
+            Files.delete(blocker.resolve("occupied"));
+            Files.delete(blocker);
+        }
+    }
+
+    private ImportJob submit(ImportJob.Kind kind, String csv) throws IOException {
+        return importService.submit(kind, kind.name().toLowerCase() + ".csv",
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private ImportJob awaitImport(ImportJob.Kind kind, String csv) throws Exception {
+        Long id = submit(kind, csv).getId();
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (System.nanoTime() < deadline) {
+            ImportJob job = importJobRepository.findById(id).orElseThrow();
+            if (job.getStatus() == ImportJob.Status.COMPLETED || job.getStatus() == ImportJob.Status.FAILED) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Import " + id + " did not finish");
+    }
+
+    private List<ImportRowError> errorsOf(ImportJob job) {
+        return importRowErrorRepository.findByJobIdOrderByLine(job.getId(),
+                PageRequest.of(0, 100)).getContent();
+    }
+}
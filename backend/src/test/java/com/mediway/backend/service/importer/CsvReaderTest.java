@@ -0,0 +1,122 @@
+package com.mediway.backend.service.importer;
+
+/*
+ * TESTS SUMMARY (CsvReaderTest):
+ * - Plain and quoted fields, "" as a quote              : Positive
+ * - Line breaks inside quotes keep line numbers right   : Positive
+ * - CRLF endings, blank lines and a missing last EOL    : Edge
+ * - Empty fields are kept                               : Edge
+ * - Records longer than the buffer                      : Edge
+ * - Unclosed quote and oversized field are rejected     : Negative
+ * - Header BOM, case and missing columns                : Positive/Negative
+ */
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CSV Reader Tests")
+class CsvReaderTest {
+
+    private static CsvReader reader(String csv) {
+        return new CsvReader(new StringReader(csv));
+    }
+
+    @Test
+    @DisplayName("Should read plain and quoted fields")
+    void testQuotedFields() throws IOException {
+        // Positive: commas and quotes inside quoted fields
+        CsvReader reader = reader("name,notes\nJane,\"Allergic to nuts, \"\"severe\"\"\"\n");
+
+        assertEquals(List.of("name", "notes"), reader.next());
+        assertEquals(List.of("Jane", "Allergic to nuts, \"severe\""), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should report the starting line of records spanning lines")
+    void testLineNumbers() throws IOException {
+        // Positive: the second record spans lines 2-3, the third starts on line 4
+        CsvReader reader = reader("a,b\n1,\"two\nlines\"\n3,4\n");
+
+        reader.next();
+        assertEquals(1, reader.line());
+        assertEquals(List.of("1", "two\nlines"), reader.next());
+        assertEquals(2, reader.line());
+        assertEquals(List.of("3", "4"), reader.next());
+        assertEquals(4, reader.line());
+    }
+
+    @Test
+    @DisplayName("Should handle CRLF, blank lines and a missing final line break")
+    void testLineEndings() throws IOException {
+        // Edge: blank lines are skipped but still counted
+        CsvReader reader = reader("a,b\r\n\r\n1,2\r\n\n3,4");
+
+        assertEquals(List.of("a", "b"), reader.next());
+        assertEquals(List.of("1", "2"), reader.next());
+        assertEquals(3, reader.line());
+        assertEquals(List.of("3", "4"), reader.next());
+        assertEquals(5, reader.line());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should keep empty fields")
+    void testEmptyFields() throws IOException {
+        // Edge: trailing comma is one more empty field
+        assertEquals(List.of("", "x", "", ""), reader(",x,\"\",\n").next());
+    }
+
+    @Test
+    @DisplayName("Should read records across buffer refills")
+    void testLongRecords() throws IOException {
+        // Edge: fields longer than half the read buffer
+        String big = "x".repeat(40_000);
+        CsvReader reader = reader(big + "," + big + "\n" + big + "\n");
+
+        assertEquals(List.of(big, big), reader.next());
+        assertEquals(List.of(big), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should reject an unclosed quote and an oversized field")
+    void testMalformed() throws IOException {
+        // Negative: a runaway quote is not read to the end of the file as one field
+        CsvReader runaway = reader("a\n\"never closed\nb\n");
+        runaway.next();
+        IllegalArgumentException unclosed = assertThrows(IllegalArgumentException.class, runaway::next);
+        assertTrue(unclosed.getMessage().contains("line 2"));
+
+        CsvReader oversized = reader("a\n\"" + "x".repeat(CsvReader.MAX_FIELD_LENGTH + 1));
+        oversized.next();
+        assertThrows(IllegalArgumentException.class, oversized::next);
+    }
+
+    @Test
+    @DisplayName("Should normalise header names and name missing columns")
+    void testHeader() {
+        // Positive: BOM stripped, names trimmed and lower-cased
+        CsvHeader header = CsvHeader.of(List.of("\uFEFFName", " EMAIL ", "phone"));
+        CsvRecord record = new CsvRecord(2, List.of(" Jane ", "jane@example.com", ""));
+
+        assertEquals("Jane", header.value(record, "name"));
+        assertEquals("jane@example.com", header.value(record, "email"));
+        assertNull(header.value(record, "phone"));
+        assertNull(header.value(record, "address"));
+
+        // Negative: missing and repeated columns
+        IllegalArgumentException missing = assertThrows(IllegalArgumentException.class,
+                () -> header.require(List.of("name", "email", "specialization")));
+        assertEquals("Missing column(s): specialization", missing.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> CsvHeader.of(List.of("email", "Email")));
+    }
+}
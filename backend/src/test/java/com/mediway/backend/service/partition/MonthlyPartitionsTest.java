@@ -0,0 +1,65 @@
+package com.mediway.backend.service.partition;
+
+/*
+ * TESTS SUMMARY (MonthlyPartitionsTest):
+ * - Partition names round-trip to months            : Positive
+ * - Missing months follow the newest partition      : Positive
+ * - Partitions older than a month are listed        : Positive
+ * - DDL for partitioning and adding months          : Positive
+ */
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Monthly Partitions Tests")
+class MonthlyPartitionsTest {
+
+    @Test
+    @DisplayName("Should name partitions by month")
+    void testNames() {
+        assertEquals("p202503", MonthlyPartitions.nameOf(YearMonth.of(2025, 3)));
+        assertEquals(Optional.of(YearMonth.of(2025, 3)), MonthlyPartitions.monthOf("p202503"));
+        assertEquals(Optional.empty(), MonthlyPartitions.monthOf(MonthlyPartitions.CATCH_ALL));
+    }
+
+    @Test
+    @DisplayName("Should list the months after the newest partition")
+    void testMissing() {
+        List<String> existing = List.of("p202501", "p202502", MonthlyPartitions.CATCH_ALL);
+
+        assertEquals(List.of(YearMonth.of(2025, 3), YearMonth.of(2025, 4)),
+                MonthlyPartitions.missing(existing, YearMonth.of(2025, 4)));
+        assertEquals(List.of(), MonthlyPartitions.missing(existing, YearMonth.of(2025, 2)));
+        // Only the catch-all partition: start at the target month
+        assertEquals(List.of(YearMonth.of(2025, 4)),
+                MonthlyPartitions.missing(List.of(MonthlyPartitions.CATCH_ALL), YearMonth.of(2025, 4)));
+    }
+
+    @Test
+    @DisplayName("Should list monthly partitions older than a month")
+    void testOlderThan() {
+        List<String> existing = List.of("p202412", "p202501", "p202502", MonthlyPartitions.CATCH_ALL);
+
+        assertEquals(List.of("p202412", "p202501"), MonthlyPartitions.olderThan(existing, YearMonth.of(2025, 2)));
+    }
+
+    @Test
+    @DisplayName("Should build RANGE COLUMNS DDL")
+    void testDdl() {
+        assertEquals("ALTER TABLE payments DROP PRIMARY KEY, ADD PRIMARY KEY (id, payment_date) "
+                        + "PARTITION BY RANGE COLUMNS(payment_date) ("
+                        + "PARTITION p202412 VALUES LESS THAN ('2025-01-01'), "
+                        + "PARTITION p202501 VALUES LESS THAN ('2025-02-01'), "
+                        + "PARTITION pmax VALUES LESS THAN (MAXVALUE))",
+                MonthlyPartitions.partitionTable("payments", "payment_date", YearMonth.of(2024, 12), YearMonth.of(2025, 1)));
+        assertEquals("ALTER TABLE appointments REORGANIZE PARTITION pmax INTO ("
+                        + "PARTITION p202503 VALUES LESS THAN ('2025-04-01'), "
+                        + "PARTITION pmax VALUES LESS THAN (MAXVALUE))",
+                MonthlyPartitions.addMonths("appointments", List.of(YearMonth.of(2025, 3))));
+    }
+}
@@ -0,0 +1,115 @@
+package com.mediway.backend.service.partition;
+
+/*
+ * TESTS SUMMARY (PartitionMaintenanceTest):
+ * - Unpartitioned table is partitioned from its oldest month : Positive
+ * - Rows without a partition key block partitioning          : Negative
+ * - Months ahead are added to a partitioned table            : Positive
+ * - Only empty partitions past retention are dropped         : Edge
+ * - Up-to-date table is left alone                           : Edge
+ */
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.mediway.backend.service.partition.PartitionMaintenance.PartitionedTable;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Partition Maintenance Tests")
+class PartitionMaintenanceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 15);
+    private static final PartitionedTable APPOINTMENTS = new PartitionedTable("appointments", "appointment_date");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private PartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        maintenance = new PartitionMaintenance(jdbcTemplate, true, 2, Duration.ofDays(365), Duration.ofDays(1));
+    }
+
+    @Test
+    @DisplayName("Should partition a plain table from its oldest month")
+    void testPartitionsPlainTable() {
+        partitions(List.of());
+        when(jdbcTemplate.queryForList(contains("IS NULL"), eq(Long.class))).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject("SELECT MIN(appointment_date) FROM appointments", Timestamp.class))
+                .thenReturn(Timestamp.valueOf(LocalDateTime.of(2025, 1, 20, 9, 0)));
+
+        maintenance.maintain(APPOINTMENTS, TODAY);
+
+        verify(jdbcTemplate).execute(MonthlyPartitions.partitionTable("appointments", "appointment_date",
+                YearMonth.of(2025, 1), YearMonth.of(2025, 5)));
+    }
+
+    @Test
+    @DisplayName("Should not partition a table with rows missing the partition key")
+    void testRowsWithoutDate() {
+        partitions(List.of());
+        when(jdbcTemplate.queryForList(contains("IS NULL"), eq(Long.class))).thenReturn(List.of(7L));
+
+        maintenance.maintain(APPOINTMENTS, TODAY);
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Should add the months ahead that are missing")
+    void testAddsMonths() {
+        partitions(List.of("p202503", "p202504", "pmax"));
+
+        maintenance.maintain(APPOINTMENTS, TODAY);
+
+        verify(jdbcTemplate).execute("ALTER TABLE appointments REORGANIZE PARTITION pmax INTO ("
+                + "PARTITION p202505 VALUES LESS THAN ('2025-06-01'), PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+    }
+
+    @Test
+    @DisplayName("Should drop only empty partitions older than the retention")
+    void testDropsEmptyOldPartitions() {
+        partitions(List.of("p202401", "p202402", "p202403", "p202503", "p202504", "p202505", "pmax"));
+        when(jdbcTemplate.queryForList(contains("PARTITION (p202401)"), eq(Long.class))).thenReturn(List.of());
+        when(jdbcTemplate.queryForList(contains("PARTITION (p202402)"), eq(Long.class))).thenReturn(List.of(3L));
+
+        maintenance.maintain(APPOINTMENTS, TODAY);
+
+        // 2024-03 is within the year kept; 2024-02 still holds rows
+        verify(jdbcTemplate).execute("ALTER TABLE appointments DROP PARTITION p202401");
+    }
+
+    @Test
+    @DisplayName("Should leave an up-to-date table alone")
+    void testUpToDate() {
+        partitions(List.of("p202503", "p202504", "p202505", "pmax"));
+
+        maintenance.maintain(APPOINTMENTS, TODAY);
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    private void partitions(List<String> names) {
+        when(jdbcTemplate.queryForList(contains("information_schema.PARTITIONS"), eq(String.class), eq("appointments")))
+                .thenReturn(names);
+    }
+}
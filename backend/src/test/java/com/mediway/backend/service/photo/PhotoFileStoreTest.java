@@ -0,0 +1,188 @@
+package com.mediway.backend.service.photo;
+
+/*
+ * TESTS SUMMARY (PhotoFileStoreTest):
+ * - Upload is written under its content hash            : Positive
+ * - Format comes from the content, not the client       : Positive
+ * - Identical uploads share one file                    : Edge
+ * - Oversized uploads are rejected while streaming      : Negative
+ * - Empty and non-image uploads are rejected            : Negative
+ * - Unknown or malformed hashes read as missing         : Edge
+ * - Delete removes an unused file                       : Positive
+ * - Held or referenced files are kept                   : Edge
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+@DisplayName("Photo File Store Tests")
+class PhotoFileStoreTest {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    @TempDir
+    Path directory;
+
+    private PhotoFileStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new PhotoFileStore(directory, DataSize.ofKilobytes(100));
+    }
+
+    // Positive: File is named by the hash of what was streamed
+    @Test
+    @DisplayName("Should write the upload under its content hash")
+    void testWrite() throws IOException {
+        byte[] content = png(50_000);
+
+        UploadedPhoto uploaded = store.write(new ByteArrayInputStream(content));
+
+        assertEquals(BlobStore.hashOf(content), uploaded.hash());
+        assertEquals(content.length, uploaded.size());
+        assertEquals("image/png", uploaded.contentType());
+        assertArrayEquals(content, store.read(uploaded.hash()).orElseThrow());
+        assertTrue(Files.exists(directory.resolve(uploaded.hash().substring(0, 2)).resolve(uploaded.hash())));
+    }
+
+    // Positive: Each accepted format is recognised by its signature
+    @Test
+    @DisplayName("Should take the content type from the leading bytes")
+    void testSniffsFormat() throws IOException {
+        byte[] jpeg = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 16};
+        byte[] gif = "GIF89a....".getBytes();
+
+        assertEquals("image/jpeg", store.write(new ByteArrayInputStream(jpeg)).contentType());
+        assertEquals("image/gif", store.write(new ByteArrayInputStream(gif)).contentType());
+    }
+
+    // Edge: Same content twice leaves a single file and no temp files
+    @Test
+    @DisplayName("Should keep one file for identical uploads")
+    void testDeduplicates() throws IOException {
+        byte[] content = png(100);
+
+        UploadedPhoto first = store.write(new ByteArrayInputStream(content));
+        UploadedPhoto second = store.write(new ByteArrayInputStream(content));
+
+        assertEquals(first.hash(), second.hash());
+        assertEquals(1, countFiles(directory.resolve(first.hash().substring(0, 2))));
+        assertEquals(0, countFiles(directory.resolve(".tmp")));
+    }
+
+    // Negative: Reading stops as soon as the limit is passed
+    @Test
+    @DisplayName("Should reject an oversized upload without reading all of it")
+    void testRejectsOversized() throws IOException {
+        CountingStream content = new CountingStream(png(1024 * 1024));
+
+        assertThrows(IllegalArgumentException.class, () -> store.write(content));
+
+        assertTrue(content.read < 1024 * 1024 / 2);
+        assertEquals(0, countFiles(directory.resolve(".tmp")));
+    }
+
+    // Negative: Declared content types are not trusted
+    @Test
+    @DisplayName("Should reject empty and non-image uploads")
+    void testRejectsInvalidContent() {
+        assertThrows(IllegalArgumentException.class, () -> store.write(new ByteArrayInputStream(new byte[0])));
+        assertThrows(IllegalArgumentException.class,
+                () -> store.write(new ByteArrayInputStream("%PDF-1.7 not an image".getBytes())));
+        assertThrows(IllegalArgumentException.class, () -> store.write(new ByteArrayInputStream(new byte[]{(byte) 0x89})));
+    }
+
+    // Edge: Hashes never escape the store directory
+    @Test
+    @DisplayName("Should treat unknown and malformed hashes as missing")
+    void testReadMissing() {
+        assertTrue(store.read("a".repeat(64)).isEmpty());
+        assertTrue(store.read("../../etc/passwd").isEmpty());
+        assertTrue(store.read(null).isEmpty());
+    }
+
+    // Positive: Deleted photos can no longer be read
+    @Test
+    @DisplayName("Should delete a settled photo nothing refers to")
+    void testDelete() throws IOException {
+        UploadedPhoto uploaded = store.write(new ByteArrayInputStream(png(10)));
+        store.settle(uploaded.hash());
+
+        assertTrue(store.deleteIfUnused(uploaded.hash(), () -> false));
+
+        assertTrue(store.read(uploaded.hash()).isEmpty());
+    }
+
+    // Edge: An upload in flight or a reference keeps the file
+    @Test
+    @DisplayName("Should keep a photo while an upload holds it or it is still referenced")
+    void testDeleteKeepsUsedFile() throws IOException {
+        UploadedPhoto first = store.write(new ByteArrayInputStream(png(10)));
+        UploadedPhoto second = store.write(new ByteArrayInputStream(png(10)));
+        store.settle(first.hash());
+
+        assertFalse(store.deleteIfUnused(first.hash(), () -> false));
+        store.settle(second.hash());
+        assertFalse(store.deleteIfUnused(first.hash(), () -> true));
+
+        assertTrue(store.read(first.hash()).isPresent());
+        assertTrue(store.deleteIfUnused(first.hash(), () -> false));
+    }
+
+    private static byte[] png(int bodyLength) {
+        byte[] content = new byte[PNG_SIGNATURE.length + bodyLength];
+        System.arraycopy(PNG_SIGNATURE, 0, content, 0, PNG_SIGNATURE.length);
+        for (int i = PNG_SIGNATURE.length; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+
+    private static long countFiles(Path path) throws IOException {
+        try (Stream<Path> files = Files.list(path)) {
+            return files.count();
+        }
+    }
+
+    private static final class CountingStream extends InputStream {
+        private final InputStream delegate;
+        private long read;
+
+        CountingStream(byte[] content) {
+            this.delegate = new ByteArrayInputStream(content);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b != -1) {
+                read++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = delegate.read(buffer, offset, length);
+            if (n > 0) {
+                read += n;
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.mediway.backend.service.photo;
+
+/*
+ * TESTS SUMMARY (PhotoVariantGeneratorTest):
+ * - Creates thumbnail, card and full variants            : Positive
+ * - Small originals are not scaled up                    : Edge
+ * - Transparent images stay PNG                          : Edge
+ * - Replaced photos are not processed                    : Edge
+ * - Variants made for a photo replaced meanwhile are released : Edge
+ * - Unreadable images are skipped and counted            : Negative
+ * - Missing photo files are skipped and counted          : Negative
+ * - Unknown size names are rejected                      : Negative
+ */
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.imageio.ImageIO;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mediway.backend.entity.DoctorPhoto;
+import com.mediway.backend.repository.DoctorPhotoRepository;
+import com.mediway.backend.service.DoctorPhotoService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Photo Variant Generator Tests")
+class PhotoVariantGeneratorTest {
+
+    private DoctorPhotoRepository doctorPhotoRepository;
+    private DoctorPhotoService doctorPhotoService;
+    private InMemoryBlobStore blobStore;
+    private PhotoFileStore photoFileStore;
+    private SimpleMeterRegistry meterRegistry;
+    private PhotoVariantGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        doctorPhotoRepository = mock(DoctorPhotoRepository.class);
+        doctorPhotoService = mock(DoctorPhotoService.class);
+        blobStore = new InMemoryBlobStore();
+        photoFileStore = mock(PhotoFileStore.class);
+        meterRegistry = new SimpleMeterRegistry();
+        generator = new PhotoVariantGenerator(doctorPhotoRepository, blobStore, photoFileStore, doctorPhotoService,
+                meterRegistry, 1, 4);
+        when(doctorPhotoRepository.updateVariants(anyLong(), anyString(), any(), any(), any())).thenReturn(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        generator.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should create thumbnail, card and full variants")
+    void testCreatesVariants() throws IOException {
+        byte[] original = encode(image(2000, 1500, false), "jpeg");
+        DoctorPhoto photo = photo("image/jpeg", "e1", original);
+        when(doctorPhotoRepository.findById(1L)).thenReturn(Optional.of(photo));
+
+        generator.generate(1L, "e1");
+
+        ArgumentCaptor<String> thumbnail = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> card = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> full = ArgumentCaptor.forClass(String.class);
+        verify(doctorPhotoRepository).updateVariants(eq(1L), eq("e1"), thumbnail.capture(), card.capture(), full.capture());
+        assertDimensions(thumbnail.getValue(), 96, 72);
+        assertDimensions(card.getValue(), 320, 240);
+        assertDimensions(full.getValue(), 1024, 768);
+        assertEquals("image/jpeg", blobStore.get(card.getValue()).orElseThrow().contentType());
+        assertTrue(blobStore.get(thumbnail.getValue()).orElseThrow().data().length < original.length);
+        assertEquals(1, meterRegistry.get("photos.variants.duration").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should not scale small originals up")
+    void testNoUpscaling() throws IOException {
+        DoctorPhoto photo = photo("image/jpeg", "e1", encode(image(200, 100, false), "jpeg"));
+        when(doctorPhotoRepository.findById(1L)).thenReturn(Optional.of(photo));
+
+        generator.generate(1L, "e1");
+
+        ArgumentCaptor<String> full = ArgumentCaptor.forClass(String.class);
+        verify(doctorPhotoRepository).updateVariants(eq(1L), eq("e1"), any(), any(), full.capture());
+        assertDimensions(full.getValue(), 200, 100);
+    }
+
+    @Test
+    @DisplayName("Should keep transparent images as PNG")
+    void testTransparentImages() throws IOException {
+        DoctorPhoto photo = photo("image/png", "e1", encode(image(400, 400, true), "png"));
+        when(doctorPhotoRepository.findById(1L)).thenReturn(Optional.of(photo));
+
+        generator.generate(1L, "e1");
+
+        ArgumentCaptor<String> thumbnail = ArgumentCaptor.forClass(String.class);
+        verify(doctorPhotoRepository).updateVariants(eq(1L), eq("e1"), thumbnail.capture(), any(), any());
+        assertEquals("image/png", blobStore.get(thumbnail.getValue()).orElseThrow().contentType());
+    }
+
+    @Test
+    @DisplayName("Should skip photos replaced since the upload")
+    void testStalePhoto() throws IOException {
+        DoctorPhoto photo = photo("image/jpeg", "newer", encode(image(50, 50, false), "jpeg"));
+        when(doctorPhotoRepository.findById(1L)).thenReturn(Optional.of(photo));
+
+        generator.generate(1L, "older");
+
+        assertEquals(0, blobStore.size());
+        verify(doctorPhotoRepository, never()).updateVariants(anyLong(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should release variants when the photo changed while resizing")
+    @SuppressWarnings("unchecked")
+    void testReplacedWhileResizing() throws IOException {
+        DoctorPhoto photo = photo("image/jpeg", "e1", encode(image(50, 50, false), "jpeg"));
+        when(doctorPhotoRepository.findById(1L)).thenReturn(Optional.of(photo));
+        when(doctorPhotoRepository.updateVariants(anyLong(), anyString(), any(), any(), any())).thenReturn(0);
+
+        generator.generate(1L, "e1");
+
+        ArgumentCaptor<Collection<String>> released = ArgumentCaptor.forClass(Collection.class);
+        verify(doctorPhotoService).releaseVariants(released.capture());
+        assertEquals(3, released.getValue().size());
+    }
+
+    @Test
+    @DisplayName("Should skip and count images that cannot be decoded")
+    void testUnreadableImage() {
+        DoctorPhoto photo = photo("image/webp", "e1", "not an image".getBytes());
+        when(doctorPhotoRepository.findById(1L)).thenReturn(Optional.of(photo));
+
+        generator.generate(1L, "e1");
+
+        assertEquals(0, blobStore.size());
+        assertEquals(1.0, meterRegistry.get("photos.variants.skipped").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should skip and count photos whose file is missing")
+    void testMissingFile() {
+        when(doctorPhotoRepository.findById(1L)).thenReturn(Optional.of(new DoctorPhoto(1L, "image/jpeg", "e1")));
+        when(photoFileStore.read("e1")).thenReturn(Optional.empty());
+
+        generator.generate(1L, "e1");
+
+        verify(doctorPhotoRepository, never()).updateVariants(anyLong(), anyString(), any(), any(), any());
+        assertEquals(1.0, meterRegistry.get("photos.variants.skipped").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should parse size names and reject unknown ones")
+    void testParseSize() {
+        assertEquals(PhotoSize.THUMBNAIL, PhotoSize.parse("thumbnail"));
+        assertEquals(PhotoSize.CARD, PhotoSize.parse(" CARD "));
+        assertThrows(IllegalArgumentException.class, () -> PhotoSize.parse("huge"));
+    }
+
+    private DoctorPhoto photo(String contentType, String etag, byte[] data) {
+        when(photoFileStore.read(etag)).thenReturn(Optional.of(data));
+        return new DoctorPhoto(1L, contentType, etag);
+    }
+
+    private void assertDimensions(String hash, int width, int height) throws IOException {
+        BufferedImage variant = ImageIO.read(new ByteArrayInputStream(blobStore.get(hash).orElseThrow().data()));
+        assertEquals(width, variant.getWidth());
+        assertEquals(height, variant.getHeight());
+    }
+
+    private static BufferedImage image(int width, int height, boolean transparent) {
+        BufferedImage image = new BufferedImage(width, height,
+                transparent ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.setColor(Color.ORANGE);
+        graphics.fillOval(width / 4, height / 4, width / 2, height / 2);
+        graphics.dispose();
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    private static final class InMemoryBlobStore implements BlobStore {
+        private final Map<String, StoredBlob> blobs = new HashMap<>();
+
+        @Override
+        public String put(byte[] data, String contentType) {
+            String hash = BlobStore.hashOf(data);
+            blobs.putIfAbsent(hash, new StoredBlob(hash, contentType, data));
+            return hash;
+        }
+
+        @Override
+        public Optional<StoredBlob> get(String hash) {
+            return Optional.ofNullable(blobs.get(hash));
+        }
+
+        @Override
+        public void delete(String hash) {
+            blobs.remove(hash);
+        }
+
+        int size() {
+            return blobs.size();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.mediway.backend.service.search;
+
+/*
+ * TESTS SUMMARY (ClinicalSearchIndexTest):
+ * - Not ready before the first load                     : Edge
+ * - Finds records by diagnosis, treatment, prescription : Positive
+ * - Query words match as word prefixes                  : Positive
+ * - Multi-word queries need every word                  : Negative
+ * - Diagnosis and repeated matches rank higher          : Positive
+ * - Scoped to doctor, patient and field                 : Positive
+ * - Filler words and accents are ignored                : Edge
+ * - Create/update/delete events keep the index current  : Positive
+ * - Pagination with total count                         : Positive
+ * - Loads large data sets in keyset batches             : Positive
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+
+import com.mediway.backend.dto.projection.ClinicalTextView;
+import com.mediway.backend.event.MedicalRecordChangedEvent;
+import com.mediway.backend.repository.MedicalRecordRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Clinical Search Index Tests")
+class ClinicalSearchIndexTest {
+
+    @Mock
+    private MedicalRecordRepository medicalRecordRepository;
+
+    private ClinicalSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ClinicalSearchIndex(medicalRecordRepository);
+    }
+
+    @Test
+    @DisplayName("Should not be ready before the first load")
+    void testNotReadyBeforeLoad() {
+        assertFalse(index.isReady());
+    }
+
+    @Test
+    @DisplayName("Should find records by diagnosis, treatment and prescription")
+    void testSearchFields() {
+        load(
+                record(1L, 10L, 100L, "Acute bronchitis", "Rest and steam inhalation", "Amoxicillin 500mg"),
+                record(2L, 11L, 100L, "Type 2 diabetes", "Diet plan", "Metformin 850mg"));
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(1L), ids("bronchitis"));
+        assertEquals(List.of(1L), ids("steam"));
+        assertEquals(List.of(2L), ids("metformin"));
+        assertEquals(List.of(), ids("insulin"));
+    }
+
+    @Test
+    @DisplayName("Should match query words as prefixes of indexed words")
+    void testPrefixMatch() {
+        load(
+                record(1L, 10L, 100L, "Otitis media", null, "Amoxicillin"),
+                record(2L, 11L, 100L, "Sinusitis", null, "Amoxiclav"));
+
+        assertEquals(2, ids("amox").size());
+        assertEquals(List.of(1L), ids("amoxicil"));
+        // Prefixes only, not infixes
+        assertEquals(List.of(), ids("xicillin"));
+    }
+
+    @Test
+    @DisplayName("Should require every word of a multi-word query")
+    void testAllWordsRequired() {
+        load(
+                record(1L, 10L, 100L, "Chronic kidney disease", null, null),
+                record(2L, 11L, 100L, "Chronic back pain", null, null));
+
+        assertEquals(List.of(1L), ids("chronic kidney"));
+        assertEquals(List.of(), ids("chronic migraine"));
+    }
+
+    @Test
+    @DisplayName("Should rank diagnosis matches and repeated matches higher")
+    void testRanking() {
+        load(
+                record(1L, 10L, 100L, "Sprained ankle", "Rule out asthma", null),
+                record(2L, 11L, 100L, "Asthma", "Inhaler", null),
+                record(3L, 12L, 100L, "Asthma, asthma exacerbation", "Inhaler", null),
+                record(4L, 13L, 100L, "Fever", null, "Asthma inhaler"));
+
+        assertEquals(List.of(3L, 2L, 4L, 1L), ids("asthma"));
+    }
+
+    @Test
+    @DisplayName("Should limit matches to a doctor, a patient and a field")
+    void testScopes() {
+        load(
+                record(1L, 10L, 100L, "Hypertension", null, "Losartan"),
+                record(2L, 10L, 200L, "Hypertension", null, "Amlodipine"),
+                record(3L, 11L, 300L, "Hypertension", null, "Losartan"),
+                record(4L, 10L, 100L, "Headache", "Losartan review", "Paracetamol"));
+
+        assertEquals(List.of(1L), index.search("hypertension", null, 100L, null, 0, 20).getContent());
+        assertEquals(List.of(2L, 1L), index.search("hypertension", null, null, 10L, 0, 20).getContent());
+        assertEquals(List.of(), index.search("hypertension", null, 300L, 10L, 0, 20).getContent());
+        assertEquals(List.of(3L), index.search("losartan", ClinicalField.PRESCRIPTION, 300L, null, 0, 20).getContent());
+        // A prescription match outweighs a mention in the treatment
+        assertEquals(List.of(1L, 4L), index.search("losartan", null, 100L, null, 0, 20).getContent());
+        assertEquals(List.of(1L), index.search("losartan", ClinicalField.PRESCRIPTION, 100L, null, 0, 20).getContent());
+    }
+
+    @Test
+    @DisplayName("Should ignore filler words, case and accents")
+    void testNormalization() {
+        load(record(1L, 10L, 100L, "Fracture of the fémur", null, null));
+
+        assertEquals(List.of(1L), ids("FRACTURE of FEMUR"));
+        assertEquals(List.of(), ids("of the"));
+        assertEquals(List.of(), ids("  "));
+    }
+
+    @Test
+    @DisplayName("Should apply create, update and delete events")
+    void testEvents() {
+        load(record(1L, 10L, 100L, "Gastritis", null, "Omeprazole"));
+
+        when(medicalRecordRepository.findClinicalTextById(2L))
+                .thenReturn(Optional.of(record(2L, 11L, 100L, "Migraine", null, "Sumatriptan")));
+        index.onRecordChanged(new MedicalRecordChangedEvent(2L));
+        assertEquals(List.of(2L), ids("sumatriptan"));
+
+        when(medicalRecordRepository.findClinicalTextById(1L))
+                .thenReturn(Optional.of(record(1L, 10L, 100L, "Peptic ulcer", null, "Omeprazole")));
+        index.onRecordChanged(new MedicalRecordChangedEvent(1L));
+        assertEquals(List.of(), ids("gastritis"));
+        assertEquals(List.of(1L), ids("ulcer"));
+
+        when(medicalRecordRepository.findClinicalTextById(2L)).thenReturn(Optional.empty());
+        index.onRecordChanged(new MedicalRecordChangedEvent(2L));
+        assertEquals(List.of(), ids("migraine"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Should page through ranked matches and report the total")
+    void testPagination() {
+        List<ClinicalTextView> records = new ArrayList<>();
+        for (long id = 1; id <= 25; id++) {
+            records.add(record(id, 10L, 100L, "Influenza", null, null));
+        }
+        load(records.toArray(ClinicalTextView[]::new));
+
+        Page<Long> second = index.search("influenza", null, null, null, 1, 10);
+
+        assertEquals(25, second.getTotalElements());
+        assertEquals(3, second.getTotalPages());
+        // Equal scores: newest record first
+        assertEquals(List.of(15L, 14L, 13L), second.getContent().subList(0, 3));
+    }
+
+    @Test
+    @DisplayName("Should load large data sets in keyset batches")
+    void testBatchedLoad() {
+        int batch = ClinicalSearchIndex.LOAD_BATCH;
+        List<ClinicalTextView> first = LongStream.rangeClosed(1, batch)
+                .mapToObj(id -> record(id, 10L, id, "Checkup", null, "code" + id))
+                .toList();
+        List<ClinicalTextView> second = LongStream.rangeClosed(batch + 1, batch + 50)
+                .mapToObj(id -> record(id, 10L, id, "Checkup", null, "code" + id))
+                .toList();
+        when(medicalRecordRepository.findClinicalTextAfter(eq(0L), any())).thenReturn(first);
+        when(medicalRecordRepository.findClinicalTextAfter(eq((long) batch), any())).thenReturn(second);
+
+        index.rebuild();
+
+        assertEquals(batch + 50, index.size());
+        assertEquals(List.of((long) batch + 42), ids("code" + (batch + 42)));
+    }
+
+    private void load(ClinicalTextView... records) {
+        when(medicalRecordRepository.findClinicalTextAfter(eq(0L), any())).thenReturn(List.of(records));
+        index.rebuild();
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, null, null, null, 0, 20).getContent();
+    }
+
+    private static ClinicalTextView record(long id, Long patientId, Long doctorId,
+                                           String diagnosis, String treatment, String prescription) {
+        return new ClinicalTextView(id, patientId, doctorId, diagnosis, treatment, prescription);
+    }
+}
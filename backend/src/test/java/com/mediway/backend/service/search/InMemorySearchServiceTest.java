@@ -0,0 +1,82 @@
+package com.mediway.backend.service.search;
+
+/*
+ * TESTS SUMMARY (InMemorySearchServiceTest):
+ * - Uses the patient index once it is loaded             : Positive
+ * - Falls back to SQL prefix search while loading        : Edge
+ * - Uses the doctor index once it is loaded              : Positive
+ */
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+
+import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("In-Memory Search Service Tests")
+class InMemorySearchServiceTest {
+
+    @Mock
+    private PatientSearchIndex patientSearchIndex;
+
+    @Mock
+    private DoctorSearchIndex doctorSearchIndex;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    private InMemorySearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new InMemorySearchService(patientSearchIndex, doctorSearchIndex, userRepository, doctorRepository);
+    }
+
+    @Test
+    @DisplayName("Should answer from the patient index once it is loaded")
+    void testPatientIndexUsed() {
+        when(patientSearchIndex.isReady()).thenReturn(true);
+        when(patientSearchIndex.search("doe", 0, 20)).thenReturn(new PageImpl<>(List.of(1L)));
+
+        assertEquals(List.of(1L), searchService.searchPatients("doe", 0, 20).getContent());
+        verify(userRepository, never()).searchIdsByPrefix(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to SQL prefix search while the index is loading")
+    void testFallbackWhileLoading() {
+        when(patientSearchIndex.isReady()).thenReturn(false);
+        when(userRepository.searchIdsByPrefix(eq("john%"), any())).thenReturn(new PageImpl<>(List.of(4L)));
+
+        assertEquals(List.of(4L), searchService.searchPatients("john", 0, 20).getContent());
+        verify(patientSearchIndex, never()).search(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should answer from the doctor index once it is loaded")
+    void testDoctorIndexUsed() {
+        when(doctorSearchIndex.isReady()).thenReturn(true);
+        when(doctorSearchIndex.search("cardio", 0, 20)).thenReturn(new PageImpl<>(List.of(9L)));
+
+        assertEquals(List.of(9L), searchService.searchDoctors("cardio", 0, 20).getContent());
+    }
+}
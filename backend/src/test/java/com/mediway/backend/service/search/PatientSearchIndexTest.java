@@ -0,0 +1,239 @@
+package com.mediway.backend.service.search;
+
+/*
+ * TESTS SUMMARY (PatientSearchIndexTest):
+ * - Not ready before the first load                     : Edge
+ * - Finds patients by name, email and phone             : Positive
+ * - Infix and short prefix queries                      : Positive
+ * - Multi-word queries need every word                  : Negative
+ * - Ranking: exact > prefix > name > email/phone        : Positive
+ * - Pagination with total count                         : Positive
+ * - Accents and case are ignored                        : Edge
+ * - Create/update/delete events keep the index current  : Positive
+ * - Events for other account types are ignored          : Edge
+ * - Doctor index matches specializations                : Positive
+ * - Loads large data sets in keyset batches             : Positive
+ * - Primitive map survives heavy removal                : Edge
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+
+import com.mediway.backend.dto.projection.DoctorSearchView;
+import com.mediway.backend.dto.projection.PatientSearchView;
+import com.mediway.backend.event.AccountChangedEvent;
+import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.repository.UserRepository;
+import com.mediway.backend.security.AccountType;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Patient Search Index Tests")
+class PatientSearchIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private PatientSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PatientSearchIndex(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should not be ready before the first load")
+    void testNotReadyBeforeLoad() {
+        assertFalse(index.isReady());
+    }
+
+    @Test
+    @DisplayName("Should find patients by name, email and phone")
+    void testSearchFields() {
+        load(
+                new PatientSearchView(1L, "John Doe", "jdoe@mail.com", "+94 77 123 4567"),
+                new PatientSearchView(2L, "Jane Roe", "jane@clinic.org", "011-222-3333"));
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(1L), ids("doe"));
+        assertEquals(List.of(2L), ids("clinic"));
+        assertEquals(List.of(1L), ids("1234567"));
+        assertEquals(List.of(2L), ids("222 3333"));
+    }
+
+    @Test
+    @DisplayName("Should match inside words and on one- or two-letter prefixes")
+    void testInfixAndShortPrefix() {
+        load(
+                new PatientSearchView(1L, "Samantha Perera", null, null),
+                new PatientSearchView(2L, "Peter Parker", null, null));
+
+        assertEquals(List.of(1L), ids("mant"));
+        // Name prefix ranks above a match later in the name
+        assertEquals(List.of(2L, 1L), ids("pe"));
+        assertEquals(List.of(1L), ids("s"));
+        // Two-letter infixes are not indexed
+        assertEquals(List.of(), ids("am"));
+    }
+
+    @Test
+    @DisplayName("Should require every word of a multi-word query")
+    void testAllWordsRequired() {
+        load(
+                new PatientSearchView(1L, "John Doe", null, null),
+                new PatientSearchView(2L, "John Smith", null, null));
+
+        assertEquals(List.of(2L), ids("john smi"));
+        assertEquals(List.of(), ids("john roe"));
+    }
+
+    @Test
+    @DisplayName("Should rank exact name, then prefix, then name, then other fields")
+    void testRanking() {
+        load(
+                new PatientSearchView(1L, "Anna", "x@mail.com", null),
+                new PatientSearchView(2L, "Mary Anna Silva", "y@mail.com", null),
+                new PatientSearchView(3L, "Annabelle", "z@mail.com", null),
+                new PatientSearchView(4L, "Bob", "anna.fan@mail.com", null),
+                new PatientSearchView(5L, "Annalise", "w@mail.com", null));
+
+        assertEquals(List.of(1L, 5L, 3L, 2L, 4L), ids("anna"));
+    }
+
+    @Test
+    @DisplayName("Should page through ranked matches and report the total")
+    void testPagination() {
+        List<PatientSearchView> views = new ArrayList<>();
+        for (long id = 1; id <= 25; id++) {
+            views.add(new PatientSearchView(id, "Patient " + id, null, null));
+        }
+        load(views.toArray(PatientSearchView[]::new));
+
+        Page<Long> second = index.search("patient", 1, 10);
+
+        assertEquals(25, second.getTotalElements());
+        assertEquals(3, second.getTotalPages());
+        assertEquals(10, second.getContent().size());
+        // Shorter names first, so "Patient 1".."Patient 9" fill the first page before "Patient 10"
+        assertEquals(List.of(11L, 12L, 13L), second.getContent().subList(0, 3));
+    }
+
+    @Test
+    @DisplayName("Should ignore case and accents")
+    void testNormalization() {
+        load(new PatientSearchView(1L, "José Núñez", null, null));
+
+        assertEquals(List.of(1L), ids("JOSE nunez"));
+        assertEquals(List.of(), ids("  "));
+    }
+
+    @Test
+    @DisplayName("Should apply create, update and delete events")
+    void testEvents() {
+        load(new PatientSearchView(1L, "John Doe", null, null));
+
+        when(userRepository.findSearchViewById(2L))
+                .thenReturn(Optional.of(new PatientSearchView(2L, "Kamal Silva", null, null)));
+        index.onAccountChanged(new AccountChangedEvent(AccountType.USER, 2L, null));
+        assertEquals(List.of(2L), ids("kamal"));
+
+        when(userRepository.findSearchViewById(1L))
+                .thenReturn(Optional.of(new PatientSearchView(1L, "John Fernando", null, null)));
+        index.onAccountChanged(new AccountChangedEvent(AccountType.USER, 1L, null));
+        assertEquals(List.of(), ids("doe"));
+        assertEquals(List.of(1L), ids("fernando"));
+
+        when(userRepository.findSearchViewById(2L)).thenReturn(Optional.empty());
+        index.onAccountChanged(new AccountChangedEvent(AccountType.USER, 2L, null));
+        assertEquals(List.of(), ids("kamal"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Should ignore events for doctors and admins")
+    void testOtherAccountTypesIgnored() {
+        index.onAccountChanged(new AccountChangedEvent(AccountType.DOCTOR, 1L, "dr@mail.com"));
+
+        verify(userRepository, never()).findSearchViewById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should find doctors by specialization through the doctor index")
+    void testDoctorIndex() {
+        DoctorRepository doctorRepository = mock(DoctorRepository.class);
+        when(doctorRepository.findSearchViewsAfter(eq(0L), any())).thenReturn(List.of(
+                new DoctorSearchView(1L, "Dr. Perera", "Cardiology", "perera@hospital.com"),
+                new DoctorSearchView(2L, "Dr. Cardona", "Dermatology", "cardona@hospital.com")));
+        DoctorSearchIndex doctorIndex = new DoctorSearchIndex(doctorRepository);
+
+        doctorIndex.rebuild();
+
+        // Name matches rank above specialization matches
+        assertEquals(List.of(2L, 1L), doctorIndex.search("card", 0, 20).getContent());
+        assertEquals(List.of(2L), doctorIndex.search("derma", 0, 20).getContent());
+    }
+
+    @Test
+    @DisplayName("Should load large data sets in keyset batches")
+    void testBatchedLoad() {
+        List<PatientSearchView> first = LongStream.rangeClosed(1, 5000)
+                .mapToObj(id -> new PatientSearchView(id, "Patient " + id, null, "07" + id))
+                .toList();
+        List<PatientSearchView> second = LongStream.rangeClosed(5001, 5100)
+                .mapToObj(id -> new PatientSearchView(id, "Patient " + id, null, "07" + id))
+                .toList();
+        when(userRepository.findSearchViewsAfter(eq(0L), any())).thenReturn(first);
+        when(userRepository.findSearchViewsAfter(eq(5000L), any())).thenReturn(second);
+
+        index.rebuild();
+
+        assertEquals(5100, index.size());
+        assertEquals(List.of(5042L), ids("075042"));
+    }
+
+    @Test
+    @DisplayName("Should keep primitive map lookups correct after many removals")
+    void testLongIntHashMapRemoval() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        for (long key = 0; key < 10_000; key++) {
+            map.put(key * 31, (int) key);
+        }
+        for (long key = 0; key < 10_000; key += 2) {
+            assertEquals((int) key, map.remove(key * 31));
+        }
+
+        assertEquals(5000, map.size());
+        for (long key = 0; key < 10_000; key++) {
+            int expected = key % 2 == 0 ? LongIntHashMap.MISSING : (int) key;
+            assertEquals(expected, map.get(key * 31));
+        }
+    }
+
+    private void load(PatientSearchView... views) {
+        when(userRepository.findSearchViewsAfter(eq(0L), any())).thenReturn(List.of(views));
+        index.rebuild();
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, 0, 20).getContent();
+    }
+}
@@ -0,0 +1,157 @@
+package com.mediway.backend.service.search;
+
+/*
+ * BENCHMARK (SearchEngineBenchmarkTest) - run with: mvn test -Pbenchmark
+ * - Seeds synthetic patients and doctors, then times the same queries against the
+ *   in-memory trigram engine and the SQL prefix engine and prints p50/p99 latencies.
+ * - Defaults to an in-memory H2 database in MySQL mode. To measure against MySQL, pass
+ *   -Dbenchmark.datasource.url=... -Dbenchmark.datasource.username=... -Dbenchmark.datasource.password=...
+ *   (use a throwaway schema: the tables are recreated).
+ * - Size with -Dbenchmark.patients=N (default 100000).
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.repository.UserRepository;
+
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=${benchmark.datasource.url:jdbc:h2:mem:search-benchmark;MODE=MySQL;IGNORECASE=TRUE}",
+        "spring.datasource.username=${benchmark.datasource.username:sa}",
+        "spring.datasource.password=${benchmark.datasource.password:}",
+        "spring.datasource.driverClassName=",
+        "spring.jpa.database-platform=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never"
+})
+@DisplayName("Search Engine Benchmark")
+class SearchEngineBenchmarkTest {
+
+    private static final int PATIENTS = Integer.getInteger("benchmark.patients", 100_000);
+    private static final int DOCTORS = 2_000;
+    private static final int ROUNDS = 100;
+
+    private static final String[] FIRST_NAMES = {"Kamal", "Nimal", "Sunil", "Anura", "Saman", "Ruwan", "Dilani",
+            "Chamari", "Ishara", "Tharindu", "Nadeesha", "Kasun", "Sachini", "Pradeep", "Malini", "John", "Maria",
+            "Ahmed", "Priya", "Chen"};
+    private static final String[] LAST_NAMES = {"Perera", "Fernando", "Silva", "Jayasinghe", "Bandara", "Wijesinghe",
+            "Gunawardena", "Rajapaksa", "Dissanayake", "Herath", "Kumara", "Smith", "Garcia", "Khan", "Wang"};
+    private static final String[] SPECIALIZATIONS = {"Cardiology", "Dermatology", "Neurology", "Pediatrics",
+            "Orthopedics", "Psychiatry", "Oncology", "Radiology"};
+
+    // Realistic front-desk input: name prefixes, full names, email and phone fragments
+    private static final String[] PATIENT_QUERIES = {"ka", "kamal", "kamal per", "Nadeesha Gunawardena",
+            "sachini.herath", "0771", "dissan", "chen wang"};
+    private static final String[] DOCTOR_QUERIES = {"card", "neuro", "Dr. Silva", "pedi"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Test
+    @DisplayName("Compare in-memory and SQL search latency")
+    void compareEngines() {
+        seed();
+
+        long start = System.nanoTime();
+        PatientSearchIndex patientIndex = new PatientSearchIndex(userRepository);
+        patientIndex.rebuild();
+        DoctorSearchIndex doctorIndex = new DoctorSearchIndex(doctorRepository);
+        doctorIndex.rebuild();
+        System.out.printf("%nIndexed %,d patients and %,d doctors in %d ms%n",
+                PATIENTS, DOCTORS, (System.nanoTime() - start) / 1_000_000);
+        assertEquals(PATIENTS, patientIndex.size());
+
+        SearchService memory = new InMemorySearchService(patientIndex, doctorIndex, userRepository, doctorRepository);
+        SearchService sql = new SqlSearchService(userRepository, doctorRepository);
+
+        System.out.printf("%-26s %-8s %10s %10s %10s%n", "query", "engine", "hits", "p50 ms", "p99 ms");
+        for (String query : PATIENT_QUERIES) {
+            report(query, "memory", q -> memory.searchPatients(q, 0, 20));
+            report(query, "sql", q -> sql.searchPatients(q, 0, 20));
+        }
+        for (String query : DOCTOR_QUERIES) {
+            report(query, "memory", q -> memory.searchDoctors(q, 0, 20));
+            report(query, "sql", q -> sql.searchDoctors(q, 0, 20));
+        }
+
+        assertFalse(memory.searchPatients("kamal", 0, 20).isEmpty());
+        assertFalse(sql.searchPatients("kamal", 0, 20).isEmpty());
+    }
+
+    private void report(String query, String engine, Function<String, Page<Long>> search) {
+        // Warm up JIT and database caches
+        Page<Long> hits = null;
+        for (int i = 0; i < ROUNDS / 5; i++) {
+            hits = search.apply(query);
+        }
+        long[] nanos = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long t = System.nanoTime();
+            search.apply(query);
+            nanos[i] = System.nanoTime() - t;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-26s %-8s %10d %10.3f %10.3f%n", query, engine, hits.getTotalElements(),
+                nanos[ROUNDS / 2] / 1e6, nanos[ROUNDS * 99 / 100] / 1e6);
+    }
+
+    private void seed() {
+        Random random = new Random(42);
+        List<Object[]> patients = new ArrayList<>(PATIENTS);
+        for (int i = 0; i < PATIENTS; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            patients.add(new Object[]{
+                    first + " " + last,
+                    (first + "." + last + i + "@example.com").toLowerCase(),
+                    String.format("07%d%07d", random.nextInt(10), random.nextInt(10_000_000)),
+                    "x",
+                    "PATIENT"
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email, phone, password, role) VALUES (?, ?, ?, ?, ?)",
+                patients);
+
+        List<Object[]> doctors = new ArrayList<>(DOCTORS);
+        for (int i = 0; i < DOCTORS; i++) {
+            doctors.add(new Object[]{
+                    "Dr. " + LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    SPECIALIZATIONS[random.nextInt(SPECIALIZATIONS.length)],
+                    "doctor" + i + "@hospital.com",
+                    true,
+                    "x"
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO doctors (name, specialization, email, available, password) VALUES (?, ?, ?, ?, ?)",
+                doctors);
+    }
+}
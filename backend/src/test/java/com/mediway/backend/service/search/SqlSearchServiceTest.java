@@ -0,0 +1,109 @@
+package com.mediway.backend.service.search;
+
+/*
+ * TESTS SUMMARY (SqlSearchServiceTest):
+ * - Query becomes an escaped LIKE prefix                 : Positive
+ * - Blank query returns an empty page without a query    : Edge
+ * - Patient search is sorted by name and paged           : Positive
+ * - Page size is capped                                  : Edge
+ * - Doctor search uses the doctor repository             : Positive
+ */
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.mediway.backend.repository.DoctorRepository;
+import com.mediway.backend.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SQL Search Service Tests")
+class SqlSearchServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    private SqlSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new SqlSearchService(userRepository, doctorRepository);
+    }
+
+    @Test
+    @DisplayName("Should turn the query into an escaped LIKE prefix")
+    void testLikePrefix() {
+        assertEquals("john doe%", SqlSearchService.likePrefix("  john   doe "));
+        assertEquals("100!%!_off!!%", SqlSearchService.likePrefix("100%_off!"));
+        assertNull(SqlSearchService.likePrefix("   "));
+        assertNull(SqlSearchService.likePrefix(null));
+    }
+
+    @Test
+    @DisplayName("Should return an empty page for a blank query without hitting the database")
+    void testBlankQuery() {
+        Page<Long> result = searchService.searchPatients(" ", 0, 20);
+
+        assertTrue(result.isEmpty());
+        verify(userRepository, never()).searchIdsByPrefix(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should search patients by prefix sorted by name")
+    void testPatientSearch() {
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        when(userRepository.searchIdsByPrefix(eq("jo%"), pageable.capture()))
+                .thenReturn(new PageImpl<>(List.of(3L, 1L)));
+
+        Page<Long> result = searchService.searchPatients("jo", 2, 10);
+
+        assertEquals(List.of(3L, 1L), result.getContent());
+        assertEquals(2, pageable.getValue().getPageNumber());
+        assertEquals(10, pageable.getValue().getPageSize());
+        assertEquals(Sort.by("name").and(Sort.by("id")), pageable.getValue().getSort());
+    }
+
+    @Test
+    @DisplayName("Should cap the page size")
+    void testPageSizeCapped() {
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        when(userRepository.searchIdsByPrefix(eq("a%"), pageable.capture())).thenReturn(Page.empty());
+
+        searchService.searchPatients("a", -1, 10_000);
+
+        assertEquals(0, pageable.getValue().getPageNumber());
+        assertEquals(SearchService.MAX_PAGE_SIZE, pageable.getValue().getPageSize());
+    }
+
+    @Test
+    @DisplayName("Should search doctors through the doctor repository")
+    void testDoctorSearch() {
+        when(doctorRepository.searchIdsByPrefix(eq("cardio%"), any())).thenReturn(new PageImpl<>(List.of(7L)));
+
+        Page<Long> result = searchService.searchDoctors("cardio", 0, 20);
+
+        assertEquals(List.of(7L), result.getContent());
+    }
+}